@@ -34,6 +34,12 @@ public final class RuntimeOptions {
   private static final OptionDescriptor ENABLE_STATIC_ANALYSIS_DESCRIPTOR =
       OptionDescriptor.newBuilder(ENABLE_STATIC_ANALYSIS_KEY, ENABLE_STATIC_ANALYSIS).build();
 
+  public static final String ENABLE_PARALLEL_COMPILATION = optionName("parallelCompilation");
+  public static final OptionKey<Boolean> ENABLE_PARALLEL_COMPILATION_KEY = new OptionKey<>(false);
+  private static final OptionDescriptor ENABLE_PARALLEL_COMPILATION_DESCRIPTOR =
+      OptionDescriptor.newBuilder(ENABLE_PARALLEL_COMPILATION_KEY, ENABLE_PARALLEL_COMPILATION)
+          .build();
+
   public static final String ENABLE_AUTO_PARALLELISM = optionName("withAutoParallelism");
   public static final OptionKey<Boolean> ENABLE_AUTO_PARALLELISM_KEY = new OptionKey<>(false);
   private static final OptionDescriptor ENABLE_AUTO_PARALLELISM_DESCRIPTOR =
@@ -126,6 +132,26 @@ public final class RuntimeOptions {
       OptionDescriptor.newBuilder(USE_GLOBAL_IR_CACHE_LOCATION_KEY, USE_GLOBAL_IR_CACHE_LOCATION)
           .build();
 
+  public static final String VALIDATE_CACHES_BY_FINGERPRINT =
+      optionName("validateCachesByFingerprint");
+
+  /* Trusts caches whose sources have unchanged file attributes, verifying them in the background. */
+  public static final OptionKey<Boolean> VALIDATE_CACHES_BY_FINGERPRINT_KEY =
+      new OptionKey<>(false);
+
+  private static final OptionDescriptor VALIDATE_CACHES_BY_FINGERPRINT_DESCRIPTOR =
+      OptionDescriptor.newBuilder(
+              VALIDATE_CACHES_BY_FINGERPRINT_KEY, VALIDATE_CACHES_BY_FINGERPRINT)
+          .build();
+
+  public static final String PRELOAD_LIBRARIES = optionName("preloadLibraries");
+
+  /* Comma separated names of libraries whose caches are loaded in the background on startup. */
+  public static final OptionKey<String> PRELOAD_LIBRARIES_KEY = new OptionKey<>("");
+
+  private static final OptionDescriptor PRELOAD_LIBRARIES_DESCRIPTOR =
+      OptionDescriptor.newBuilder(PRELOAD_LIBRARIES_KEY, PRELOAD_LIBRARIES).build();
+
   public static final String ENABLE_EXECUTION_TIMER = optionName("enableExecutionTimer");
 
   /* Enables timer that counts down the execution time of expressions. */
@@ -152,6 +178,7 @@ public final class RuntimeOptions {
               DISABLE_PRIVATE_CHECK_DESCRIPTOR,
               ENABLE_STATIC_ANALYSIS_DESCRIPTOR,
               ENABLE_AUTO_PARALLELISM_DESCRIPTOR,
+              ENABLE_PARALLEL_COMPILATION_DESCRIPTOR,
               ENABLE_PROJECT_SUGGESTIONS_DESCRIPTOR,
               ENABLE_GLOBAL_SUGGESTIONS_DESCRIPTOR,
               INTERACTIVE_MODE_DESCRIPTOR,
@@ -165,6 +192,8 @@ public final class RuntimeOptions {
               PREINITIALIZE_DESCRIPTOR,
               WAIT_FOR_PENDING_SERIALIZATION_JOBS_DESCRIPTOR,
               USE_GLOBAL_IR_CACHE_LOCATION_DESCRIPTOR,
+              VALIDATE_CACHES_BY_FINGERPRINT_DESCRIPTOR,
+              PRELOAD_LIBRARIES_DESCRIPTOR,
               ENABLE_EXECUTION_TIMER_DESCRIPTOR,
               WARNINGS_LIMIT_DESCRIPTOR));
 
@@ -40,6 +40,7 @@ import org.enso.syntax2.Parser
 import java.io.PrintStream
 import java.util.concurrent.{
   CompletableFuture,
+  ExecutionException,
   ExecutorService,
   Future,
   LinkedBlockingDeque,
@@ -74,11 +75,19 @@ class Compiler(
   /** Java accessor */
   def getConfig(): CompilerConfig = config
 
-  /** The thread pool that handles parsing of modules. */
-  private val pool: ExecutorService = if (config.parallelParsing) {
-    new ThreadPoolExecutor(
-      Compiler.startingThreadCount,
-      Compiler.maximumThreadCount,
+  /** Whether the method body passes of independent modules run concurrently. */
+  private val parallelCompilation =
+    config.parallelCompilation && context.isCreateThreadAllowed
+
+  /** The thread pool that handles parsing and compilation of modules. */
+  private val pool: ExecutorService = if (
+    config.parallelParsing || parallelCompilation
+  ) {
+    // The queue is unbounded, so the pool never grows past its core threads.
+    // All of them may run at once, and they time out when idle.
+    val executor = new ThreadPoolExecutor(
+      Compiler.threadCount,
+      Compiler.threadCount,
       Compiler.threadKeepalive,
       TimeUnit.SECONDS,
       new LinkedBlockingDeque[Runnable](),
@@ -86,6 +95,8 @@ class Compiler(
         context.createThread(runnable)
       }
     )
+    executor.allowCoreThreadTimeOut(true)
+    executor
   } else null
 
   /** Duplicates this compiler with a different config.
@@ -331,23 +342,30 @@ class Compiler(
         )
       }
     }
-    requiredModules.foreach { module =>
-      if (
-        !context
-          .getCompilationStage(module)
-          .isAtLeast(
-            CompilationStage.AFTER_STATIC_PASSES
-          )
-      ) {
-
-        val moduleContext = ModuleContext(
-          module          = module,
-          freshNameSupply = Some(freshNameSupply),
-          compilerConfig  = config,
-          pkgRepo         = Some(packageRepository)
+    // Once all required modules have their global types, the method body passes
+    // of a module only read what the earlier stages computed for its imports,
+    // so they can run for all modules at once. The results are applied in the
+    // order of the modules, keeping the diagnostics in a deterministic order.
+    // The modules share the fresh name supply, so the numbers of the fresh
+    // names they get depend on the scheduling of the modules.
+    val modulesForMethodBodyPasses = requiredModules.filter { module =>
+      !context
+        .getCompilationStage(module)
+        .isAtLeast(
+          CompilationStage.AFTER_STATIC_PASSES
         )
-        val compilerOutput =
-          runMethodBodyPasses(context.getIr(module), moduleContext)
+    }
+    val methodBodyOutputs = mapModules(modulesForMethodBodyPasses) { module =>
+      val moduleContext = ModuleContext(
+        module          = module,
+        freshNameSupply = Some(freshNameSupply),
+        compilerConfig  = config,
+        pkgRepo         = Some(packageRepository)
+      )
+      runMethodBodyPasses(context.getIr(module), moduleContext)
+    }
+    modulesForMethodBodyPasses.zip(methodBodyOutputs).foreach {
+      case (module, compilerOutput) =>
         context.updateModule(
           module,
           { u =>
@@ -355,7 +373,6 @@ class Compiler(
             u.compilationStage(CompilationStage.AFTER_STATIC_PASSES)
           }
         )
-      }
     }
 
     runErrorHandling(requiredModules)
@@ -513,6 +530,27 @@ class Compiler(
     }
   }
 
+  /** Applies the function to each of the modules, concurrently on the compiler
+    * pool if parallel compilation is enabled.
+    *
+    * @param modules the modules to process
+    * @param f the function to apply, which must not update the modules
+    * @return the results, in the order of the modules
+    */
+  private def mapModules[T](modules: List[Module])(f: Module => T): List[T] =
+    if (parallelCompilation && modules.lengthCompare(1) > 0) {
+      val tasks = modules.map { module =>
+        CompletableFuture.supplyAsync(() => f(module), pool)
+      }
+      try {
+        joinAllFutures(tasks).get()
+      } catch {
+        case e: ExecutionException if e.getCause != null => throw e.getCause
+      }
+    } else {
+      modules.map(f)
+    }
+
   private def joinAllFutures[T](
     futures: List[CompletableFuture[T]]
   ): CompletableFuture[List[T]] = {
@@ -1050,11 +1088,15 @@ object Compiler {
   /** The default logging level for the compiler. */
   private val defaultLogLevel: Level = Level.FINE
 
-  /** The maximum number of parsing threads allowed. */
+  /** The maximum number of parsing and compilation threads allowed. */
   val maximumThreadCount: Integer = 10
 
-  /** The number of threads at compiler start. */
-  val startingThreadCount: Integer = 2
+  /** The number of threads parsing and compiling modules concurrently. */
+  val threadCount: Integer =
+    Math.max(
+      1,
+      Math.min(maximumThreadCount, Runtime.getRuntime.availableProcessors)
+    )
 
   /** The thread keep-alive time in seconds. */
   val threadKeepalive: Long = 2
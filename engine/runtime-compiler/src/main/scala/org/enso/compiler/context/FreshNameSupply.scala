@@ -2,11 +2,16 @@ package org.enso.compiler.context
 
 import org.enso.compiler.core.ir.Name
 
+import java.util.concurrent.atomic.AtomicLong
+
 /** This class provides a supply of fresh names guaranteed not to exist in this
-  * program.
+  * program. It can be shared by modules compiled concurrently. The names then
+  * stay unique, but which module gets which number depends on the order in
+  * which the threads ask for them, so the numbers of the names in the IR of a
+  * module may differ between compilations.
   */
 class FreshNameSupply {
-  private var counter: Long = 0
+  private val counter: AtomicLong = new AtomicLong(0)
 
   private def mkName(
     numId: Long,
@@ -31,8 +36,7 @@ class FreshNameSupply {
     isMethod: Boolean  = false,
     from: Option[Name] = None
   ): Name.Literal = {
-    val num = counter
-    counter += 1
+    val num = counter.getAndIncrement()
     mkName(num, isMethod, from)
   }
 }
@@ -0,0 +1,97 @@
+package org.enso.compiler.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import org.enso.common.RuntimeOptions;
+import org.enso.interpreter.util.ScalaConversions;
+import org.enso.pkg.QualifiedName;
+import org.enso.polyglot.PolyglotContext;
+import org.enso.test.utils.ContextUtils;
+import org.enso.test.utils.ProjectUtils;
+import org.enso.test.utils.SourceModule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelCompilationTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static final String[] MODULES = {"A", "B", "C", "D", "E", "F", "G", "H"};
+
+  @Test
+  public void parallelCompilationReportsTheSameDiagnosticsAsSequential() throws IOException {
+    var projDir = createProject();
+
+    var sequential = compileAndRun(projDir, false);
+    var parallel = compileAndRun(projDir, true);
+
+    for (var name : MODULES) {
+      var warning = "warning: Unused variable unused_" + name.toLowerCase() + ".";
+      assertTrue("Reported " + warning + " in:\n" + sequential, sequential.contains(warning));
+    }
+    assertEquals(sequential, parallel);
+  }
+
+  private Path createProject() throws IOException {
+    var modules = new HashSet<SourceModule>();
+    var main = new StringBuilder();
+    var call = "42";
+    for (var name : MODULES) {
+      var fn = name.toLowerCase();
+      modules.add(
+          new SourceModule(
+              QualifiedName.fromString(name),
+              """
+              identity_%1$s x =
+                  unused_%1$s = x
+                  inner = y->
+                      other_unused = y
+                      y
+                  inner x
+
+              apply_%1$s x =
+                  outer = y-> y
+                  outer (identity_%1$s x)
+              """
+                  .formatted(fn)));
+      main.append("import project.").append(name).append("\n");
+      call = name + ".apply_" + fn + " (" + call + ")";
+    }
+    main.append("\nmain = ").append(call).append("\n");
+    modules.add(new SourceModule(QualifiedName.fromString("Main"), main.toString()));
+    var projDir = tempFolder.newFolder().toPath();
+    ProjectUtils.createProject("Proj", modules, projDir);
+    return projDir;
+  }
+
+  /**
+   * Runs the main method of the project, checking its result.
+   *
+   * @return the diagnostics reported while compiling the project
+   */
+  private static String compileAndRun(Path projDir, boolean parallelCompilation) {
+    var out = new ByteArrayOutputStream();
+    try (var ctx =
+        ContextUtils.defaultContextBuilder()
+            .option(RuntimeOptions.PROJECT_ROOT, projDir.toAbsolutePath().toString())
+            .option(
+                RuntimeOptions.ENABLE_PARALLEL_COMPILATION, Boolean.toString(parallelCompilation))
+            .out(out)
+            .err(out)
+            .build()) {
+      var mainSrc = projDir.resolve("src").resolve("Main.enso").toFile();
+      var mainMod = new PolyglotContext(ctx).evalModule(mainSrc);
+      var assocType = mainMod.getAssociatedType();
+      var mainMethod = mainMod.getMethod(assocType, "main").get();
+      assertEquals(42, mainMethod.execute(ScalaConversions.seq(List.of(assocType))).asInt());
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -1163,7 +1163,7 @@ public class TypeInferenceTest extends CompilerTests {
     Module rawModule = parse(src.getCharacters());
 
     var compilerConfig =
-        new CompilerConfig(false, true, true, true, false, true, false, Option.empty());
+        new CompilerConfig(false, true, true, true, false, true, false, Option.empty(), false);
     var passes = new Passes(compilerConfig);
     @SuppressWarnings("unchecked")
     var passConfig =
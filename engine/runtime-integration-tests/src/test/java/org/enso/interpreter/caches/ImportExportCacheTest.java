@@ -0,0 +1,146 @@
+package org.enso.interpreter.caches;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import org.enso.common.RuntimeOptions;
+import org.enso.editions.LibraryName;
+import org.enso.interpreter.runtime.EnsoContext;
+import org.enso.polyglot.PolyglotContext;
+import org.enso.test.utils.ContextUtils;
+import org.enso.test.utils.ProjectUtils;
+import org.graalvm.polyglot.Context;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImportExportCacheTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static final LibraryName PROJ = new LibraryName("local", "Proj");
+
+  @Test
+  public void metadataRecordsTheFingerprint() throws Exception {
+    var meta = new ImportExportCache.Metadata("source", "blob", "fingerprint");
+    assertEquals(meta, ImportExportCache.Metadata.read(meta.toBytes()));
+
+    var withoutFingerprint = new ImportExportCache.Metadata("source", "blob", null);
+    assertEquals(withoutFingerprint, ImportExportCache.Metadata.read(withoutFingerprint.toBytes()));
+  }
+
+  @Test
+  public void metadataWrittenWithoutFingerprintIsReadable() throws Exception {
+    var os = new ByteArrayOutputStream();
+    try (var dos = new DataOutputStream(os)) {
+      dos.writeUTF("source");
+      dos.writeUTF("blob");
+    }
+    var meta = ImportExportCache.Metadata.read(os.toByteArray());
+    assertEquals("source", meta.sourceHash());
+    assertEquals("blob", meta.blobHash());
+    assertNull(meta.sourceFingerprint());
+  }
+
+  @Test
+  public void changedSourcesInvalidateTheCache() throws Exception {
+    var projDir = createProject();
+    try (var ctx = createProjectContext(projDir, false)) {
+      var ensoCtx = serializeBindings(ctx);
+      assertTrue("Cache is loaded", loadBindings(ctx, ensoCtx));
+
+      changeSourcesKeepingAttributes(projDir);
+      assertFalse("Changed sources are detected on load", loadBindings(ctx, ensoCtx));
+    }
+  }
+
+  @Test
+  public void cacheTrustedByFingerprintIsVerifiedInBackground() throws Exception {
+    var projDir = createProject();
+    try (var ctx = createProjectContext(projDir, true)) {
+      var ensoCtx = serializeBindings(ctx);
+      assertTrue("Cache is loaded", loadBindings(ctx, ensoCtx));
+      awaitVerification(ensoCtx);
+      assertTrue("Verified cache is kept", loadBindings(ctx, ensoCtx));
+      awaitVerification(ensoCtx);
+
+      changeSourcesKeepingAttributes(projDir);
+      assertTrue("Cache with the same fingerprint is trusted", loadBindings(ctx, ensoCtx));
+      awaitVerification(ensoCtx);
+      assertFalse("Background verification invalidates the cache", loadBindings(ctx, ensoCtx));
+    }
+  }
+
+  @Test
+  public void cacheWithChangedFingerprintIsVerifiedOnLoad() throws Exception {
+    var projDir = createProject();
+    try (var ctx = createProjectContext(projDir, true)) {
+      var ensoCtx = serializeBindings(ctx);
+      var main = mainFile(projDir);
+      Files.setLastModifiedTime(
+          main, FileTime.fromMillis(Files.getLastModifiedTime(main).toMillis() - 60_000));
+      assertTrue("Unchanged contents are still valid", loadBindings(ctx, ensoCtx));
+
+      Files.writeString(main, "main = 4242\n");
+      assertFalse("Changed sources are detected on load", loadBindings(ctx, ensoCtx));
+    }
+  }
+
+  private Path createProject() throws Exception {
+    var projDir = tempFolder.newFolder().toPath();
+    ProjectUtils.createProject("Proj", """
+        main = 42
+        """, projDir);
+    return projDir;
+  }
+
+  private static Path mainFile(Path projDir) {
+    return projDir.resolve("src").resolve("Main.enso");
+  }
+
+  private static Context createProjectContext(Path projDir, boolean byFingerprint) {
+    var ctx =
+        ContextUtils.defaultContextBuilder()
+            .option(RuntimeOptions.PROJECT_ROOT, projDir.toAbsolutePath().toString())
+            .option(RuntimeOptions.DISABLE_IR_CACHES, "false")
+            .option(RuntimeOptions.VALIDATE_CACHES_BY_FINGERPRINT, Boolean.toString(byFingerprint))
+            .build();
+    new PolyglotContext(ctx).evalModule(mainFile(projDir).toFile());
+    return ctx;
+  }
+
+  private static EnsoContext serializeBindings(Context ctx) throws Exception {
+    var ensoCtx = ContextUtils.leakContext(ctx);
+    var compiler = ensoCtx.getCompiler();
+    var serialized = compiler.context().serializeLibrary(compiler, PROJ, false);
+    assertEquals("Bindings are serialized", Boolean.TRUE, serialized.get(10, TimeUnit.SECONDS));
+    return ensoCtx;
+  }
+
+  private static boolean loadBindings(Context ctx, EnsoContext ensoCtx) {
+    return ContextUtils.executeInContext(
+            ctx, () -> ImportExportCache.create(PROJ).load(ensoCtx).isPresent())
+        .asBoolean();
+  }
+
+  /** Waits for the verifications scheduled so far, as the verifier runs them in order. */
+  private static void awaitVerification(EnsoContext ensoCtx) throws Exception {
+    ensoCtx.getCacheVerifier().submit(() -> null).get(10, TimeUnit.SECONDS);
+  }
+
+  /** Rewrites the main module with other contents of the same size and modification time. */
+  private static void changeSourcesKeepingAttributes(Path projDir) throws Exception {
+    var main = mainFile(projDir);
+    var modified = Files.getLastModifiedTime(main);
+    var contents = Files.readString(main);
+    Files.writeString(main, contents.replace("42", "43"));
+    Files.setLastModifiedTime(main, modified);
+  }
+}
@@ -0,0 +1,117 @@
+package org.enso.interpreter.caches;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import org.enso.common.RuntimeOptions;
+import org.enso.editions.LibraryName;
+import org.enso.polyglot.PolyglotContext;
+import org.enso.test.utils.ContextUtils;
+import org.enso.test.utils.ProjectUtils;
+import org.graalvm.polyglot.Context;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LibraryPreloadTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void preloadsTheCacheOfALibrary() throws Exception {
+    var projDir = createProject();
+    try (var ctx = projectContext(projDir, "", "false").build()) {
+      runMain(ctx, projDir);
+      var compiler = ContextUtils.leakContext(ctx).getCompiler();
+      var serialized =
+          compiler.context().serializeLibrary(compiler, new LibraryName("local", "Proj"), false);
+      assertEquals(Boolean.TRUE, serialized.get(10, TimeUnit.SECONDS));
+    }
+
+    var log = runWithPreload(projDir, "local.Proj", "false");
+    assertThat(preloadReport(log), endsWith(": true."));
+  }
+
+  @Test
+  public void reportsLibrariesThatCannotBePreloaded() throws Exception {
+    var projDir = createProject();
+    var log = runWithPreload(projDir, "not-a-library, local.Proj", "false");
+    assertThat(log, containsString("Cannot preload library [not-a-library]"));
+    assertThat("No cache has been written yet", preloadReport(log), endsWith(": false."));
+  }
+
+  @Test
+  public void doesNotPreloadWithoutCaches() throws Exception {
+    var projDir = createProject();
+    var log = runWithPreload(projDir, "local.Proj", "true");
+    assertThat(log, not(containsString("Preloaded library")));
+  }
+
+  private static String preloadReport(String log) {
+    return log.lines()
+        .filter(l -> l.contains("Preloaded library [local.Proj]"))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("Preloading reported in:\n" + log));
+  }
+
+  private Path createProject() throws IOException {
+    var projDir = tempFolder.newFolder().toPath();
+    ProjectUtils.createProject("Proj", """
+        main = 42
+        """, projDir);
+    return projDir;
+  }
+
+  private static Context.Builder projectContext(
+      Path projDir, String preload, String disableIrCaches) {
+    return ContextUtils.defaultContextBuilder()
+        .option(RuntimeOptions.PROJECT_ROOT, projDir.toAbsolutePath().toString())
+        .option(RuntimeOptions.DISABLE_IR_CACHES, disableIrCaches)
+        .option(RuntimeOptions.PRELOAD_LIBRARIES, preload);
+  }
+
+  private static void runMain(Context ctx, Path projDir) {
+    var mainSrc = projDir.resolve("src").resolve("Main.enso").toFile();
+    var result = new PolyglotContext(ctx).evalModule(mainSrc).evalExpression("main");
+    assertEquals(42, result.asInt());
+  }
+
+  /**
+   * Runs the project with the libraries preloaded, waiting for the preloading to be reported when
+   * caches are enabled.
+   *
+   * @return the log of the run
+   */
+  private static String runWithPreload(Path projDir, String preload, String disableIrCaches)
+      throws InterruptedException {
+    var backLog = new ByteArrayOutputStream();
+    var log = new PrintStream(backLog, true);
+    try (var ctx =
+        projectContext(projDir, preload, disableIrCaches)
+            .out(log)
+            .err(log)
+            .logHandler(log)
+            .option(RuntimeOptions.LOG_LEVEL, Level.FINE.getName())
+            .build()) {
+      runMain(ctx, projDir);
+      if (!Boolean.parseBoolean(disableIrCaches)) {
+        // the preloading runs in the background, it may still be going on
+        for (int i = 0; i < 100 && !backLog.toString().contains("Preloaded library"); i++) {
+          Thread.sleep(100);
+        }
+        assertTrue(
+            "Preloading finished:\n" + backLog, backLog.toString().contains("Preloaded library"));
+      }
+    }
+    return backLog.toString();
+  }
+}
@@ -0,0 +1,156 @@
+package org.enso.interpreter.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.enso.pkg.QualifiedName;
+import org.enso.test.utils.ContextUtils;
+import org.graalvm.polyglot.Context;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SerializationPoolTest {
+  private static Context ctx;
+
+  @BeforeClass
+  public static void initializeContext() {
+    ctx = ContextUtils.createDefaultContext();
+  }
+
+  @AfterClass
+  public static void disposeContext() {
+    ctx.close();
+    ctx = null;
+  }
+
+  /** Runs the test with a single threaded pool, whose thread is busy until the test is set up. */
+  private static void withBlockedPool(PoolTest test) {
+    ContextUtils.executeInContext(
+        ctx,
+        () -> {
+          var compilerContext =
+              (TruffleCompilerContext) ContextUtils.leakContext(ctx).getCompiler().context();
+          var pool = new SerializationPool(compilerContext, 1);
+          var started = new CountDownLatch(1);
+          var release = new CountDownLatch(1);
+          try {
+            var blocker =
+                pool.submitTask(
+                    () -> {
+                      started.countDown();
+                      return release.await(10, TimeUnit.SECONDS);
+                    },
+                    true,
+                    QualifiedName.fromString("local.Blocker"),
+                    SerializationPool.Priority.MODULE);
+            assertTrue("Blocker started", started.await(10, TimeUnit.SECONDS));
+            test.run(pool, release);
+            assertEquals(Boolean.TRUE, blocker.get(10, TimeUnit.SECONDS));
+          } finally {
+            release.countDown();
+            pool.shutdown(true);
+          }
+          return null;
+        });
+  }
+
+  private interface PoolTest {
+    void run(SerializationPool pool, CountDownLatch release) throws Exception;
+  }
+
+  private static Future<String> submit(
+      SerializationPool pool,
+      String key,
+      SerializationPool.Priority priority,
+      List<String> ran,
+      String result) {
+    Callable<String> task =
+        () -> {
+          ran.add(result);
+          return result;
+        };
+    return pool.submitTask(task, true, QualifiedName.fromString(key), priority);
+  }
+
+  @Test
+  public void coalescesRequestsForAWaitingKey() {
+    withBlockedPool(
+        (pool, release) -> {
+          var ran = Collections.synchronizedList(new ArrayList<String>());
+          var first = submit(pool, "local.Proj.A", SerializationPool.Priority.MODULE, ran, "first");
+          var second =
+              submit(pool, "local.Proj.A", SerializationPool.Priority.MODULE, ran, "second");
+          assertSame("Requests are coalesced", first, second);
+          assertEquals(1, pool.getQueueDepth());
+
+          release.countDown();
+          assertEquals("second", first.get(10, TimeUnit.SECONDS));
+          assertEquals("Only the latest data is written", List.of("second"), ran);
+        });
+  }
+
+  @Test
+  public void runsModulesFirstAndBatchesByLibrary() {
+    withBlockedPool(
+        (pool, release) -> {
+          var ran = Collections.synchronizedList(new ArrayList<String>());
+          var library = SerializationPool.Priority.LIBRARY;
+          var module = SerializationPool.Priority.MODULE;
+          var futures =
+              List.of(
+                  submit(pool, "local.First", library, ran, "First"),
+                  submit(pool, "local.First.A", module, ran, "First.A"),
+                  submit(pool, "local.Second.A", module, ran, "Second.A"),
+                  submit(pool, "local.First.B", module, ran, "First.B"),
+                  submit(pool, "local.Second", library, ran, "Second"),
+                  submit(pool, "local.Second.B", module, ran, "Second.B"));
+          assertEquals(6, pool.getQueueDepth());
+
+          release.countDown();
+          for (var f : futures) {
+            f.get(10, TimeUnit.SECONDS);
+          }
+          assertEquals(
+              List.of("First.A", "First.B", "Second.A", "Second.B", "First", "Second"), ran);
+        });
+  }
+
+  @Test
+  public void abortsOnlyWaitingRequests() {
+    withBlockedPool(
+        (pool, release) -> {
+          var ran = Collections.synchronizedList(new ArrayList<String>());
+          var aborted = submit(pool, "local.Proj.A", SerializationPool.Priority.MODULE, ran, "A");
+          var kept = submit(pool, "local.Proj.B", SerializationPool.Priority.MODULE, ran, "B");
+          var key = QualifiedName.fromString("local.Proj.A");
+          assertTrue(pool.isWaitingForSerialization(key));
+
+          assertTrue("Waiting request is aborted", pool.abort(key));
+          assertTrue(aborted.isCancelled());
+          assertFalse(pool.isWaitingForSerialization(key));
+          assertFalse("Request is aborted only once", pool.abort(key));
+          assertFalse(
+              "Running request is not aborted",
+              pool.abort(QualifiedName.fromString("local.Blocker")));
+
+          release.countDown();
+          assertEquals("B", kept.get(10, TimeUnit.SECONDS));
+          assertEquals(List.of("B"), ran);
+
+          var resubmitted =
+              submit(pool, "local.Proj.A", SerializationPool.Priority.MODULE, ran, "A");
+          assertEquals(
+              "Aborted key can be requested again", "A", resubmitted.get(10, TimeUnit.SECONDS));
+        });
+  }
+}
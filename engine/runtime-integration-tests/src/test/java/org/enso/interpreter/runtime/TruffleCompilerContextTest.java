@@ -0,0 +1,99 @@
+package org.enso.interpreter.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.enso.common.RuntimeOptions;
+import org.enso.editions.LibraryName;
+import org.enso.pkg.QualifiedName;
+import org.enso.polyglot.PolyglotContext;
+import org.enso.test.utils.ContextUtils;
+import org.enso.test.utils.ProjectUtils;
+import org.graalvm.polyglot.Context;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TruffleCompilerContextTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static final LibraryName PROJ = new LibraryName("local", "Proj");
+
+  /** A context of a project whose main module is compiled, but whose caches are not written. */
+  private Context createProjectContext() throws IOException {
+    var projDir = tempFolder.newFolder().toPath();
+    ProjectUtils.createProject("Proj", """
+        main = 42
+        """, projDir);
+    var ctx =
+        ContextUtils.defaultContextBuilder()
+            .option(RuntimeOptions.PROJECT_ROOT, projDir.toAbsolutePath().toString())
+            .option(RuntimeOptions.DISABLE_IR_CACHES, "false")
+            .build();
+    new PolyglotContext(ctx).evalModule(projDir.resolve("src").resolve("Main.enso").toFile());
+    return ctx;
+  }
+
+  private static TruffleCompilerContext compilerContext(Context ctx) {
+    return (TruffleCompilerContext) ContextUtils.leakContext(ctx).getCompiler().context();
+  }
+
+  @Test
+  public void findsBindingsOnceTheLibraryIsSerialized() throws Exception {
+    try (var ctx = createProjectContext()) {
+      var compiler = ContextUtils.leakContext(ctx).getCompiler();
+      var compilerContext = compilerContext(ctx);
+      ContextUtils.executeInContext(
+          ctx,
+          () -> {
+            assertFalse(
+                "No bindings before serialization", compilerContext.preloadLibraryBindings(PROJ));
+            assertTrue(
+                "Bindings are serialized",
+                compilerContext.doSerializeLibrary(compiler, PROJ, false).call());
+            assertTrue(
+                "Bindings found after serialization", compilerContext.preloadLibraryBindings(PROJ));
+            return null;
+          });
+    }
+  }
+
+  @Test
+  public void keepsTheInterruptWhenWaitingForSerialization() throws Exception {
+    try (var ctx = createProjectContext()) {
+      var compilerContext = compilerContext(ctx);
+      var pool = compilerContext.getSerializationPool();
+      var started = new CountDownLatch(1);
+      var release = new CountDownLatch(1);
+      var serializing =
+          pool.submitTask(
+              () -> {
+                started.countDown();
+                return release.await(10, TimeUnit.SECONDS);
+              },
+              true,
+              QualifiedName.fromString("local.Proj"),
+              SerializationPool.Priority.LIBRARY);
+      try {
+        assertTrue("Serialization started", started.await(10, TimeUnit.SECONDS));
+        var interrupted =
+            ContextUtils.executeInContext(
+                ctx,
+                () -> {
+                  Thread.currentThread().interrupt();
+                  var found = compilerContext.preloadLibraryBindings(PROJ);
+                  assertFalse("No bindings when interrupted", found);
+                  return Thread.interrupted();
+                });
+        assertTrue("Interrupt flag is restored", interrupted.asBoolean());
+      } finally {
+        release.countDown();
+      }
+      assertEquals(Boolean.TRUE, serializing.get(10, TimeUnit.SECONDS));
+    }
+  }
+}
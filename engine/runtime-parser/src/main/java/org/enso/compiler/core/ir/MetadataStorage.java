@@ -13,9 +13,12 @@ import java.util.stream.Collectors;
 import org.enso.compiler.core.CompilerStub;
 import scala.Option;
 
-/** Stores metadata for the various passes. */
+/**
+ * Stores metadata for the various passes. Updates replace the whole map, so that the metadata of a
+ * module can be read while another thread runs passes on it.
+ */
 public final class MetadataStorage {
-  private Map<ProcessingPass, ProcessingPass.Metadata> metadata;
+  private volatile Map<ProcessingPass, ProcessingPass.Metadata> metadata;
 
   public MetadataStorage() {
     this(Collections.emptyMap());
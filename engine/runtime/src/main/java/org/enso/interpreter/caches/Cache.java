@@ -12,6 +12,7 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import org.enso.interpreter.runtime.EnsoContext;
 import org.enso.logger.masking.MaskedPath;
@@ -250,23 +251,28 @@ public final class Cache<T, M> {
     Optional<M> optMeta = loadCacheMetadata(metadataPath, logger);
     if (optMeta.isPresent()) {
       M meta = optMeta.get();
+      boolean trustedByFingerprint = isTrustedByFingerprint(context, meta, logger);
       boolean sourceDigestValid =
-          !needsSourceDigestVerification
-              || spi.computeDigestFromSource(context, logger)
-                  .map(digest -> digest.equals(spi.sourceHash(meta)))
-                  .orElseGet(() -> false);
+          trustedByFingerprint
+              || !needsSourceDigestVerification
+              || isSourceDigestValid(context, meta, logger);
       var file = new File(dataPath.toUri());
       ByteBuffer blobBytes;
       var threeMbs = 3 * 1024 * 1024;
-      if (file.exists() && file.length() > threeMbs) {
+      var lazyArchive =
+          spi.isLazilyDeserialized() && (trustedByFingerprint || !needsDataDigestVerification);
+      if (file.exists() && (lazyArchive || file.length() > threeMbs)) {
         logger.log(Level.FINE, "Cache file " + file + " mmapped with " + file.length() + " size");
-        var raf = new RandomAccessFile(file, "r");
-        blobBytes = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        try (var raf = new RandomAccessFile(file, "r")) {
+          // the mapping stays valid after the channel is closed
+          blobBytes = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        }
       } else {
         blobBytes = ByteBuffer.wrap(dataPath.readAllBytes());
       }
       boolean blobDigestValid =
-          !needsDataDigestVerification
+          trustedByFingerprint
+              || !needsDataDigestVerification
               || CacheUtils.computeDigestFromBytes(blobBytes).equals(spi.blobHash(meta));
 
       if (sourceDigestValid && blobDigestValid) {
@@ -280,6 +286,9 @@ public final class Cache<T, M> {
                 Level.FINEST,
                 "Loaded cache for {0} with {1} bytes in {2} ms",
                 new Object[] {logName, blobBytes.limit(), took});
+            if (trustedByFingerprint) {
+              verifyInBackground(cacheRoot, context, meta, logger);
+            }
             return Optional.of(cachedObject);
           } else {
             logger.log(logLevel, "`{0}` was corrupt on disk.", logName);
@@ -312,6 +321,79 @@ public final class Cache<T, M> {
     }
   }
 
+  private boolean isSourceDigestValid(EnsoContext context, M meta, TruffleLogger logger) {
+    return spi.computeDigestFromSource(context, logger)
+        .map(digest -> digest.equals(spi.sourceHash(meta)))
+        .orElseGet(() -> false);
+  }
+
+  /**
+   * Checks if the cache can be used without computing its digests, because the fingerprint of its
+   * sources has not changed since it was saved. The digests of such a cache are verified later, in
+   * the background.
+   *
+   * @param context the language context in which loading is taking place
+   * @param meta metadata of the cache
+   * @param logger a logger
+   * @return true if the fingerprint is enabled, recorded in {@code meta} and matching
+   */
+  private boolean isTrustedByFingerprint(EnsoContext context, M meta, TruffleLogger logger) {
+    if (!context.isCacheValidatedByFingerprint() || !context.isCreateThreadAllowed()) {
+      return false;
+    }
+    var fingerprint = spi.sourceFingerprint(meta);
+    return fingerprint != null
+        && spi.computeFingerprintFromSource(context, logger)
+            .map(fingerprint::equals)
+            .orElseGet(() -> false);
+  }
+
+  /**
+   * Computes the digests of a cache that was trusted by its fingerprint in a background thread,
+   * invalidating the cache if they do not match its metadata. The data that has already been loaded
+   * stays in use, the cache is only rebuilt the next time it is needed.
+   *
+   * @param cacheRoot the root at which the cache was found
+   * @param context the language context in which loading took place
+   * @param meta the metadata the cache was loaded with
+   * @param logger a logger
+   */
+  private void verifyInBackground(
+      TruffleFile cacheRoot, EnsoContext context, M meta, TruffleLogger logger) {
+    Runnable verification =
+        () -> {
+          try {
+            boolean valid =
+                (!needsSourceDigestVerification || isSourceDigestValid(context, meta, logger))
+                    && (!needsDataDigestVerification
+                        || CacheUtils.computeDigestFromBytes(
+                                ByteBuffer.wrap(getCacheDataPath(cacheRoot).readAllBytes()))
+                            .equals(spi.blobHash(meta)));
+            if (!valid) {
+              synchronized (LOCK) {
+                // Do not remove a cache that has been saved again in the meantime.
+                var metadataPath = getCacheMetadataPath(cacheRoot);
+                if (Optional.of(meta).equals(loadCacheMetadata(metadataPath, logger))) {
+                  logger.log(
+                      logLevel,
+                      "Digests did not match for the cache for [{0}] trusted by its fingerprint.",
+                      logName);
+                  invalidateCache(cacheRoot, logger);
+                }
+              }
+            }
+          } catch (Exception e) {
+            logger.log(
+                Level.FINE, "Unable to verify the cache [" + logName + "]: " + e.getMessage(), e);
+          }
+        };
+    try {
+      context.getCacheVerifier().execute(verification);
+    } catch (RejectedExecutionException e) {
+      logger.log(Level.FINE, "Unable to schedule verification of the cache [{0}].", logName);
+    }
+  }
+
   /**
    * Read metadata representation from the provided location
    *
@@ -528,5 +610,40 @@ public final class Cache<T, M> {
     public abstract String sourceHash(M meta);
 
     public abstract String blobHash(M meta);
+
+    /**
+     * Compute a fingerprint of data's source from the attributes of its files, without reading
+     * them. It is used instead of {@link #computeDigestFromSource} when the context validates
+     * caches by fingerprints.
+     *
+     * @param context the language context in which loading is taking place
+     * @param logger Truffle's logger
+     * @return non-empty fingerprint, if the source supports it
+     */
+    public default Optional<String> computeFingerprintFromSource(
+        EnsoContext context, TruffleLogger logger) {
+      return Optional.empty();
+    }
+
+    /**
+     * Returns the fingerprint of data's source recorded in the metadata.
+     *
+     * @param meta metadata of the cache
+     * @return the fingerprint, or {@code null} if there is none
+     */
+    public default String sourceFingerprint(M meta) {
+      return null;
+    }
+
+    /**
+     * Whether the data is an archive whose entries are deserialized only when first referenced. The
+     * data of such caches is always memory-mapped (unless its digest has to be verified), so that
+     * only the pages of the entries actually used are read from the disk.
+     *
+     * @return {@code true} if the data should be memory-mapped regardless of its size
+     */
+    public default boolean isLazilyDeserialized() {
+      return false;
+    }
   }
 }
@@ -4,6 +4,7 @@ import com.oracle.truffle.api.TruffleFile;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Comparator;
@@ -100,6 +101,44 @@ final class CacheUtils {
     }
   }
 
+  /**
+   * Computes a fingerprint of package sources from the size, the last modification time and, where
+   * the file system provides it, the inode of each source file. Unlike {@link
+   * #computeDigestOfLibrarySources} it does not read the contents of the files.
+   *
+   * @param pkgSources the list of package sources
+   * @return string representation of the fingerprint
+   */
+  static final String computeFingerprintOfLibrarySources(List<SourceFile<TruffleFile>> pkgSources) {
+    pkgSources.sort(Comparator.comparing(o -> o.qualifiedName().toString()));
+
+    try {
+      var digest = messageDigest();
+      var attributes = ByteBuffer.allocate(3 * Long.BYTES);
+      for (var source : pkgSources) {
+        var file = source.file();
+        digest.update(source.qualifiedName().toString().getBytes(StandardCharsets.UTF_8));
+        attributes.clear();
+        attributes.putLong(file.size());
+        attributes.putLong(file.getLastModifiedTime().toMillis());
+        attributes.putLong(inodeOf(file));
+        attributes.flip();
+        digest.update(attributes);
+      }
+      return Hex.toHexString(digest.digest());
+    } catch (IOException ex) {
+      throw raise(RuntimeException.class, ex);
+    }
+  }
+
+  private static long inodeOf(TruffleFile file) throws IOException {
+    try {
+      return file.getAttribute(TruffleFile.UNIX_INODE);
+    } catch (UnsupportedOperationException ex) {
+      return 0;
+    }
+  }
+
   public static String computeDigestFromSuggestions(List<Suggestion> suggestions) {
     var digest = messageDigest();
     for (var suggestion : suggestions) {
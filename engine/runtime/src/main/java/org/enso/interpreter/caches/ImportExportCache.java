@@ -57,7 +57,9 @@ public final class ImportExportCache
   @Override
   public byte[] metadata(String sourceDigest, String blobDigest, CachedBindings entry)
       throws IOException {
-    return new Metadata(sourceDigest, blobDigest).toBytes();
+    var sourceFingerprint =
+        entry.sources().map(CacheUtils::computeFingerprintOfLibrarySources).orElse(null);
+    return new Metadata(sourceDigest, blobDigest, sourceFingerprint).toBytes();
   }
 
   @Override
@@ -77,6 +79,15 @@ public final class ImportExportCache
     return new CachedBindings(libraryName, bindings, Optional.empty());
   }
 
+  /**
+   * The bindings hold the IR of all modules of the library in a lazy map, so a module is only read
+   * when it is first looked up by {@link MapToBindings#findForModule}.
+   */
+  @Override
+  public boolean isLazilyDeserialized() {
+    return true;
+  }
+
   @Override
   public Optional<Metadata> metadataFromBytes(byte[] bytes, TruffleLogger logger)
       throws IOException {
@@ -97,6 +108,15 @@ public final class ImportExportCache
         .map(pkg -> CacheUtils.computeDigestOfLibrarySources(pkg.listSourcesJava()));
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public Optional<String> computeFingerprintFromSource(EnsoContext context, TruffleLogger logger) {
+    return context
+        .getPackageRepository()
+        .getPackageForLibraryJava(libraryName)
+        .map(pkg -> CacheUtils.computeFingerprintOfLibrarySources(pkg.listSourcesJava()));
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public Optional<Cache.Roots> getCacheRoots(EnsoContext context) {
@@ -136,6 +156,11 @@ public final class ImportExportCache
     return meta.blobHash();
   }
 
+  @Override
+  public String sourceFingerprint(Metadata meta) {
+    return meta.sourceFingerprint();
+  }
+
   public static final class MapToBindings {
     private final java.util.Map<QualifiedName, org.enso.compiler.core.ir.Module> entries;
 
@@ -172,12 +197,21 @@ public final class ImportExportCache
       MapToBindings bindings,
       Optional<List<SourceFile<TruffleFile>>> sources) {}
 
-  public record Metadata(String sourceHash, String blobHash) {
+  /**
+   * Metadata of the bindings.
+   *
+   * @param sourceHash digest of the library sources
+   * @param blobHash digest of the serialized bindings
+   * @param sourceFingerprint fingerprint of the attributes of the library source files, or {@code
+   *     null} if it is not known
+   */
+  public record Metadata(String sourceHash, String blobHash, String sourceFingerprint) {
     byte[] toBytes() throws IOException {
       try (var os = new ByteArrayOutputStream();
           var dos = new DataOutputStream(os)) {
         dos.writeUTF(sourceHash());
         dos.writeUTF(blobHash());
+        dos.writeUTF(sourceFingerprint() == null ? "" : sourceFingerprint());
         return os.toByteArray();
       }
     }
@@ -185,7 +219,12 @@ public final class ImportExportCache
     static Metadata read(byte[] arr) throws IOException {
       try (var is = new ByteArrayInputStream(arr);
           var dis = new DataInputStream(is)) {
-        return new Metadata(dis.readUTF(), dis.readUTF());
+        var sourceHash = dis.readUTF();
+        var blobHash = dis.readUTF();
+        // metadata written without a fingerprint ends here
+        var sourceFingerprint = dis.available() > 0 ? dis.readUTF() : "";
+        return new Metadata(
+            sourceHash, blobHash, sourceFingerprint.isEmpty() ? null : sourceFingerprint);
       }
     }
   }
@@ -113,6 +113,9 @@ public final class EnsoContext {
 
   private final int warningsLimit;
 
+  private ExecutorService cacheVerifier;
+  private ExecutorService libraryPreloader;
+
   /**
    * Creates a new Enso context.
    *
@@ -159,7 +162,8 @@ public final class EnsoContext {
             dumpIrs,
             getOption(RuntimeOptions.STRICT_ERRORS_KEY),
             getOption(RuntimeOptions.DISABLE_LINTING_KEY),
-            scala.Option.empty());
+            scala.Option.empty(),
+            getOption(RuntimeOptions.ENABLE_PARALLEL_COMPILATION_KEY));
     this.home = home;
     this.builtins = new Builtins(this);
     this.notificationHandler = notificationHandler;
@@ -201,12 +205,17 @@ public final class EnsoContext {
             builtins,
             notificationHandler);
     topScope = new TopLevelScope(builtins, packageRepository);
-    this.compiler =
-        new Compiler(new TruffleCompilerContext(this), packageRepository, compilerConfig);
+    var compilerContext = new TruffleCompilerContext(this);
+    this.compiler = new Compiler(compilerContext, packageRepository, compilerConfig);
 
     projectPackage.ifPresent(
         pkg -> packageRepository.registerMainProjectPackage(pkg.libraryName(), pkg));
 
+    var preload = getOption(RuntimeOptions.PRELOAD_LIBRARIES_KEY);
+    if (!preload.isBlank() && !isIrCachingDisabled && isCreateThreadAllowed()) {
+      preloadLibraries(compilerContext, preload.split(","));
+    }
+
     var preinit = environment.getOptions().get(RuntimeOptions.PREINITIALIZE_KEY);
     if (preinit != null && preinit.length() > 0) {
       var epb = environment.getInternalLanguages().get("epb");
@@ -218,6 +227,49 @@ public final class EnsoContext {
     }
   }
 
+  /**
+   * Resolves the given libraries and loads their caches on a background thread, while the caller
+   * goes on to parse and compile its own sources. A module that imports one of the libraries before
+   * it is loaded waits for the preloading to finish instead of loading it again.
+   *
+   * @param compilerContext the context holding the loaded library archives
+   * @param names the qualified names of the libraries to preload
+   */
+  private void preloadLibraries(TruffleCompilerContext compilerContext, String[] names) {
+    var libraries = new ArrayList<LibraryName>();
+    for (var name : names) {
+      var library = LibraryName.fromString(name.strip());
+      if (library.isRight()) {
+        libraries.add(library.toOption().get());
+      } else {
+        logger.log(
+            Level.WARNING,
+            "Cannot preload library [{0}]: {1}",
+            new Object[] {name, library.swap().toOption().get()});
+      }
+    }
+    if (libraries.isEmpty()) {
+      return;
+    }
+
+    synchronized (this) {
+      libraryPreloader = newCachedThreadPool("library-preloader", 0, 1, Integer.MAX_VALUE, true);
+      libraryPreloader.execute(
+          () -> {
+            for (var library : libraries) {
+              var start = System.nanoTime();
+              var loaded =
+                  packageRepository.ensurePackageIsLoaded(library).isRight()
+                      && compilerContext.preloadLibraryBindings(library);
+              logger.log(
+                  Level.FINE,
+                  "Preloaded library [{0}] in {1} ms: {2}.",
+                  new Object[] {library, (System.nanoTime() - start) / 1_000_000, loaded});
+            }
+          });
+    }
+  }
+
   /** Checks if the working directory is as expected and reports a warning if not. */
   private void checkWorkingDirectory(Optional<TruffleFile> maybeProjectRoot) {
     if (maybeProjectRoot.isPresent()) {
@@ -290,6 +342,15 @@ public final class EnsoContext {
 
   /** Performs eventual cleanup before the context is disposed of. */
   public void shutdown() {
+    synchronized (this) {
+      if (cacheVerifier != null) {
+        // pending verifications are only useful while the caches are being used
+        cacheVerifier.shutdownNow();
+      }
+      if (libraryPreloader != null) {
+        libraryPreloader.shutdownNow();
+      }
+    }
     threadExecutors.shutdown();
     threadManager.shutdown();
     resourceManager.shutdown();
@@ -716,6 +777,29 @@ public final class EnsoContext {
     return getOption(RuntimeOptions.USE_GLOBAL_IR_CACHE_LOCATION_KEY);
   }
 
+  /**
+   * Checks whether caches may be validated by the fingerprints of their sources, deferring the
+   * computation of their digests to a background thread.
+   *
+   * @return true if so
+   */
+  public boolean isCacheValidatedByFingerprint() {
+    return getOption(RuntimeOptions.VALIDATE_CACHES_BY_FINGERPRINT_KEY);
+  }
+
+  /**
+   * Returns the executor that verifies the digests of caches which were loaded because the
+   * fingerprints of their sources matched.
+   *
+   * @return a single-threaded executor, created on first use
+   */
+  public synchronized ExecutorService getCacheVerifier() {
+    if (cacheVerifier == null) {
+      cacheVerifier = newCachedThreadPool("cache-verifier", 0, 1, Integer.MAX_VALUE, true);
+    }
+    return cacheVerifier;
+  }
+
   public boolean isAssertionsEnabled() {
     return assertionsEnabled;
   }
@@ -1,16 +1,21 @@
 package org.enso.interpreter.runtime;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import org.enso.pkg.QualifiedName;
 
@@ -19,17 +24,38 @@ import org.enso.pkg.QualifiedName;
  * encapsulate working with threads:
  *
  * <ul>
- *   <li>serialization is done asychronously in a single background thread
+ *   <li>serialization is done asychronously in a small pool of background threads
  *   <li>deserialization is done synchronously and tries to wait for possible background work to
  *       finish
  * </ul>
  *
  * It is good to keep in mind, that serialization isn't the primary goal while Enso program is
  * running. When a program is running as much of the CPU time should be dedicated to compilation and
- * execution. Only when the Enso program execution is over, flushing the pending caches becomes a
- * priority. Future rewrites of this class may optimize towards such direction.
+ * execution. Therefore the pool uses at most half of the available processors, and the queued
+ * requests are ordered so that the caches that matter most are written first:
+ *
+ * <ul>
+ *   <li>requests of a higher {@link Priority} go first, so that a module that has just been
+ *       recompiled is not stuck behind the caching of whole libraries
+ *   <li>requests for modules of the same library are written together, in a batch, in the order in
+ *       which the first of them was requested
+ *   <li>a request for a key that is still waiting in the queue replaces the data to be written by
+ *       the waiting one, instead of writing the same cache twice
+ * </ul>
  */
 final class SerializationPool {
+  /** The maximal number of threads serializing concurrently. */
+  private static final int MAX_THREADS =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+  /** The priority of a serialization request. */
+  enum Priority {
+    /** Serialization of a single module, such as one that has just been compiled. */
+    MODULE,
+    /** Serialization of the bindings and suggestions of a whole library. */
+    LIBRARY
+  }
+
   private final TruffleCompilerContext context;
 
   /**
@@ -45,24 +71,58 @@ final class SerializationPool {
    *
    * <p>This map is accessed concurrently.
    */
-  private final Map<QualifiedName, Future<?>> isWaitingForSerialization = new ConcurrentHashMap<>();
+  private final Map<QualifiedName, Job<?>> isWaitingForSerialization = new ConcurrentHashMap<>();
+
+  /** The batches of the queued jobs, by library. Guarded by {@link #isWaitingForSerialization}. */
+  private final Map<String, Batch> batches = new HashMap<>();
+
+  /** The order in which the jobs and batches were created. */
+  private final AtomicLong sequence = new AtomicLong();
+
+  /** The time the last serialization of each key took, in nanoseconds. */
+  private final Map<QualifiedName, Long> serializationTimes = new ConcurrentHashMap<>();
 
   /** The thread pool that handles serialization. */
-  private final ExecutorService pool;
+  private final ThreadPoolExecutor pool;
 
-  /** all associated threads */
+  /** The live threads of the pool. Threads remove themselves when they time out or terminate. */
   private final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
 
   SerializationPool(TruffleCompilerContext context) {
+    this(context, MAX_THREADS);
+  }
+
+  /**
+   * Creates a pool serializing with the given number of threads.
+   *
+   * @param context the compiler context
+   * @param maxThreads the maximal number of threads serializing concurrently
+   */
+  SerializationPool(TruffleCompilerContext context, int maxThreads) {
     this.context = context;
+    var counter = new AtomicInteger();
     this.pool =
-        Executors.newSingleThreadExecutor(
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            60,
+            TimeUnit.SECONDS,
+            new PriorityBlockingQueue<>(),
             (r) -> {
-              var t = context.createSystemThread(r);
-              t.setName("SerializationPool background thread");
+              var t =
+                  context.createSystemThread(
+                      () -> {
+                        try {
+                          r.run();
+                        } finally {
+                          threads.remove(Thread.currentThread());
+                        }
+                      });
+              t.setName("SerializationPool background thread-" + counter.incrementAndGet());
               threads.add(t);
               return t;
             });
+    this.pool.allowCoreThreadTimeOut(true);
   }
 
   /**
@@ -142,8 +202,10 @@ final class SerializationPool {
       if (isWaitingForSerialization(key)) {
         var prev = isWaitingForSerialization.remove(key);
         isWaitingForSerialization.notifyAll();
-        if (prev != null) {
-          return prev.cancel(false);
+        if (prev != null && prev.cancel(false)) {
+          pool.remove(prev);
+          prev.leaveQueue();
+          return true;
         } else {
           return false;
         }
@@ -153,9 +215,22 @@ final class SerializationPool {
     }
   }
 
-  void startSerializing(QualifiedName name) {
+  /**
+   * Marks the {@code key} as being serialized, waiting for a previous serialization of it to finish
+   * first.
+   *
+   * @param name the key to start serializing
+   * @param job the job serializing it, or {@code null} if it is serialized synchronously
+   * @throws InterruptedException if the wait is interrupted
+   */
+  private void startSerializing(QualifiedName name, Job<?> job) throws InterruptedException {
     synchronized (isWaitingForSerialization) {
-      isWaitingForSerialization.remove(name);
+      while (isSerializing.containsKey(name)) {
+        isWaitingForSerialization.wait(100);
+      }
+      if (job != null) {
+        isWaitingForSerialization.remove(name, job);
+      }
       isSerializing.put(name, true);
       isWaitingForSerialization.notifyAll();
     }
@@ -166,23 +241,68 @@ final class SerializationPool {
    *
    * @param name the key to set as having finished serialization
    */
-  void finishSerializing(QualifiedName name) {
+  private void finishSerializing(QualifiedName name) {
     synchronized (isWaitingForSerialization) {
       isSerializing.remove(name);
       isWaitingForSerialization.notifyAll();
     }
   }
 
-  <T> Future<T> submitTask(Callable<T> task, boolean useThreadPool, QualifiedName key) {
+  /**
+   * Runs the task serializing the {@code key}, recording how long it took.
+   *
+   * @param task the task to run
+   * @param key the key being serialized
+   * @param job the job running the task, or {@code null} if it runs synchronously
+   * @return the result of the task
+   */
+  private <T> T serialize(Callable<T> task, QualifiedName key, Job<?> job) throws Exception {
+    startSerializing(key, job);
+    var start = System.nanoTime();
+    try {
+      return task.call();
+    } finally {
+      var took = System.nanoTime() - start;
+      finishSerializing(key);
+      serializationTimes.put(key, took);
+      context.logSerializationManager(
+          Level.FINE,
+          "Serialized [{0}] in {1} ms, {2} requests waiting.",
+          key,
+          TimeUnit.NANOSECONDS.toMillis(took),
+          getQueueDepth());
+    }
+  }
+
+  /**
+   * Requests serialization of the {@code key}.
+   *
+   * @param task the task writing the caches
+   * @param useThreadPool if true, the task runs asynchronously, otherwise it runs right away
+   * @param key the module or library serialized by the task
+   * @param priority the priority of the request
+   * @return the future result of the task
+   */
+  @SuppressWarnings("unchecked")
+  <T> Future<T> submitTask(
+      Callable<T> task, boolean useThreadPool, QualifiedName key, Priority priority) {
     if (useThreadPool) {
       synchronized (isWaitingForSerialization) {
-        var future = pool.submit(task);
-        isWaitingForSerialization.put(key, future);
-        return future;
+        var waiting = isWaitingForSerialization.get(key);
+        if (waiting != null && waiting.replaceTask(task)) {
+          context.logSerializationManager(
+              Level.FINEST, "Coalesced serialization requests for [{0}].", key);
+          return (Future<T>) waiting;
+        }
+        var batch = batches.computeIfAbsent(libraryOf(key), Batch::new);
+        var job = newJob(task, key, priority, batch);
+        isWaitingForSerialization.put(key, job);
+        pool.execute(job);
+        return job;
       }
     } else {
       try {
-        return CompletableFuture.completedFuture(task.call());
+        return CompletableFuture.completedFuture(serialize(task, key, null));
       } catch (Throwable e) {
         context.logSerializationManager(
             Level.WARNING, "Serialization task failed for [" + key + "].", e);
@@ -204,4 +324,122 @@ final class SerializationPool {
       }
     }
   }
+
+  /**
+   * @return the number of serialization requests waiting in the queue
+   */
+  int getQueueDepth() {
+    return isWaitingForSerialization.size();
+  }
+
+  /**
+   * @return the time the last serialization of each key took, in nanoseconds
+   */
+  Map<QualifiedName, Long> getSerializationTimes() {
+    return Collections.unmodifiableMap(serializationTimes);
+  }
+
+  /** The library of a module, or the library itself, determining the batch of its requests. */
+  private static String libraryOf(QualifiedName key) {
+    var segments = new ArrayList<>(key.pathAsJava());
+    segments.add(key.item());
+    return String.join(".", segments.subList(0, Math.min(2, segments.size())));
+  }
+
+  /** The queued requests of a library. Guarded by {@link #isWaitingForSerialization}. */
+  private final class Batch {
+    private final String library;
+    private final long order = sequence.getAndIncrement();
+    private int queued = 0;
+
+    private Batch(String library) {
+      this.library = library;
+    }
+  }
+
+  private <T> Job<T> newJob(Callable<T> task, QualifiedName key, Priority priority, Batch batch) {
+    var delegate = new Delegate<>(task);
+    var job = new Job<>(delegate, key, priority, batch);
+    delegate.job = job;
+    return job;
+  }
+
+  /** The task of a job, which can be replaced until the job starts. */
+  private final class Delegate<T> implements Callable<T> {
+    private volatile Callable<T> task;
+    private Job<T> job;
+
+    private Delegate(Callable<T> task) {
+      this.task = task;
+    }
+
+    @Override
+    public T call() throws Exception {
+      return serialize(task, job.key, job);
+    }
+  }
+
+  /** A queued serialization request, ordered by its priority, batch and creation. */
+  private final class Job<T> extends FutureTask<T> implements Comparable<Job<?>> {
+    private final QualifiedName key;
+    private final Priority priority;
+    private final Batch batch;
+    private final long order = sequence.getAndIncrement();
+    private final Delegate<T> delegate;
+    private boolean queued = true;
+
+    private Job(Delegate<T> delegate, QualifiedName key, Priority priority, Batch batch) {
+      super(delegate);
+      this.delegate = delegate;
+      this.key = key;
+      this.priority = priority;
+      this.batch = batch;
+      batch.queued++;
+    }
+
+    /**
+     * Replaces the task of a job that has not started yet.
+     *
+     * @return {@code true} if the task was replaced
+     */
+    @SuppressWarnings("unchecked")
+    private boolean replaceTask(Callable<?> task) {
+      assert Thread.holdsLock(isWaitingForSerialization);
+      if (queued && !isDone()) {
+        delegate.task = (Callable<T>) task;
+        return true;
+      } else {
+        return false;
+      }
+    }
+
+    /** Removes the job from its batch, once it starts or is cancelled. */
+    private void leaveQueue() {
+      assert Thread.holdsLock(isWaitingForSerialization);
+      if (queued) {
+        queued = false;
+        if (--batch.queued == 0) {
+          batches.remove(batch.library, batch);
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      synchronized (isWaitingForSerialization) {
+        leaveQueue();
+      }
+      super.run();
+    }
+
+    @Override
+    public int compareTo(Job<?> other) {
+      int byPriority = priority.compareTo(other.priority);
+      if (byPriority != 0) {
+        return byPriority;
+      }
+      int byBatch = Long.compare(batch.order, other.batch.order);
+      return byBatch != 0 ? byBatch : Long.compare(order, other.order);
+    }
+  }
 }
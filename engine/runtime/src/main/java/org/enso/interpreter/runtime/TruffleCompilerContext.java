@@ -122,6 +122,13 @@ final class TruffleCompilerContext implements CompilerContext {
     context.getNotificationHandler().serializeModule(moduleName);
   }
 
+  /**
+   * @return the pool serializing the caches
+   */
+  SerializationPool getSerializationPool() {
+    return serializationPool;
+  }
+
   @Override
   public boolean isCreateThreadAllowed() {
     return context.isCreateThreadAllowed();
@@ -318,7 +325,10 @@ final class TruffleCompilerContext implements CompilerContext {
     var task = doSerializeLibrary(compiler, libraryName, useGlobalCacheLocations);
 
     return serializationPool.submitTask(
-        task, isCreateThreadAllowed(), toQualifiedName(libraryName));
+        task,
+        isCreateThreadAllowed(),
+        toQualifiedName(libraryName),
+        SerializationPool.Priority.LIBRARY);
   }
 
   /**
@@ -375,7 +385,8 @@ final class TruffleCompilerContext implements CompilerContext {
             module.getName(),
             src,
             useGlobalCacheLocations);
-    return serializationPool.submitTask(task, useThreadPool, module.getName());
+    return serializationPool.submitTask(
+        task, useThreadPool, module.getName(), SerializationPool.Priority.MODULE);
   }
 
   /**
@@ -397,11 +408,7 @@ final class TruffleCompilerContext implements CompilerContext {
       Source source,
       boolean useGlobalCacheLocations) {
     return () -> {
-      var pool = serializationPool;
-      pool.waitWhileSerializing(name);
-
       logSerializationManager(Level.FINE, "Running serialization for module [{0}].", name);
-      pool.startSerializing(name);
       try {
         var fixedStage =
             stage.isAtLeast(CompilationStage.AFTER_STATIC_PASSES)
@@ -419,30 +426,61 @@ final class TruffleCompilerContext implements CompilerContext {
             "Serialization of module `" + name + "` failed: " + e.getMessage(),
             e);
         throw e;
-      } finally {
-        pool.finishSerializing(name);
       }
     };
   }
 
-  private final Map<LibraryName, MapToBindings> known = new HashMap<>();
+  /**
+   * The loaded library archives. The archive of a library is mapped into memory once, and the IR of
+   * its modules is read from it only as the modules are requested. Libraries without a valid
+   * archive are remembered as empty, so that they are not looked up again for each of their
+   * modules, until the bindings of the library are serialized.
+   */
+  private final Map<LibraryName, Optional<MapToBindings>> known = new HashMap<>();
 
-  @Override
-  public boolean deserializeModule(Compiler compiler, CompilerContext.Module module) {
-    if (module.getPackage() != null) {
-      var library = module.getPackage().libraryName();
+  private MapToBindings findLibraryBindings(LibraryName library) {
+    synchronized (known) {
       var bindings = known.get(library);
       if (bindings == null) {
         try {
           var cached = deserializeLibraryBindings(library);
-          if (cached.isDefined()) {
-            bindings = cached.get().bindings();
-            known.put(library, bindings);
-          }
+          bindings = cached.isDefined() ? Optional.of(cached.get().bindings()) : Optional.empty();
+          known.put(library, bindings);
         } catch (InterruptedException ex) {
-          // proceed
+          Thread.currentThread().interrupt();
+          return null;
         }
       }
+      return bindings.orElse(null);
+    }
+  }
+
+  /**
+   * Forgets the archive of the library, so that it is looked up again when next requested.
+   *
+   * @param library the library whose bindings were serialized
+   */
+  private void forgetLibraryBindings(LibraryName library) {
+    synchronized (known) {
+      known.remove(library);
+    }
+  }
+
+  /**
+   * Loads the archive of the library ahead of its first use, so that the modules importing it find
+   * it already mapped. The library package must have been loaded.
+   *
+   * @param library the library to load the archive of
+   * @return {@code true} if the library has a valid archive
+   */
+  boolean preloadLibraryBindings(LibraryName library) {
+    return findLibraryBindings(library) != null;
+  }
+
+  @Override
+  public boolean deserializeModule(Compiler compiler, CompilerContext.Module module) {
+    if (module.getPackage() != null) {
+      var bindings = findLibraryBindings(module.getPackage().libraryName());
       if (bindings != null) {
         var ir = bindings.findForModule(module.getName());
         loggerSerializationManager.log(
@@ -520,11 +558,7 @@ final class TruffleCompilerContext implements CompilerContext {
   Callable<Boolean> doSerializeLibrary(
       Compiler compiler, LibraryName libraryName, boolean useGlobalCacheLocations) {
     return () -> {
-      var pool = serializationPool;
-      pool.waitWhileSerializing(toQualifiedName(libraryName));
-
       logSerializationManager(Level.FINE, "Running serialization for bindings [{0}].", libraryName);
-      pool.startSerializing(toQualifiedName(libraryName));
       var map = new HashMap<QualifiedName, org.enso.compiler.core.ir.Module>();
       var it = context.getPackageRepository().getModulesForLibrary(libraryName);
       while (it.nonEmpty()) {
@@ -543,24 +577,22 @@ final class TruffleCompilerContext implements CompilerContext {
       var bindingsCache =
           new ImportExportCache.CachedBindings(
               libraryName, new ImportExportCache.MapToBindings(map), snd);
+      boolean result =
+          doSerializeLibrarySuggestions(compiler, libraryName, useGlobalCacheLocations);
       try {
-        boolean result =
-            doSerializeLibrarySuggestions(compiler, libraryName, useGlobalCacheLocations);
-        try {
-          var cache = ImportExportCache.create(libraryName);
-          var file = saveCache(cache, bindingsCache, useGlobalCacheLocations);
-          result &= file != null;
-        } catch (Throwable e) {
-          logSerializationManager(
-              e instanceof IOException ? Level.WARNING : Level.SEVERE,
-              "Serialization of bindings `" + libraryName + "` failed: " + e.getMessage() + "`",
-              e);
-          throw e;
-        }
-        return result;
+        var cache = ImportExportCache.create(libraryName);
+        var file = saveCache(cache, bindingsCache, useGlobalCacheLocations);
+        result &= file != null;
+      } catch (Throwable e) {
+        logSerializationManager(
+            e instanceof IOException ? Level.WARNING : Level.SEVERE,
+            "Serialization of bindings `" + libraryName + "` failed: " + e.getMessage() + "`",
+            e);
+        throw e;
       } finally {
-        pool.finishSerializing(toQualifiedName(libraryName));
+        forgetLibraryBindings(libraryName);
       }
+      return result;
     };
   }
 
@@ -0,0 +1,93 @@
+package org.enso.table.parsing;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.parsing.problems.CommonParseProblemAggregator;
+import org.enso.table.problems.ProblemAggregator;
+import org.graalvm.polyglot.Context;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares parsing a column of numbers with the single-pass scanner of {@link NumberParser} against
+ * matching every cell with its regular expressions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class NumberParserBenchmark {
+
+  @Param({"100000"})
+  public int rows;
+
+  @Param({"true", "false"})
+  public boolean scanner;
+
+  private Context context;
+  private Storage<String> integers;
+  private Storage<String> decimals;
+  private Storage<String> groupedDecimals;
+  private NumberParser integerParser;
+  private NumberParser decimalParser;
+
+  @Setup
+  public void setup() {
+    context = Context.create();
+    context.enter();
+
+    Random random = new Random(42);
+    String[] integerCells = new String[rows];
+    String[] decimalCells = new String[rows];
+    String[] groupedCells = new String[rows];
+    for (int i = 0; i < rows; i++) {
+      long value = random.nextLong(-10_000_000, 10_000_000);
+      int cents = random.nextInt(100);
+      integerCells[i] = Long.toString(value);
+      decimalCells[i] = value + "." + cents;
+      groupedCells[i] = String.format("%,d.%02d", value, cents);
+    }
+    integers = new StringStorage(integerCells, rows, TextType.VARIABLE_LENGTH);
+    decimals = new StringStorage(decimalCells, rows, TextType.VARIABLE_LENGTH);
+    groupedDecimals = new StringStorage(groupedCells, rows, TextType.VARIABLE_LENGTH);
+
+    integerParser =
+        NumberParser.createIntegerParser(IntegerType.INT_64, false, false, true, null, null);
+    decimalParser = NumberParser.createDecimalParser(false, false, true, true, null, null);
+    if (!scanner) {
+      integerParser = integerParser.withoutScanner();
+      decimalParser = decimalParser.withoutScanner();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.leave();
+    context.close();
+  }
+
+  private static CommonParseProblemAggregator makeAggregator() {
+    return new CommonParseProblemAggregator(
+        ProblemAggregator.makeTopLevelAggregator(), "column", null);
+  }
+
+  @Benchmark
+  public Storage<?> parseIntegers() {
+    return integerParser.parseColumn(integers, makeAggregator());
+  }
+
+  @Benchmark
+  public Storage<?> parseDecimals() {
+    return decimalParser.parseColumn(decimals, makeAggregator());
+  }
+
+  @Benchmark
+  public Storage<?> parseGroupedDecimals() {
+    return decimalParser.parseColumn(groupedDecimals, makeAggregator());
+  }
+}
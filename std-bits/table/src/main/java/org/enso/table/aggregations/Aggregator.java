@@ -2,7 +2,9 @@ package org.enso.table.aggregations;
 
 import java.util.List;
 import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.data.index.RowGrouping;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.IntSliceList;
 
 /** Interface used to define aggregate columns. */
 public abstract class Aggregator {
@@ -35,8 +37,45 @@ public abstract class Aggregator {
   /**
    * Compute the value for a set of rows
    *
+   * <p>The default implementation copies the indexes into a primitive array and delegates to {@link
+   * #aggregate(int[], int, int, ProblemAggregator)}.
+   *
    * @param indexes - indexes to the rows in the source table to aggregate on
    * @return aggregated value
    */
-  public abstract Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator);
+  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+    int[] rows = indexes.stream().mapToInt(Integer::intValue).toArray();
+    return aggregate(rows, 0, rows.length, problemAggregator);
+  }
+
+  /**
+   * Compute the value for a set of rows given as a range of a primitive array.
+   *
+   * <p>This is the entry point used by the grouping indices. The default implementation adapts the
+   * range to a list and delegates to {@link #aggregate(List, ProblemAggregator)}, so an aggregator
+   * must override at least one of the two methods.
+   *
+   * @param rows - array containing indexes to the rows in the source table
+   * @param start - the position in {@code rows} of the first row to aggregate on
+   * @param end - the position in {@code rows} after the last row to aggregate on
+   * @return aggregated value
+   */
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
+    return aggregate(new IntSliceList(rows, start, end), problemAggregator);
+  }
+
+  /**
+   * Compute the values for all groups of a grouping at once.
+   *
+   * <p>Aggregators over primitive numeric columns override this to process the whole column in a
+   * single sequential pass, keeping the per-group state in primitive arrays instead of boxing every
+   * value. The default implementation returns {@code null}, meaning that each group should be
+   * computed separately with {@link #aggregate(int[], int, int, ProblemAggregator)}.
+   *
+   * @param grouping - the grouping of the rows of the source table
+   * @return the results for all groups, or {@code null} if not supported for this column
+   */
+  public GroupedResults aggregateGroups(RowGrouping grouping) {
+    return null;
+  }
 }
@@ -1,6 +1,5 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.type.TextType;
 import org.enso.table.data.table.Column;
@@ -29,12 +28,13 @@ public class Concatenate extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     StringBuilder current = null;
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (value == null || value instanceof String) {
         String textValue = toQuotedString(value, quote, separator);
@@ -1,6 +1,5 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.problems.ProblemAggregator;
 
@@ -11,7 +10,7 @@ public class Count extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
-    return indexes.size();
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
+    return end - start;
   }
 }
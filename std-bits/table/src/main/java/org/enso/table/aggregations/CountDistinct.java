@@ -5,6 +5,8 @@ import java.util.HashSet;
 import java.util.List;
 import org.enso.base.text.TextFoldingStrategy;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.data.index.UnorderedMultiValueKey;
 import org.enso.table.data.table.Column;
@@ -12,16 +14,26 @@ import org.enso.table.data.table.problems.FloatingPointGrouping;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
 import org.enso.table.util.ConstantList;
+import org.enso.table.util.LongHashSet;
 import org.graalvm.polyglot.Context;
 
 /**
  * Aggregate Column counting the number of distinct items in a group. If `ignoreAllNull` is true,
  * does count when all items are null.
+ *
+ * <p>Distinct values of a single integer or float column are collected in primitive hash sets,
+ * other keys in a set of {@link UnorderedMultiValueKey}s.
+ *
+ * <p>If an approximate precision is given, the count is instead estimated by a {@link HyperLogLog}
+ * sketch of the hashes of the keys, whose size depends only on the precision. Keys spanning several
+ * columns are then limited by their 32-bit hash codes, which start colliding noticeably above a few
+ * hundred million distinct keys.
  */
 public class CountDistinct extends Aggregator {
   private final Storage<?>[] storage;
   private final List<TextFoldingStrategy> textFoldingStrategy;
   private final boolean ignoreAllNull;
+  private final int approximatePrecision;
 
   /**
    * Constructs a CountDistinct Aggregator
@@ -31,20 +43,56 @@ public class CountDistinct extends Aggregator {
    * @param ignoreAllNull if true ignore then all values are null
    */
   public CountDistinct(String name, Column[] columns, boolean ignoreAllNull) {
+    this(name, columns, ignoreAllNull, 0);
+  }
+
+  /**
+   * Constructs a CountDistinct Aggregator
+   *
+   * @param name output column name
+   * @param columns input columns
+   * @param ignoreAllNull if true ignore then all values are null
+   * @param approximatePrecision the precision of the {@link HyperLogLog} sketch estimating the
+   *     count, or 0 to count exactly
+   */
+  public CountDistinct(
+      String name, Column[] columns, boolean ignoreAllNull, int approximatePrecision) {
     super(name, IntegerType.INT_64);
+    if (approximatePrecision != 0
+        && (approximatePrecision < HyperLogLog.MIN_PRECISION
+            || approximatePrecision > HyperLogLog.MAX_PRECISION)) {
+      throw new IllegalArgumentException(
+          "The approximate precision must be 0 or between "
+              + HyperLogLog.MIN_PRECISION
+              + " and "
+              + HyperLogLog.MAX_PRECISION
+              + ", but it was "
+              + approximatePrecision
+              + ".");
+    }
+
     this.storage = Arrays.stream(columns).map(Column::getStorage).toArray(Storage[]::new);
     this.ignoreAllNull = ignoreAllNull;
+    this.approximatePrecision = approximatePrecision;
     textFoldingStrategy =
         ConstantList.make(TextFoldingStrategy.unicodeNormalizedFold, storage.length);
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
+    if (storage.length == 1 && storage[0] instanceof AbstractLongStorage longStorage) {
+      return countLongs(longStorage, rows, start, end);
+    } else if (storage.length == 1 && storage[0] instanceof DoubleStorage doubleStorage) {
+      return countDoubles(doubleStorage, rows, start, end, innerAggregator);
+    }
+
     Context context = Context.getCurrent();
-    HashSet<UnorderedMultiValueKey> set = new HashSet<>();
-    for (int row : indexes) {
+    HyperLogLog sketch = approximatePrecision != 0 ? new HyperLogLog(approximatePrecision) : null;
+    HashSet<UnorderedMultiValueKey> set = sketch == null ? new HashSet<>() : null;
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       UnorderedMultiValueKey key = new UnorderedMultiValueKey(storage, row, textFoldingStrategy);
       if (key.hasFloatValues()) {
         innerAggregator.reportColumnAggregatedProblem(
@@ -52,11 +100,87 @@ public class CountDistinct extends Aggregator {
       }
 
       if (!ignoreAllNull || !key.areAllNull()) {
-        set.add(key);
+        if (sketch != null) {
+          sketch.addHash(HyperLogLog.mix(key.hashCode()));
+        } else {
+          set.add(key);
+        }
+      }
+
+      context.safepoint();
+    }
+    return sketch != null ? (Object) sketch.estimate() : (Object) set.size();
+  }
+
+  private Object countLongs(AbstractLongStorage longStorage, int[] rows, int start, int end) {
+    Context context = Context.getCurrent();
+    HyperLogLog sketch = approximatePrecision != 0 ? new HyperLogLog(approximatePrecision) : null;
+    LongHashSet set = sketch == null ? new LongHashSet() : null;
+    boolean hasNothing = false;
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
+      if (longStorage.isNothing(row)) {
+        hasNothing = true;
+      } else if (sketch != null) {
+        sketch.addHash(HyperLogLog.mix(longStorage.getItem(row)));
+      } else {
+        set.add(longStorage.getItem(row));
       }
 
       context.safepoint();
     }
-    return set.size();
+
+    int nothingCount = hasNothing && !ignoreAllNull ? 1 : 0;
+    return sketch != null
+        ? (Object) (sketch.estimate() + nothingCount)
+        : (Object) (set.size() + nothingCount);
+  }
+
+  /**
+   * Counts the distinct values of a float column. Like in {@link UnorderedMultiValueKey}, whole
+   * numbers are folded to longs (so that {@code -0.0} equals {@code 0.0}), while other values are
+   * compared by their bits (so that all NaNs are equal).
+   */
+  private Object countDoubles(
+      DoubleStorage doubleStorage,
+      int[] rows,
+      int start,
+      int end,
+      ColumnAggregatedProblemAggregator innerAggregator) {
+    Context context = Context.getCurrent();
+    HyperLogLog sketch = approximatePrecision != 0 ? new HyperLogLog(approximatePrecision) : null;
+    LongHashSet wholeNumbers = sketch == null ? new LongHashSet() : null;
+    LongHashSet fractions = sketch == null ? new LongHashSet() : null;
+    boolean hasNothing = false;
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
+      if (doubleStorage.isNothing(row)) {
+        hasNothing = true;
+      } else {
+        innerAggregator.reportColumnAggregatedProblem(
+            new FloatingPointGrouping(this.getName(), row));
+
+        double value = doubleStorage.getItemAsDouble(row);
+        boolean isWhole = value % 1 == 0;
+        long bits = isWhole ? (long) value : Double.doubleToLongBits(value);
+        if (sketch != null) {
+          // Fractions are hashed differently, so that they do not collide with the whole number
+          // sharing their bits.
+          long hash = HyperLogLog.mix(bits);
+          sketch.addHash(isWhole ? hash : ~hash);
+        } else if (isWhole) {
+          wholeNumbers.add(bits);
+        } else {
+          fractions.add(bits);
+        }
+      }
+
+      context.safepoint();
+    }
+
+    int nothingCount = hasNothing && !ignoreAllNull ? 1 : 0;
+    return sketch != null
+        ? (Object) (sketch.estimate() + nothingCount)
+        : (Object) (wholeNumbers.size() + fractions.size() + nothingCount);
   }
 }
@@ -1,6 +1,5 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.data.table.Column;
@@ -31,12 +30,13 @@ public class CountEmpty extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     int count = 0;
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (value == null) {
         count += isEmpty ? 1 : 0;
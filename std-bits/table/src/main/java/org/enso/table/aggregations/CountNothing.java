@@ -1,6 +1,5 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.data.table.Column;
@@ -29,10 +28,11 @@ public class CountNothing extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     Context context = Context.getCurrent();
     long count = 0;
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       count += ((storage.getItemBoxed(row) == null) == isNothing ? 1L : 0L);
       context.safepoint();
     }
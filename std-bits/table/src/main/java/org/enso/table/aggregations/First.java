@@ -1,7 +1,6 @@
 package org.enso.table.aggregations;
 
 import java.util.Arrays;
-import java.util.List;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.index.OrderedMultiValueKey;
 import org.enso.table.data.table.Column;
@@ -39,20 +38,21 @@ public class First extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     if (orderByColumns.length == 0) {
-      return firstByRowOrder(indexes);
+      return firstByRowOrder(rows, start, end);
     } else {
-      return firstBySpecifiedOrder(indexes);
+      return firstBySpecifiedOrder(rows, start, end);
     }
   }
 
-  private Object firstBySpecifiedOrder(List<Integer> indexes) {
+  private Object firstBySpecifiedOrder(int[] rows, int start, int end) {
     OrderedMultiValueKey key = null;
     Object current = null;
 
     Context context = Context.getCurrent();
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (ignoreNothing && value == null) {
         continue;
@@ -71,9 +71,10 @@ public class First extends Aggregator {
     return current;
   }
 
-  private Object firstByRowOrder(List<Integer> indexes) {
+  private Object firstByRowOrder(int[] rows, int start, int end) {
     Context context = Context.getCurrent();
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (!ignoreNothing || value != null) {
         return value;
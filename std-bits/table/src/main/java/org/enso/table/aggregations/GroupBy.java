@@ -1,6 +1,5 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.table.Column;
 import org.enso.table.problems.ProblemAggregator;
@@ -15,7 +14,7 @@ public class GroupBy extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
-    return indexes.isEmpty() ? null : storage.getItemBoxed(indexes.get(0));
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
+    return start == end ? null : storage.getItemBoxed(rows[start]);
   }
 }
@@ -0,0 +1,21 @@
+package org.enso.table.aggregations;
+
+import org.enso.table.problems.ProblemAggregator;
+
+/**
+ * The values of an aggregate column computed for all groups of a {@link
+ * org.enso.table.data.index.RowGrouping} at once.
+ */
+public interface GroupedResults {
+  /**
+   * Returns the aggregated value for the given group.
+   *
+   * <p>Any problems encountered while aggregating the group are reported to the provided
+   * aggregator, exactly as {@link Aggregator#aggregate(int[], int, int, ProblemAggregator)} would
+   * report them.
+   *
+   * @param groupId - id of the group in the grouping the results were computed for
+   * @return aggregated value
+   */
+  Object get(int groupId, ProblemAggregator problemAggregator);
+}
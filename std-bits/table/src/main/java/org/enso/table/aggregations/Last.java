@@ -1,7 +1,6 @@
 package org.enso.table.aggregations;
 
 import java.util.Arrays;
-import java.util.List;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.index.OrderedMultiValueKey;
 import org.enso.table.data.table.Column;
@@ -38,21 +37,21 @@ public class Last extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     if (orderByColumns.length == 0) {
-      return lastByRowOrder(indexes);
+      return lastByRowOrder(rows, start, end);
     } else {
-      return lastBySpecifiedOrder(indexes);
+      return lastBySpecifiedOrder(rows, start, end);
     }
   }
 
-  private Object lastBySpecifiedOrder(List<Integer> indexes) {
+  private Object lastBySpecifiedOrder(int[] rows, int start, int end) {
     OrderedMultiValueKey key = null;
     Object current = null;
 
     Context context = Context.getCurrent();
-    for (int i = indexes.size() - 1; i >= 0; i--) {
-      int row = indexes.get(i);
+    for (int i = end - 1; i >= start; i--) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (ignoreNothing && value == null) {
         continue;
@@ -71,10 +70,10 @@ public class Last extends Aggregator {
     return current;
   }
 
-  private Object lastByRowOrder(List<Integer> indexes) {
+  private Object lastByRowOrder(int[] rows, int start, int end) {
     Context context = Context.getCurrent();
-    for (int i = indexes.size() - 1; i >= 0; i--) {
-      Object value = storage.getItemBoxed(indexes.get(i));
+    for (int i = end - 1; i >= start; i--) {
+      Object value = storage.getItemBoxed(rows[i]);
       if (!ignoreNothing || value != null) {
         return value;
       }
@@ -1,9 +1,11 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.FloatType;
+import org.enso.table.data.index.RowGrouping;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
@@ -30,12 +32,13 @@ public class Mean extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     Calculation current = null;
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (value != null) {
         Double dValue = NumericConverter.tryConvertingToDouble(value);
@@ -57,4 +60,32 @@ public class Mean extends Aggregator {
     }
     return current == null ? null : current.total / current.count;
   }
+
+  @Override
+  public GroupedResults aggregateGroups(RowGrouping grouping) {
+    AbstractLongStorage longStorage = storage instanceof AbstractLongStorage s ? s : null;
+    DoubleStorage doubleStorage = storage instanceof DoubleStorage s ? s : null;
+    if (longStorage == null && doubleStorage == null) {
+      return null;
+    }
+
+    Context context = Context.getCurrent();
+    int groupCount = grouping.groupCount();
+    long[] counts = new long[groupCount];
+    double[] totals = new double[groupCount];
+    for (int row = 0; row < grouping.rowCount(); row++) {
+      if (!storage.isNothing(row)) {
+        int group = grouping.groupOf(row);
+        double value =
+            longStorage != null ? longStorage.getItem(row) : doubleStorage.getItemAsDouble(row);
+        totals[group] = counts[group] == 0 ? value : totals[group] + value;
+        counts[group]++;
+      }
+
+      context.safepoint();
+    }
+
+    return (group, problemAggregator) ->
+        counts[group] == 0 ? null : (Object) (totals[group] / counts[group]);
+  }
 }
@@ -1,9 +1,12 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
+import java.util.BitSet;
 import org.enso.base.CompareException;
 import org.enso.base.ObjectComparator;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.index.RowGrouping;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
@@ -34,12 +37,13 @@ public class MinOrMax extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     Object current = null;
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (value != null) {
         try {
@@ -61,4 +65,61 @@ public class MinOrMax extends Aggregator {
     }
     return current;
   }
+
+  @Override
+  public GroupedResults aggregateGroups(RowGrouping grouping) {
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> findLongs(longStorage, grouping);
+      case DoubleStorage doubleStorage -> findDoubles(doubleStorage, grouping);
+      default -> null;
+    };
+  }
+
+  private GroupedResults findLongs(AbstractLongStorage longStorage, RowGrouping grouping) {
+    Context context = Context.getCurrent();
+    int groupCount = grouping.groupCount();
+    long[] current = new long[groupCount];
+    BitSet hasValue = new BitSet(groupCount);
+    for (int row = 0; row < grouping.rowCount(); row++) {
+      if (!longStorage.isNothing(row)) {
+        int group = grouping.groupOf(row);
+        long value = longStorage.getItem(row);
+        if (!hasValue.get(group)
+            || Integer.signum(Long.compare(value, current[group])) == minOrMax) {
+          current[group] = value;
+          hasValue.set(group);
+        }
+      }
+
+      context.safepoint();
+    }
+
+    return (group, problemAggregator) -> hasValue.get(group) ? current[group] : null;
+  }
+
+  /**
+   * Uses {@link Double#compare}, consistently with {@link ObjectComparator}, so NaN is considered
+   * larger than any other value.
+   */
+  private GroupedResults findDoubles(DoubleStorage doubleStorage, RowGrouping grouping) {
+    Context context = Context.getCurrent();
+    int groupCount = grouping.groupCount();
+    double[] current = new double[groupCount];
+    BitSet hasValue = new BitSet(groupCount);
+    for (int row = 0; row < grouping.rowCount(); row++) {
+      if (!doubleStorage.isNothing(row)) {
+        int group = grouping.groupOf(row);
+        double value = doubleStorage.getItemAsDouble(row);
+        if (!hasValue.get(group)
+            || Integer.signum(Double.compare(value, current[group])) == minOrMax) {
+          current[group] = value;
+          hasValue.set(group);
+        }
+      }
+
+      context.safepoint();
+    }
+
+    return (group, problemAggregator) -> hasValue.get(group) ? current[group] : null;
+  }
 }
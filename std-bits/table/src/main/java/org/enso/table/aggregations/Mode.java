@@ -1,17 +1,27 @@
 package org.enso.table.aggregations;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringDictionary;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.FloatingPointGrouping;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.LongHashSet;
 import org.graalvm.polyglot.Context;
 
-/** Aggregate Column computing the most common value in a group (ignoring Nothing). */
+/**
+ * Aggregate Column computing the most common value in a group (ignoring Nothing).
+ *
+ * <p>Integer columns are counted in a primitive hash table keyed by the values, and dictionary
+ * encoded text columns by the codes of their entries. Other text columns are counted with mutable
+ * counters, and only columns of other types convert the values to merge numbers of different types.
+ * In all cases, ties are resolved in favour of the value that reached the count first.
+ */
 public class Mode extends Aggregator {
   private final Storage<?> storage;
 
@@ -21,14 +31,24 @@ public class Mode extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
+    if (storage instanceof AbstractLongStorage longStorage) {
+      return longMode(longStorage, rows, start, end);
+    } else if (storage instanceof StringStorage stringStorage) {
+      StringDictionary dictionary = stringStorage.getDictionary();
+      return dictionary != null
+          ? dictionaryMode(dictionary, rows, start, end)
+          : textMode(stringStorage, rows, start, end);
+    }
+
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     Object current = null;
     int count = 0;
     Map<Object, Integer> currentMap = null;
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (value != null) {
         // Merge all numbers onto a Long if possible or a Double if needed
@@ -63,4 +83,69 @@ public class Mode extends Aggregator {
     }
     return current;
   }
+
+  private static Object longMode(AbstractLongStorage storage, int[] rows, int start, int end) {
+    Context context = Context.getCurrent();
+    LongHashSet counts = new LongHashSet();
+    boolean found = false;
+    long current = 0;
+    int count = 0;
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
+      if (!storage.isNothing(row)) {
+        long value = storage.getItem(row);
+        int newCount = counts.addOccurrence(value);
+        if (newCount > count) {
+          count = newCount;
+          current = value;
+          found = true;
+        }
+      }
+
+      context.safepoint();
+    }
+    return found ? current : null;
+  }
+
+  private static Object dictionaryMode(
+      StringDictionary dictionary, int[] rows, int start, int end) {
+    Context context = Context.getCurrent();
+    LongHashSet counts = new LongHashSet();
+    int current = -1;
+    int count = 0;
+    for (int i = start; i < end; i++) {
+      int code = dictionary.codeOf(rows[i]);
+      if (code != -1) {
+        int newCount = counts.addOccurrence(code);
+        if (newCount > count) {
+          count = newCount;
+          current = code;
+        }
+      }
+
+      context.safepoint();
+    }
+    return current == -1 ? null : dictionary.entry(current);
+  }
+
+  private static Object textMode(StringStorage storage, int[] rows, int start, int end) {
+    Context context = Context.getCurrent();
+    Map<String, int[]> counts = new HashMap<>();
+    String current = null;
+    int count = 0;
+    for (int i = start; i < end; i++) {
+      String value = storage.getItem(rows[i]);
+      if (value != null) {
+        int[] counter = counts.computeIfAbsent(value, k -> new int[1]);
+        int newCount = ++counter[0];
+        if (newCount > count) {
+          count = newCount;
+          current = value;
+        }
+      }
+
+      context.safepoint();
+    }
+    return current;
+  }
 }
@@ -1,92 +1,311 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
-import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.FloatType;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.ParallelExecution;
 import org.graalvm.polyglot.Context;
 
-/** Aggregate Column computing a percentile value in a group. */
+/**
+ * Aggregate Column computing a percentile value in a group.
+ *
+ * <p>The values of a group are copied into a primitive array, in which the ones around the
+ * requested rank are found by selection, without sorting the whole group.
+ *
+ * <p>If the aggregation is approximate, the values of each group are instead summarized in a single
+ * pass by a {@link QuantileSketch}, giving an approximate result in bounded memory. Groups small
+ * enough for the sketch to keep all of their values still get the exact result. Large groups of
+ * integer or float columns are split into chunks that are summarized in parallel, and the sketches
+ * of the chunks are merged in order, so the estimate does not depend on the scheduling.
+ */
 public class Percentile extends Aggregator {
+  /** Below this size, a range is sorted instead of being partitioned further. */
+  private static final int SELECTION_CUTOFF = 16;
+
+  /** The number of rows summarized by a single sketch when a group is summarized in parallel. */
+  private static final int SKETCH_CHUNK_SIZE = 1 << 15;
+
   private final Storage<?> storage;
   private final double percentile;
+  private final boolean approximate;
 
-  public Percentile(String name, Column column, double percentile) {
+  /**
+   * Constructs a Percentile Aggregator
+   *
+   * @param name output column name
+   * @param column input column
+   * @param percentile the percentile to compute, between 0 and 1
+   * @param approximate if true, estimate the percentile with a {@link QuantileSketch}
+   */
+  public Percentile(String name, Column column, double percentile, boolean approximate) {
     super(name, FloatType.FLOAT_64);
     this.storage = column.getStorage();
     this.percentile = percentile;
+    this.approximate = approximate;
+  }
+
+  private enum ScanResult {
+    COMPLETE,
+    INVALID,
+    NAN
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
+
+    if (approximate) {
+      if (end - start > SKETCH_CHUNK_SIZE
+          && ParallelExecution.isEnabled()
+          && (storage instanceof AbstractLongStorage || storage instanceof DoubleStorage)) {
+        return approximatePercentileInChunks(rows, start, end);
+      }
+
+      QuantileSketch sketch = new QuantileSketch();
+      return switch (scanValues(rows, start, end, sketch::add, innerAggregator)) {
+        case INVALID -> null;
+        case NAN -> Double.NaN;
+        case COMPLETE -> approximatePercentile(sketch);
+      };
+    }
+
+    double[] values = new double[end - start];
+    int[] count = new int[1];
+    return switch (scanValues(rows, start, end, v -> values[count[0]++] = v, innerAggregator)) {
+      case INVALID -> null;
+      case NAN -> Double.NaN;
+      case COMPLETE -> exactPercentile(values, count[0]);
+    };
+  }
+
+  /**
+   * Summarizes chunks of the rows of an integer or float column in parallel and merges their
+   * sketches.
+   */
+  private Object approximatePercentileInChunks(int[] rows, int start, int end) {
+    int chunkCount = (end - start + SKETCH_CHUNK_SIZE - 1) / SKETCH_CHUNK_SIZE;
+    QuantileSketch[] sketches = new QuantileSketch[chunkCount];
+    boolean[] hasNaN = new boolean[chunkCount];
+    ParallelExecution.forEachIndexPollingSafepoints(
+        chunkCount,
+        ParallelExecution.parallelism(),
+        chunk -> {
+          QuantileSketch sketch = new QuantileSketch();
+          int chunkEnd = Math.min(end, start + (chunk + 1) * SKETCH_CHUNK_SIZE);
+          for (int i = start + chunk * SKETCH_CHUNK_SIZE; i < chunkEnd; i++) {
+            int row = rows[i];
+            if (storage instanceof AbstractLongStorage longStorage) {
+              if (!longStorage.isNothing(row)) {
+                sketch.add(longStorage.getItem(row));
+              }
+            } else {
+              DoubleStorage doubleStorage = (DoubleStorage) storage;
+              if (!doubleStorage.isNothing(row)) {
+                double value = doubleStorage.getItemAsDouble(row);
+                if (Double.isNaN(value)) {
+                  hasNaN[chunk] = true;
+                  return;
+                }
+                sketch.add(value);
+              }
+            }
+          }
+          sketches[chunk] = sketch;
+        });
+
+    QuantileSketch merged = new QuantileSketch();
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      if (hasNaN[chunk]) {
+        return Double.NaN;
+      }
+      merged.merge(sketches[chunk]);
+    }
+    return approximatePercentile(merged);
+  }
+
+  /**
+   * Passes the non-missing values of the rows to the consumer, stopping at the first value that is
+   * not a number (reporting it) or is NaN.
+   */
+  private ScanResult scanValues(
+      int[] rows,
+      int start,
+      int end,
+      DoubleConsumer consumer,
+      ColumnAggregatedProblemAggregator innerAggregator) {
     Context context = Context.getCurrent();
-    int count = 0;
-    SortedMap<Double, Integer> currentMap = new TreeMap<>();
-    for (int row : indexes) {
-      Object value = storage.getItemBoxed(row);
-      if (value != null) {
-        Double dValue = NumericConverter.tryConvertingToDouble(value);
-
-        if (dValue == null) {
-          innerAggregator.reportColumnAggregatedProblem(
-              new InvalidAggregation(this.getName(), row, "Cannot convert to a number."));
-          return null;
-        } else if (dValue.isNaN()) {
-          // If any of the input values is a NaN, we do not know where in the ordering it should be
-          // and so we return NaN.
-          return Double.NaN;
-        } else {
-          count++;
-          currentMap.put(dValue, currentMap.getOrDefault(dValue, 0) + 1);
+    AbstractLongStorage longStorage = storage instanceof AbstractLongStorage s ? s : null;
+    DoubleStorage doubleStorage = storage instanceof DoubleStorage s ? s : null;
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
+      if (longStorage != null) {
+        if (!longStorage.isNothing(row)) {
+          consumer.accept(longStorage.getItem(row));
+        }
+      } else if (doubleStorage != null) {
+        if (!doubleStorage.isNothing(row)) {
+          double value = doubleStorage.getItemAsDouble(row);
+          if (Double.isNaN(value)) {
+            return ScanResult.NAN;
+          }
+          consumer.accept(value);
+        }
+      } else {
+        Object value = storage.getItemBoxed(row);
+        if (value != null) {
+          Double dValue = NumericConverter.tryConvertingToDouble(value);
+
+          if (dValue == null) {
+            innerAggregator.reportColumnAggregatedProblem(
+                new InvalidAggregation(this.getName(), row, "Cannot convert to a number."));
+            return ScanResult.INVALID;
+          } else if (dValue.isNaN()) {
+            // If any of the input values is a NaN, we do not know where in the ordering it should
+            // be and so we return NaN.
+            return ScanResult.NAN;
+          } else {
+            consumer.accept(dValue);
+          }
         }
       }
 
       context.safepoint();
     }
 
+    return ScanResult.COMPLETE;
+  }
+
+  private Object exactPercentile(double[] values, int count) {
     if (count == 0) {
       return null;
     }
 
     double mid_value = (count - 1) * percentile + 1;
     if (mid_value <= 1) {
-      return currentMap.firstKey();
+      return minimum(values, 0, count);
     } else if (mid_value >= count) {
-      return currentMap.lastKey();
+      return maximum(values, 0, count);
+    }
+
+    int mid = (int) Math.floor(mid_value);
+
+    // The 1-based ranks `mid` and `mid + 1` are at the 0-based indices `mid - 1` and `mid`. Once
+    // the former is selected, the latter is the smallest of the values after it.
+    select(values, 0, count, mid - 1);
+    double first = values[mid - 1];
+    double second = minimum(values, mid, count);
+    return interpolate(first, second, mid_value - mid);
+  }
+
+  private Object approximatePercentile(QuantileSketch sketch) {
+    long count = sketch.count();
+    if (count == 0) {
+      return null;
+    }
+
+    double mid_value = (count - 1) * percentile + 1;
+    if (mid_value <= 1) {
+      return sketch.minimum();
+    } else if (mid_value >= count) {
+      return sketch.maximum();
     }
 
     double mid = Math.floor(mid_value);
+    double first = sketch.valueAtRank((long) mid - 1);
+    double second = sketch.valueAtRank((long) mid);
+    return interpolate(first, second, mid_value - mid);
+  }
+
+  /**
+   * Rearranges the values between {@code from} and {@code to} so that the value at {@code k} is the
+   * one that would be there if the range were sorted, with no greater values before it and no
+   * smaller values after it.
+   *
+   * <p>Values are ordered like {@link Double#compare}, so that {@code -0.0} comes before {@code
+   * 0.0}. Ranges that fail to shrink fast enough are sorted, bounding the worst case.
+   */
+  static void select(double[] values, int from, int to, int k) {
+    int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+    while (to - from > SELECTION_CUTOFF) {
+      if (depthLimit-- == 0) {
+        break;
+      }
 
-    double first = 0;
-    int current = 0;
-    for (Map.Entry<Double, Integer> entry : currentMap.entrySet()) {
-      int nextCurrent = current + entry.getValue();
+      int middle = (from + to) >>> 1;
+      double pivot = medianOfThree(values[from], values[middle], values[to - 1]);
 
-      if (current <= mid - 1 && nextCurrent > mid - 1) {
-        first = entry.getKey();
+      // Three-way partition: [from, less) < pivot, [less, i) == pivot, [greater, to) > pivot.
+      int less = from;
+      int greater = to;
+      int i = from;
+      while (i < greater) {
+        int comparison = Double.compare(values[i], pivot);
+        if (comparison < 0) {
+          swap(values, less++, i++);
+        } else if (comparison > 0) {
+          swap(values, i, --greater);
+        } else {
+          i++;
+        }
       }
 
-      if (current <= mid && nextCurrent > mid) {
-        double second = entry.getKey();
-        return interpolate(first, second, mid_value - mid);
+      if (k < less) {
+        to = less;
+      } else if (k >= greater) {
+        from = greater;
+      } else {
+        return;
       }
+    }
 
-      current = nextCurrent;
-      context.safepoint();
+    Arrays.sort(values, from, to);
+  }
+
+  private static double medianOfThree(double a, double b, double c) {
+    if (Double.compare(a, b) > 0) {
+      double t = a;
+      a = b;
+      b = t;
+    }
+    if (Double.compare(b, c) > 0) {
+      b = c;
     }
+    return Double.compare(a, b) > 0 ? a : b;
+  }
+
+  private static void swap(double[] values, int i, int j) {
+    double t = values[i];
+    values[i] = values[j];
+    values[j] = t;
+  }
 
-    innerAggregator.reportColumnAggregatedProblem(
-        new InvalidAggregation(this.getName(), -1, "Failed calculating the percentile."));
-    return null;
+  private static double minimum(double[] values, int from, int to) {
+    double result = values[from];
+    for (int i = from + 1; i < to; i++) {
+      if (Double.compare(values[i], result) < 0) {
+        result = values[i];
+      }
+    }
+    return result;
+  }
+
+  private static double maximum(double[] values, int from, int to) {
+    double result = values[from];
+    for (int i = from + 1; i < to; i++) {
+      if (Double.compare(values[i], result) > 0) {
+        result = values[i];
+      }
+    }
+    return result;
   }
 
   double interpolate(double first, double second, double alpha) {
@@ -0,0 +1,198 @@
+package org.enso.table.aggregations;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A KLL sketch summarizing a stream of doubles in bounded memory, from which the value at a given
+ * rank can be estimated.
+ *
+ * <p>The sketch keeps a hierarchy of compactors. Values are added to level 0, and whenever the
+ * sketch is full, the lowest level over its capacity is sorted and every other value of it (at a
+ * random offset) is moved one level up, where each value stands for twice as many. The capacities
+ * shrink geometrically towards the lower levels, so the sketch keeps {@code O(K log(n / K))}
+ * values, and the rank error is about {@code 1.7 / K} of the count with high probability.
+ *
+ * <p>The random offsets are drawn from a fixed seed, so that the same stream always gives the same
+ * estimate. The exact minimum and maximum are tracked alongside.
+ *
+ * <p>Sketches can be merged, giving a sketch of the union of their inputs with the same error
+ * bound, so that parts of a group can be summarized separately and combined afterwards.
+ */
+final class QuantileSketch {
+  private static final int K = 200;
+  private static final double CAPACITY_RATIO = 2.0 / 3.0;
+  private static final int MIN_LEVEL_CAPACITY = 2;
+
+  private final SplittableRandom random = new SplittableRandom(0x5EED);
+  private double[][] levels = {new double[K]};
+  private int[] levelSizes = {0};
+  private int levelCount = 1;
+  private int retained = 0;
+  private int capacity = K;
+  private long count = 0;
+  private double minimum = Double.NaN;
+  private double maximum = Double.NaN;
+
+  /** Adds a value to the sketch. The value must not be NaN. */
+  void add(double value) {
+    if (count == 0 || Double.compare(value, minimum) < 0) {
+      minimum = value;
+    }
+    if (count == 0 || Double.compare(value, maximum) > 0) {
+      maximum = value;
+    }
+    count++;
+
+    append(0, value);
+    if (retained >= capacity) {
+      compress();
+    }
+  }
+
+  /** Adds all values summarized by the other sketch to this one. */
+  void merge(QuantileSketch other) {
+    if (other.count == 0) {
+      return;
+    }
+
+    if (count == 0 || Double.compare(other.minimum, minimum) < 0) {
+      minimum = other.minimum;
+    }
+    if (count == 0 || Double.compare(other.maximum, maximum) > 0) {
+      maximum = other.maximum;
+    }
+    count += other.count;
+
+    while (levelCount < other.levelCount) {
+      addLevel();
+    }
+    for (int level = 0; level < other.levelCount; level++) {
+      for (int i = 0; i < other.levelSizes[level]; i++) {
+        append(level, other.levels[level][i]);
+      }
+    }
+
+    while (retained >= capacity) {
+      compress();
+    }
+  }
+
+  /** The number of values added to the sketch. */
+  long count() {
+    return count;
+  }
+
+  double minimum() {
+    return minimum;
+  }
+
+  double maximum() {
+    return maximum;
+  }
+
+  /**
+   * Estimates the value at the given 0-based rank, that is the value that would be at that index if
+   * all added values were sorted.
+   */
+  double valueAtRank(long rank) {
+    for (int level = 0; level < levelCount; level++) {
+      Arrays.sort(levels[level], 0, levelSizes[level]);
+    }
+
+    // Merges the sorted levels, accumulating the weight of the values, until it covers the rank.
+    int[] positions = new int[levelCount];
+    long cumulativeWeight = 0;
+    double last = maximum;
+    while (true) {
+      int best = -1;
+      for (int level = 0; level < levelCount; level++) {
+        if (positions[level] < levelSizes[level]
+            && (best == -1
+                || Double.compare(levels[level][positions[level]], levels[best][positions[best]])
+                    < 0)) {
+          best = level;
+        }
+      }
+
+      if (best == -1) {
+        return last;
+      }
+
+      last = levels[best][positions[best]++];
+      cumulativeWeight += 1L << best;
+      if (cumulativeWeight > rank) {
+        return last;
+      }
+    }
+  }
+
+  private int levelCapacity(int level) {
+    int depth = levelCount - 1 - level;
+    return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(K * Math.pow(CAPACITY_RATIO, depth)));
+  }
+
+  private int totalCapacity() {
+    int total = 0;
+    for (int level = 0; level < levelCount; level++) {
+      total += levelCapacity(level);
+    }
+    return total;
+  }
+
+  private void append(int level, double value) {
+    if (levelSizes[level] == levels[level].length) {
+      levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+    }
+    levels[level][levelSizes[level]++] = value;
+    retained++;
+  }
+
+  /** Compacts the lowest level that is over its capacity. */
+  private void compress() {
+    for (int level = 0; level < levelCount; level++) {
+      if (levelSizes[level] >= levelCapacity(level)) {
+        if (level + 1 == levelCount) {
+          addLevel();
+        }
+        compact(level);
+        return;
+      }
+    }
+  }
+
+  private void addLevel() {
+    if (levelCount == levels.length) {
+      levels = Arrays.copyOf(levels, levelCount * 2);
+      levelSizes = Arrays.copyOf(levelSizes, levelCount * 2);
+    }
+    levels[levelCount] = new double[MIN_LEVEL_CAPACITY];
+    levelSizes[levelCount] = 0;
+    levelCount++;
+    capacity = totalCapacity();
+  }
+
+  /**
+   * Moves every other value of the sorted level one level up. If the level has an odd number of
+   * values, the largest one stays.
+   */
+  private void compact(int level) {
+    double[] values = levels[level];
+    int size = levelSizes[level];
+    Arrays.sort(values, 0, size);
+
+    int pairs = size / 2;
+    int offset = random.nextBoolean() ? 1 : 0;
+    for (int i = 0; i < pairs; i++) {
+      append(level + 1, values[2 * i + offset]);
+    }
+
+    retained -= 2 * pairs;
+    if (size % 2 == 1) {
+      values[0] = values[size - 1];
+      levelSizes[level] = 1;
+    } else {
+      levelSizes[level] = 0;
+    }
+  }
+}
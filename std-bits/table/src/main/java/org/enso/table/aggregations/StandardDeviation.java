@@ -1,9 +1,11 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.FloatType;
+import org.enso.table.data.index.RowGrouping;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
@@ -34,12 +36,13 @@ public class StandardDeviation extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     ColumnAggregatedProblemAggregator innerAggregator =
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     Calculation current = null;
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (value != null) {
         Double dValue = NumericConverter.tryConvertingToDouble(value);
@@ -61,8 +64,48 @@ public class StandardDeviation extends Aggregator {
       context.safepoint();
     }
 
-    if (current == null || (!population && current.count <= 1)) return null;
-    return (population ? 1 : Math.sqrt(current.count / (current.count - 1.0)))
-        * Math.sqrt(current.total_sqr / current.count - Math.pow(current.total / current.count, 2));
+    if (current == null) return null;
+    return compute(current.count, current.total, current.total_sqr);
+  }
+
+  private Double compute(long count, double total, double total_sqr) {
+    if (!population && count <= 1) return null;
+    return (population ? 1 : Math.sqrt(count / (count - 1.0)))
+        * Math.sqrt(total_sqr / count - Math.pow(total / count, 2));
+  }
+
+  @Override
+  public GroupedResults aggregateGroups(RowGrouping grouping) {
+    AbstractLongStorage longStorage = storage instanceof AbstractLongStorage s ? s : null;
+    DoubleStorage doubleStorage = storage instanceof DoubleStorage s ? s : null;
+    if (longStorage == null && doubleStorage == null) {
+      return null;
+    }
+
+    Context context = Context.getCurrent();
+    int groupCount = grouping.groupCount();
+    long[] counts = new long[groupCount];
+    double[] totals = new double[groupCount];
+    double[] totalSquares = new double[groupCount];
+    for (int row = 0; row < grouping.rowCount(); row++) {
+      if (!storage.isNothing(row)) {
+        int group = grouping.groupOf(row);
+        double value =
+            longStorage != null ? longStorage.getItem(row) : doubleStorage.getItemAsDouble(row);
+        if (counts[group] == 0) {
+          totals[group] = value;
+          totalSquares[group] = value * value;
+        } else {
+          totals[group] += value;
+          totalSquares[group] += value * value;
+        }
+        counts[group]++;
+      }
+
+      context.safepoint();
+    }
+
+    return (group, problemAggregator) ->
+        counts[group] == 0 ? null : compute(counts[group], totals[group], totalSquares[group]);
   }
 }
@@ -1,11 +1,14 @@
 package org.enso.table.aggregations;
 
-import java.util.List;
+import java.util.BitSet;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.type.FloatType;
 import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.index.RowGrouping;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.problems.InvalidAggregation;
 import org.enso.table.problems.ProblemAggregator;
@@ -21,12 +24,13 @@ public class Sum extends Aggregator {
   }
 
   @Override
-  public Object aggregate(List<Integer> indexes, ProblemAggregator problemAggregator) {
+  public Object aggregate(int[] rows, int start, int end, ProblemAggregator problemAggregator) {
     MapOperationProblemAggregator innerAggregator =
         new MapOperationProblemAggregator(problemAggregator, getName());
     Context context = Context.getCurrent();
     Object current = null;
-    for (int row : indexes) {
+    for (int i = start; i < end; i++) {
+      int row = rows[i];
       Object value = storage.getItemBoxed(row);
       if (value != null) {
         if (current == null) {
@@ -59,4 +63,102 @@ public class Sum extends Aggregator {
     }
     return current;
   }
+
+  @Override
+  public GroupedResults aggregateGroups(RowGrouping grouping) {
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> sumLongs(longStorage, grouping);
+      case DoubleStorage doubleStorage -> sumDoubles(doubleStorage, grouping);
+      default -> null;
+    };
+  }
+
+  private GroupedResults sumLongs(AbstractLongStorage longStorage, RowGrouping grouping) {
+    Context context = Context.getCurrent();
+    int groupCount = grouping.groupCount();
+    long[] sums = new long[groupCount];
+    BitSet hasValue = new BitSet(groupCount);
+    BitSet overflowed = new BitSet(groupCount);
+    for (int row = 0; row < grouping.rowCount(); row++) {
+      if (!longStorage.isNothing(row)) {
+        int group = grouping.groupOf(row);
+        hasValue.set(group);
+        try {
+          sums[group] = Math.addExact(sums[group], longStorage.getItem(row));
+        } catch (ArithmeticException exception) {
+          overflowed.set(group);
+        }
+      }
+
+      context.safepoint();
+    }
+
+    return (group, problemAggregator) -> {
+      if (checkOverflow(group, overflowed, problemAggregator) || !hasValue.get(group)) {
+        return null;
+      }
+
+      return sums[group];
+    };
+  }
+
+  /**
+   * Sums a floating point column, replicating the rules of {@link #aggregate}: as long as both the
+   * running total and the value are whole numbers, they are added exactly as longs, otherwise they
+   * are added as doubles.
+   */
+  private GroupedResults sumDoubles(DoubleStorage doubleStorage, RowGrouping grouping) {
+    Context context = Context.getCurrent();
+    int groupCount = grouping.groupCount();
+    long[] longSums = new long[groupCount];
+    double[] doubleSums = new double[groupCount];
+    BitSet isDoubleSum = new BitSet(groupCount);
+    BitSet hasValue = new BitSet(groupCount);
+    BitSet overflowed = new BitSet(groupCount);
+    for (int row = 0; row < grouping.rowCount(); row++) {
+      if (!doubleStorage.isNothing(row)) {
+        int group = grouping.groupOf(row);
+        if (!overflowed.get(group)) {
+          hasValue.set(group);
+          double value = doubleStorage.getItemAsDouble(row);
+          boolean currentIsDouble = isDoubleSum.get(group);
+          double currentAsDouble = currentIsDouble ? doubleSums[group] : longSums[group];
+          boolean currentIsWhole = !currentIsDouble || currentAsDouble % 1.0 == 0.0;
+          if (currentIsWhole && value % 1.0 == 0.0) {
+            long current = currentIsDouble ? (long) currentAsDouble : longSums[group];
+            try {
+              longSums[group] = Math.addExact(current, (long) value);
+              isDoubleSum.clear(group);
+            } catch (ArithmeticException exception) {
+              overflowed.set(group);
+            }
+          } else {
+            doubleSums[group] = currentAsDouble + value;
+            isDoubleSum.set(group);
+          }
+        }
+      }
+
+      context.safepoint();
+    }
+
+    return (group, problemAggregator) -> {
+      if (checkOverflow(group, overflowed, problemAggregator) || !hasValue.get(group)) {
+        return null;
+      }
+
+      return isDoubleSum.get(group) ? (Object) doubleSums[group] : (Object) longSums[group];
+    };
+  }
+
+  /** Reports the overflow if it happened in the given group. */
+  private boolean checkOverflow(int group, BitSet overflowed, ProblemAggregator problemAggregator) {
+    if (overflowed.get(group)) {
+      new MapOperationProblemAggregator(problemAggregator, getName())
+          .reportOverflow(IntegerType.INT_64, "Sum");
+      return true;
+    }
+
+    return false;
+  }
 }
@@ -0,0 +1,69 @@
+package org.enso.table.arrow;
+
+/**
+ * Constants of the Arrow IPC format.
+ *
+ * <p>The field indices correspond to the declarations in the {@code Schema.fbs} and {@code
+ * Message.fbs} files of the Arrow specification. A union occupies two indices: one for its type and
+ * one for its value.
+ */
+final class ArrowFormat {
+  private ArrowFormat() {}
+
+  /** Marks the start of an encapsulated message. */
+  static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+
+  static final short METADATA_VERSION_V5 = 4;
+
+  static final byte HEADER_SCHEMA = 1;
+  static final byte HEADER_DICTIONARY_BATCH = 2;
+  static final byte HEADER_RECORD_BATCH = 3;
+
+  static final byte TYPE_INT = 2;
+  static final byte TYPE_FLOATING_POINT = 3;
+  static final byte TYPE_UTF8 = 5;
+  static final byte TYPE_BOOL = 6;
+  static final byte TYPE_DATE = 8;
+  static final byte TYPE_LARGE_UTF8 = 20;
+
+  static final short PRECISION_SINGLE = 1;
+  static final short PRECISION_DOUBLE = 2;
+
+  static final short DATE_UNIT_DAY = 0;
+  static final short DATE_UNIT_MILLISECOND = 1;
+
+  static final int MESSAGE_VERSION = 0;
+  static final int MESSAGE_HEADER_TYPE = 1;
+  static final int MESSAGE_HEADER = 2;
+  static final int MESSAGE_BODY_LENGTH = 3;
+  static final int MESSAGE_FIELD_COUNT = 4;
+
+  static final int SCHEMA_FIELDS = 1;
+  static final int SCHEMA_FIELD_COUNT = 2;
+
+  static final int FIELD_NAME = 0;
+  static final int FIELD_NULLABLE = 1;
+  static final int FIELD_TYPE_TYPE = 2;
+  static final int FIELD_TYPE = 3;
+  static final int FIELD_DICTIONARY = 4;
+  static final int FIELD_CHILDREN = 5;
+  static final int FIELD_FIELD_COUNT = 6;
+
+  static final int INT_BIT_WIDTH = 0;
+  static final int INT_IS_SIGNED = 1;
+  static final int INT_FIELD_COUNT = 2;
+
+  static final int FLOATING_POINT_PRECISION = 0;
+  static final int DATE_UNIT = 0;
+
+  static final int RECORD_BATCH_LENGTH = 0;
+  static final int RECORD_BATCH_NODES = 1;
+  static final int RECORD_BATCH_BUFFERS = 2;
+  static final int RECORD_BATCH_COMPRESSION = 3;
+  static final int RECORD_BATCH_FIELD_COUNT = 3;
+
+  /** Rounds the length up to a multiple of 8 bytes, the alignment required for buffers. */
+  static long padded(long length) {
+    return (length + 7) & ~7L;
+  }
+}
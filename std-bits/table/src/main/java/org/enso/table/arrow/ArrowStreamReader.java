@@ -0,0 +1,353 @@
+package org.enso.table.arrow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.enso.table.data.column.builder.Builder;
+import org.enso.table.data.column.builder.StringBuilder;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.NarrowLongStorage;
+import org.enso.table.data.column.storage.type.Bits;
+import org.enso.table.data.column.storage.type.BooleanType;
+import org.enso.table.data.column.storage.type.DateType;
+import org.enso.table.data.column.storage.type.FloatType;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.enso.table.problems.ProblemAggregator;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Reads tables in the Arrow IPC streaming format.
+ *
+ * <p>Signed and unsigned integers, floats, booleans, dates and (large) UTF-8 texts are supported.
+ * Unsigned integers are read into the next wider signed type. Compressed and dictionary-encoded
+ * data is not supported. If the stream contains multiple record batches, they are concatenated.
+ */
+public final class ArrowStreamReader {
+  private ArrowStreamReader() {}
+
+  /**
+   * The type of a column in the stream.
+   *
+   * @param width the bit width of integers, the byte width of floats and dates, or the byte width
+   *     of the offsets of texts
+   */
+  private record FieldType(String name, byte typeId, int width, boolean isSigned) {
+    StorageType storageType() {
+      return switch (typeId) {
+        case ArrowFormat.TYPE_INT -> IntegerType.create(
+            Bits.fromInteger(isSigned ? width : 2 * width));
+        case ArrowFormat.TYPE_FLOATING_POINT -> FloatType.FLOAT_64;
+        case ArrowFormat.TYPE_BOOL -> BooleanType.INSTANCE;
+        case ArrowFormat.TYPE_DATE -> DateType.INSTANCE;
+        default -> TextType.VARIABLE_LENGTH;
+      };
+    }
+  }
+
+  /**
+   * Reads a table from the given file.
+   *
+   * <p>The file is read into memory rather than mapped, so that it is not kept locked until the
+   * mapping is garbage collected.
+   */
+  public static Table read(File file, ProblemAggregator problemAggregator) throws IOException {
+    return read(ByteBuffer.wrap(Files.readAllBytes(file.toPath())), problemAggregator);
+  }
+
+  /** Reads a table from the remaining bytes of the input stream. */
+  public static Table read(InputStream stream, ProblemAggregator problemAggregator)
+      throws IOException {
+    return read(ByteBuffer.wrap(stream.readAllBytes()), problemAggregator);
+  }
+
+  /**
+   * Reads a table from the stream contained in the remaining bytes of the buffer.
+   *
+   * @throws IllegalArgumentException if the data is not a valid Arrow stream
+   * @throws UnsupportedOperationException if the stream uses features or types that are not
+   *     supported
+   */
+  public static Table read(ByteBuffer stream, ProblemAggregator problemAggregator) {
+    try {
+      return readMessages(stream, problemAggregator);
+    } catch (IndexOutOfBoundsException | BufferUnderflowException | ArithmeticException e) {
+      throw new IllegalArgumentException("Invalid Arrow stream: the data is truncated.", e);
+    }
+  }
+
+  private static Table readMessages(ByteBuffer stream, ProblemAggregator problemAggregator) {
+    ByteBuffer buffer = stream.slice().order(ByteOrder.LITTLE_ENDIAN);
+    List<FieldType> fields = null;
+    List<Storage<?>[]> batches = new ArrayList<>();
+    int position = 0;
+    while (position + Integer.BYTES <= buffer.limit()) {
+      int metadataLength = buffer.getInt(position);
+      position += Integer.BYTES;
+      if (metadataLength == ArrowFormat.CONTINUATION_MARKER) {
+        metadataLength = buffer.getInt(position);
+        position += Integer.BYTES;
+      }
+      if (metadataLength == 0) {
+        break;
+      }
+
+      FlatBufferTable message = FlatBufferTable.root(buffer, position);
+      position += metadataLength;
+      int bodyStart = position;
+      position += Math.toIntExact(message.getLong(ArrowFormat.MESSAGE_BODY_LENGTH, 0));
+
+      byte headerType = message.getByte(ArrowFormat.MESSAGE_HEADER_TYPE, (byte) 0);
+      FlatBufferTable header = message.getTable(ArrowFormat.MESSAGE_HEADER);
+      switch (headerType) {
+        case ArrowFormat.HEADER_SCHEMA -> fields = readSchema(header);
+        case ArrowFormat.HEADER_RECORD_BATCH -> {
+          if (fields == null) {
+            throw new IllegalArgumentException(
+                "Invalid Arrow stream: a record batch precedes the schema.");
+          }
+          batches.add(readRecordBatch(header, buffer, bodyStart, fields));
+        }
+        case ArrowFormat.HEADER_DICTIONARY_BATCH -> throw new UnsupportedOperationException(
+            "Dictionary-encoded Arrow data is not supported.");
+        default -> throw new UnsupportedOperationException(
+            "Arrow messages of type " + headerType + " are not supported.");
+      }
+    }
+
+    if (fields == null) {
+      throw new IllegalArgumentException("Invalid Arrow stream: the schema is missing.");
+    }
+
+    Column[] columns = new Column[fields.size()];
+    for (int i = 0; i < columns.length; i++) {
+      FieldType field = fields.get(i);
+      Storage<?> storage;
+      if (batches.size() == 1) {
+        storage = batches.get(0)[i];
+      } else {
+        int totalLength = 0;
+        for (Storage<?>[] batch : batches) {
+          totalLength += batch[i].size();
+        }
+        Builder builder = Builder.getForType(field.storageType(), totalLength, problemAggregator);
+        for (Storage<?>[] batch : batches) {
+          builder.appendBulkStorage(batch[i]);
+        }
+        storage = builder.seal();
+      }
+      columns[i] = new Column(field.name, storage);
+    }
+    return new Table(columns);
+  }
+
+  private static List<FieldType> readSchema(FlatBufferTable schema) {
+    int fieldCount = schema.getVectorLength(ArrowFormat.SCHEMA_FIELDS);
+    List<FieldType> fields = new ArrayList<>(fieldCount);
+    for (int i = 0; i < fieldCount; i++) {
+      FlatBufferTable field = schema.getTableElement(ArrowFormat.SCHEMA_FIELDS, i);
+      String name = field.getString(ArrowFormat.FIELD_NAME);
+      byte typeId = field.getByte(ArrowFormat.FIELD_TYPE_TYPE, (byte) 0);
+      FlatBufferTable type = field.getTable(ArrowFormat.FIELD_TYPE);
+      if (field.getTable(ArrowFormat.FIELD_DICTIONARY) != null) {
+        throw new UnsupportedOperationException(
+            "Dictionary-encoded Arrow data is not supported (column " + name + ").");
+      }
+
+      FieldType fieldType =
+          switch (typeId) {
+            case ArrowFormat.TYPE_INT -> {
+              int bitWidth = type.getInt(ArrowFormat.INT_BIT_WIDTH, 0);
+              boolean isSigned = type.getBoolean(ArrowFormat.INT_IS_SIGNED, false);
+              if (!isSigned && bitWidth == 64) {
+                throw new UnsupportedOperationException(
+                    "Unsigned 64-bit integers are not supported (column " + name + ").");
+              }
+              yield new FieldType(name, typeId, bitWidth, isSigned);
+            }
+            case ArrowFormat.TYPE_FLOATING_POINT -> {
+              short precision = type.getShort(ArrowFormat.FLOATING_POINT_PRECISION, (short) 0);
+              if (precision == ArrowFormat.PRECISION_SINGLE) {
+                yield new FieldType(name, typeId, Float.BYTES, true);
+              } else if (precision == ArrowFormat.PRECISION_DOUBLE) {
+                yield new FieldType(name, typeId, Double.BYTES, true);
+              } else {
+                throw new UnsupportedOperationException(
+                    "Half-precision floats are not supported (column " + name + ").");
+              }
+            }
+            case ArrowFormat.TYPE_DATE -> {
+              short unit = type.getShort(ArrowFormat.DATE_UNIT, ArrowFormat.DATE_UNIT_MILLISECOND);
+              yield new FieldType(
+                  name,
+                  typeId,
+                  unit == ArrowFormat.DATE_UNIT_DAY ? Integer.BYTES : Long.BYTES,
+                  true);
+            }
+            case ArrowFormat.TYPE_BOOL -> new FieldType(name, typeId, 1, true);
+            case ArrowFormat.TYPE_UTF8 -> new FieldType(name, typeId, Integer.BYTES, true);
+            case ArrowFormat.TYPE_LARGE_UTF8 -> new FieldType(name, typeId, Long.BYTES, true);
+            default -> throw new UnsupportedOperationException(
+                "Arrow type " + typeId + " is not supported (column " + name + ").");
+          };
+      fields.add(fieldType);
+    }
+    return fields;
+  }
+
+  private static Storage<?>[] readRecordBatch(
+      FlatBufferTable recordBatch, ByteBuffer buffer, int bodyStart, List<FieldType> fields) {
+    if (recordBatch.getTable(ArrowFormat.RECORD_BATCH_COMPRESSION) != null) {
+      throw new UnsupportedOperationException("Compressed Arrow data is not supported.");
+    }
+
+    int nodes = recordBatch.getVectorStart(ArrowFormat.RECORD_BATCH_NODES);
+    int buffers = recordBatch.getVectorStart(ArrowFormat.RECORD_BATCH_BUFFERS);
+    int bufferIndex = 0;
+    Storage<?>[] storages = new Storage<?>[fields.size()];
+    for (int i = 0; i < storages.length; i++) {
+      int length = Math.toIntExact(buffer.getLong(nodes + 2 * Long.BYTES * i));
+      long nullCount = buffer.getLong(nodes + 2 * Long.BYTES * i + Long.BYTES);
+      FieldType field = fields.get(i);
+      BitSet isNothing =
+          readIsNothing(bodyBuffer(buffer, bodyStart, buffers, bufferIndex++), nullCount, length);
+      ByteBuffer values = bodyBuffer(buffer, bodyStart, buffers, bufferIndex++);
+      storages[i] =
+          switch (field.typeId) {
+            case ArrowFormat.TYPE_INT -> readIntegers(values, field, length, isNothing);
+            case ArrowFormat.TYPE_FLOATING_POINT -> readFloats(values, field, length, isNothing);
+            case ArrowFormat.TYPE_BOOL -> {
+              BitSet bits = BitSet.valueOf(values);
+              bits.clear(length, Math.max(length, bits.length()));
+              bits.andNot(isNothing);
+              yield new BoolStorage(bits, isNothing, length, false);
+            }
+            case ArrowFormat.TYPE_DATE -> readDates(values, field, length, isNothing);
+            default -> readTexts(
+                values,
+                bodyBuffer(buffer, bodyStart, buffers, bufferIndex++),
+                field,
+                length,
+                isNothing);
+          };
+    }
+    return storages;
+  }
+
+  private static ByteBuffer bodyBuffer(ByteBuffer buffer, int bodyStart, int buffers, int index) {
+    long offset = buffer.getLong(buffers + 2 * Long.BYTES * index);
+    long length = buffer.getLong(buffers + 2 * Long.BYTES * index + Long.BYTES);
+    return buffer
+        .slice(Math.toIntExact(bodyStart + offset), Math.toIntExact(length))
+        .order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static BitSet readIsNothing(ByteBuffer validity, long nullCount, int length) {
+    BitSet isNothing = new BitSet();
+    if (nullCount != 0 && validity.limit() > 0) {
+      isNothing.set(0, length);
+      isNothing.andNot(BitSet.valueOf(validity));
+    }
+    return isNothing;
+  }
+
+  private static Storage<?> readIntegers(
+      ByteBuffer values, FieldType field, int length, BitSet isNothing) {
+    Context context = Context.getCurrent();
+    long[] data = new long[length];
+    if (field.width == 64) {
+      values.asLongBuffer().get(data);
+    } else {
+      for (int i = 0; i < length; i++) {
+        data[i] =
+            switch (field.width) {
+              case 8 -> field.isSigned ? values.get(i) : Byte.toUnsignedLong(values.get(i));
+              case 16 -> field.isSigned
+                  ? values.getShort(i * Short.BYTES)
+                  : Short.toUnsignedLong(values.getShort(i * Short.BYTES));
+              default -> field.isSigned
+                  ? values.getInt(i * Integer.BYTES)
+                  : Integer.toUnsignedLong(values.getInt(i * Integer.BYTES));
+            };
+
+        context.safepoint();
+      }
+    }
+    return NarrowLongStorage.fromLongs(data, length, isNothing, (IntegerType) field.storageType());
+  }
+
+  private static Storage<?> readFloats(
+      ByteBuffer values, FieldType field, int length, BitSet isNothing) {
+    long[] data = new long[length];
+    if (field.width == Double.BYTES) {
+      values.asLongBuffer().get(data);
+    } else {
+      Context context = Context.getCurrent();
+      for (int i = 0; i < length; i++) {
+        data[i] = Double.doubleToRawLongBits(values.getFloat(i * Float.BYTES));
+        context.safepoint();
+      }
+    }
+    return new DoubleStorage(data, length, isNothing);
+  }
+
+  private static Storage<?> readDates(
+      ByteBuffer values, FieldType field, int length, BitSet isNothing) {
+    Context context = Context.getCurrent();
+    LocalDate[] dates = new LocalDate[length];
+    for (int i = 0; i < length; i++) {
+      if (!isNothing.get(i)) {
+        long epochDay =
+            field.width == Integer.BYTES
+                ? values.getInt(i * Integer.BYTES)
+                : Math.floorDiv(values.getLong(i * Long.BYTES), 86_400_000L);
+        dates[i] = LocalDate.ofEpochDay(epochDay);
+      }
+
+      context.safepoint();
+    }
+    return new DateStorage(dates, length);
+  }
+
+  private static Storage<?> readTexts(
+      ByteBuffer offsets, ByteBuffer data, FieldType field, int length, BitSet isNothing) {
+    Context context = Context.getCurrent();
+    StringBuilder builder = new StringBuilder(length, TextType.VARIABLE_LENGTH);
+    for (int i = 0; i < length; i++) {
+      if (isNothing.get(i)) {
+        builder.appendNoGrow(null);
+      } else {
+        int start;
+        int end;
+        if (field.width == Integer.BYTES) {
+          start = offsets.getInt(i * Integer.BYTES);
+          end = offsets.getInt((i + 1) * Integer.BYTES);
+        } else {
+          start = Math.toIntExact(offsets.getLong(i * Long.BYTES));
+          end = Math.toIntExact(offsets.getLong((i + 1) * Long.BYTES));
+        }
+        byte[] bytes = new byte[end - start];
+        data.get(start, bytes);
+        builder.appendNoGrow(new String(bytes, StandardCharsets.UTF_8));
+      }
+
+      context.safepoint();
+    }
+    return builder.seal();
+  }
+}
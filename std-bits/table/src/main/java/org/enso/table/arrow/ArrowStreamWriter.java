@@ -0,0 +1,377 @@
+package org.enso.table.arrow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.function.ToIntFunction;
+import org.enso.table.data.column.builder.Builder;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringDictionary;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.type.AnyObjectType;
+import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.enso.table.problems.BlackholeProblemAggregator;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Writes tables in the Arrow IPC streaming format.
+ *
+ * <p>The table is written as a schema message followed by a single record batch. Integer, float,
+ * boolean, date and text columns are supported. The buffers of 64-bit integer and float columns are
+ * copied in bulk from the underlying arrays, without converting the values one by one.
+ */
+public final class ArrowStreamWriter {
+  private ArrowStreamWriter() {}
+
+  /** The buffers and the type of a column, ready to be written. */
+  private record EncodedColumn(
+      byte typeId,
+      ToIntFunction<FlatBufferBuilder> typeTable,
+      int nullCount,
+      ByteBuffer[] buffers) {}
+
+  /** Writes the table to the given file, replacing it if it exists. */
+  public static void write(Table table, File file) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(
+            file.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      write(table, channel);
+    }
+  }
+
+  /** Writes the table to the output stream, without closing it. */
+  public static void write(Table table, OutputStream stream) throws IOException {
+    write(table, Channels.newChannel(stream));
+  }
+
+  /**
+   * Writes the table to the channel.
+   *
+   * @throws UnsupportedOperationException if the table has columns of a type that cannot be written
+   */
+  public static void write(Table table, WritableByteChannel channel) throws IOException {
+    Column[] columns = table.getColumns();
+    int rowCount = table.rowCount();
+    EncodedColumn[] encodedColumns = new EncodedColumn[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      encodedColumns[i] = encode(columns[i], rowCount);
+    }
+
+    writeMessage(channel, schemaMessage(columns, encodedColumns));
+
+    int bufferCount = 0;
+    for (EncodedColumn column : encodedColumns) {
+      bufferCount += column.buffers.length;
+    }
+    long[] nodes = new long[2 * columns.length];
+    long[] bufferLocations = new long[2 * bufferCount];
+    ByteBuffer[] body = new ByteBuffer[bufferCount];
+    long bodyLength = 0;
+    int bufferIndex = 0;
+    for (int i = 0; i < columns.length; i++) {
+      nodes[2 * i] = rowCount;
+      nodes[2 * i + 1] = encodedColumns[i].nullCount;
+      for (ByteBuffer buffer : encodedColumns[i].buffers) {
+        bufferLocations[2 * bufferIndex] = bodyLength;
+        bufferLocations[2 * bufferIndex + 1] = buffer.limit();
+        body[bufferIndex++] = buffer;
+        bodyLength += ArrowFormat.padded(buffer.limit());
+      }
+    }
+
+    FlatBufferBuilder builder = new FlatBufferBuilder();
+    int nodesVector = builder.createLongPairVector(nodes);
+    int buffersVector = builder.createLongPairVector(bufferLocations);
+    builder.startTable(ArrowFormat.RECORD_BATCH_FIELD_COUNT);
+    builder.addLong(ArrowFormat.RECORD_BATCH_LENGTH, rowCount);
+    builder.addOffset(ArrowFormat.RECORD_BATCH_NODES, nodesVector);
+    builder.addOffset(ArrowFormat.RECORD_BATCH_BUFFERS, buffersVector);
+    int recordBatch = builder.endTable();
+    writeMessage(
+        channel, finishMessage(builder, ArrowFormat.HEADER_RECORD_BATCH, recordBatch, bodyLength));
+    for (ByteBuffer buffer : body) {
+      writeFully(channel, buffer);
+      writePadding(channel, ArrowFormat.padded(buffer.limit()) - buffer.limit());
+    }
+
+    // The end-of-stream marker.
+    ByteBuffer end = allocate(2 * Integer.BYTES);
+    end.putInt(ArrowFormat.CONTINUATION_MARKER).putInt(0).flip();
+    writeFully(channel, end);
+  }
+
+  private static byte[] schemaMessage(Column[] columns, EncodedColumn[] encodedColumns) {
+    FlatBufferBuilder builder = new FlatBufferBuilder();
+    int[] fields = new int[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      int name = builder.createString(columns[i].getName());
+      int type = encodedColumns[i].typeTable.applyAsInt(builder);
+      int children = builder.createOffsetVector(new int[0]);
+      builder.startTable(ArrowFormat.FIELD_FIELD_COUNT);
+      builder.addOffset(ArrowFormat.FIELD_NAME, name);
+      builder.addBoolean(ArrowFormat.FIELD_NULLABLE, true);
+      builder.addByte(ArrowFormat.FIELD_TYPE_TYPE, encodedColumns[i].typeId);
+      builder.addOffset(ArrowFormat.FIELD_TYPE, type);
+      builder.addOffset(ArrowFormat.FIELD_CHILDREN, children);
+      fields[i] = builder.endTable();
+    }
+
+    int fieldsVector = builder.createOffsetVector(fields);
+    builder.startTable(ArrowFormat.SCHEMA_FIELD_COUNT);
+    builder.addOffset(ArrowFormat.SCHEMA_FIELDS, fieldsVector);
+    int schema = builder.endTable();
+    return finishMessage(builder, ArrowFormat.HEADER_SCHEMA, schema, 0);
+  }
+
+  private static byte[] finishMessage(
+      FlatBufferBuilder builder, byte headerType, int header, long bodyLength) {
+    builder.startTable(ArrowFormat.MESSAGE_FIELD_COUNT);
+    builder.addLong(ArrowFormat.MESSAGE_BODY_LENGTH, bodyLength);
+    builder.addOffset(ArrowFormat.MESSAGE_HEADER, header);
+    builder.addShort(ArrowFormat.MESSAGE_VERSION, ArrowFormat.METADATA_VERSION_V5);
+    builder.addByte(ArrowFormat.MESSAGE_HEADER_TYPE, headerType);
+    return builder.finish(builder.endTable());
+  }
+
+  /** Writes the metadata of an encapsulated message, padded so that the body is aligned. */
+  private static void writeMessage(WritableByteChannel channel, byte[] metadata)
+      throws IOException {
+    int paddedLength = (int) ArrowFormat.padded(2 * Integer.BYTES + metadata.length);
+    ByteBuffer prefix = allocate(paddedLength);
+    prefix.putInt(ArrowFormat.CONTINUATION_MARKER);
+    prefix.putInt(paddedLength - 2 * Integer.BYTES);
+    prefix.put(metadata);
+    prefix.clear();
+    writeFully(channel, prefix);
+  }
+
+  private static void writeFully(WritableByteChannel channel, ByteBuffer buffer)
+      throws IOException {
+    buffer.rewind();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static void writePadding(WritableByteChannel channel, long length) throws IOException {
+    if (length > 0) {
+      writeFully(channel, ByteBuffer.allocate((int) length));
+    }
+  }
+
+  private static ByteBuffer allocate(long size) {
+    return ByteBuffer.allocate(Math.toIntExact(size)).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static EncodedColumn encode(Column column, int rowCount) {
+    Storage<?> storage = column.getStorage();
+    if (storage.getType() instanceof AnyObjectType) {
+      storage = specialize(storage);
+    }
+    Context context = Context.getCurrent();
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < rowCount; i++) {
+      if (storage.isNothing(i)) {
+        isNothing.set(i);
+      }
+
+      context.safepoint();
+    }
+
+    int nullCount = isNothing.cardinality();
+    ByteBuffer validity = allocate(0);
+    if (nullCount > 0) {
+      BitSet valid = new BitSet(rowCount);
+      valid.set(0, rowCount);
+      valid.andNot(isNothing);
+      validity = bitmap(valid, rowCount);
+    }
+
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> {
+        int bitWidth = longStorage.getType().bits().toInteger();
+        ByteBuffer values = allocate((long) rowCount * (bitWidth / 8));
+        if (longStorage instanceof LongStorage s && s.getRawData().length >= rowCount) {
+          values.asLongBuffer().put(s.getRawData(), 0, rowCount);
+        } else {
+          for (int i = 0; i < rowCount; i++) {
+            long value = isNothing.get(i) ? 0 : longStorage.getItem(i);
+            switch (bitWidth) {
+              case 8 -> values.put(i, (byte) value);
+              case 16 -> values.putShort(i * Short.BYTES, (short) value);
+              case 32 -> values.putInt(i * Integer.BYTES, (int) value);
+              default -> values.putLong(i * Long.BYTES, value);
+            }
+
+            context.safepoint();
+          }
+        }
+        yield new EncodedColumn(
+            ArrowFormat.TYPE_INT,
+            builder -> {
+              builder.startTable(ArrowFormat.INT_FIELD_COUNT);
+              builder.addInt(ArrowFormat.INT_BIT_WIDTH, bitWidth);
+              builder.addBoolean(ArrowFormat.INT_IS_SIGNED, true);
+              return builder.endTable();
+            },
+            nullCount,
+            new ByteBuffer[] {validity, values});
+      }
+      case DoubleStorage doubleStorage -> {
+        ByteBuffer values = allocate((long) rowCount * Double.BYTES);
+        if (doubleStorage.getRawData().length >= rowCount) {
+          values.asLongBuffer().put(doubleStorage.getRawData(), 0, rowCount);
+        } else {
+          for (int i = 0; i < rowCount; i++) {
+            if (!isNothing.get(i)) {
+              values.putDouble(i * Double.BYTES, doubleStorage.getItemAsDouble(i));
+            }
+
+            context.safepoint();
+          }
+        }
+        yield new EncodedColumn(
+            ArrowFormat.TYPE_FLOATING_POINT,
+            builder -> {
+              builder.startTable(1);
+              builder.addShort(ArrowFormat.FLOATING_POINT_PRECISION, ArrowFormat.PRECISION_DOUBLE);
+              return builder.endTable();
+            },
+            nullCount,
+            new ByteBuffer[] {validity, values});
+      }
+      case BoolStorage boolStorage -> {
+        BitSet values = (BitSet) boolStorage.getValues().clone();
+        if (boolStorage.isNegated()) {
+          values.flip(0, rowCount);
+        }
+        yield new EncodedColumn(
+            ArrowFormat.TYPE_BOOL,
+            FlatBufferBuilder::emptyTable,
+            nullCount,
+            new ByteBuffer[] {validity, bitmap(values, rowCount)});
+      }
+      case DateStorage dateStorage -> {
+        ByteBuffer values = allocate((long) rowCount * Integer.BYTES);
+        for (int i = 0; i < rowCount; i++) {
+          if (!isNothing.get(i)) {
+            values.putInt(i * Integer.BYTES, (int) dateStorage.getItem(i).toEpochDay());
+          }
+
+          context.safepoint();
+        }
+        yield new EncodedColumn(
+            ArrowFormat.TYPE_DATE,
+            builder -> {
+              builder.startTable(1);
+              builder.addShort(ArrowFormat.DATE_UNIT, ArrowFormat.DATE_UNIT_DAY);
+              return builder.endTable();
+            },
+            nullCount,
+            new ByteBuffer[] {validity, values});
+      }
+      case StringStorage stringStorage -> {
+        ByteBuffer[] buffers = encodeTexts(stringStorage, rowCount, isNothing);
+        yield new EncodedColumn(
+            ArrowFormat.TYPE_UTF8,
+            FlatBufferBuilder::emptyTable,
+            nullCount,
+            new ByteBuffer[] {validity, buffers[0], buffers[1]});
+      }
+      default -> throw new UnsupportedOperationException(
+          "Columns of type "
+              + storage.getType()
+              + " cannot be written in the Arrow format (column "
+              + column.getName()
+              + ").");
+    };
+  }
+
+  /**
+   * Converts a Mixed column whose values all have the same type to a storage of that type, so that
+   * it can be written as a column of that type.
+   */
+  private static Storage<?> specialize(Storage<?> storage) {
+    StorageType type = storage.inferPreciseType();
+    if (type instanceof AnyObjectType) {
+      return storage;
+    }
+
+    Context context = Context.getCurrent();
+    Builder builder = Builder.getForType(type, storage.size(), BlackholeProblemAggregator.INSTANCE);
+    for (int i = 0; i < storage.size(); i++) {
+      builder.appendNoGrow(storage.getItemBoxed(i));
+      context.safepoint();
+    }
+    return builder.seal();
+  }
+
+  /** Encodes the texts as UTF-8, returning the offsets and the data buffers. */
+  private static ByteBuffer[] encodeTexts(StringStorage storage, int rowCount, BitSet isNothing) {
+    Context context = Context.getCurrent();
+    StringDictionary dictionary = storage.getDictionary();
+    byte[][] encodedEntries = null;
+    if (dictionary != null) {
+      encodedEntries = new byte[dictionary.entryCount()][];
+      for (int code = 0; code < encodedEntries.length; code++) {
+        encodedEntries[code] = dictionary.entry(code).getBytes(StandardCharsets.UTF_8);
+      }
+    }
+
+    byte[][] encoded = new byte[rowCount][];
+    long totalLength = 0;
+    for (int i = 0; i < rowCount; i++) {
+      if (!isNothing.get(i)) {
+        encoded[i] =
+            encodedEntries != null
+                ? encodedEntries[dictionary.codeOf(i)]
+                : storage.getItem(i).getBytes(StandardCharsets.UTF_8);
+        totalLength += encoded[i].length;
+      }
+
+      context.safepoint();
+    }
+
+    if (totalLength > Integer.MAX_VALUE) {
+      throw new UnsupportedOperationException(
+          "Text columns of more than 2GB cannot be written in the Arrow format.");
+    }
+
+    ByteBuffer offsets = allocate((long) (rowCount + 1) * Integer.BYTES);
+    ByteBuffer data = allocate(totalLength);
+    for (int i = 0; i < rowCount; i++) {
+      offsets.putInt(data.position());
+      if (encoded[i] != null) {
+        data.put(encoded[i]);
+      }
+    }
+    offsets.putInt(data.position());
+    return new ByteBuffer[] {offsets, data};
+  }
+
+  /** Packs the first {@code length} bits of the set into a little-endian bitmap. */
+  private static ByteBuffer bitmap(BitSet bits, int length) {
+    byte[] bytes = new byte[(length + 7) / 8];
+    byte[] packed = bits.get(0, length).toByteArray();
+    System.arraycopy(packed, 0, bytes, 0, packed.length);
+    return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+  }
+}
@@ -0,0 +1,187 @@
+package org.enso.table.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A minimal builder of FlatBuffers, sufficient for the Arrow IPC metadata.
+ *
+ * <p>Like the reference implementation, the buffer is filled from the back, so objects have to be
+ * created before the objects referring to them. Offsets returned by the methods are measured from
+ * the end of the buffer.
+ */
+final class FlatBufferBuilder {
+  private byte[] buffer = new byte[256];
+  private int space = buffer.length;
+  private int minAlign = 1;
+  private int[] vtable = null;
+  private int tableStart;
+
+  /** The current size of the data, which is also the offset of the last created object. */
+  int offset() {
+    return buffer.length - space;
+  }
+
+  private void grow(int needed) {
+    int oldLength = buffer.length;
+    int newLength = oldLength;
+    while (newLength - offset() < needed) {
+      newLength *= 2;
+    }
+    byte[] newBuffer = new byte[newLength];
+    System.arraycopy(buffer, space, newBuffer, newLength - offset(), offset());
+    space += newLength - oldLength;
+    buffer = newBuffer;
+  }
+
+  /**
+   * Pads the buffer so that, after writing {@code additionalBytes}, a value of {@code size} bytes
+   * will be aligned.
+   */
+  private void prep(int size, int additionalBytes) {
+    minAlign = Math.max(minAlign, size);
+    int alignSize = (-(offset() + additionalBytes)) & (size - 1);
+    if (space < alignSize + size + additionalBytes) {
+      grow(alignSize + size + additionalBytes);
+    }
+    space -= alignSize;
+    Arrays.fill(buffer, space, space + alignSize, (byte) 0);
+  }
+
+  private void putLong(long value) {
+    space -= Long.BYTES;
+    ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).putLong(space, value);
+  }
+
+  private void putInt(int value) {
+    space -= Integer.BYTES;
+    ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).putInt(space, value);
+  }
+
+  private void putShort(short value) {
+    space -= Short.BYTES;
+    ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN).putShort(space, value);
+  }
+
+  private void putByte(byte value) {
+    buffer[--space] = value;
+  }
+
+  private void addOffset(int target) {
+    prep(Integer.BYTES, 0);
+    putInt(offset() - target + Integer.BYTES);
+  }
+
+  int createString(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    prep(Integer.BYTES, bytes.length + 1);
+    putByte((byte) 0);
+    space -= bytes.length;
+    System.arraycopy(bytes, 0, buffer, space, bytes.length);
+    putInt(bytes.length);
+    return offset();
+  }
+
+  /** Creates a vector of the given (already created) tables. */
+  int createOffsetVector(int[] targets) {
+    prep(Integer.BYTES, targets.length * Integer.BYTES);
+    for (int i = targets.length - 1; i >= 0; i--) {
+      addOffset(targets[i]);
+    }
+    putInt(targets.length);
+    return offset();
+  }
+
+  /**
+   * Creates a vector of structs consisting of two longs each, given as consecutive pairs of
+   * elements of {@code values}.
+   */
+  int createLongPairVector(long[] values) {
+    int count = values.length / 2;
+    prep(Integer.BYTES, values.length * Long.BYTES);
+    prep(Long.BYTES, values.length * Long.BYTES);
+    for (int i = values.length - 1; i >= 0; i--) {
+      putLong(values[i]);
+    }
+    putInt(count);
+    return offset();
+  }
+
+  void startTable(int fieldCount) {
+    vtable = new int[fieldCount];
+    tableStart = offset();
+  }
+
+  void addLong(int field, long value) {
+    prep(Long.BYTES, 0);
+    putLong(value);
+    vtable[field] = offset();
+  }
+
+  void addShort(int field, short value) {
+    prep(Short.BYTES, 0);
+    putShort(value);
+    vtable[field] = offset();
+  }
+
+  void addByte(int field, byte value) {
+    prep(Byte.BYTES, 0);
+    putByte(value);
+    vtable[field] = offset();
+  }
+
+  void addBoolean(int field, boolean value) {
+    addByte(field, value ? (byte) 1 : (byte) 0);
+  }
+
+  void addInt(int field, int value) {
+    prep(Integer.BYTES, 0);
+    putInt(value);
+    vtable[field] = offset();
+  }
+
+  void addOffset(int field, int target) {
+    addOffset(target);
+    vtable[field] = offset();
+  }
+
+  /** Creates a table without any fields. */
+  int emptyTable() {
+    startTable(0);
+    return endTable();
+  }
+
+  /** Finishes the current table, writing its vtable right before it, and returns its offset. */
+  int endTable() {
+    prep(Integer.BYTES, 0);
+    putInt(0);
+    int tableOffset = offset();
+
+    int fieldCount = vtable.length;
+    while (fieldCount > 0 && vtable[fieldCount - 1] == 0) {
+      fieldCount--;
+    }
+    prep(Short.BYTES, (fieldCount + 1) * Short.BYTES);
+    for (int i = fieldCount - 1; i >= 0; i--) {
+      putShort((short) (vtable[i] == 0 ? 0 : tableOffset - vtable[i]));
+    }
+    putShort((short) (tableOffset - tableStart));
+    putShort((short) ((fieldCount + 2) * Short.BYTES));
+    int vtableOffset = offset();
+
+    ByteBuffer.wrap(buffer)
+        .order(ByteOrder.LITTLE_ENDIAN)
+        .putInt(buffer.length - tableOffset, vtableOffset - tableOffset);
+    vtable = null;
+    return tableOffset;
+  }
+
+  /** Finishes the buffer with the given root table and returns its contents. */
+  byte[] finish(int rootTable) {
+    prep(minAlign, Integer.BYTES);
+    addOffset(rootTable);
+    return Arrays.copyOfRange(buffer, space, buffer.length);
+  }
+}
@@ -0,0 +1,96 @@
+package org.enso.table.arrow;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A read-only view of a FlatBuffers table.
+ *
+ * <p>Fields are identified by their index in the schema. Missing scalar fields have their default
+ * values, and missing references are returned as {@code null}.
+ *
+ * @param buffer the buffer containing the table; it must be in little-endian order
+ * @param position the absolute position of the table in the buffer
+ */
+record FlatBufferTable(ByteBuffer buffer, int position) {
+  /** Returns the root table of a FlatBuffer starting at the given position. */
+  static FlatBufferTable root(ByteBuffer buffer, int start) {
+    return new FlatBufferTable(buffer, start + buffer.getInt(start));
+  }
+
+  /** Returns the absolute position of the given field, or -1 if it is not present. */
+  private int fieldPosition(int field) {
+    int vtable = position - buffer.getInt(position);
+    int vtableSize = Short.toUnsignedInt(buffer.getShort(vtable));
+    int entry = Short.BYTES * (2 + field);
+    if (entry >= vtableSize) {
+      return -1;
+    }
+
+    int offset = Short.toUnsignedInt(buffer.getShort(vtable + entry));
+    return offset == 0 ? -1 : position + offset;
+  }
+
+  private int dereference(int fieldPosition) {
+    return fieldPosition + buffer.getInt(fieldPosition);
+  }
+
+  long getLong(int field, long defaultValue) {
+    int at = fieldPosition(field);
+    return at == -1 ? defaultValue : buffer.getLong(at);
+  }
+
+  int getInt(int field, int defaultValue) {
+    int at = fieldPosition(field);
+    return at == -1 ? defaultValue : buffer.getInt(at);
+  }
+
+  short getShort(int field, short defaultValue) {
+    int at = fieldPosition(field);
+    return at == -1 ? defaultValue : buffer.getShort(at);
+  }
+
+  byte getByte(int field, byte defaultValue) {
+    int at = fieldPosition(field);
+    return at == -1 ? defaultValue : buffer.get(at);
+  }
+
+  boolean getBoolean(int field, boolean defaultValue) {
+    int at = fieldPosition(field);
+    return at == -1 ? defaultValue : buffer.get(at) != 0;
+  }
+
+  FlatBufferTable getTable(int field) {
+    int at = fieldPosition(field);
+    return at == -1 ? null : new FlatBufferTable(buffer, dereference(at));
+  }
+
+  String getString(int field) {
+    int at = fieldPosition(field);
+    if (at == -1) {
+      return null;
+    }
+
+    int start = dereference(at);
+    byte[] bytes = new byte[buffer.getInt(start)];
+    buffer.get(start + Integer.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Returns the number of elements of a vector field, or 0 if it is not present. */
+  int getVectorLength(int field) {
+    int at = fieldPosition(field);
+    return at == -1 ? 0 : buffer.getInt(dereference(at));
+  }
+
+  /** Returns the absolute position of the first element of a vector field. */
+  int getVectorStart(int field) {
+    return dereference(fieldPosition(field)) + Integer.BYTES;
+  }
+
+  /** Returns an element of a vector of tables. */
+  FlatBufferTable getTableElement(int field, int index) {
+    int at = getVectorStart(field) + index * Integer.BYTES;
+    return new FlatBufferTable(buffer, dereference(at));
+  }
+}
@@ -8,6 +8,7 @@ import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
 import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.numeric.NarrowLongStorage;
 import org.enso.table.data.column.storage.type.BigIntegerType;
 import org.enso.table.data.column.storage.type.BooleanType;
 import org.enso.table.data.column.storage.type.FloatType;
@@ -147,6 +148,6 @@ public abstract class LongBuilder extends NumericBuilder {
 
   @Override
   public Storage<Long> seal() {
-    return new LongStorage(data, currentSize, isNothing, getType());
+    return NarrowLongStorage.fromLongs(data, currentSize, isNothing, getType());
   }
 }
@@ -12,7 +12,7 @@ import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
 import org.enso.table.data.column.storage.numeric.BigDecimalStorage;
 import org.enso.table.data.column.storage.numeric.BigIntegerStorage;
 import org.enso.table.data.column.storage.numeric.DoubleStorage;
-import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.numeric.NarrowLongStorage;
 import org.enso.table.data.column.storage.type.AnyObjectType;
 import org.enso.table.data.column.storage.type.IntegerType;
 import org.enso.table.util.BitSets;
@@ -174,7 +174,7 @@ public class ToIntegerStorageConverter implements StorageConverter<Long> {
         context.safepoint();
       }
 
-      return new LongStorage(data, n, isNothing, targetType);
+      return NarrowLongStorage.fromLongs(data, n, isNothing, targetType);
     }
   }
 
@@ -198,7 +198,7 @@ public class ToIntegerStorageConverter implements StorageConverter<Long> {
       context.safepoint();
     }
 
-    return new LongStorage(data, n, isNothing, targetType);
+    return NarrowLongStorage.fromLongs(data, n, isNothing, targetType);
   }
 
   private Storage<Long> convertBigDecimalStorage(
@@ -224,7 +224,7 @@ public class ToIntegerStorageConverter implements StorageConverter<Long> {
       context.safepoint();
     }
 
-    return new LongStorage(data, n, isNothing, targetType);
+    return NarrowLongStorage.fromLongs(data, n, isNothing, targetType);
   }
 
   public static long booleanAsLong(boolean value) {
@@ -0,0 +1,118 @@
+package org.enso.table.data.column.operation.map;
+
+import java.util.BitSet;
+import org.enso.table.util.ParallelExecution;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Runs the loop of an element-wise operation over chunks of rows, in parallel if the storage is
+ * large enough.
+ *
+ * <p>Each chunk fills its own bit sets, indexed relative to the start of the chunk, and reports
+ * problems to its own aggregator. Both are merged back in the order of the rows once all chunks are
+ * done, so the result does not depend on the scheduling. Chunks must not touch the polyglot {@code
+ * Context}; safepoints are polled on the calling thread between batches of chunks.
+ *
+ * <p>Storages with fewer rows than the {@code enso.table.parallel_map_threshold} system property
+ * (65536 by default) are processed as a single chunk on the calling thread, so that small
+ * operations do not pay for the coordination. The property is checked each time an operation
+ * starts.
+ */
+public final class ChunkedMapOperation {
+  private ChunkedMapOperation() {}
+
+  private static int parallelThreshold() {
+    return Integer.getInteger("enso.table.parallel_map_threshold", 1 << 16);
+  }
+
+  /** The smallest chunk size. It is a multiple of 64, so chunks cover whole words of bit sets. */
+  private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+  /** The loop body of an operation. */
+  @FunctionalInterface
+  public interface Kernel {
+    /**
+     * Processes the rows from {@code from} (inclusive) to {@code to} (exclusive).
+     *
+     * @param isNothing the bit set marking missing results, indexed relative to {@code from}
+     * @param values the bit set of boolean results, indexed relative to {@code from}
+     * @param problemAggregator the aggregator to report problems of these rows to
+     */
+    void run(
+        int from,
+        int to,
+        BitSet isNothing,
+        BitSet values,
+        MapOperationProblemAggregator problemAggregator);
+  }
+
+  /** The bit sets filled by all chunks of an operation, indexed by row. */
+  public record Result(BitSet isNothing, BitSet values) {}
+
+  /**
+   * Runs the kernel over the rows from 0 to {@code size}.
+   *
+   * @param size the number of rows to process
+   * @param problemAggregator the aggregator of the whole operation
+   * @param kernel the loop body
+   * @return the merged bit sets of all chunks
+   */
+  public static Result run(
+      int size, MapOperationProblemAggregator problemAggregator, Kernel kernel) {
+    if (size < parallelThreshold()) {
+      BitSet isNothing = new BitSet();
+      BitSet values = new BitSet();
+      kernel.run(0, size, isNothing, values, problemAggregator);
+      Context.getCurrent().safepoint();
+      return new Result(isNothing, values);
+    }
+
+    int parallelism = ParallelExecution.parallelism();
+    int chunkSize = Math.max(MIN_CHUNK_SIZE, roundUpToWord(Math.ceilDiv(size, 4 * parallelism)));
+    int chunkCount = Math.ceilDiv(size, chunkSize);
+
+    BitSet[] chunkIsNothing = new BitSet[chunkCount];
+    BitSet[] chunkValues = new BitSet[chunkCount];
+    MapOperationProblemAggregator[] chunkAggregators =
+        new MapOperationProblemAggregator[chunkCount];
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      chunkIsNothing[chunk] = new BitSet();
+      chunkValues[chunk] = new BitSet();
+      chunkAggregators[chunk] =
+          problemAggregator == null ? null : problemAggregator.makeChunkAggregator();
+    }
+
+    ParallelExecution.forEachIndexPollingSafepoints(
+        chunkCount,
+        parallelism,
+        chunk -> {
+          int from = chunk * chunkSize;
+          int to = Math.min(from + chunkSize, size);
+          kernel.run(from, to, chunkIsNothing[chunk], chunkValues[chunk], chunkAggregators[chunk]);
+        });
+
+    if (problemAggregator != null) {
+      for (MapOperationProblemAggregator chunkAggregator : chunkAggregators) {
+        problemAggregator.mergeChunk(chunkAggregator);
+      }
+    }
+
+    return new Result(
+        concatenate(chunkIsNothing, chunkSize, size), concatenate(chunkValues, chunkSize, size));
+  }
+
+  private static int roundUpToWord(int n) {
+    return (n + 63) & ~63;
+  }
+
+  /** Joins bit sets of consecutive chunks of the given size, which must be a multiple of 64. */
+  private static BitSet concatenate(BitSet[] chunks, int chunkSize, int size) {
+    long[] words = new long[Math.ceilDiv(size, 64)];
+    int wordsPerChunk = chunkSize / 64;
+    for (int chunk = 0; chunk < chunks.length; chunk++) {
+      long[] chunkWords = chunks[chunk].toLongArray();
+      System.arraycopy(chunkWords, 0, words, chunk * wordsPerChunk, chunkWords.length);
+    }
+    return BitSet.valueOf(words);
+  }
+}
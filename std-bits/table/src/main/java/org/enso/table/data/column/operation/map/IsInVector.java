@@ -0,0 +1,46 @@
+package org.enso.table.data.column.operation.map;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The vector of values that an {@code is_in} operation checks a column against, together with the
+ * sets prepared from it.
+ *
+ * <p>It is created once by the caller, so that checking several columns against the same instance
+ * prepares each kind of set only once. The values must not change while the instance is in use.
+ */
+public final class IsInVector {
+  private final List<?> values;
+  private final Map<Object, Object> prepared = new HashMap<>();
+
+  public IsInVector(List<?> values) {
+    this.values = values;
+  }
+
+  public List<?> values() {
+    return values;
+  }
+
+  /**
+   * Returns the set prepared from the argument of an {@code is_in} operation, which is either a
+   * vector or an {@link IsInVector}. Sets prepared from the latter are kept and reused.
+   *
+   * @param arg the argument of the operation
+   * @param kind identifies the type of the set and how it is prepared, e.g. the class of the
+   *     operation
+   * @param prepare prepares the set from the values
+   */
+  @SuppressWarnings("unchecked")
+  public static <R> R prepare(Object arg, Object kind, Function<List<?>, R> prepare) {
+    if (arg instanceof IsInVector vector) {
+      return (R) vector.prepared.computeIfAbsent(kind, k -> prepare.apply(vector.values));
+    } else if (arg instanceof List<?> list) {
+      return prepare.apply(list);
+    } else {
+      throw new IllegalArgumentException("Argument to `is_in` must be a vector.");
+    }
+  }
+}
@@ -57,6 +57,28 @@ public class MapOperationProblemAggregator extends ColumnAggregatedProblemAggreg
     reportArithmeticError("Division by zero", row);
   }
 
+  /**
+   * Creates an aggregator for the problems of one chunk of rows of this operation, that may be used
+   * on another thread. Its problems are only passed on once it is merged with {@link #mergeChunk}.
+   */
+  MapOperationProblemAggregator makeChunkAggregator() {
+    var chunk = new MapOperationProblemAggregator(this, location);
+    chunk.detachFromParent();
+    return chunk;
+  }
+
+  /** Reports the problems gathered by a chunk aggregator as if they were reported to this one. */
+  void mergeChunk(MapOperationProblemAggregator chunk) {
+    takeProblemsFrom(chunk);
+    if (chunk.overflowCount > 0) {
+      if (overflowTargetType == null) {
+        overflowTargetType = chunk.overflowTargetType;
+        overflowExample = chunk.overflowExample;
+      }
+      overflowCount += chunk.overflowCount;
+    }
+  }
+
   @Override
   public ProblemSummary summarize() {
     var summary = super.summarize();
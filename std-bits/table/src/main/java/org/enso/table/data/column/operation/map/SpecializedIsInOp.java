@@ -41,22 +41,35 @@ public abstract class SpecializedIsInOp<T, S extends Storage<T>> extends BinaryM
     super(Storage.Maps.IS_IN);
   }
 
+  /**
+   * Identifies the representations prepared by this operation in an {@link IsInVector}. Operations
+   * whose {@link #prepareList} depends on their configuration must include it.
+   */
+  protected Object preparedKind() {
+    return getClass();
+  }
+
+  private record Prepared<T>(CompactRepresentation<T> representation, boolean isEmpty) {}
+
   @Override
   public Storage<?> runBinaryMap(
       S storage, Object arg, MapOperationProblemAggregator problemAggregator) {
-    if (arg instanceof List) {
-      return runMap(storage, (List<?>) arg);
-    } else {
-      throw new IllegalArgumentException("Argument to `is_in` must be a vector.");
-    }
+    Prepared<T> prepared =
+        IsInVector.prepare(
+            arg, preparedKind(), list -> new Prepared<>(prepareList(list), list.isEmpty()));
+    return run(storage, prepared.representation, prepared.isEmpty);
   }
 
   public Storage<?> runMap(S storage, List<?> arg) {
+    return run(storage, prepareList(arg), arg.isEmpty());
+  }
+
+  private Storage<?> run(
+      S storage, CompactRepresentation<T> compactRepresentation, boolean isEmpty) {
     Context context = Context.getCurrent();
-    CompactRepresentation<T> compactRepresentation = prepareList(arg);
     BitSet newVals = new BitSet();
     BitSet isNothing = new BitSet();
-    if (!arg.isEmpty()) {
+    if (!isEmpty) {
       for (int i = 0; i < storage.size(); i++) {
         if (storage.isNothing(i)) {
           isNothing.set(i);
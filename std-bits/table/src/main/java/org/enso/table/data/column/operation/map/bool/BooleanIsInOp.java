@@ -2,6 +2,7 @@ package org.enso.table.data.column.operation.map.bool;
 
 import java.util.List;
 import org.enso.table.data.column.operation.map.BinaryMapOperation;
+import org.enso.table.data.column.operation.map.IsInVector;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
@@ -18,17 +19,21 @@ public class BooleanIsInOp extends BinaryMapOperation<Boolean, BoolStorage> {
     super(Storage.Maps.IS_IN);
   }
 
+  private record Prepared(boolean hadNull, boolean hadTrue, boolean hadFalse) {}
+
   @Override
   public BoolStorage runBinaryMap(
       BoolStorage storage, Object arg, MapOperationProblemAggregator problemAggregator) {
-    if (arg instanceof List) {
-      return runMap(storage, (List<?>) arg);
-    } else {
-      throw new IllegalArgumentException("Argument to `is_in` must be a vector.");
-    }
+    Prepared prepared = IsInVector.prepare(arg, BooleanIsInOp.class, BooleanIsInOp::prepare);
+    return run(storage, prepared.hadNull, prepared.hadTrue, prepared.hadFalse);
   }
 
   public BoolStorage runMap(BoolStorage storage, List<?> arg) {
+    Prepared prepared = prepare(arg);
+    return run(storage, prepared.hadNull, prepared.hadTrue, prepared.hadFalse);
+  }
+
+  private static Prepared prepare(List<?> arg) {
     boolean hadNull = false;
     boolean hadTrue = false;
     boolean hadFalse = false;
@@ -47,7 +52,7 @@ public class BooleanIsInOp extends BinaryMapOperation<Boolean, BoolStorage> {
       context.safepoint();
     }
 
-    return run(storage, hadNull, hadTrue, hadFalse);
+    return new Prepared(hadNull, hadTrue, hadFalse);
   }
 
   @Override
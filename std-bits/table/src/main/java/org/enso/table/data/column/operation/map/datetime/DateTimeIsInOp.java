@@ -20,6 +20,11 @@ public class DateTimeIsInOp<T, S extends Storage<T>> extends SpecializedIsInOp<T
     this.storedType = storedType;
   }
 
+  @Override
+  protected Object preparedKind() {
+    return storedType;
+  }
+
   @Override
   protected CompactRepresentation<T> prepareList(List<?> list) {
     Context context = Context.getCurrent();
@@ -3,6 +3,7 @@ package org.enso.table.data.column.operation.map.numeric.arithmetic;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.BitSet;
+import org.enso.table.data.column.operation.map.ChunkedMapOperation;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigDecimalArrayAdapter;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigIntegerArrayAdapter;
@@ -29,40 +30,35 @@ public abstract class NumericBinaryOpCoalescing<T extends Number, I extends Stor
   @Override
   protected DoubleStorage runDoubleZip(
       DoubleArrayAdapter a, DoubleArrayAdapter b, MapOperationProblemAggregator problemAggregator) {
-    Context context = Context.getCurrent();
     int n = a.size();
     int m = Math.min(a.size(), b.size());
     long[] out = new long[n];
-    BitSet isNothing = new BitSet();
-    for (int i = 0; i < m; i++) {
-      boolean aNothing = a.isNothing(i);
-      boolean bNothing = b.isNothing(i);
-      if (aNothing && bNothing) {
-        isNothing.set(i);
-      } else {
-        double r;
-        if (aNothing) {
-          r = b.getItemAsDouble(i);
-        } else if (bNothing) {
-          r = a.getItemAsDouble(i);
-        } else {
-          r = doDouble(a.getItemAsDouble(i), b.getItemAsDouble(i), i, problemAggregator);
-        }
-        out[i] = Double.doubleToRawLongBits(r);
-      }
-
-      context.safepoint();
-    }
-
-    for (int i = m; i < n; ++i) {
-      if (a.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        out[i] = Double.doubleToRawLongBits(a.getItemAsDouble(i));
-      }
-
-      context.safepoint();
-    }
+    BitSet isNothing =
+        ChunkedMapOperation.run(
+                n,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkValues, chunkAggregator) -> {
+                  for (int i = from; i < to; i++) {
+                    boolean aNothing = a.isNothing(i);
+                    boolean bNothing = i >= m || b.isNothing(i);
+                    if (aNothing && bNothing) {
+                      chunkIsNothing.set(i - from);
+                    } else {
+                      double r;
+                      if (aNothing) {
+                        r = b.getItemAsDouble(i);
+                      } else if (bNothing) {
+                        r = a.getItemAsDouble(i);
+                      } else {
+                        r =
+                            doDouble(
+                                a.getItemAsDouble(i), b.getItemAsDouble(i), i, chunkAggregator);
+                      }
+                      out[i] = Double.doubleToRawLongBits(r);
+                    }
+                  }
+                })
+            .isNothing();
 
     return new DoubleStorage(out, n, isNothing);
   }
@@ -75,18 +71,22 @@ public abstract class NumericBinaryOpCoalescing<T extends Number, I extends Stor
     }
 
     double bNonNull = b;
-    Context context = Context.getCurrent();
     int n = a.size();
     long[] out = new long[n];
-    BitSet isNothing = new BitSet();
-    for (int i = 0; i < n; i++) {
-      double r =
-          a.isNothing(i)
-              ? bNonNull
-              : doDouble(a.getItemAsDouble(i), bNonNull, i, problemAggregator);
-      out[i] = Double.doubleToRawLongBits(r);
-      context.safepoint();
-    }
+    BitSet isNothing =
+        ChunkedMapOperation.run(
+                n,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkValues, chunkAggregator) -> {
+                  for (int i = from; i < to; i++) {
+                    double r =
+                        a.isNothing(i)
+                            ? bNonNull
+                            : doDouble(a.getItemAsDouble(i), bNonNull, i, chunkAggregator);
+                    out[i] = Double.doubleToRawLongBits(r);
+                  }
+                })
+            .isNothing();
 
     return new DoubleStorage(out, n, isNothing);
   }
@@ -96,43 +96,36 @@ public abstract class NumericBinaryOpCoalescing<T extends Number, I extends Stor
       AbstractLongStorage a,
       AbstractLongStorage b,
       MapOperationProblemAggregator problemAggregator) {
-    Context context = Context.getCurrent();
     int n = a.size();
     int m = Math.min(a.size(), b.size());
     long[] out = new long[n];
-    BitSet isNothing = new BitSet();
-    for (int i = 0; i < m; i++) {
-      boolean aNothing = a.isNothing(i);
-      boolean bNothing = b.isNothing(i);
-      if (aNothing && bNothing) {
-        isNothing.set(i);
-      } else {
-        if (aNothing) {
-          out[i] = b.getItem(i);
-        } else if (bNothing) {
-          out[i] = a.getItem(i);
-        } else {
-          Long r = doLong(a.getItem(i), b.getItem(i), i, problemAggregator);
-          if (r == null) {
-            isNothing.set(i);
-          } else {
-            out[i] = r;
-          }
-        }
-      }
-
-      context.safepoint();
-    }
-
-    for (int i = m; i < n; ++i) {
-      if (a.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        out[i] = a.getItem(i);
-      }
-
-      context.safepoint();
-    }
+    BitSet isNothing =
+        ChunkedMapOperation.run(
+                n,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkValues, chunkAggregator) -> {
+                  for (int i = from; i < to; i++) {
+                    boolean aNothing = a.isNothing(i);
+                    boolean bNothing = i >= m || b.isNothing(i);
+                    if (aNothing && bNothing) {
+                      chunkIsNothing.set(i - from);
+                    } else {
+                      if (aNothing) {
+                        out[i] = b.getItem(i);
+                      } else if (bNothing) {
+                        out[i] = a.getItem(i);
+                      } else {
+                        Long r = doLong(a.getItem(i), b.getItem(i), i, chunkAggregator);
+                        if (r == null) {
+                          chunkIsNothing.set(i - from);
+                        } else {
+                          out[i] = r;
+                        }
+                      }
+                    }
+                  }
+                })
+            .isNothing();
 
     return new LongStorage(out, n, isNothing, INTEGER_RESULT_TYPE);
   }
@@ -144,24 +137,27 @@ public abstract class NumericBinaryOpCoalescing<T extends Number, I extends Stor
     }
 
     long bNonNull = b;
-    Context context = Context.getCurrent();
     int n = a.size();
     long[] out = new long[n];
-    BitSet isNothing = new BitSet();
-    for (int i = 0; i < n; i++) {
-      if (a.isNothing(i)) {
-        out[i] = bNonNull;
-      } else {
-        Long r = doLong(a.getItem(i), bNonNull, i, problemAggregator);
-        if (r == null) {
-          isNothing.set(i);
-        } else {
-          out[i] = r;
-        }
-      }
-
-      context.safepoint();
-    }
+    BitSet isNothing =
+        ChunkedMapOperation.run(
+                n,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkValues, chunkAggregator) -> {
+                  for (int i = from; i < to; i++) {
+                    if (a.isNothing(i)) {
+                      out[i] = bNonNull;
+                    } else {
+                      Long r = doLong(a.getItem(i), bNonNull, i, chunkAggregator);
+                      if (r == null) {
+                        chunkIsNothing.set(i - from);
+                      } else {
+                        out[i] = r;
+                      }
+                    }
+                  }
+                })
+            .isNothing();
 
     return new LongStorage(out, n, isNothing, INTEGER_RESULT_TYPE);
   }
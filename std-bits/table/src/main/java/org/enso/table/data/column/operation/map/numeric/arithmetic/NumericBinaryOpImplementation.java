@@ -7,6 +7,7 @@ import java.math.BigInteger;
 import java.util.BitSet;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.operation.map.BinaryMapOperation;
+import org.enso.table.data.column.operation.map.ChunkedMapOperation;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigDecimalArrayAdapter;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigIntegerArrayAdapter;
@@ -159,21 +160,25 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
 
   protected DoubleStorage runDoubleZip(
       DoubleArrayAdapter a, DoubleArrayAdapter b, MapOperationProblemAggregator problemAggregator) {
-    Context context = Context.getCurrent();
     int n = a.size();
     int m = Math.min(a.size(), b.size());
     long[] out = new long[n];
-    BitSet isNothing = new BitSet();
-    for (int i = 0; i < m; i++) {
-      if (a.isNothing(i) || b.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        double r = doDouble(a.getItemAsDouble(i), b.getItemAsDouble(i), i, problemAggregator);
-        out[i] = Double.doubleToRawLongBits(r);
-      }
-
-      context.safepoint();
-    }
+    BitSet isNothing =
+        ChunkedMapOperation.run(
+                m,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkValues, chunkAggregator) -> {
+                  for (int i = from; i < to; i++) {
+                    if (a.isNothing(i) || b.isNothing(i)) {
+                      chunkIsNothing.set(i - from);
+                    } else {
+                      double r =
+                          doDouble(a.getItemAsDouble(i), b.getItemAsDouble(i), i, chunkAggregator);
+                      out[i] = Double.doubleToRawLongBits(r);
+                    }
+                  }
+                })
+            .isNothing();
 
     if (m < n) {
       isNothing.set(m, n);
@@ -199,20 +204,23 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     }
 
     double bNonNull = b;
-    Context context = Context.getCurrent();
     int n = a.size();
     long[] out = new long[n];
-    BitSet isNothing = new BitSet();
-    for (int i = 0; i < n; i++) {
-      if (a.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        double r = doDouble(a.getItemAsDouble(i), bNonNull, i, problemAggregator);
-        out[i] = Double.doubleToRawLongBits(r);
-      }
-
-      context.safepoint();
-    }
+    BitSet isNothing =
+        ChunkedMapOperation.run(
+                n,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkValues, chunkAggregator) -> {
+                  for (int i = from; i < to; i++) {
+                    if (a.isNothing(i)) {
+                      chunkIsNothing.set(i - from);
+                    } else {
+                      double r = doDouble(a.getItemAsDouble(i), bNonNull, i, chunkAggregator);
+                      out[i] = Double.doubleToRawLongBits(r);
+                    }
+                  }
+                })
+            .isNothing();
 
     return new DoubleStorage(out, n, isNothing);
   }
@@ -221,25 +229,28 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
       AbstractLongStorage a,
       AbstractLongStorage b,
       MapOperationProblemAggregator problemAggregator) {
-    Context context = Context.getCurrent();
     int n = a.size();
     int m = Math.min(a.size(), b.size());
     long[] out = new long[n];
-    BitSet isNothing = new BitSet();
-    for (int i = 0; i < m; i++) {
-      if (a.isNothing(i) || b.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        Long r = doLong(a.getItem(i), b.getItem(i), i, problemAggregator);
-        if (r == null) {
-          isNothing.set(i);
-        } else {
-          out[i] = r;
-        }
-      }
-
-      context.safepoint();
-    }
+    BitSet isNothing =
+        ChunkedMapOperation.run(
+                m,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkValues, chunkAggregator) -> {
+                  for (int i = from; i < to; i++) {
+                    if (a.isNothing(i) || b.isNothing(i)) {
+                      chunkIsNothing.set(i - from);
+                    } else {
+                      Long r = doLong(a.getItem(i), b.getItem(i), i, chunkAggregator);
+                      if (r == null) {
+                        chunkIsNothing.set(i - from);
+                      } else {
+                        out[i] = r;
+                      }
+                    }
+                  }
+                })
+            .isNothing();
 
     if (m < n) {
       isNothing.set(m, n);
@@ -255,24 +266,27 @@ public abstract class NumericBinaryOpImplementation<T extends Number, I extends
     }
 
     long bNonNull = b;
-    Context context = Context.getCurrent();
     int n = a.size();
     long[] out = new long[n];
-    BitSet isNothing = new BitSet();
-    for (int i = 0; i < n; i++) {
-      if (a.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        Long r = doLong(a.getItem(i), bNonNull, i, problemAggregator);
-        if (r == null) {
-          isNothing.set(i);
-        } else {
-          out[i] = r;
-        }
-      }
-
-      context.safepoint();
-    }
+    BitSet isNothing =
+        ChunkedMapOperation.run(
+                n,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkValues, chunkAggregator) -> {
+                  for (int i = from; i < to; i++) {
+                    if (a.isNothing(i)) {
+                      chunkIsNothing.set(i - from);
+                    } else {
+                      Long r = doLong(a.getItem(i), bNonNull, i, chunkAggregator);
+                      if (r == null) {
+                        chunkIsNothing.set(i - from);
+                      } else {
+                        out[i] = r;
+                      }
+                    }
+                  }
+                })
+            .isNothing();
 
     return new LongStorage(out, n, isNothing, INTEGER_RESULT_TYPE);
   }
@@ -8,6 +8,7 @@ import java.util.BitSet;
 import org.enso.base.CompareException;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.table.data.column.operation.map.BinaryMapOperation;
+import org.enso.table.data.column.operation.map.ChunkedMapOperation;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigDecimalArrayAdapter;
 import org.enso.table.data.column.operation.map.numeric.helpers.BigIntegerArrayAdapter;
@@ -119,20 +120,23 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
   protected BoolStorage runLongMap(
       AbstractLongStorage lhs, long rhs, MapOperationProblemAggregator problemAggregator) {
     int n = lhs.size();
-    BitSet comparisonResults = new BitSet();
     BitSet isNothing = BitSets.makeDuplicate(lhs.getIsNothingMap());
-    Context context = Context.getCurrent();
-    for (int i = 0; i < n; ++i) {
-      if (!lhs.isNothing(i)) {
-        long item = lhs.getItem(i);
-        boolean r = doLong(item, rhs);
-        if (r) {
-          comparisonResults.set(i);
-        }
-      }
-
-      context.safepoint();
-    }
+    BitSet comparisonResults =
+        ChunkedMapOperation.run(
+                n,
+                problemAggregator,
+                (from, to, chunkIsNothing, chunkResults, chunkAggregator) -> {
+                  for (int i = from; i < to; ++i) {
+                    if (!lhs.isNothing(i)) {
+                      long item = lhs.getItem(i);
+                      boolean r = doLong(item, rhs);
+                      if (r) {
+                        chunkResults.set(i - from);
+                      }
+                    }
+                  }
+                })
+            .values();
 
     return new BoolStorage(comparisonResults, isNothing, n, false);
   }
@@ -140,24 +144,25 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
   protected BoolStorage runDoubleMap(
       DoubleArrayAdapter lhs, double rhs, MapOperationProblemAggregator problemAggregator) {
     int n = lhs.size();
-    BitSet comparisonResults = new BitSet();
-    BitSet isNothing = new BitSet();
-    Context context = Context.getCurrent();
-    for (int i = 0; i < n; ++i) {
-      if (lhs.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        double item = lhs.getItemAsDouble(i);
-        boolean r = doDouble(item, rhs);
-        if (r) {
-          comparisonResults.set(i);
-        }
-      }
-
-      context.safepoint();
-    }
-
-    return new BoolStorage(comparisonResults, isNothing, n, false);
+    var result =
+        ChunkedMapOperation.run(
+            n,
+            problemAggregator,
+            (from, to, chunkIsNothing, chunkResults, chunkAggregator) -> {
+              for (int i = from; i < to; ++i) {
+                if (lhs.isNothing(i)) {
+                  chunkIsNothing.set(i - from);
+                } else {
+                  double item = lhs.getItemAsDouble(i);
+                  boolean r = doDouble(item, rhs);
+                  if (r) {
+                    chunkResults.set(i - from);
+                  }
+                }
+              }
+            });
+
+    return new BoolStorage(result.values(), result.isNothing(), n, false);
   }
 
   protected BoolStorage runBigIntegerMap(
@@ -288,29 +293,31 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
       MapOperationProblemAggregator problemAggregator) {
     int n = lhs.size();
     int m = Math.min(lhs.size(), rhs.size());
-    BitSet comparisonResults = new BitSet();
-    BitSet isNothing = new BitSet();
-    Context context = Context.getCurrent();
-    for (int i = 0; i < m; ++i) {
-      if (lhs.isNothing(i) || rhs.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        long x = lhs.getItem(i);
-        long y = rhs.getItem(i);
-        boolean r = doLong(x, y);
-        if (r) {
-          comparisonResults.set(i);
-        }
-      }
-
-      context.safepoint();
-    }
-
+    var result =
+        ChunkedMapOperation.run(
+            m,
+            problemAggregator,
+            (from, to, chunkIsNothing, chunkResults, chunkAggregator) -> {
+              for (int i = from; i < to; ++i) {
+                if (lhs.isNothing(i) || rhs.isNothing(i)) {
+                  chunkIsNothing.set(i - from);
+                } else {
+                  long x = lhs.getItem(i);
+                  long y = rhs.getItem(i);
+                  boolean r = doLong(x, y);
+                  if (r) {
+                    chunkResults.set(i - from);
+                  }
+                }
+              }
+            });
+
+    BitSet isNothing = result.isNothing();
     if (m < n) {
       isNothing.set(m, n);
     }
 
-    return new BoolStorage(comparisonResults, isNothing, n, false);
+    return new BoolStorage(result.values(), isNothing, n, false);
   }
 
   protected BoolStorage runDoubleZip(
@@ -319,29 +326,31 @@ public abstract class NumericComparison<T extends Number, I extends Storage<? su
       MapOperationProblemAggregator problemAggregator) {
     int n = lhs.size();
     int m = Math.min(lhs.size(), rhs.size());
-    BitSet comparisonResults = new BitSet();
-    BitSet isNothing = new BitSet();
-    Context context = Context.getCurrent();
-    for (int i = 0; i < m; ++i) {
-      if (lhs.isNothing(i) || rhs.isNothing(i)) {
-        isNothing.set(i);
-      } else {
-        double x = lhs.getItemAsDouble(i);
-        double y = rhs.getItemAsDouble(i);
-        boolean r = doDouble(x, y);
-        if (r) {
-          comparisonResults.set(i);
-        }
-      }
-
-      context.safepoint();
-    }
-
+    var result =
+        ChunkedMapOperation.run(
+            m,
+            problemAggregator,
+            (from, to, chunkIsNothing, chunkResults, chunkAggregator) -> {
+              for (int i = from; i < to; ++i) {
+                if (lhs.isNothing(i) || rhs.isNothing(i)) {
+                  chunkIsNothing.set(i - from);
+                } else {
+                  double x = lhs.getItemAsDouble(i);
+                  double y = rhs.getItemAsDouble(i);
+                  boolean r = doDouble(x, y);
+                  if (r) {
+                    chunkResults.set(i - from);
+                  }
+                }
+              }
+            });
+
+    BitSet isNothing = result.isNothing();
     if (m < n) {
       isNothing.set(m, n);
     }
 
-    return new BoolStorage(comparisonResults, isNothing, n, false);
+    return new BoolStorage(result.values(), isNothing, n, false);
   }
 
   protected BoolStorage runBigIntegerZip(
@@ -1,27 +1,92 @@
 package org.enso.table.data.column.operation.map.numeric.isin;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import org.enso.base.polyglot.NumericConverter;
-import org.enso.table.data.column.operation.map.SpecializedIsInOp;
+import org.enso.table.data.column.operation.map.BinaryMapOperation;
+import org.enso.table.data.column.operation.map.ChunkedMapOperation;
+import org.enso.table.data.column.operation.map.IsInVector;
+import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.graalvm.polyglot.Context;
 
-public class DoubleIsInOp extends SpecializedIsInOp<Double, DoubleStorage> {
+/**
+ * An IS_IN implementation for float columns, checking the values against a primitive {@link
+ * LongValueSet} of their bits without boxing them.
+ *
+ * <p>The bits are taken with {@link Double#doubleToLongBits}, so values match exactly like {@link
+ * Double#equals}: all NaNs are equal, while {@code -0.0} and {@code 0.0} are not.
+ */
+public class DoubleIsInOp extends BinaryMapOperation<Double, DoubleStorage> {
+  private record Prepared(LongValueSet bits, boolean hasNulls, boolean isEmpty) {}
+
+  public DoubleIsInOp() {
+    super(Storage.Maps.IS_IN);
+  }
+
+  @Override
+  public Storage<?> runBinaryMap(
+      DoubleStorage storage, Object arg, MapOperationProblemAggregator problemAggregator) {
+    return run(storage, IsInVector.prepare(arg, DoubleIsInOp.class, DoubleIsInOp::prepare));
+  }
+
   @Override
-  protected CompactRepresentation<Double> prepareList(List<?> list) {
+  public Storage<?> runZip(
+      DoubleStorage storage, Storage<?> arg, MapOperationProblemAggregator problemAggregator) {
+    return run(storage, prepare(arg.toList()));
+  }
+
+  @Override
+  public boolean reliesOnSpecializedStorage() {
+    return false;
+  }
+
+  private static Prepared prepare(List<?> list) {
     Context context = Context.getCurrent();
-    HashSet<Double> set = new HashSet<>();
+    long[] bits = new long[Math.max(16, list.size())];
+    int count = 0;
     boolean hasNulls = false;
     for (Object o : list) {
       hasNulls |= o == null;
       Double x = NumericConverter.tryConvertingToDouble(o);
       if (x != null) {
-        set.add(x);
+        if (count == bits.length) {
+          bits = Arrays.copyOf(bits, count * 2);
+        }
+        bits[count++] = Double.doubleToLongBits(x);
       }
 
       context.safepoint();
     }
-    return new CompactRepresentation<>(set, hasNulls);
+    return new Prepared(LongValueSet.of(bits, count), hasNulls, list.isEmpty());
+  }
+
+  private static Storage<?> run(DoubleStorage storage, Prepared prepared) {
+    int size = storage.size();
+    if (prepared.isEmpty()) {
+      return BoolStorage.makeConstant(size, false);
+    }
+
+    LongValueSet bits = prepared.bits();
+    boolean hasNulls = prepared.hasNulls();
+    ChunkedMapOperation.Result result =
+        ChunkedMapOperation.run(
+            size,
+            null,
+            (from, to, isNothing, newValues, problemAggregator) -> {
+              for (int i = from; i < to; i++) {
+                if (storage.isNothing(i)) {
+                  isNothing.set(i - from);
+                } else if (bits.contains(Double.doubleToLongBits(storage.getItemAsDouble(i)))) {
+                  newValues.set(i - from);
+                } else if (hasNulls) {
+                  isNothing.set(i - from);
+                }
+                // Otherwise leave as default=false
+              }
+            });
+    return new BoolStorage(result.values(), result.isNothing(), size, false);
   }
 }
@@ -1,27 +1,91 @@
 package org.enso.table.data.column.operation.map.numeric.isin;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import org.enso.base.polyglot.NumericConverter;
-import org.enso.table.data.column.operation.map.SpecializedIsInOp;
+import org.enso.table.data.column.operation.map.BinaryMapOperation;
+import org.enso.table.data.column.operation.map.ChunkedMapOperation;
+import org.enso.table.data.column.operation.map.IsInVector;
+import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
 import org.graalvm.polyglot.Context;
 
-public class LongIsInOp extends SpecializedIsInOp<Long, AbstractLongStorage> {
+/**
+ * An IS_IN implementation for integer columns, checking the values against a primitive {@link
+ * LongValueSet} without boxing them.
+ */
+public class LongIsInOp extends BinaryMapOperation<Long, AbstractLongStorage> {
+  private record Prepared(LongValueSet values, boolean hasNulls, boolean isEmpty) {}
+
+  public LongIsInOp() {
+    super(Storage.Maps.IS_IN);
+  }
+
+  @Override
+  public Storage<?> runBinaryMap(
+      AbstractLongStorage storage, Object arg, MapOperationProblemAggregator problemAggregator) {
+    return run(storage, IsInVector.prepare(arg, LongIsInOp.class, LongIsInOp::prepare));
+  }
+
   @Override
-  protected CompactRepresentation<Long> prepareList(List<?> list) {
+  public Storage<?> runZip(
+      AbstractLongStorage storage,
+      Storage<?> arg,
+      MapOperationProblemAggregator problemAggregator) {
+    return run(storage, prepare(arg.toList()));
+  }
+
+  @Override
+  public boolean reliesOnSpecializedStorage() {
+    return false;
+  }
+
+  private static Prepared prepare(List<?> list) {
     Context context = Context.getCurrent();
-    HashSet<Long> set = new HashSet<>();
+    long[] values = new long[Math.max(16, list.size())];
+    int count = 0;
     boolean hasNulls = false;
     for (Object o : list) {
       hasNulls |= o == null;
       Long x = NumericConverter.tryConvertingToLong(o);
       if (x != null) {
-        set.add(x);
+        if (count == values.length) {
+          values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = x;
       }
 
       context.safepoint();
     }
-    return new CompactRepresentation<>(set, hasNulls);
+    return new Prepared(LongValueSet.of(values, count), hasNulls, list.isEmpty());
+  }
+
+  private static Storage<?> run(AbstractLongStorage storage, Prepared prepared) {
+    int size = storage.size();
+    if (prepared.isEmpty()) {
+      return BoolStorage.makeConstant(size, false);
+    }
+
+    LongValueSet values = prepared.values();
+    boolean hasNulls = prepared.hasNulls();
+    ChunkedMapOperation.Result result =
+        ChunkedMapOperation.run(
+            size,
+            null,
+            (from, to, isNothing, newValues, problemAggregator) -> {
+              for (int i = from; i < to; i++) {
+                if (storage.isNothing(i)) {
+                  isNothing.set(i - from);
+                } else if (values.contains(storage.getItem(i))) {
+                  newValues.set(i - from);
+                } else if (hasNulls) {
+                  isNothing.set(i - from);
+                }
+                // Otherwise leave as default=false
+              }
+            });
+    return new BoolStorage(result.values(), result.isNothing(), size, false);
   }
 }
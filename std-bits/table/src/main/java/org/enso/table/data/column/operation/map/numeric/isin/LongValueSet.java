@@ -0,0 +1,66 @@
+package org.enso.table.data.column.operation.map.numeric.isin;
+
+import org.enso.table.util.LongHashSet;
+
+/**
+ * A set of longs prepared from an {@code is_in} vector for fast membership checks.
+ *
+ * <p>Values spanning a dense range are stored in a bitmap indexed by their offset from the smallest
+ * one, which takes at most as much memory as a long per value. Other values are stored in a {@link
+ * LongHashSet}.
+ */
+final class LongValueSet {
+  private final long min;
+  private final long range;
+  private final long[] bitmap;
+  private final LongHashSet hashSet;
+
+  private LongValueSet(long min, long range, long[] bitmap, LongHashSet hashSet) {
+    this.min = min;
+    this.range = range;
+    this.bitmap = bitmap;
+    this.hashSet = hashSet;
+  }
+
+  /** Builds a set of the first {@code count} values of the array. */
+  static LongValueSet of(long[] values, int count) {
+    if (count == 0) {
+      return new LongValueSet(0, 0, new long[0], null);
+    }
+
+    long min = values[0];
+    long max = values[0];
+    for (int i = 1; i < count; i++) {
+      min = Math.min(min, values[i]);
+      max = Math.max(max, values[i]);
+    }
+
+    // A negative difference means that it overflowed, so the range is certainly not dense.
+    long range = max - min + 1;
+    if (range > 0 && range / 64 < count) {
+      long[] bitmap = new long[(int) ((range + 63) / 64)];
+      for (int i = 0; i < count; i++) {
+        long offset = values[i] - min;
+        bitmap[(int) (offset >>> 6)] |= 1L << offset;
+      }
+      return new LongValueSet(min, range, bitmap, null);
+    }
+
+    LongHashSet hashSet = new LongHashSet(count);
+    for (int i = 0; i < count; i++) {
+      hashSet.add(values[i]);
+    }
+    return new LongValueSet(0, 0, null, hashSet);
+  }
+
+  boolean contains(long value) {
+    if (hashSet != null) {
+      return hashSet.contains(value);
+    }
+
+    // Values below the minimum wrap around to large unsigned offsets.
+    long offset = value - min;
+    return Long.compareUnsigned(offset, range) < 0
+        && (bitmap[(int) (offset >>> 6)] & (1L << offset)) != 0;
+  }
+}
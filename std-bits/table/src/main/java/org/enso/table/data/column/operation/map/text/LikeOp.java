@@ -4,12 +4,13 @@ import com.ibm.icu.impl.UnicodeRegex;
 import java.util.BitSet;
 import java.util.regex.Pattern;
 import org.enso.base.Regex_Utils;
+import org.enso.table.data.column.operation.map.ChunkedMapOperation;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.SpecializedStorage;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
 import org.enso.table.error.UnexpectedTypeException;
-import org.graalvm.polyglot.Context;
 
 public class LikeOp extends StringBooleanOp {
   public LikeOp() {
@@ -46,19 +47,26 @@ public class LikeOp extends StringBooleanOp {
       return new BoolStorage(newVals, newIsNothing, storage.size(), false);
     } else if (arg instanceof String argString) {
       Pattern pattern = createRegexPatternFromSql(argString);
-      BitSet newVals = new BitSet();
-      BitSet newIsNothing = new BitSet();
-      Context context = Context.getCurrent();
-      for (int i = 0; i < storage.size(); i++) {
-        if (storage.isNothing(i)) {
-          newIsNothing.set(i);
-        } else if (pattern.matcher(storage.getItem(i)).matches()) {
-          newVals.set(i);
-        }
-
-        context.safepoint();
+      if (storage instanceof StringStorage stringStorage && stringStorage.getDictionary() != null) {
+        return stringStorage
+            .getDictionary()
+            .mapToBoolean(value -> pattern.matcher(value).matches());
       }
-      return new BoolStorage(newVals, newIsNothing, storage.size(), false);
+
+      var result =
+          ChunkedMapOperation.run(
+              storage.size(),
+              problemAggregator,
+              (from, to, chunkIsNothing, chunkVals, chunkAggregator) -> {
+                for (int i = from; i < to; i++) {
+                  if (storage.isNothing(i)) {
+                    chunkIsNothing.set(i - from);
+                  } else if (pattern.matcher(storage.getItem(i)).matches()) {
+                    chunkVals.set(i - from);
+                  }
+                }
+              });
+      return new BoolStorage(result.values(), result.isNothing(), storage.size(), false);
     } else {
       throw new UnexpectedTypeException("a Text");
     }
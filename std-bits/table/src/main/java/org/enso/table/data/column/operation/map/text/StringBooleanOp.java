@@ -2,6 +2,7 @@ package org.enso.table.data.column.operation.map.text;
 
 import java.util.BitSet;
 import org.enso.table.data.column.operation.map.BinaryMapOperation;
+import org.enso.table.data.column.operation.map.ChunkedMapOperation;
 import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
 import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.SpecializedStorage;
@@ -33,19 +34,24 @@ public abstract class StringBooleanOp
       newIsNothing.set(0, storage.size());
       return new BoolStorage(newVals, newIsNothing, storage.size(), false);
     } else if (arg instanceof String argString) {
-      BitSet newVals = new BitSet();
-      BitSet newIsNothing = new BitSet();
-      Context context = Context.getCurrent();
-      for (int i = 0; i < storage.size(); i++) {
-        if (storage.isNothing(i)) {
-          newIsNothing.set(i);
-        } else if (doString(storage.getItem(i), argString)) {
-          newVals.set(i);
-        }
-
-        context.safepoint();
+      if (storage instanceof StringStorage stringStorage && stringStorage.getDictionary() != null) {
+        return stringStorage.getDictionary().mapToBoolean(value -> doString(value, argString));
       }
-      return new BoolStorage(newVals, newIsNothing, storage.size(), false);
+
+      var result =
+          ChunkedMapOperation.run(
+              storage.size(),
+              problemAggregator,
+              (from, to, chunkIsNothing, chunkVals, chunkAggregator) -> {
+                for (int i = from; i < to; i++) {
+                  if (storage.isNothing(i)) {
+                    chunkIsNothing.set(i - from);
+                  } else if (doString(storage.getItem(i), argString)) {
+                    chunkVals.set(i - from);
+                  }
+                }
+              });
+      return new BoolStorage(result.values(), result.isNothing(), storage.size(), false);
     } else {
       BitSet newVals = new BitSet();
       BitSet newIsNothing = new BitSet();
@@ -68,23 +74,25 @@ public abstract class StringBooleanOp
       SpecializedStorage<String> storage,
       Storage<?> arg,
       MapOperationProblemAggregator problemAggregator) {
-    Context context = Context.getCurrent();
     if (arg instanceof StringStorage v) {
-      BitSet newVals = new BitSet();
-      BitSet newIsNothing = new BitSet();
-      for (int i = 0; i < storage.size(); i++) {
-        if (!storage.isNothing(i) && i < v.size() && !v.isNothing(i)) {
-          if (doString(storage.getItem(i), v.getItem(i))) {
-            newVals.set(i);
-          }
-        } else {
-          newIsNothing.set(i);
-        }
-
-        context.safepoint();
-      }
-      return new BoolStorage(newVals, newIsNothing, storage.size(), false);
+      var result =
+          ChunkedMapOperation.run(
+              storage.size(),
+              problemAggregator,
+              (from, to, chunkIsNothing, chunkVals, chunkAggregator) -> {
+                for (int i = from; i < to; i++) {
+                  if (!storage.isNothing(i) && i < v.size() && !v.isNothing(i)) {
+                    if (doString(storage.getItem(i), v.getItem(i))) {
+                      chunkVals.set(i - from);
+                    }
+                  } else {
+                    chunkIsNothing.set(i - from);
+                  }
+                }
+              });
+      return new BoolStorage(result.values(), result.isNothing(), storage.size(), false);
     } else {
+      Context context = Context.getCurrent();
       BitSet newVals = new BitSet();
       BitSet newIsNothing = new BitSet();
       for (int i = 0; i < storage.size(); i++) {
@@ -1,25 +1,97 @@
 package org.enso.table.data.column.operation.map.text;
 
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import org.enso.table.data.column.operation.map.SpecializedIsInOp;
+import org.enso.table.data.column.operation.map.BinaryMapOperation;
+import org.enso.table.data.column.operation.map.ChunkedMapOperation;
+import org.enso.table.data.column.operation.map.IsInVector;
+import org.enso.table.data.column.operation.map.MapOperationProblemAggregator;
+import org.enso.table.data.column.storage.BoolStorage;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringStorage;
 import org.graalvm.polyglot.Context;
 
-public class StringIsInOp<S extends Storage<String>> extends SpecializedIsInOp<String, S> {
+/**
+ * An IS_IN implementation for text columns, checking the values against a {@link StringValueSet}.
+ * Dictionary encoded columns check each entry of the dictionary only once.
+ */
+public class StringIsInOp<S extends Storage<String>> extends BinaryMapOperation<String, S> {
+  private record Prepared(StringValueSet values, boolean hasNulls, boolean isEmpty) {}
+
+  public StringIsInOp() {
+    super(Storage.Maps.IS_IN);
+  }
+
+  @Override
+  public Storage<?> runBinaryMap(
+      S storage, Object arg, MapOperationProblemAggregator problemAggregator) {
+    return run(storage, IsInVector.prepare(arg, StringIsInOp.class, StringIsInOp::prepare));
+  }
+
+  @Override
+  public Storage<?> runZip(
+      S storage, Storage<?> arg, MapOperationProblemAggregator problemAggregator) {
+    return run(storage, prepare(arg.toList()));
+  }
+
   @Override
-  protected CompactRepresentation<String> prepareList(List<?> list) {
+  public boolean reliesOnSpecializedStorage() {
+    return false;
+  }
+
+  private static Prepared prepare(List<?> list) {
     Context context = Context.getCurrent();
-    HashSet<String> set = new HashSet<>();
+    String[] values = new String[Math.max(16, list.size())];
+    int count = 0;
     boolean hasNulls = false;
     for (Object o : list) {
       hasNulls |= o == null;
       if (o instanceof String s) {
-        set.add(s);
+        if (count == values.length) {
+          values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = s;
       }
 
       context.safepoint();
     }
-    return new CompactRepresentation<>(set, hasNulls);
+    return new Prepared(new StringValueSet(values, count), hasNulls, list.isEmpty());
+  }
+
+  private Storage<?> run(S storage, Prepared prepared) {
+    int size = storage.size();
+    if (prepared.isEmpty()) {
+      return BoolStorage.makeConstant(size, false);
+    }
+
+    StringValueSet values = prepared.values();
+    boolean hasNulls = prepared.hasNulls();
+
+    // With a null in the vector, values that are not found become missing, which the dictionary
+    // mapping does not express.
+    if (!hasNulls
+        && storage instanceof StringStorage stringStorage
+        && stringStorage.getDictionary() != null) {
+      return stringStorage.getDictionary().mapToBoolean(values::contains);
+    }
+
+    ChunkedMapOperation.Result result =
+        ChunkedMapOperation.run(
+            size,
+            null,
+            (from, to, isNothing, newValues, problemAggregator) -> {
+              for (int i = from; i < to; i++) {
+                String value = storage.getItemBoxed(i);
+                if (value == null) {
+                  isNothing.set(i - from);
+                } else if (values.contains(value)) {
+                  newValues.set(i - from);
+                } else if (hasNulls) {
+                  isNothing.set(i - from);
+                }
+                // Otherwise leave as default=false
+              }
+            });
+    return new BoolStorage(result.values(), result.isNothing(), size, false);
   }
 }
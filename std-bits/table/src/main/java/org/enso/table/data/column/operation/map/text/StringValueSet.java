@@ -0,0 +1,50 @@
+package org.enso.table.data.column.operation.map.text;
+
+/**
+ * A set of texts prepared from an {@code is_in} vector for fast membership checks.
+ *
+ * <p>The texts are stored in an open addressing hash table, next to their precomputed hash codes,
+ * so that most probes are decided by comparing the hash codes without touching the entries.
+ */
+final class StringValueSet {
+  private final String[] entries;
+  private final int[] hashes;
+  private final int mask;
+
+  StringValueSet(String[] values, int count) {
+    int capacity = 16;
+    while (capacity < 2L * count && capacity < (1 << 30)) {
+      capacity *= 2;
+    }
+    entries = new String[capacity];
+    hashes = new int[capacity];
+    mask = capacity - 1;
+
+    for (int i = 0; i < count; i++) {
+      String value = values[i];
+      int hash = value.hashCode();
+      int slot = spread(hash) & mask;
+      while (entries[slot] != null && !(hashes[slot] == hash && entries[slot].equals(value))) {
+        slot = (slot + 1) & mask;
+      }
+      entries[slot] = value;
+      hashes[slot] = hash;
+    }
+  }
+
+  boolean contains(String value) {
+    int hash = value.hashCode();
+    int slot = spread(hash) & mask;
+    while (entries[slot] != null) {
+      if (hashes[slot] == hash && entries[slot].equals(value)) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  private static int spread(int hash) {
+    return (hash * 0x9E3779B9) ^ (hash >>> 16);
+  }
+}
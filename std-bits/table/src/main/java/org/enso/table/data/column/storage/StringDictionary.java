@@ -0,0 +1,117 @@
+package org.enso.table.data.column.storage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.function.Predicate;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A dictionary encoding of a text column with few distinct values.
+ *
+ * <p>Each distinct value is stored once, as an entry of the dictionary, and each row is assigned
+ * the code of its entry (or -1 if the row is missing). The codes are numbered in the order of the
+ * first rows having them. Operations whose result depends only on the value of a row can then be
+ * computed once per entry instead of once per row. The encoding of a storage is built by {@link
+ * StringStorage#getDictionary} when such an operation first needs it.
+ *
+ * <p>Entries are distinct as Java strings, so texts that are equal in Enso (e.g. differently
+ * normalized ones) may still get different codes.
+ */
+public final class StringDictionary {
+  /** Below this size the encoding does not pay off. */
+  private static final int MIN_ROWS = 1 << 10;
+
+  private static final int MAX_ENTRIES = 1 << 12;
+
+  private final String[] entries;
+  private final int[] codes;
+
+  private StringDictionary(String[] entries, int[] codes) {
+    this.entries = entries;
+    this.codes = codes;
+  }
+
+  /**
+   * Encodes the first {@code size} values of {@code data}, if there are few enough distinct values.
+   * Returns {@code null} otherwise.
+   */
+  public static StringDictionary tryEncode(String[] data, int size) {
+    if (size < MIN_ROWS) {
+      return null;
+    }
+
+    int maxEntries = Math.min(MAX_ENTRIES, size / 8);
+    HashMap<String, Integer> codeOfEntry = new HashMap<>();
+    String[] entries = new String[16];
+    int[] codes = new int[size];
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size; i++) {
+      String value = data[i];
+      if (value == null) {
+        codes[i] = -1;
+      } else {
+        Integer code = codeOfEntry.get(value);
+        if (code == null) {
+          code = codeOfEntry.size();
+          if (code == maxEntries) {
+            return null;
+          }
+
+          codeOfEntry.put(value, code);
+          if (code == entries.length) {
+            entries = Arrays.copyOf(entries, code * 2);
+          }
+          entries[code] = value;
+        }
+
+        codes[i] = code;
+      }
+
+      context.safepoint();
+    }
+
+    return new StringDictionary(Arrays.copyOf(entries, codeOfEntry.size()), codes);
+  }
+
+  /** The number of distinct values. */
+  public int entryCount() {
+    return entries.length;
+  }
+
+  public String entry(int code) {
+    return entries[code];
+  }
+
+  /** Returns the code of the value in the given row, or -1 if it is missing. */
+  public int codeOf(int row) {
+    return codes[row];
+  }
+
+  /**
+   * Computes the predicate for each entry and returns its results for all rows. Missing rows are
+   * missing in the result.
+   */
+  public BoolStorage mapToBoolean(Predicate<String> predicate) {
+    boolean[] results = new boolean[entries.length];
+    Context context = Context.getCurrent();
+    for (int code = 0; code < entries.length; code++) {
+      results[code] = predicate.test(entries[code]);
+      context.safepoint();
+    }
+
+    BitSet values = new BitSet();
+    BitSet isNothing = new BitSet();
+    for (int i = 0; i < codes.length; i++) {
+      int code = codes[i];
+      if (code == -1) {
+        isNothing.set(i);
+      } else if (results[code]) {
+        values.set(i);
+      }
+
+      context.safepoint();
+    }
+    return new BoolStorage(values, isNothing, codes.length, false);
+  }
+}
@@ -21,6 +21,14 @@ public final class StringStorage extends SpecializedStorage<String> {
 
   private final TextType type;
 
+  /**
+   * The dictionary encoding of the data, computed on first use. Only meaningful once {@link
+   * #dictionaryComputed} is set.
+   */
+  private StringDictionary dictionary;
+
+  private boolean dictionaryComputed = false;
+
   /**
    * @param data the underlying data
    * @param size the number of items stored
@@ -46,6 +54,23 @@ public final class StringStorage extends SpecializedStorage<String> {
     return type;
   }
 
+  /**
+   * Returns the dictionary encoding of this storage, or {@code null} if it has too many distinct
+   * values to be worth encoding.
+   *
+   * <p>The encoding is only computed when an operation that can use it first asks for it, and is
+   * then kept for the following operations. Like the operations using it, it must be called from
+   * the thread that entered the polyglot {@code Context}.
+   */
+  public StringDictionary getDictionary() {
+    if (!dictionaryComputed) {
+      dictionary = StringDictionary.tryEncode(data, size());
+      dictionaryComputed = true;
+    }
+
+    return dictionary;
+  }
+
   private static MapOperationStorage<String, SpecializedStorage<String>> buildOps() {
     MapOperationStorage<String, SpecializedStorage<String>> t = ObjectStorage.buildObjectOps();
     t.add(
@@ -55,6 +80,14 @@ public final class StringStorage extends SpecializedStorage<String> {
               SpecializedStorage<String> storage,
               Object arg,
               MapOperationProblemAggregator problemAggregator) {
+            if (arg instanceof String s
+                && storage instanceof StringStorage stringStorage
+                && stringStorage.getDictionary() != null) {
+              return stringStorage
+                  .getDictionary()
+                  .mapToBoolean(value -> Text_Utils.equals(value, s));
+            }
+
             BitSet r = new BitSet();
             BitSet isNothing = new BitSet();
             Context context = Context.getCurrent();
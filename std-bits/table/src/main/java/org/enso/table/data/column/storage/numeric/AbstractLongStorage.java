@@ -155,7 +155,7 @@ public abstract class AbstractLongStorage extends NumericStorage<Long>
       context.safepoint();
     }
 
-    return new LongStorage(newData, n, newIsNothing, getType());
+    return NarrowLongStorage.fromLongs(newData, n, newIsNothing, getType());
   }
 
   /**
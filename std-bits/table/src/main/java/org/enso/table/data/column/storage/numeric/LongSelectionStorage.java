@@ -0,0 +1,211 @@
+package org.enso.table.data.column.storage.numeric;
+
+import java.util.BitSet;
+import java.util.List;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.mask.SliceRange;
+import org.enso.table.problems.ProblemAggregator;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+
+/**
+ * A lazy view selecting rows of a {@link LongStorage}, created by filtering, reordering or slicing
+ * it instead of copying its data.
+ *
+ * <p>The {@code i}-th item of the view is the row {@code rows[offset + i]} of the parent, or the
+ * row {@code offset + i} if there is no {@code rows} array (for a contiguous slice). A row of
+ * {@link Storage#NOT_FOUND_INDEX} denotes a missing value.
+ *
+ * <p>Selecting from a view composes the selections, so that the parent of a view is always an
+ * array-backed storage and reading an item goes through a single indirection, however many
+ * operations created the view. A view is only created if it keeps at least a {@code 1 /
+ * enso.table.selection_view_ratio} fraction of the rows of its parent (4 by default), otherwise the
+ * selected rows are copied, so that small selections do not keep a large parent alive. Setting the
+ * property to 0 disables the views.
+ */
+public final class LongSelectionStorage extends AbstractLongStorage {
+  private final LongStorage parent;
+  private final int[] rows;
+  private final int offset;
+  private final int size;
+  private final IntegerType type;
+
+  private BitSet isNothing = null;
+
+  private LongSelectionStorage(
+      LongStorage parent, int[] rows, int offset, int size, IntegerType type) {
+    this.parent = parent;
+    this.rows = rows;
+    this.offset = offset;
+    this.size = size;
+    this.type = type;
+  }
+
+  /** Checks if a selection of the given size should be a view over a parent of the given size. */
+  static boolean isViewWorthwhile(int parentSize, int selectionSize) {
+    int maxParentRatio = Integer.getInteger("enso.table.selection_view_ratio", 4);
+    return maxParentRatio > 0 && (long) selectionSize * maxParentRatio >= parentSize;
+  }
+
+  /**
+   * Selects rows of the parent, as a view if it is worthwhile or as a copy otherwise.
+   *
+   * @param parent the storage to select from
+   * @param rows the rows to select, or {@code null} to select a contiguous range; the array must
+   *     not be modified afterwards, as it may be shared by the view
+   * @param offset the index in {@code rows} (or in the parent if there is no {@code rows}) of the
+   *     first selected row
+   * @param size the number of selected rows
+   * @param type the type of the result
+   */
+  static AbstractLongStorage select(
+      LongStorage parent, int[] rows, int offset, int size, IntegerType type) {
+    if (isViewWorthwhile(parent.size(), size)) {
+      return new LongSelectionStorage(parent, rows, offset, size, type);
+    } else {
+      return copy(parent, rows, offset, size, type);
+    }
+  }
+
+  private static LongStorage copy(
+      LongStorage parent, int[] rows, int offset, int size, IntegerType type) {
+    long[] data = parent.getRawData();
+    BitSet parentIsNothing = parent.getIsNothingMap();
+    long[] newData = new long[size];
+    BitSet newIsNothing = new BitSet();
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size; i++) {
+      int row = rows == null ? offset + i : rows[offset + i];
+      if (row == Storage.NOT_FOUND_INDEX || parentIsNothing.get(row)) {
+        newIsNothing.set(i);
+      } else {
+        newData[i] = data[row];
+      }
+
+      context.safepoint();
+    }
+    return new LongStorage(newData, size, newIsNothing, type);
+  }
+
+  /** Copies the selected rows into an array-backed storage. */
+  public LongStorage materialize() {
+    return copy(parent, rows, offset, size, type);
+  }
+
+  private int parentRow(int idx) {
+    return rows == null ? offset + idx : rows[offset + idx];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public IntegerType getType() {
+    return type;
+  }
+
+  @Override
+  public long getItem(int idx) {
+    int row = parentRow(idx);
+    return row == Storage.NOT_FOUND_INDEX ? 0 : parent.getItem(row);
+  }
+
+  @Override
+  public Long getItemBoxed(int idx) {
+    int row = parentRow(idx);
+    return row == Storage.NOT_FOUND_INDEX ? null : parent.getItemBoxed(row);
+  }
+
+  @Override
+  public boolean isNothing(long idx) {
+    int row = parentRow((int) idx);
+    return row == Storage.NOT_FOUND_INDEX || parent.isNothing(row);
+  }
+
+  @Override
+  public BitSet getIsNothingMap() {
+    if (isNothing == null) {
+      // Only compute once as needed.
+      BitSet parentIsNothing = parent.getIsNothingMap();
+      BitSet newIsNothing = new BitSet();
+      Context context = Context.getCurrent();
+      for (int i = 0; i < size; i++) {
+        int row = parentRow(i);
+        if (row == Storage.NOT_FOUND_INDEX || parentIsNothing.get(row)) {
+          newIsNothing.set(i);
+        }
+
+        context.safepoint();
+      }
+      isNothing = newIsNothing;
+    }
+    return isNothing;
+  }
+
+  @Override
+  public Storage<Long> applyFilter(BitSet filterMask, int newLength) {
+    int[] newRows = new int[newLength];
+    int resIx = 0;
+    Context context = Context.getCurrent();
+    for (int i = filterMask.nextSetBit(0); i >= 0 && i < size; i = filterMask.nextSetBit(i + 1)) {
+      newRows[resIx++] = parentRow(i);
+      context.safepoint();
+    }
+    return select(parent, newRows, 0, newLength, type);
+  }
+
+  @Override
+  public Storage<Long> applyMask(OrderMask mask) {
+    int[] newRows = new int[mask.length()];
+    Context context = Context.getCurrent();
+    for (int i = 0; i < newRows.length; i++) {
+      int position = mask.get(i);
+      newRows[i] = position == Storage.NOT_FOUND_INDEX ? position : parentRow(position);
+      context.safepoint();
+    }
+    return select(parent, newRows, 0, newRows.length, type);
+  }
+
+  @Override
+  public Storage<Long> slice(int offset, int limit) {
+    int newSize = Math.min(size - offset, limit);
+    return select(parent, rows, this.offset + offset, newSize, type);
+  }
+
+  @Override
+  public Storage<Long> slice(List<SliceRange> ranges) {
+    int[] newRows = new int[SliceRange.totalLength(ranges)];
+    int resIx = 0;
+    Context context = Context.getCurrent();
+    for (SliceRange range : ranges) {
+      for (int i = range.start(); i < range.end(); i++) {
+        newRows[resIx++] = parentRow(i);
+        context.safepoint();
+      }
+    }
+    return select(parent, newRows, 0, newRows.length, type);
+  }
+
+  @Override
+  public Storage<?> fillMissing(
+      Value arg, StorageType commonType, ProblemAggregator problemAggregator) {
+    return materialize().fillMissing(arg, commonType, problemAggregator);
+  }
+
+  @Override
+  public Storage<Long> appendNulls(int count) {
+    return materialize().appendNulls(count);
+  }
+
+  /** Widening to a bigger type can be done without copying the selection. */
+  @Override
+  public AbstractLongStorage widen(IntegerType widerType) {
+    assert widerType.fits(type);
+    return new LongSelectionStorage(parent, rows, offset, size, widerType);
+  }
+}
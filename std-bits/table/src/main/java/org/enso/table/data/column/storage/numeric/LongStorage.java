@@ -162,6 +162,17 @@ public final class LongStorage extends AbstractLongStorage {
 
   @Override
   public Storage<Long> applyFilter(BitSet filterMask, int newLength) {
+    if (LongSelectionStorage.isViewWorthwhile(size, newLength)) {
+      int[] rows = new int[newLength];
+      int resIx = 0;
+      Context context = Context.getCurrent();
+      for (int i = filterMask.nextSetBit(0); i >= 0 && i < size; i = filterMask.nextSetBit(i + 1)) {
+        rows[resIx++] = i;
+        context.safepoint();
+      }
+      return LongSelectionStorage.select(this, rows, 0, newLength, type);
+    }
+
     BitSet newIsNothing = new BitSet();
     long[] newData = new long[newLength];
     int resIx = 0;
@@ -182,6 +193,10 @@ public final class LongStorage extends AbstractLongStorage {
 
   @Override
   public Storage<Long> applyMask(OrderMask mask) {
+    if (LongSelectionStorage.isViewWorthwhile(size, mask.length())) {
+      return LongSelectionStorage.select(this, mask.positions(), 0, mask.length(), type);
+    }
+
     long[] newData = new long[mask.length()];
     BitSet newIsNothing = new BitSet();
     Context context = Context.getCurrent();
@@ -208,8 +223,12 @@ public final class LongStorage extends AbstractLongStorage {
   }
 
   @Override
-  public LongStorage slice(int offset, int limit) {
+  public Storage<Long> slice(int offset, int limit) {
     int newSize = Math.min(size - offset, limit);
+    if (LongSelectionStorage.isViewWorthwhile(size, newSize)) {
+      return LongSelectionStorage.select(this, null, offset, newSize, type);
+    }
+
     long[] newData = new long[newSize];
     System.arraycopy(data, offset, newData, 0, newSize);
     BitSet newMask = isNothing.get(offset, offset + limit);
@@ -226,8 +245,19 @@ public final class LongStorage extends AbstractLongStorage {
   }
 
   @Override
-  public LongStorage slice(List<SliceRange> ranges) {
+  public Storage<Long> slice(List<SliceRange> ranges) {
     int newSize = SliceRange.totalLength(ranges);
+    if (LongSelectionStorage.isViewWorthwhile(size, newSize)) {
+      int[] rows = new int[newSize];
+      int resIx = 0;
+      for (SliceRange range : ranges) {
+        for (int i = range.start(); i < range.end(); i++) {
+          rows[resIx++] = i;
+        }
+      }
+      return LongSelectionStorage.select(this, rows, 0, newSize, type);
+    }
+
     long[] newData = new long[newSize];
     BitSet newIsNothing = new BitSet(newSize);
     int offset = 0;
@@ -0,0 +1,293 @@
+package org.enso.table.data.column.storage.numeric;
+
+import java.util.BitSet;
+import java.util.List;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.mask.OrderMask;
+import org.enso.table.data.mask.SliceRange;
+import org.enso.table.util.BitSets;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A column storing integers of a type narrower than 64 bits, backed by an array of the
+ * corresponding primitive type.
+ *
+ * <p>The type of the column may be wider than the backing array (e.g. after {@link #widen}), but
+ * never narrower.
+ */
+public abstract class NarrowLongStorage extends AbstractLongStorage {
+  private final int size;
+  private final BitSet isNothing;
+  private final IntegerType type;
+
+  private NarrowLongStorage(int size, BitSet isNothing, IntegerType type) {
+    this.size = size;
+    this.isNothing = isNothing;
+    this.type = type;
+  }
+
+  /**
+   * Creates a storage of the given type from an array of longs.
+   *
+   * <p>For types narrower than 64 bits, the values are copied into an array of the matching width.
+   * The values must fit the type. For 64-bit integers, the array is wrapped in a {@link
+   * LongStorage}.
+   */
+  public static AbstractLongStorage fromLongs(
+      long[] data, int size, BitSet isNothing, IntegerType type) {
+    if (type.bits().toInteger() == 64) {
+      return new LongStorage(data, size, isNothing, type);
+    }
+
+    NarrowLongStorage storage = allocate(size, isNothing, type);
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size; i++) {
+      if (!isNothing.get(i)) {
+        storage.set(i, data[i]);
+      }
+
+      context.safepoint();
+    }
+    return storage;
+  }
+
+  private static NarrowLongStorage allocate(int size, BitSet isNothing, IntegerType type) {
+    return switch (type.bits()) {
+      case BITS_8 -> new ByteBacked(new byte[size], size, isNothing, type);
+      case BITS_16 -> new ShortBacked(new short[size], size, isNothing, type);
+      case BITS_32 -> new IntBacked(new int[size], size, isNothing, type);
+      case BITS_64 -> throw new IllegalArgumentException("64-bit integers are not narrow.");
+    };
+  }
+
+  /** Sets the value at the given index. Only used to fill in freshly allocated storages. */
+  protected abstract void set(int idx, long value);
+
+  /** Creates an empty storage of the same width. */
+  protected abstract NarrowLongStorage makeEmpty(int size, BitSet isNothing);
+
+  /** Copies values of this storage into a storage of the same width. */
+  protected abstract void copyTo(int from, NarrowLongStorage target, int to, int length);
+
+  /** Creates a storage sharing the data of this one, but with a different type. */
+  protected abstract NarrowLongStorage withType(IntegerType type);
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Long getItemBoxed(int idx) {
+    return isNothing.get(idx) ? null : getItem(idx);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public IntegerType getType() {
+    return type;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public boolean isNothing(long idx) {
+    return isNothing.get((int) idx);
+  }
+
+  @Override
+  public BitSet getIsNothingMap() {
+    return isNothing;
+  }
+
+  @Override
+  public Storage<Long> applyFilter(BitSet filterMask, int newLength) {
+    BitSet newIsNothing = new BitSet();
+    NarrowLongStorage result = makeEmpty(newLength, newIsNothing);
+    int resIx = 0;
+    Context context = Context.getCurrent();
+    for (int i = 0; i < size; i++) {
+      if (filterMask.get(i)) {
+        if (isNothing.get(i)) {
+          newIsNothing.set(resIx++);
+        } else {
+          result.set(resIx++, getItem(i));
+        }
+      }
+
+      context.safepoint();
+    }
+    return result;
+  }
+
+  @Override
+  public Storage<Long> applyMask(OrderMask mask) {
+    BitSet newIsNothing = new BitSet();
+    NarrowLongStorage result = makeEmpty(mask.length(), newIsNothing);
+    Context context = Context.getCurrent();
+    for (int i = 0; i < mask.length(); i++) {
+      int position = mask.get(i);
+      if (position == Storage.NOT_FOUND_INDEX || isNothing.get(position)) {
+        newIsNothing.set(i);
+      } else {
+        result.set(i, getItem(position));
+      }
+
+      context.safepoint();
+    }
+    return result;
+  }
+
+  @Override
+  public NarrowLongStorage slice(int offset, int limit) {
+    int newSize = Math.min(size - offset, limit);
+    NarrowLongStorage result = makeEmpty(newSize, isNothing.get(offset, offset + limit));
+    copyTo(offset, result, 0, newSize);
+    return result;
+  }
+
+  @Override
+  public NarrowLongStorage appendNulls(int count) {
+    BitSet newIsNothing = BitSets.makeDuplicate(isNothing);
+    newIsNothing.set(size, size + count);
+    NarrowLongStorage result = makeEmpty(size + count, newIsNothing);
+    copyTo(0, result, 0, size);
+    return result;
+  }
+
+  @Override
+  public NarrowLongStorage slice(List<SliceRange> ranges) {
+    int newSize = SliceRange.totalLength(ranges);
+    BitSet newIsNothing = new BitSet(newSize);
+    NarrowLongStorage result = makeEmpty(newSize, newIsNothing);
+    int offset = 0;
+    Context context = Context.getCurrent();
+    for (SliceRange range : ranges) {
+      int length = range.end() - range.start();
+      copyTo(range.start(), result, offset, length);
+      for (int i = 0; i < length; ++i) {
+        newIsNothing.set(offset + i, isNothing.get(range.start() + i));
+        context.safepoint();
+      }
+      offset += length;
+    }
+
+    return result;
+  }
+
+  /** Widening to a bigger type can be done without copying the data. */
+  @Override
+  public NarrowLongStorage widen(IntegerType widerType) {
+    assert widerType.fits(type);
+    return withType(widerType);
+  }
+
+  private static final class ByteBacked extends NarrowLongStorage {
+    private final byte[] data;
+
+    ByteBacked(byte[] data, int size, BitSet isNothing, IntegerType type) {
+      super(size, isNothing, type);
+      this.data = data;
+    }
+
+    @Override
+    public long getItem(int idx) {
+      return data[idx];
+    }
+
+    @Override
+    protected void set(int idx, long value) {
+      data[idx] = (byte) value;
+    }
+
+    @Override
+    protected NarrowLongStorage makeEmpty(int size, BitSet isNothing) {
+      return new ByteBacked(new byte[size], size, isNothing, getType());
+    }
+
+    @Override
+    protected void copyTo(int from, NarrowLongStorage target, int to, int length) {
+      System.arraycopy(data, from, ((ByteBacked) target).data, to, length);
+    }
+
+    @Override
+    protected NarrowLongStorage withType(IntegerType type) {
+      return new ByteBacked(data, size(), getIsNothingMap(), type);
+    }
+  }
+
+  private static final class ShortBacked extends NarrowLongStorage {
+    private final short[] data;
+
+    ShortBacked(short[] data, int size, BitSet isNothing, IntegerType type) {
+      super(size, isNothing, type);
+      this.data = data;
+    }
+
+    @Override
+    public long getItem(int idx) {
+      return data[idx];
+    }
+
+    @Override
+    protected void set(int idx, long value) {
+      data[idx] = (short) value;
+    }
+
+    @Override
+    protected NarrowLongStorage makeEmpty(int size, BitSet isNothing) {
+      return new ShortBacked(new short[size], size, isNothing, getType());
+    }
+
+    @Override
+    protected void copyTo(int from, NarrowLongStorage target, int to, int length) {
+      System.arraycopy(data, from, ((ShortBacked) target).data, to, length);
+    }
+
+    @Override
+    protected NarrowLongStorage withType(IntegerType type) {
+      return new ShortBacked(data, size(), getIsNothingMap(), type);
+    }
+  }
+
+  private static final class IntBacked extends NarrowLongStorage {
+    private final int[] data;
+
+    IntBacked(int[] data, int size, BitSet isNothing, IntegerType type) {
+      super(size, isNothing, type);
+      this.data = data;
+    }
+
+    @Override
+    public long getItem(int idx) {
+      return data[idx];
+    }
+
+    @Override
+    protected void set(int idx, long value) {
+      data[idx] = (int) value;
+    }
+
+    @Override
+    protected NarrowLongStorage makeEmpty(int size, BitSet isNothing) {
+      return new IntBacked(new int[size], size, isNothing, getType());
+    }
+
+    @Override
+    protected void copyTo(int from, NarrowLongStorage target, int to, int length) {
+      System.arraycopy(data, from, ((IntBacked) target).data, to, length);
+    }
+
+    @Override
+    protected NarrowLongStorage withType(IntegerType type) {
+      return new IntBacked(data, size(), getIsNothingMap(), type);
+    }
+  }
+}
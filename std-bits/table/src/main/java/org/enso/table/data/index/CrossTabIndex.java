@@ -8,6 +8,7 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.enso.base.text.TextFoldingStrategy;
 import org.enso.table.aggregations.Aggregator;
+import org.enso.table.aggregations.GroupedResults;
 import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.Table;
@@ -30,7 +31,8 @@ public class CrossTabIndex {
 
   private ObjectNumberer<UnorderedMultiValueKey> yKeyNumberer;
 
-  private UnorderedMultiValueKey[][] grid;
+  /** Maps x and y key coordinates to group ids of the combined index, or -1 if no such group. */
+  private int[][] grid;
 
   public CrossTabIndex(
       Column[] xColumns, Column[] yColumns, int tableSize, ProblemAggregator problemAggregator) {
@@ -64,11 +66,14 @@ public class CrossTabIndex {
     xKeyNumberer = new ObjectNumberer<>(xSubKeys);
     yKeyNumberer = new ObjectNumberer<>(ySubKeys);
 
-    // Create grid of cells, mapping x and y key indices to combined keys.
-    grid = new UnorderedMultiValueKey[xKeysCount()][yKeysCount()];
+    // Create grid of cells, mapping x and y key indices to combined group ids.
+    grid = new int[xKeysCount()][yKeysCount()];
+    for (int[] gridRow : grid) {
+      Arrays.fill(gridRow, -1);
+    }
 
     // For each combined key, use the two subkeys to determine row+col
-    // coordinates, and put the key at those coordinates.
+    // coordinates, and put the group id at those coordinates.
     for (int i = 0; i < combinedIndex.size(); ++i) {
       UnorderedMultiValueKey combinedKey = combinedKeys.get(i);
       int xCoordinate = getXCoordinate(xSubKeys.get(i));
@@ -76,16 +81,25 @@ public class CrossTabIndex {
 
       // The pair (xCoordinate, yCoordinate) must be unique so this
       // check is not really necessary.
-      if (grid[xCoordinate][yCoordinate] != null) {
+      if (grid[xCoordinate][yCoordinate] != -1) {
         throw new IllegalStateException("Internal error: makeCrossTabTable coordinate conflict");
       }
 
-      grid[xCoordinate][yCoordinate] = combinedKey;
+      grid[xCoordinate][yCoordinate] = combinedIndex.getGroupId(combinedKey);
     }
   }
 
   public List<Integer> get(UnorderedMultiValueKey xKey, UnorderedMultiValueKey yKey) {
-    return combinedIndex.get(grid[getXCoordinate(xKey)][getYCoordinate(yKey)]);
+    int groupId = getGroupId(xKey, yKey);
+    return groupId == -1 ? null : combinedIndex.grouping().groupRows(groupId);
+  }
+
+  /**
+   * Returns the id of the group of rows in the combined index's {@link RowGrouping}, or -1 if there
+   * are no rows for the given pair of keys.
+   */
+  private int getGroupId(UnorderedMultiValueKey xKey, UnorderedMultiValueKey yKey) {
+    return grid[getXCoordinate(xKey)][getYCoordinate(yKey)];
   }
 
   public Set<UnorderedMultiValueKey> getXKeys() {
@@ -147,6 +161,12 @@ public class CrossTabIndex {
     }
 
     // Fill the columns.
+    RowGrouping grouping = combinedIndex.grouping();
+    int[] rows = grouping.rows();
+    GroupedResults[] groupedResults =
+        Arrays.stream(aggregates)
+            .map(a -> a.aggregateGroups(grouping))
+            .toArray(GroupedResults[]::new);
     for (UnorderedMultiValueKey ySubKey : getYKeys()) {
 
       // Fill the y key columns.
@@ -156,13 +176,16 @@ public class CrossTabIndex {
 
       // Fill the aggregate columns.
       for (UnorderedMultiValueKey xSubKey : getXKeys()) {
-        List<Integer> rowIds = get(xSubKey, ySubKey);
-        if (rowIds == null) {
-          rowIds = List.of();
-        }
+        int groupId = getGroupId(xSubKey, ySubKey);
+        int start = groupId == -1 ? 0 : grouping.groupStart(groupId);
+        int end = groupId == -1 ? 0 : grouping.groupEnd(groupId);
 
         for (int i = 0; i < aggregates.length; i++) {
-          storage[offset + i].appendNoGrow(aggregates[i].aggregate(rowIds, problemAggregator));
+          Object value =
+              groupId != -1 && groupedResults[i] != null
+                  ? groupedResults[i].get(groupId, problemAggregator)
+                  : aggregates[i].aggregate(rows, start, end, problemAggregator);
+          storage[offset + i].appendNoGrow(value);
         }
 
         offset += aggregates.length;
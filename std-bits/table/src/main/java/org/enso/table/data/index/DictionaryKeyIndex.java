@@ -0,0 +1,117 @@
+package org.enso.table.data.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import org.enso.base.polyglot.EnsoObjectWrapper;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringDictionary;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.table.Column;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Finds, for every row of a dictionary-encoded text column, the first row having an equal {@link
+ * UnorderedMultiValueKey}.
+ *
+ * <p>The keys are computed and folded once per entry of the dictionary, and the codes of the rows
+ * are used to look them up, so no per-row hashing is needed. Distinct entries which fold to the
+ * same value share their key, so the key returned for a row may refer to the first row having that
+ * key.
+ */
+public final class DictionaryKeyIndex {
+  private final StringDictionary dictionary;
+  private final UnorderedMultiValueKey[] keyOfCode;
+  private final int[] firstRowOfCode;
+  private final UnorderedMultiValueKey missingKey;
+  private final int firstMissingRow;
+
+  private DictionaryKeyIndex(
+      StringDictionary dictionary,
+      UnorderedMultiValueKey[] keyOfCode,
+      int[] firstRowOfCode,
+      UnorderedMultiValueKey missingKey,
+      int firstMissingRow) {
+    this.dictionary = dictionary;
+    this.keyOfCode = keyOfCode;
+    this.firstRowOfCode = firstRowOfCode;
+    this.missingKey = missingKey;
+    this.firstMissingRow = firstMissingRow;
+  }
+
+  /** Checks if the key columns consist of a single dictionary-encoded text column. */
+  public static boolean isApplicable(Column[] keyColumns) {
+    return keyColumns.length == 1
+        && keyColumns[0].getStorage() instanceof StringStorage stringStorage
+        && stringStorage.getDictionary() != null;
+  }
+
+  /** Builds the index for the given key column. */
+  public static DictionaryKeyIndex build(
+      Column[] keyColumns, List<TextFoldingStrategy> textFoldingStrategies) {
+    StringStorage storage = (StringStorage) keyColumns[0].getStorage();
+    StringDictionary dictionary = storage.getDictionary();
+    Storage<?>[] storages = new Storage<?>[] {storage};
+    int size = storage.size();
+    int entryCount = dictionary.entryCount();
+
+    Context context = Context.getCurrent();
+    int[] firstRowOfCode = new int[entryCount];
+    Arrays.fill(firstRowOfCode, -1);
+    int firstMissingRow = -1;
+    for (int row = 0; row < size; row++) {
+      int code = dictionary.codeOf(row);
+      if (code == -1) {
+        if (firstMissingRow == -1) {
+          firstMissingRow = row;
+        }
+      } else if (firstRowOfCode[code] == -1) {
+        firstRowOfCode[code] = row;
+      }
+
+      context.safepoint();
+    }
+
+    // Codes are numbered in the order of their first rows, so the first code of each folded value
+    // also has the earliest first row.
+    UnorderedMultiValueKey[] keyOfCode = new UnorderedMultiValueKey[entryCount];
+    HashMap<Object, Integer> codeOfFolded = new HashMap<>();
+    for (int code = 0; code < entryCount; code++) {
+      Object folded =
+          EnsoObjectWrapper.foldObject(dictionary.entry(code), textFoldingStrategies.get(0));
+      Integer representative = codeOfFolded.putIfAbsent(folded, code);
+      if (representative == null) {
+        keyOfCode[code] =
+            new UnorderedMultiValueKey(storages, firstRowOfCode[code], textFoldingStrategies);
+      } else {
+        keyOfCode[code] = keyOfCode[representative];
+        firstRowOfCode[code] = firstRowOfCode[representative];
+      }
+
+      context.safepoint();
+    }
+
+    UnorderedMultiValueKey missingKey =
+        firstMissingRow == -1
+            ? null
+            : new UnorderedMultiValueKey(storages, firstMissingRow, textFoldingStrategies);
+    return new DictionaryKeyIndex(
+        dictionary, keyOfCode, firstRowOfCode, missingKey, firstMissingRow);
+  }
+
+  /** Returns the key of the given row. */
+  public UnorderedMultiValueKey key(int row) {
+    int code = dictionary.codeOf(row);
+    return code == -1 ? missingKey : keyOfCode[code];
+  }
+
+  /**
+   * Returns the index of the first row having a key equal to the key of the given row. It is equal
+   * to {@code row} if that row is the first one with that key.
+   */
+  public int firstOccurrence(int row) {
+    int code = dictionary.codeOf(row);
+    return code == -1 ? firstMissingRow : firstRowOfCode[code];
+  }
+}
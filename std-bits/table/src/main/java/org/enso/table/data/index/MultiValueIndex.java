@@ -1,6 +1,5 @@
 package org.enso.table.data.index;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -9,10 +8,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.IntFunction;
-import java.util.stream.Collectors;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.IntStream;
 import org.enso.base.text.TextFoldingStrategy;
 import org.enso.table.aggregations.Aggregator;
+import org.enso.table.aggregations.GroupedResults;
 import org.enso.table.data.column.builder.Builder;
 import org.enso.table.data.column.operation.CountNothing;
 import org.enso.table.data.column.storage.Storage;
@@ -23,10 +23,20 @@ import org.enso.table.problems.ProblemAggregator;
 import org.enso.table.util.ConstantList;
 import org.graalvm.polyglot.Context;
 
+/**
+ * An index grouping the rows of a table by the values of the key columns.
+ *
+ * <p>Each distinct key is assigned a group id, and the rows belonging to each group are stored in a
+ * compact {@link RowGrouping}. The iteration order of the keys is determined by the map
+ * implementation - insertion-independent for unordered indices, and sorted for ordered ones.
+ */
 public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
+  private static final int[] NO_ROWS = new int[0];
+
   private final ProblemAggregator problemAggregator;
   private final Column[] keyColumns;
-  private final Map<KeyType, List<Integer>> locs;
+  private final Map<KeyType, Integer> locs;
+  private final RowGrouping grouping;
   private final boolean isUnique;
 
   public static MultiValueIndex<OrderedMultiValueKey> makeOrderedIndex(
@@ -35,12 +45,13 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
       int[] ordering,
       Comparator<Object> objectComparator,
       ProblemAggregator problemAggregator) {
-    TreeMap<OrderedMultiValueKey, List<Integer>> locs = new TreeMap<>();
+    TreeMap<OrderedMultiValueKey, Integer> locs = new TreeMap<>();
     final Storage<?>[] storage =
         Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
     IntFunction<OrderedMultiValueKey> keyFactory =
         i -> new OrderedMultiValueKey(storage, i, ordering, objectComparator);
-    return new MultiValueIndex<>(keyColumns, tableSize, locs, keyFactory, problemAggregator);
+    return new MultiValueIndex<>(
+        keyColumns, tableSize, locs, keyFactory, IntUnaryOperator.identity(), problemAggregator);
   }
 
   public static MultiValueIndex<UnorderedMultiValueKey> makeUnorderedIndex(
@@ -48,12 +59,37 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
       int tableSize,
       List<TextFoldingStrategy> textFoldingStrategies,
       ProblemAggregator problemAggregator) {
-    HashMap<UnorderedMultiValueKey, List<Integer>> locs = new HashMap<>();
+    HashMap<UnorderedMultiValueKey, Integer> locs = new HashMap<>();
+    if (DictionaryKeyIndex.isApplicable(keyColumns)) {
+      DictionaryKeyIndex dictionaryIndex =
+          DictionaryKeyIndex.build(keyColumns, textFoldingStrategies);
+      return new MultiValueIndex<>(
+          keyColumns,
+          tableSize,
+          locs,
+          dictionaryIndex::key,
+          dictionaryIndex::firstOccurrence,
+          problemAggregator);
+    }
+
+    if (PartitionedKeyIndex.isApplicable(keyColumns)) {
+      PartitionedKeyIndex partitionedIndex =
+          PartitionedKeyIndex.build(keyColumns, textFoldingStrategies);
+      return new MultiValueIndex<>(
+          keyColumns,
+          tableSize,
+          locs,
+          partitionedIndex::key,
+          partitionedIndex::firstOccurrence,
+          problemAggregator);
+    }
+
     final Storage<?>[] storage =
         Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
     IntFunction<UnorderedMultiValueKey> keyFactory =
         i -> new UnorderedMultiValueKey(storage, i, textFoldingStrategies);
-    return new MultiValueIndex<>(keyColumns, tableSize, locs, keyFactory, problemAggregator);
+    return new MultiValueIndex<>(
+        keyColumns, tableSize, locs, keyFactory, IntUnaryOperator.identity(), problemAggregator);
   }
 
   public static MultiValueIndex<UnorderedMultiValueKey> makeUnorderedIndex(
@@ -69,16 +105,17 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
   private MultiValueIndex(
       Column[] keyColumns,
       int tableSize,
-      Map<KeyType, List<Integer>> initialLocs,
+      Map<KeyType, Integer> initialLocs,
       IntFunction<KeyType> keyFactory,
+      IntUnaryOperator firstOccurrence,
       ProblemAggregator problemAggregator) {
     this.keyColumns = keyColumns;
     this.locs = initialLocs;
     this.problemAggregator = problemAggregator;
 
     if (keyColumns.length != 0) {
-      boolean isUnique = true;
       int size = keyColumns[0].getSize();
+      int[] groupOfRow = new int[size];
       ColumnAggregatedProblemAggregator groupingProblemAggregator =
           new ColumnAggregatedProblemAggregator(problemAggregator);
 
@@ -88,18 +125,28 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
         key.checkAndReportFloatingEquality(
             groupingProblemAggregator, columnIx -> keyColumns[columnIx].getName());
 
-        List<Integer> ids = this.locs.computeIfAbsent(key, x -> new ArrayList<>());
-        ids.add(i);
-        isUnique = isUnique && ids.size() == 1;
+        int first = firstOccurrence.applyAsInt(i);
+        if (first < i) {
+          // The key was already seen, so the lookup can be skipped.
+          groupOfRow[i] = groupOfRow[first];
+        } else {
+          Integer groupId = this.locs.get(key);
+          if (groupId == null) {
+            groupId = this.locs.size();
+            this.locs.put(key, groupId);
+          }
+          groupOfRow[i] = groupId;
+        }
 
         context.safepoint();
       }
 
-      this.isUnique = isUnique;
+      this.grouping = RowGrouping.fromGroupIds(groupOfRow, this.locs.size());
+      this.isUnique = this.locs.size() == size;
     } else {
       this.isUnique = tableSize <= 1;
-      this.locs.put(
-          keyFactory.apply(0), IntStream.range(0, tableSize).boxed().collect(Collectors.toList()));
+      this.locs.put(keyFactory.apply(0), 0);
+      this.grouping = RowGrouping.singleGroup(tableSize);
     }
   }
 
@@ -120,15 +167,24 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
 
     if (emptyScenario) {
       // No grouping and no data
-      List<Integer> empty = new ArrayList<>();
       for (int i = 0; i < length; i++) {
-        storage[i].appendNoGrow(columns[i].aggregate(empty, problemAggregator));
+        storage[i].appendNoGrow(columns[i].aggregate(NO_ROWS, 0, 0, problemAggregator));
         context.safepoint();
       }
     } else {
-      for (List<Integer> group_locs : this.locs.values()) {
+      int[] rows = grouping.rows();
+      GroupedResults[] groupedResults =
+          Arrays.stream(columns)
+              .map(c -> c.aggregateGroups(grouping))
+              .toArray(GroupedResults[]::new);
+      for (int groupId : this.locs.values()) {
+        int start = grouping.groupStart(groupId);
+        int end = grouping.groupEnd(groupId);
         for (int i = 0; i < length; i++) {
-          Object value = columns[i].aggregate(group_locs, problemAggregator);
+          Object value =
+              groupedResults[i] != null
+                  ? groupedResults[i].get(groupId, problemAggregator)
+                  : columns[i].aggregate(rows, start, end, problemAggregator);
           storage[i].appendNoGrow(value);
           context.safepoint();
         }
@@ -149,14 +205,34 @@ public class MultiValueIndex<KeyType extends MultiValueKeyBase> {
     return this.locs.containsKey(key);
   }
 
+  /**
+   * Returns the rows belonging to the given key, or {@code null} if the key is not present in the
+   * index.
+   */
   public List<Integer> get(KeyType key) {
-    return this.locs.get(key);
+    Integer groupId = this.locs.get(key);
+    return groupId == null ? null : grouping.groupRows(groupId);
   }
 
-  public Map<KeyType, List<Integer>> mapping() {
+  /**
+   * Returns the id of the group associated with the given key in {@link #grouping()}, or -1 if the
+   * key is not present in the index.
+   */
+  public int getGroupId(KeyType key) {
+    Integer groupId = this.locs.get(key);
+    return groupId == null ? -1 : groupId;
+  }
+
+  /** Returns a mapping from keys to their group ids in {@link #grouping()}. */
+  public Map<KeyType, Integer> groupIds() {
     return locs;
   }
 
+  /** Returns the grouping of rows, with group ids as returned by {@link #groupIds()}. */
+  public RowGrouping grouping() {
+    return grouping;
+  }
+
   public int size() {
     return this.locs.size();
   }
@@ -0,0 +1,158 @@
+package org.enso.table.data.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.type.AnyObjectType;
+import org.enso.table.data.column.storage.type.BigDecimalType;
+import org.enso.table.data.column.storage.type.BigIntegerType;
+import org.enso.table.data.column.storage.type.BooleanType;
+import org.enso.table.data.column.storage.type.DateTimeType;
+import org.enso.table.data.column.storage.type.DateType;
+import org.enso.table.data.column.storage.type.FloatType;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.column.storage.type.StorageType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.data.column.storage.type.TimeOfDayType;
+import org.enso.table.data.table.Column;
+import org.enso.table.util.ParallelExecution;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Finds, for every row, the first row having an equal {@link UnorderedMultiValueKey}, using
+ * multiple threads.
+ *
+ * <p>The rows are hash-partitioned by their keys, so that equal keys always end up in the same
+ * partition, and each partition is deduplicated by a separate task. Every partition processes its
+ * rows in increasing order, so the result does not depend on the scheduling and is the same as if
+ * all rows were processed sequentially.
+ *
+ * <p>The keys are hashed on worker threads, so this can only be used for columns whose values can
+ * be hashed without calling back into Enso - see {@link #isApplicable}. The calling thread polls
+ * safepoints between batches of work.
+ */
+public final class PartitionedKeyIndex {
+  /** Below this size the overhead of coordinating the threads outweighs the gains. */
+  private static final int MIN_ROWS = 1 << 16;
+
+  private static final int BATCH_SIZE = 1 << 14;
+
+  private final UnorderedMultiValueKey[] keys;
+  private final int[] firstOccurrence;
+
+  private PartitionedKeyIndex(UnorderedMultiValueKey[] keys, int[] firstOccurrence) {
+    this.keys = keys;
+    this.firstOccurrence = firstOccurrence;
+  }
+
+  /**
+   * Checks if the parallel grouping is enabled and worth using for the given key columns.
+   *
+   * <p>Custom objects, as well as big numbers, are hashed using Enso callbacks, which cannot be
+   * called from worker threads, so only columns of simple types are supported.
+   */
+  public static boolean isApplicable(Column[] keyColumns) {
+    if (!ParallelExecution.isGroupingEnabled()
+        || keyColumns.length == 0
+        || keyColumns[0].getSize() < MIN_ROWS) {
+      return false;
+    }
+
+    return Arrays.stream(keyColumns)
+        .allMatch(column -> isHashableWithoutEnso(column.getStorage().getType()));
+  }
+
+  private static boolean isHashableWithoutEnso(StorageType type) {
+    return switch (type) {
+      case AnyObjectType x -> false;
+      case BigDecimalType x -> false;
+      case BigIntegerType x -> false;
+      case BooleanType x -> true;
+      case DateTimeType x -> true;
+      case DateType x -> true;
+      case FloatType x -> true;
+      case IntegerType x -> true;
+      case TextType x -> true;
+      case TimeOfDayType x -> true;
+    };
+  }
+
+  /** Builds the index for the given key columns. */
+  public static PartitionedKeyIndex build(
+      Column[] keyColumns, List<TextFoldingStrategy> textFoldingStrategies) {
+    Storage<?>[] storages =
+        Arrays.stream(keyColumns).map(Column::getStorage).toArray(Storage[]::new);
+    int size = keyColumns[0].getSize();
+    int partitionCount = 4 * ParallelExecution.parallelism();
+
+    // Compute the keys and assign them to partitions.
+    UnorderedMultiValueKey[] keys = new UnorderedMultiValueKey[size];
+    int[] partitionOfRow = new int[size];
+    int chunkCount = (size + BATCH_SIZE - 1) / BATCH_SIZE;
+    ParallelExecution.forEachIndexPollingSafepoints(
+        chunkCount,
+        partitionCount,
+        chunk -> {
+          int end = Math.min(size, (chunk + 1) * BATCH_SIZE);
+          for (int row = chunk * BATCH_SIZE; row < end; row++) {
+            UnorderedMultiValueKey key =
+                new UnorderedMultiValueKey(storages, row, textFoldingStrategies);
+            keys[row] = key;
+            int hash = key.hashCode();
+            partitionOfRow[row] = Math.floorMod(hash ^ (hash >>> 16), partitionCount);
+          }
+        });
+    RowGrouping partitions = RowGrouping.fromGroupIds(partitionOfRow, partitionCount);
+
+    // Deduplicate each partition, in rounds of at most BATCH_SIZE rows per partition.
+    Context context = Context.getCurrent();
+    int[] firstOccurrence = new int[size];
+    int[] rows = partitions.rows();
+    int[] positions = new int[partitionCount];
+    @SuppressWarnings("unchecked")
+    HashMap<UnorderedMultiValueKey, Integer>[] firstRows = new HashMap[partitionCount];
+    for (int p = 0; p < partitionCount; p++) {
+      positions[p] = partitions.groupStart(p);
+      firstRows[p] = new HashMap<>();
+    }
+
+    boolean hasRemainingRows = size > 0;
+    while (hasRemainingRows) {
+      ParallelExecution.forEachIndex(
+          partitionCount,
+          p -> {
+            int end = Math.min(positions[p] + BATCH_SIZE, partitions.groupEnd(p));
+            for (int i = positions[p]; i < end; i++) {
+              int row = rows[i];
+              Integer first = firstRows[p].putIfAbsent(keys[row], row);
+              firstOccurrence[row] = first == null ? row : first;
+            }
+            positions[p] = end;
+          });
+
+      hasRemainingRows = false;
+      for (int p = 0; p < partitionCount; p++) {
+        hasRemainingRows |= positions[p] < partitions.groupEnd(p);
+      }
+
+      context.safepoint();
+    }
+
+    return new PartitionedKeyIndex(keys, firstOccurrence);
+  }
+
+  /** Returns the key of the given row. */
+  public UnorderedMultiValueKey key(int row) {
+    return keys[row];
+  }
+
+  /**
+   * Returns the index of the first row having a key equal to the key of the given row. It is equal
+   * to {@code row} if that row is the first one with that key.
+   */
+  public int firstOccurrence(int row) {
+    return firstOccurrence[row];
+  }
+}
@@ -0,0 +1,103 @@
+package org.enso.table.data.index;
+
+import java.util.List;
+import org.enso.table.util.IntSliceList;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A compact representation of a partition of table rows into groups.
+ *
+ * <p>The groups are numbered from 0 to {@code groupCount() - 1}. For each row, its group id is
+ * stored, and the rows are additionally laid out group-by-group in a single array (CSR-style): the
+ * rows of group {@code g} are {@code rows()[groupStart(g)]} to {@code rows()[groupEnd(g) - 1]}, in
+ * increasing order.
+ *
+ * <p>This avoids allocating a list of boxed integers for every group.
+ */
+public final class RowGrouping {
+  private final int[] groupOfRow;
+  private final int[] offsets;
+  private final int[] rows;
+
+  private RowGrouping(int[] groupOfRow, int[] offsets, int[] rows) {
+    this.groupOfRow = groupOfRow;
+    this.offsets = offsets;
+    this.rows = rows;
+  }
+
+  /**
+   * Creates a grouping from an array assigning a group id to each row.
+   *
+   * @param groupOfRow the group id of each row; all ids must be in range {@code [0, groupCount)}.
+   *     The array is not copied and must not be modified afterwards.
+   * @param groupCount the number of groups
+   */
+  public static RowGrouping fromGroupIds(int[] groupOfRow, int groupCount) {
+    Context context = Context.getCurrent();
+    int[] offsets = new int[groupCount + 1];
+    for (int group : groupOfRow) {
+      offsets[group + 1]++;
+    }
+
+    for (int g = 0; g < groupCount; g++) {
+      offsets[g + 1] += offsets[g];
+    }
+
+    int[] rows = new int[groupOfRow.length];
+    int[] next = new int[groupCount];
+    System.arraycopy(offsets, 0, next, 0, groupCount);
+    for (int row = 0; row < groupOfRow.length; row++) {
+      rows[next[groupOfRow[row]]++] = row;
+      context.safepoint();
+    }
+
+    return new RowGrouping(groupOfRow, offsets, rows);
+  }
+
+  /** Creates a grouping consisting of a single group containing all rows. */
+  public static RowGrouping singleGroup(int rowCount) {
+    int[] rows = new int[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      rows[i] = i;
+    }
+
+    return new RowGrouping(new int[rowCount], new int[] {0, rowCount}, rows);
+  }
+
+  public int groupCount() {
+    return offsets.length - 1;
+  }
+
+  public int rowCount() {
+    return groupOfRow.length;
+  }
+
+  /** Returns the id of the group containing the given row. */
+  public int groupOf(int row) {
+    return groupOfRow[row];
+  }
+
+  /** The array of all rows ordered by groups. It must not be modified. */
+  public int[] rows() {
+    return rows;
+  }
+
+  /** The index in {@link #rows()} at which the rows of the given group start. */
+  public int groupStart(int group) {
+    return offsets[group];
+  }
+
+  /** The index in {@link #rows()} just after the last row of the given group. */
+  public int groupEnd(int group) {
+    return offsets[group + 1];
+  }
+
+  public int groupSize(int group) {
+    return offsets[group + 1] - offsets[group];
+  }
+
+  /** Returns a read-only list view of the rows belonging to the given group. */
+  public List<Integer> groupRows(int group) {
+    return new IntSliceList(rows, offsets[group], offsets[group + 1]);
+  }
+}
@@ -16,6 +16,19 @@ public interface OrderMask {
    */
   int get(int idx);
 
+  /**
+   * Returns the positions of the mask as an array of at least {@link #length()} entries.
+   *
+   * <p>The array may be the one backing the mask, so it must not be modified.
+   */
+  default int[] positions() {
+    int[] positions = new int[length()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = get(i);
+    }
+    return positions;
+  }
+
   static OrderMask empty() {
     return new OrderMaskFromArray(new int[0], 0);
   }
@@ -54,6 +67,11 @@ public interface OrderMask {
     public int get(int idx) {
       return positions[idx];
     }
+
+    @Override
+    public int[] positions() {
+      return positions;
+    }
   }
 
   class OrderMaskGeneric<T> implements OrderMask {
@@ -53,6 +53,23 @@ public class JoinResult {
       rightIndices.add(rightIndex);
     }
 
+    /**
+     * Appends all rows gathered by the other builder after the rows of this one.
+     *
+     * <p>The other builder is invalidated, like by {@link #buildAndInvalidate()}.
+     */
+    public void appendAndInvalidate(Builder other) {
+      int length = other.leftIndices.getLength();
+      int[] otherLeft = other.leftIndices.unsafeGetResultAndInvalidate();
+      int[] otherRight = other.rightIndices.unsafeGetResultAndInvalidate();
+      other.leftIndices = null;
+      other.rightIndices = null;
+      for (int i = 0; i < length; i++) {
+        leftIndices.add(otherLeft[i]);
+        rightIndices.add(otherRight[i]);
+      }
+    }
+
     /**
      * Returns the result of the builder.
      *
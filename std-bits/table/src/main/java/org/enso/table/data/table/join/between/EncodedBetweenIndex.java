@@ -0,0 +1,296 @@
+package org.enso.table.data.table.join.between;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.operations.SortKey;
+import org.graalvm.polyglot.Context;
+
+/**
+ * The keys of a set of {@code Between} conditions whose columns all hold values of the same
+ * fixed-width type, encoded by {@link SortKey#fixedWidthEncoder} into longs whose unsigned order is
+ * the order of the values.
+ *
+ * <p>The left rows are indexed in {@link Group}s, which keep the rows sorted by each of the
+ * conditions. A right row is matched by finding the range of left rows within its bounds for every
+ * condition by binary search, and scanning the narrowest of these ranges while checking the other
+ * conditions. The matches are reported in the order the generic {@link SortJoin} reports them: by
+ * the first condition, and then by the order in which the left rows were given.
+ *
+ * <p>Finding the matches does not touch the polyglot {@code Context}, so disjoint sets of right
+ * rows can be matched concurrently against the same group.
+ */
+final class EncodedBetweenIndex {
+  private final int conditionCount;
+  private final long[][] leftKeys;
+  private final long[][] lowerKeys;
+  private final long[][] upperKeys;
+
+  /** The left rows with a missing value in any condition, which cannot match anything. */
+  private final BitSet leftMissing = new BitSet();
+
+  /** The right rows with a missing bound in any condition, which cannot match anything. */
+  private final BitSet boundsMissing = new BitSet();
+
+  private EncodedBetweenIndex(int conditionCount, int leftCount, int rightCount) {
+    this.conditionCount = conditionCount;
+    this.leftKeys = new long[conditionCount][leftCount];
+    this.lowerKeys = new long[conditionCount][rightCount];
+    this.upperKeys = new long[conditionCount][rightCount];
+  }
+
+  /**
+   * Encodes the keys of the conditions, or returns {@code null} if the three columns of any of the
+   * conditions do not hold the same fixed-width type, in which case they are compared as objects.
+   */
+  static EncodedBetweenIndex tryEncode(
+      Storage<?>[] leftStorages, Storage<?>[] lowerStorages, Storage<?>[] upperStorages) {
+    int conditionCount = leftStorages.length;
+    for (int i = 0; i < conditionCount; i++) {
+      EncodedType type = EncodedType.of(leftStorages[i]);
+      if (type == null
+          || type != EncodedType.of(lowerStorages[i])
+          || type != EncodedType.of(upperStorages[i])) {
+        return null;
+      }
+    }
+
+    var index =
+        new EncodedBetweenIndex(conditionCount, leftStorages[0].size(), lowerStorages[0].size());
+    for (int i = 0; i < conditionCount; i++) {
+      encode(leftStorages[i], index.leftKeys[i], index.leftMissing);
+      encode(lowerStorages[i], index.lowerKeys[i], index.boundsMissing);
+      encode(upperStorages[i], index.upperKeys[i], index.boundsMissing);
+    }
+    return index;
+  }
+
+  private static void encode(Storage<?> storage, long[] keys, BitSet missing) {
+    SortKey.RowEncoder encoder = SortKey.fixedWidthEncoder(storage, true);
+    Context context = Context.getCurrent();
+    for (int row = 0; row < keys.length; row++) {
+      if (storage.isNothing(row)) {
+        missing.set(row);
+      } else {
+        keys[row] = encoder.encode(row);
+      }
+      context.safepoint();
+    }
+  }
+
+  /**
+   * The storages whose values are encoded consistently with each other. It must agree with the
+   * cases of {@link SortKey#fixedWidthEncoder}.
+   */
+  private enum EncodedType {
+    INTEGER,
+    FLOAT,
+    BOOLEAN,
+    DATE,
+    TIME_OF_DAY;
+
+    static EncodedType of(Storage<?> storage) {
+      return switch (storage) {
+        case AbstractLongStorage s -> INTEGER;
+        case DoubleStorage s -> FLOAT;
+        case BoolStorage s -> BOOLEAN;
+        case DateStorage s -> DATE;
+        case TimeOfDayStorage s -> TIME_OF_DAY;
+        default -> null;
+      };
+    }
+  }
+
+  /**
+   * Indexes the given left rows, skipping the ones that cannot match. Of the rows with equal keys,
+   * matches are reported in the order of {@code leftRows}.
+   */
+  Group index(int[] leftRows) {
+    int count = 0;
+    for (int row : leftRows) {
+      if (!leftMissing.get(row)) {
+        count++;
+      }
+    }
+
+    int[] rows = new int[count];
+    int position = 0;
+    for (int row : leftRows) {
+      if (!leftMissing.get(row)) {
+        rows[position++] = row;
+      }
+    }
+
+    return new Group(rows);
+  }
+
+  /**
+   * A set of left rows sorted by each condition. The rows are identified by their positions in
+   * {@code rows}.
+   */
+  final class Group {
+    private final int[] rows;
+
+    /** The keys of each condition, by position. */
+    private final long[][] keys;
+
+    /** The positions sorted by the keys of each condition, and the keys in that order. */
+    private final int[][] sortedPositions;
+
+    private final long[][] sortedKeys;
+
+    /** The index of each position in the order of the first condition. */
+    private final int[] firstConditionRank;
+
+    private Group(int[] rows) {
+      this.rows = rows;
+      int size = rows.length;
+      keys = new long[conditionCount][];
+      sortedPositions = new int[conditionCount][];
+      sortedKeys = new long[conditionCount][];
+      Context context = Context.getCurrent();
+      int[] buffer = new int[size];
+      for (int i = 0; i < conditionCount; i++) {
+        long[] conditionKeys = new long[size];
+        for (int position = 0; position < size; position++) {
+          conditionKeys[position] = leftKeys[i][rows[position]];
+        }
+
+        int[] positions = new int[size];
+        for (int position = 0; position < size; position++) {
+          positions[position] = position;
+        }
+        SortKey.ofEncoded(conditionKeys).sort(positions, 0, size, buffer);
+
+        long[] conditionSortedKeys = new long[size];
+        for (int j = 0; j < size; j++) {
+          conditionSortedKeys[j] = conditionKeys[positions[j]];
+        }
+
+        keys[i] = conditionKeys;
+        sortedPositions[i] = positions;
+        sortedKeys[i] = conditionSortedKeys;
+        context.safepoint();
+      }
+
+      firstConditionRank = new int[size];
+      for (int j = 0; j < size; j++) {
+        firstConditionRank[sortedPositions[0][j]] = j;
+      }
+    }
+
+    /** Creates a matcher, which must only be used by a single thread at a time. */
+    Matcher matcher() {
+      return new Matcher();
+    }
+
+    final class Matcher {
+      private final int[] rangeStarts = new int[conditionCount];
+      private final int[] rangeEnds = new int[conditionCount];
+      private int[] ranks = new int[16];
+
+      /**
+       * Passes the left rows matching the right row to the consumer, in order, and returns their
+       * count.
+       */
+      int match(int rightRow, IntConsumer consumer) {
+        if (boundsMissing.get(rightRow)) {
+          return 0;
+        }
+
+        int narrowest = 0;
+        for (int i = 0; i < conditionCount; i++) {
+          rangeStarts[i] = firstAtLeast(sortedKeys[i], lowerKeys[i][rightRow]);
+          rangeEnds[i] = firstAbove(sortedKeys[i], upperKeys[i][rightRow]);
+          if (rangeStarts[i] >= rangeEnds[i]) {
+            return 0;
+          }
+          if (rangeEnds[i] - rangeStarts[i] < rangeEnds[narrowest] - rangeStarts[narrowest]) {
+            narrowest = i;
+          }
+        }
+
+        int[] candidates = sortedPositions[narrowest];
+        if (narrowest == 0) {
+          int matchCount = 0;
+          for (int j = rangeStarts[0]; j < rangeEnds[0]; j++) {
+            int position = candidates[j];
+            if (matchesOtherConditions(position, rightRow, 0)) {
+              consumer.accept(rows[position]);
+              matchCount++;
+            }
+          }
+          return matchCount;
+        }
+
+        // The candidates come in the order of another condition, so the matches are collected by
+        // their rank in the order of the first one and sorted.
+        int matchCount = 0;
+        for (int j = rangeStarts[narrowest]; j < rangeEnds[narrowest]; j++) {
+          int position = candidates[j];
+          if (matchesOtherConditions(position, rightRow, narrowest)) {
+            if (matchCount == ranks.length) {
+              ranks = Arrays.copyOf(ranks, ranks.length * 2);
+            }
+            ranks[matchCount++] = firstConditionRank[position];
+          }
+        }
+
+        Arrays.sort(ranks, 0, matchCount);
+        for (int j = 0; j < matchCount; j++) {
+          consumer.accept(rows[sortedPositions[0][ranks[j]]]);
+        }
+        return matchCount;
+      }
+
+      private boolean matchesOtherConditions(int position, int rightRow, int checkedCondition) {
+        for (int i = 0; i < conditionCount; i++) {
+          if (i != checkedCondition) {
+            long key = keys[i][position];
+            if (Long.compareUnsigned(key, lowerKeys[i][rightRow]) < 0
+                || Long.compareUnsigned(key, upperKeys[i][rightRow]) > 0) {
+              return false;
+            }
+          }
+        }
+        return true;
+      }
+    }
+  }
+
+  /** Finds the index of the first key that is greater than or equal to the bound. */
+  private static int firstAtLeast(long[] sortedKeys, long bound) {
+    int start = 0;
+    int end = sortedKeys.length;
+    while (start < end) {
+      int mid = (start + end) >>> 1;
+      if (Long.compareUnsigned(sortedKeys[mid], bound) < 0) {
+        start = mid + 1;
+      } else {
+        end = mid;
+      }
+    }
+    return start;
+  }
+
+  /** Finds the index of the first key that is greater than the bound. */
+  private static int firstAbove(long[] sortedKeys, long bound) {
+    int start = 0;
+    int end = sortedKeys.length;
+    while (start < end) {
+      int mid = (start + end) >>> 1;
+      if (Long.compareUnsigned(sortedKeys[mid], bound) <= 0) {
+        start = mid + 1;
+      } else {
+        end = mid;
+      }
+    }
+    return start;
+  }
+}
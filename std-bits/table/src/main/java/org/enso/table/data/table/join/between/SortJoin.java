@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.enso.base.ObjectComparator;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.index.OrderedMultiValueKey;
@@ -12,8 +13,18 @@ import org.enso.table.data.table.join.JoinResult;
 import org.enso.table.data.table.join.JoinStrategy;
 import org.enso.table.data.table.join.conditions.Between;
 import org.enso.table.problems.ProblemAggregator;
+import org.enso.table.util.ParallelExecution;
 import org.graalvm.polyglot.Context;
 
+/**
+ * A strategy joining rows on {@code Between} conditions, by sorting the left rows on the first
+ * condition and finding the ones within the bounds of each right row by binary search.
+ *
+ * <p>If the columns of every condition hold values of the same fixed-width type (integers, floats,
+ * booleans, dates or times of day), the values are encoded as primitive longs and matched by an
+ * {@link EncodedBetweenIndex}, which uses the most selective of the conditions for each right row.
+ * Otherwise the values are compared as objects.
+ */
 public class SortJoin implements JoinStrategy {
 
   public SortJoin(List<Between> conditions, JoinKind joinKind) {
@@ -33,8 +44,16 @@ public class SortJoin implements JoinStrategy {
       upperStorages[i] = conditions.get(i).rightUpper().getStorage();
       context.safepoint();
     }
+
+    encodedIndex = EncodedBetweenIndex.tryEncode(leftStorages, lowerStorages, upperStorages);
   }
 
+  /** Below this number of right rows, the rows are matched on the calling thread. */
+  private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+  /** The number of right rows matched in one parallel task. */
+  private static final int CHUNK_SIZE = 1 << 12;
+
   private final JoinKind joinKind;
 
   private final int[] directions;
@@ -43,6 +62,12 @@ public class SortJoin implements JoinStrategy {
   private final Storage<?>[] upperStorages;
   private final BitSet matchedLeftRows = new BitSet();
 
+  /**
+   * The keys encoded as primitive longs if all conditions compare values of the same fixed-width
+   * type, or {@code null} if the values have to be compared as objects.
+   */
+  private final EncodedBetweenIndex encodedIndex;
+
   @Override
   public JoinResult join(ProblemAggregator problemAggregator) {
     Context context = Context.getCurrent();
@@ -54,6 +79,14 @@ public class SortJoin implements JoinStrategy {
       // if one group is completely empty, there will be no matches to report
       return resultBuilder.buildAndInvalidate();
     }
+
+    if (encodedIndex != null) {
+      int[] leftRows = IntStream.range(0, leftRowCount).toArray();
+      int[] rightRows = IntStream.range(0, rightRowCount).toArray();
+      joinEncoded(leftRows, rightRows, resultBuilder);
+      return resultBuilder.buildAndInvalidate();
+    }
+
     List<OrderedMultiValueKey> leftKeys = new ArrayList<>(leftRowCount);
     for (int i = 0; i < leftRowCount; i++) {
       leftKeys.add(new OrderedMultiValueKey(leftStorages, i, directions));
@@ -89,6 +122,15 @@ public class SortJoin implements JoinStrategy {
       ProblemAggregator problemAggregator) {
     Context context = Context.getCurrent();
 
+    if (encodedIndex != null) {
+      if (!leftGroup.isEmpty()) {
+        int[] leftRows = leftGroup.stream().mapToInt(Integer::intValue).toArray();
+        int[] rightRows = rightGroup.stream().mapToInt(Integer::intValue).toArray();
+        joinEncoded(leftRows, rightRows, resultBuilder);
+      }
+      return;
+    }
+
     List<OrderedMultiValueKey> leftKeys =
         leftGroup.stream()
             .map(i -> new OrderedMultiValueKey(leftStorages, i, directions, objectComparator))
@@ -118,6 +160,79 @@ public class SortJoin implements JoinStrategy {
     }
   }
 
+  /**
+   * Joins the rows using the encoded keys, reporting the pairs in the same order as the generic
+   * path. Many right rows are matched in chunks on multiple threads, whose results are then
+   * appended in order.
+   */
+  private void joinEncoded(int[] leftRows, int[] rightRows, JoinResult.Builder resultBuilder) {
+    EncodedBetweenIndex.Group group = encodedIndex.index(leftRows);
+    if (rightRows.length < PARALLEL_THRESHOLD || !ParallelExecution.isEnabled()) {
+      matchEncodedChunk(group, rightRows, 0, rightRows.length, resultBuilder, matchedLeftRows);
+    } else {
+      int chunkCount = (rightRows.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+      JoinResult.Builder[] chunkBuilders = new JoinResult.Builder[chunkCount];
+      BitSet[] chunkMatchedLeftRows = new BitSet[chunkCount];
+      ParallelExecution.forEachIndexPollingSafepoints(
+          chunkCount,
+          ParallelExecution.parallelism(),
+          chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            int to = Math.min(from + CHUNK_SIZE, rightRows.length);
+            chunkBuilders[chunk] = new JoinResult.Builder();
+            chunkMatchedLeftRows[chunk] = new BitSet();
+            matchEncodedChunk(
+                group, rightRows, from, to, chunkBuilders[chunk], chunkMatchedLeftRows[chunk]);
+          });
+
+      Context context = Context.getCurrent();
+      for (int chunk = 0; chunk < chunkCount; chunk++) {
+        resultBuilder.appendAndInvalidate(chunkBuilders[chunk]);
+        matchedLeftRows.or(chunkMatchedLeftRows[chunk]);
+        chunkBuilders[chunk] = null;
+        context.safepoint();
+      }
+    }
+
+    if (joinKind.wantsLeftUnmatched) {
+      Context context = Context.getCurrent();
+      for (int leftRowIx : leftRows) {
+        if (!matchedLeftRows.get(leftRowIx)) {
+          resultBuilder.addUnmatchedLeftRow(leftRowIx);
+        }
+        context.safepoint();
+      }
+    }
+  }
+
+  /** Matches the right rows in {@code [from, to)}. It does not touch the polyglot Context. */
+  private void matchEncodedChunk(
+      EncodedBetweenIndex.Group group,
+      int[] rightRows,
+      int from,
+      int to,
+      JoinResult.Builder resultBuilder,
+      BitSet matchedLeftRows) {
+    EncodedBetweenIndex.Group.Matcher matcher = group.matcher();
+    for (int i = from; i < to; i++) {
+      int rightRowIx = rightRows[i];
+      int matches =
+          matcher.match(
+              rightRowIx,
+              leftRowIx -> {
+                if (joinKind.wantsCommon) {
+                  resultBuilder.addMatchedRowsPair(leftRowIx, rightRowIx);
+                }
+                if (joinKind.wantsLeftUnmatched) {
+                  matchedLeftRows.set(leftRowIx);
+                }
+              });
+      if (joinKind.wantsRightUnmatched && matches == 0) {
+        resultBuilder.addUnmatchedRightRow(rightRowIx);
+      }
+    }
+  }
+
   private SortedListIndex<OrderedMultiValueKey> buildSortedLeftIndex(
       List<OrderedMultiValueKey> keys) {
     return SortedListIndex.build(keys, firstCoordinateComparator);
@@ -51,9 +51,9 @@ public class CompoundHashJoin implements JoinStrategy {
             problemAggregator);
 
     JoinResult.Builder resultBuilder = new JoinResult.Builder();
-    for (var leftEntry : leftIndex.mapping().entrySet()) {
+    for (var leftEntry : leftIndex.groupIds().entrySet()) {
       UnorderedMultiValueKey leftKey = leftEntry.getKey();
-      List<Integer> leftRows = leftEntry.getValue();
+      List<Integer> leftRows = leftIndex.grouping().groupRows(leftEntry.getValue());
       // If any field of the key is null, it cannot match anything.
       List<Integer> rightRows = leftKey.hasAnyNulls() ? null : rightIndex.get(leftKey);
 
@@ -72,13 +72,13 @@ public class CompoundHashJoin implements JoinStrategy {
     }
 
     if (joinKind.wantsRightUnmatched) {
-      for (var rightEntry : rightIndex.mapping().entrySet()) {
+      for (var rightEntry : rightIndex.groupIds().entrySet()) {
         UnorderedMultiValueKey rightKey = rightEntry.getKey();
         // If any field of the key is null, it cannot match anything.
         boolean wasCompletelyUnmatched =
             rightKey.hasAnyNulls() ? true : !leftIndex.contains(rightKey);
         if (wasCompletelyUnmatched) {
-          for (int rightRow : rightEntry.getValue()) {
+          for (int rightRow : rightIndex.grouping().groupRows(rightEntry.getValue())) {
             resultBuilder.addUnmatchedRightRow(rightRow);
           }
         }
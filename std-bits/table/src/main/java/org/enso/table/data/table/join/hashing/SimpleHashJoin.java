@@ -1,17 +1,21 @@
 package org.enso.table.data.table.join.hashing;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.index.MultiValueIndex;
+import org.enso.table.data.index.RowGrouping;
 import org.enso.table.data.index.UnorderedMultiValueKey;
 import org.enso.table.data.table.Column;
 import org.enso.table.data.table.join.JoinKind;
 import org.enso.table.data.table.join.JoinResult;
 import org.enso.table.data.table.join.JoinStrategy;
 import org.enso.table.data.table.join.conditions.HashableCondition;
+import org.enso.table.data.table.problems.FloatingPointGrouping;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
 import org.graalvm.polyglot.Context;
@@ -53,6 +57,24 @@ public class SimpleHashJoin implements JoinStrategy {
     assert (hashJoinConfig.getLeftNumRows() >= hashJoinConfig.getRightNumRows());
 
     var groupingProblemAggregator = new ColumnAggregatedProblemAggregator(problemAggregator);
+    if (hashJoinConfig.getLeftEquals().length == 1) {
+      var rightGroupingProblemAggregator = new ColumnAggregatedProblemAggregator(problemAggregator);
+      var rightColumn = hashJoinConfig.getRightEquals()[0];
+      var leftColumn = hashJoinConfig.getLeftEquals()[0];
+      var singleColumnIndex =
+          SingleColumnHashIndex.tryBuild(
+              rightColumn.getStorage(),
+              leftColumn.getStorage(),
+              hashJoinConfig.getTextFoldingStrategies().get(0));
+      if (singleColumnIndex != null) {
+        reportFloatingEquality(rightColumn, rightGroupingProblemAggregator);
+        reportFloatingEquality(leftColumn, groupingProblemAggregator);
+        return joinOnSingleColumn(singleColumnIndex);
+      }
+
+      rightGroupingProblemAggregator.detachFromParent();
+    }
+
     var rightIndex =
         MultiValueIndex.makeUnorderedIndex(
             hashJoinConfig.getRightEquals(),
@@ -91,16 +113,81 @@ public class SimpleHashJoin implements JoinStrategy {
     return resultBuilder.buildAndInvalidate();
   }
 
+  /**
+   * Performs the join using an index of the single key column, which does not allocate any objects
+   * per row.
+   *
+   * <p>The matches are reported in the same order as in the general case. Unmatched right rows are
+   * reported in the order of their indices.
+   */
+  private JoinResult joinOnSingleColumn(SingleColumnHashIndex rightIndex) {
+    Context context = Context.getCurrent();
+    BitSet matchedRightGroups = new BitSet();
+    for (int leftRow = 0; leftRow < hashJoinConfig.getLeftNumRows(); leftRow++) {
+      int rightGroup = rightIndex.findGroup(leftRow);
+      if (rightGroup != -1) {
+        if (joinKind.wantsCommon) {
+          for (int rightRow = rightIndex.firstRow(rightGroup);
+              rightRow != -1;
+              rightRow = rightIndex.nextRow(rightRow)) {
+            resultBuilder.addMatchedRowsPair(leftRow, rightRow);
+            context.safepoint();
+          }
+        }
+        if (joinKind.wantsRightUnmatched) {
+          matchedRightGroups.set(rightGroup);
+        }
+      } else if (joinKind.wantsLeftUnmatched) {
+        resultBuilder.addUnmatchedLeftRow(leftRow);
+      }
+      context.safepoint();
+    }
+
+    if (joinKind.wantsRightUnmatched) {
+      for (int rightRow = 0; rightRow < hashJoinConfig.getRightNumRows(); rightRow++) {
+        int rightGroup = rightIndex.groupOf(rightRow);
+        if (rightGroup == -1 || !matchedRightGroups.get(rightGroup)) {
+          resultBuilder.addUnmatchedRightRow(rightRow);
+        }
+        context.safepoint();
+      }
+    }
+
+    return resultBuilder.buildAndInvalidate();
+  }
+
+  /**
+   * Reports a floating-point equality warning if the column contains floating point values, like
+   * {@link UnorderedMultiValueKey#checkAndReportFloatingEquality} would. Since such warnings are
+   * merged per column, it is enough to report the first affected row.
+   */
+  private static void reportFloatingEquality(
+      Column column, ColumnAggregatedProblemAggregator problemAggregator) {
+    Storage<?> storage = column.getStorage();
+    if (storage instanceof DoubleStorage) {
+      for (int row = 0; row < storage.size(); row++) {
+        if (!storage.isNothing(row)) {
+          problemAggregator.reportColumnAggregatedProblem(
+              new FloatingPointGrouping(column.getName(), row));
+          return;
+        }
+      }
+    }
+  }
+
   private void addUnmatchedRightRows(
       MultiValueIndex<UnorderedMultiValueKey> rightIndex,
       Set<UnorderedMultiValueKey> matchedRightKeys) {
     Context context = Context.getCurrent();
-    for (var rightEntry : rightIndex.mapping().entrySet()) {
+    RowGrouping rightGrouping = rightIndex.grouping();
+    int[] rightRows = rightGrouping.rows();
+    for (var rightEntry : rightIndex.groupIds().entrySet()) {
       UnorderedMultiValueKey rightKey = rightEntry.getKey();
       boolean wasCompletelyUnmatched = !matchedRightKeys.contains(rightKey);
       if (wasCompletelyUnmatched) {
-        for (int rightRow : rightEntry.getValue()) {
-          resultBuilder.addUnmatchedRightRow(rightRow);
+        int groupId = rightEntry.getValue();
+        for (int i = rightGrouping.groupStart(groupId); i < rightGrouping.groupEnd(groupId); i++) {
+          resultBuilder.addUnmatchedRightRow(rightRows[i]);
           context.safepoint();
         }
       }
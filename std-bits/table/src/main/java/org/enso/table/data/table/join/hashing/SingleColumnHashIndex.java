@@ -0,0 +1,338 @@
+package org.enso.table.data.table.join.hashing;
+
+import java.util.Arrays;
+import org.enso.base.text.TextFoldingStrategy;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.StringDictionary;
+import org.enso.table.data.column.storage.StringStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A hash index over a single key column, used to join on equality of primitive columns without
+ * allocating key objects for each row.
+ *
+ * <p>The distinct keys of the indexed column are numbered in an open-addressing table, and the rows
+ * of each key are chained, in increasing order, through an {@code int} array. The rows of the other
+ * column are then looked up one by one.
+ *
+ * <p>Keys are compared in the same way as {@link org.enso.table.data.index.UnorderedMultiValueKey}
+ * compares them: whole floating point numbers are equal to the corresponding integers, and texts
+ * are compared after Unicode normalization. Missing values never match anything.
+ *
+ * <p>The lookups keep the current key in fields of the index, so it must not be used from multiple
+ * threads.
+ */
+abstract class SingleColumnHashIndex {
+  private static final int NO_ROW = -1;
+
+  /** Maps each indexed row to its group, or -1 for missing values. */
+  private final int[] groupOfRow;
+
+  /** For each group, its first row. */
+  private int[] firstRowOfGroup;
+
+  /** For each indexed row, the next row of the same group, or -1 if it is the last one. */
+  private final int[] nextRow;
+
+  /** Slots of the open-addressing table, storing group ids increased by one (0 means empty). */
+  private int[] slots;
+
+  private int groupCount = 0;
+
+  private SingleColumnHashIndex(int size) {
+    this.groupOfRow = new int[size];
+    this.nextRow = new int[size];
+    this.firstRowOfGroup = new int[16];
+    this.slots = new int[tableCapacity(size)];
+  }
+
+  /**
+   * Builds an index of {@code indexed}, to be probed with rows of {@code probed}.
+   *
+   * <p>Returns {@code null} if this kind of index does not support the given pair of columns.
+   */
+  static SingleColumnHashIndex tryBuild(
+      Storage<?> indexed, Storage<?> probed, TextFoldingStrategy textFoldingStrategy) {
+    SingleColumnHashIndex index;
+    if (isNumeric(indexed) && isNumeric(probed)) {
+      index = new NumericIndex(indexed, probed);
+    } else if (indexed instanceof StringStorage indexedTexts
+        && probed instanceof StringStorage probedTexts
+        && textFoldingStrategy == TextFoldingStrategy.unicodeNormalizedFold) {
+      index = new TextIndex(indexedTexts, probedTexts, textFoldingStrategy);
+    } else {
+      return null;
+    }
+
+    index.build(indexed);
+    return index;
+  }
+
+  private static boolean isNumeric(Storage<?> storage) {
+    return storage instanceof AbstractLongStorage || storage instanceof DoubleStorage;
+  }
+
+  private static int tableCapacity(int size) {
+    return Integer.highestOneBit(Math.max(size, 8) * 2 - 1) * 2;
+  }
+
+  private void build(Storage<?> indexed) {
+    Context context = Context.getCurrent();
+    int size = groupOfRow.length;
+    int[] lastRowOfGroup = new int[firstRowOfGroup.length];
+    Arrays.fill(nextRow, NO_ROW);
+    for (int row = 0; row < size; row++) {
+      if (indexed.isNothing(row)) {
+        groupOfRow[row] = -1;
+      } else {
+        int mask = slots.length - 1;
+        int slot = loadIndexedKey(row) & mask;
+        int group = -1;
+        while (slots[slot] != 0) {
+          if (currentKeyMatches(slots[slot] - 1)) {
+            group = slots[slot] - 1;
+            break;
+          }
+          slot = (slot + 1) & mask;
+        }
+
+        if (group == -1) {
+          group = groupCount++;
+          slots[slot] = group + 1;
+          if (group == firstRowOfGroup.length) {
+            firstRowOfGroup = Arrays.copyOf(firstRowOfGroup, group * 2);
+            lastRowOfGroup = Arrays.copyOf(lastRowOfGroup, group * 2);
+            growGroups(group * 2);
+          }
+          storeCurrentKey(group);
+          firstRowOfGroup[group] = row;
+        } else {
+          nextRow[lastRowOfGroup[group]] = row;
+        }
+
+        lastRowOfGroup[group] = row;
+        groupOfRow[row] = group;
+      }
+
+      context.safepoint();
+    }
+  }
+
+  /**
+   * Returns the group of indexed rows matching the given row of the probed column, or -1 if there
+   * are none.
+   */
+  final int findGroup(int probedRow) {
+    if (isProbedRowMissing(probedRow)) {
+      return -1;
+    }
+
+    int mask = slots.length - 1;
+    int slot = loadProbedKey(probedRow) & mask;
+    while (slots[slot] != 0) {
+      int candidate = slots[slot] - 1;
+      if (currentKeyMatches(candidate)) {
+        return candidate;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    return -1;
+  }
+
+  /** Returns the group of the given indexed row, or -1 if its value is missing. */
+  final int groupOf(int indexedRow) {
+    return groupOfRow[indexedRow];
+  }
+
+  final int firstRow(int group) {
+    return firstRowOfGroup[group];
+  }
+
+  /** Returns the next indexed row of the same group, or -1 if there are no more. */
+  final int nextRow(int indexedRow) {
+    return nextRow[indexedRow];
+  }
+
+  protected abstract boolean isProbedRowMissing(int row);
+
+  /** Makes the key of the given indexed row the current key and returns its hash. */
+  protected abstract int loadIndexedKey(int row);
+
+  /** Makes the key of the given probed row the current key and returns its hash. */
+  protected abstract int loadProbedKey(int row);
+
+  protected abstract boolean currentKeyMatches(int group);
+
+  /** Records the current key as the key of a new group. */
+  protected abstract void storeCurrentKey(int group);
+
+  protected abstract void growGroups(int capacity);
+
+  private static int mix(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  /**
+   * An index of integer or floating point keys.
+   *
+   * <p>Each key is stored as a long together with a flag telling whether it is a fractional
+   * floating point number (stored as its bits) or a whole number (stored as its value). Whole
+   * floating point numbers are folded to integers, like {@link
+   * org.enso.base.polyglot.EnsoObjectWrapper#foldObject} does.
+   */
+  private static final class NumericIndex extends SingleColumnHashIndex {
+    private final Storage<?> probed;
+    private final AbstractLongStorage indexedLongs;
+    private final DoubleStorage indexedDoubles;
+    private final AbstractLongStorage probedLongs;
+    private final DoubleStorage probedDoubles;
+    private long[] groupKeys = new long[16];
+    private boolean[] groupIsFractional = new boolean[16];
+    private long currentKey;
+    private boolean currentIsFractional;
+
+    NumericIndex(Storage<?> indexed, Storage<?> probed) {
+      super(indexed.size());
+      this.probed = probed;
+      this.indexedLongs = indexed instanceof AbstractLongStorage s ? s : null;
+      this.indexedDoubles = indexed instanceof DoubleStorage s ? s : null;
+      this.probedLongs = probed instanceof AbstractLongStorage s ? s : null;
+      this.probedDoubles = probed instanceof DoubleStorage s ? s : null;
+    }
+
+    @Override
+    protected boolean isProbedRowMissing(int row) {
+      return probed.isNothing(row);
+    }
+
+    @Override
+    protected int loadIndexedKey(int row) {
+      return load(indexedLongs, indexedDoubles, row);
+    }
+
+    @Override
+    protected int loadProbedKey(int row) {
+      return load(probedLongs, probedDoubles, row);
+    }
+
+    private int load(AbstractLongStorage longs, DoubleStorage doubles, int row) {
+      if (longs != null) {
+        currentKey = longs.getItem(row);
+        currentIsFractional = false;
+      } else {
+        double value = doubles.getItemAsDouble(row);
+        currentIsFractional = value % 1 != 0;
+        currentKey = currentIsFractional ? Double.doubleToLongBits(value) : (long) value;
+      }
+
+      return mix(currentIsFractional ? ~currentKey : currentKey);
+    }
+
+    @Override
+    protected boolean currentKeyMatches(int group) {
+      return groupKeys[group] == currentKey && groupIsFractional[group] == currentIsFractional;
+    }
+
+    @Override
+    protected void storeCurrentKey(int group) {
+      groupKeys[group] = currentKey;
+      groupIsFractional[group] = currentIsFractional;
+    }
+
+    @Override
+    protected void growGroups(int capacity) {
+      groupKeys = Arrays.copyOf(groupKeys, capacity);
+      groupIsFractional = Arrays.copyOf(groupIsFractional, capacity);
+    }
+  }
+
+  /**
+   * An index of text keys, compared after folding.
+   *
+   * <p>For dictionary-encoded columns, each entry of the dictionary is folded only once.
+   */
+  private static final class TextIndex extends SingleColumnHashIndex {
+    private final FoldedTexts indexed;
+    private final FoldedTexts probed;
+    private String[] groupKeys = new String[16];
+    private int[] groupHashes = new int[16];
+    private String currentKey;
+    private int currentHash;
+
+    TextIndex(
+        StringStorage indexed, StringStorage probed, TextFoldingStrategy textFoldingStrategy) {
+      super(indexed.size());
+      this.indexed = new FoldedTexts(indexed, textFoldingStrategy);
+      this.probed = new FoldedTexts(probed, textFoldingStrategy);
+    }
+
+    @Override
+    protected boolean isProbedRowMissing(int row) {
+      return probed.storage.isNothing(row);
+    }
+
+    @Override
+    protected int loadIndexedKey(int row) {
+      return load(indexed.fold(row));
+    }
+
+    @Override
+    protected int loadProbedKey(int row) {
+      return load(probed.fold(row));
+    }
+
+    private int load(String foldedValue) {
+      currentKey = foldedValue;
+      currentHash = currentKey.hashCode();
+      return mix(currentHash);
+    }
+
+    @Override
+    protected boolean currentKeyMatches(int group) {
+      return groupHashes[group] == currentHash && groupKeys[group].equals(currentKey);
+    }
+
+    @Override
+    protected void storeCurrentKey(int group) {
+      groupKeys[group] = currentKey;
+      groupHashes[group] = currentHash;
+    }
+
+    @Override
+    protected void growGroups(int capacity) {
+      groupKeys = Arrays.copyOf(groupKeys, capacity);
+      groupHashes = Arrays.copyOf(groupHashes, capacity);
+    }
+  }
+
+  /** Folds the texts of a column, caching the folded entries of its dictionary if it has one. */
+  private static final class FoldedTexts {
+    private final StringStorage storage;
+    private final TextFoldingStrategy textFoldingStrategy;
+    private final StringDictionary dictionary;
+    private final String[] foldedEntries;
+
+    FoldedTexts(StringStorage storage, TextFoldingStrategy textFoldingStrategy) {
+      this.storage = storage;
+      this.textFoldingStrategy = textFoldingStrategy;
+      this.dictionary = storage.getDictionary();
+      this.foldedEntries = dictionary == null ? null : new String[dictionary.entryCount()];
+    }
+
+    String fold(int row) {
+      if (dictionary == null) {
+        return textFoldingStrategy.fold(storage.getItemBoxed(row));
+      }
+
+      int code = dictionary.codeOf(row);
+      if (foldedEntries[code] == null) {
+        foldedEntries[code] = textFoldingStrategy.fold(dictionary.entry(code));
+      }
+      return foldedEntries[code];
+    }
+  }
+}
@@ -19,11 +19,18 @@ import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 public class ExcelConnectionPool {
   public static final ExcelConnectionPool INSTANCE = new ExcelConnectionPool();
 
+  /**
+   * The number of rows kept in memory when writing a new XLSX file. Older rows are flushed to a
+   * temporary file, so large tables can be written with bounded memory.
+   */
+  private static final int STREAMING_ROW_WINDOW = 1000;
+
   private ExcelConnectionPool() {}
 
   public ReadOnlyExcelConnection openReadOnlyConnection(File file, ExcelFileFormat format)
@@ -85,34 +92,46 @@ public class ExcelConnectionPool {
           preExistingFile
               ? ExcelConnectionPool.openWorkbook(file, format, true)
               : createEmptyWorkbook(format)) {
-        R result = writeAction.apply(workbook);
+        try {
+          return writeWorkbook(file, workbook, preExistingFile, writeAction);
+        } finally {
+          if (workbook instanceof SXSSFWorkbook streamingWorkbook) {
+            streamingWorkbook.dispose();
+          }
+        }
+      }
+    }
 
-        if (preExistingFile) {
-          // Save the file in place.
-          switch (workbook) {
-            case HSSFWorkbook wb -> {
-              wb.write();
-            }
-            case XSSFWorkbook wb -> {
-              try {
-                wb.write(null);
-              } catch (OpenXML4JRuntimeException e) {
-                // Ignore: Workaround for bug https://bz.apache.org/bugzilla/show_bug.cgi?id=59252
-              }
-            }
-            default -> throw new IllegalStateException(
-                "Unknown workbook type: " + workbook.getClass());
+    private static <R> R writeWorkbook(
+        File file, Workbook workbook, boolean preExistingFile, Function<Workbook, R> writeAction)
+        throws IOException {
+      R result = writeAction.apply(workbook);
+
+      if (preExistingFile) {
+        // Save the file in place.
+        switch (workbook) {
+          case HSSFWorkbook wb -> {
+            wb.write();
           }
-        } else {
-          try (OutputStream fileOut = Files.newOutputStream(file.toPath())) {
-            try (BufferedOutputStream workbookOut = new BufferedOutputStream(fileOut)) {
-              workbook.write(workbookOut);
+          case XSSFWorkbook wb -> {
+            try {
+              wb.write(null);
+            } catch (OpenXML4JRuntimeException e) {
+              // Ignore: Workaround for bug https://bz.apache.org/bugzilla/show_bug.cgi?id=59252
             }
           }
+          default -> throw new IllegalStateException(
+              "Unknown workbook type: " + workbook.getClass());
+        }
+      } else {
+        try (OutputStream fileOut = Files.newOutputStream(file.toPath())) {
+          try (BufferedOutputStream workbookOut = new BufferedOutputStream(fileOut)) {
+            workbook.write(workbookOut);
+          }
         }
-
-        return result;
       }
+
+      return result;
     }
   }
 
@@ -300,7 +319,7 @@ public class ExcelConnectionPool {
   private static Workbook createEmptyWorkbook(ExcelFileFormat format) {
     return switch (format) {
       case XLS -> new HSSFWorkbook();
-      case XLSX -> new XSSFWorkbook();
+      case XLSX -> new SXSSFWorkbook(STREAMING_ROW_WINDOW);
     };
   }
 
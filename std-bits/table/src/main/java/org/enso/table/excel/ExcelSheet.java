@@ -1,37 +1,27 @@
 package org.enso.table.excel;
 
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 
-/** Wrapper class to handle Excel sheets. */
-public class ExcelSheet {
-  private final Sheet sheet;
-  private final int firstRow;
-  private final int lastRow;
-  private final boolean use1904Format;
-
-  public ExcelSheet(Workbook workbook, int sheetIndex) {
-    this.sheet = workbook.getSheetAt(sheetIndex);
-    this.firstRow = sheet.getFirstRowNum() + 1;
-    this.lastRow = sheet.getLastRowNum() + 1;
-    this.use1904Format = ExcelUtils.is1904DateSystem(workbook);
+/** Read-only access to the rows of an Excel sheet. Rows are 1-based. */
+public interface ExcelSheet {
+  /** Wraps a sheet of a workbook loaded with the POI user model. */
+  static ExcelSheet forPOIUserModel(Workbook workbook, int sheetIndex) {
+    return new UserModelSheet(workbook, sheetIndex);
   }
 
-  public int getLastRow() {
-    return lastRow;
-  }
+  int getFirstRow();
 
-  public int getFirstRow() {
-    return firstRow;
-  }
+  int getLastRow();
 
-  public ExcelRow get(int row) {
-    Row underlyingRow = row < firstRow || row > lastRow ? null : sheet.getRow(row - 1);
-    return underlyingRow == null ? null : new ExcelRow(underlyingRow, use1904Format);
+  /**
+   * Returns the last row of the sheet if it is not after the given row, or the given row otherwise.
+   *
+   * <p>Unlike {@link #getLastRow()}, this does not require reading the rows after the given one.
+   */
+  default int getLastRowUpTo(int row) {
+    return Math.min(getLastRow(), row);
   }
 
-  public Sheet getSheet() {
-    return sheet;
-  }
+  /** Returns the given row, or {@code null} if it does not exist. */
+  ExcelRow get(int row);
 }
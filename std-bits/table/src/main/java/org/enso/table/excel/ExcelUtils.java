@@ -3,6 +3,7 @@ package org.enso.table.excel;
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
+import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
@@ -24,6 +25,48 @@ public class ExcelUtils {
     return use1904Dates;
   }
 
+  /**
+   * Converts the value of a numeric cell, interpreting it as a date, time or date-time if the cell
+   * has a date format.
+   *
+   * @param value the value of the cell
+   * @param formatIndex the index of the number format of the cell
+   * @param format the number format of the cell, or {@code null} if it is unknown
+   * @param use1904Format whether the workbook uses the 1904 date system
+   * @return the value of the cell, or {@code null} if it is an invalid date
+   */
+  public static Object fromExcelNumber(
+      double value, int formatIndex, String format, boolean use1904Format) {
+    if (format != null && DateUtil.isADateFormat(formatIndex, format)) {
+      var temporal = use1904Format ? fromExcelDateTime1904(value) : fromExcelDateTime(value);
+
+      if (temporal == null) {
+        return null;
+      }
+
+      return switch (temporal) {
+        case LocalDate date -> (format.contains("h") || format.contains("H"))
+            ? date.atStartOfDay(ZoneId.systemDefault())
+            : date;
+        case ZonedDateTime zdt -> {
+          if (!use1904Format || zdt.getYear() != 1904 || zdt.getDayOfYear() != 1) {
+            yield temporal;
+          }
+          yield (format.contains("y") || format.contains("M") || format.contains("d"))
+              ? zdt
+              : zdt.toLocalTime();
+        }
+        default -> temporal;
+      };
+    } else {
+      if (value == (long) value) {
+        return (long) value;
+      } else {
+        return value;
+      }
+    }
+  }
+
   /** Converts an Excel date-time value to a {@link Temporal}. */
   public static Temporal fromExcelDateTime(double value) {
     // Excel treats 1900-02-29 as a valid date, which it is not a valid date.
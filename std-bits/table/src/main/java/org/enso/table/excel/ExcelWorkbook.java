@@ -0,0 +1,31 @@
+package org.enso.table.excel;
+
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * Read-only access to the sheets and named ranges of an Excel workbook.
+ *
+ * <p>Workbooks loaded with the POI user model are wrapped with {@link #forPOIUserModel}, while XLSX
+ * files can also be read without loading them fully with {@link StreamingWorkbook}.
+ */
+public interface ExcelWorkbook {
+  /** Wraps a workbook loaded with the POI user model. */
+  static ExcelWorkbook forPOIUserModel(Workbook workbook) {
+    return new UserModelWorkbook(workbook);
+  }
+
+  int getNumberOfSheets();
+
+  /** Returns the 0-based index of the sheet with the given name, or -1 if there is none. */
+  int getSheetIndex(String name);
+
+  String getSheetName(int sheetIndex);
+
+  String[] getRangeNames();
+
+  /** Returns the formula the named range refers to, or {@code null} if there is no such name. */
+  String getNameFormula(String name);
+
+  /** Returns the sheet with the given 0-based index. */
+  ExcelSheet getSheetAt(int sheetIndex);
+}
@@ -0,0 +1,130 @@
+package org.enso.table.excel;
+
+import java.util.Arrays;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.ExcelNumberFormat;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A row of a {@link StreamingSheet}, storing the raw cell contents as they appear in the sheet XML.
+ * Shared strings are already resolved.
+ */
+final class StreamingRow implements ExcelRow {
+  static final byte BLANK = 0;
+  static final byte NUMERIC = 1;
+  static final byte STRING = 2;
+  static final byte BOOLEAN = 3;
+  static final byte ERROR = 4;
+
+  private static final DataFormatter formatter = new DataFormatter();
+
+  private final StreamingWorkbook workbook;
+  private final int count;
+
+  /** The 1-based columns of the cells, in increasing order. */
+  private final int[] columns;
+
+  private final byte[] types;
+  private final String[] values;
+  private final int[] styles;
+
+  StreamingRow(
+      StreamingWorkbook workbook,
+      int count,
+      int[] columns,
+      byte[] types,
+      String[] values,
+      int[] styles) {
+    this.workbook = workbook;
+    this.count = count;
+    this.columns = columns;
+    this.types = types;
+    this.values = values;
+    this.styles = styles;
+  }
+
+  @Override
+  public int getFirstColumn() {
+    return count == 0 ? 0 : columns[0];
+  }
+
+  @Override
+  public int getLastColumn() {
+    return count == 0 ? -1 : columns[count - 1];
+  }
+
+  /** Returns the index of the cell in the given column, or -1 if there is none. */
+  private int find(int column) {
+    int index = Arrays.binarySearch(columns, 0, count, column);
+    return index < 0 ? -1 : index;
+  }
+
+  private byte getType(int index) {
+    return index == -1 ? BLANK : types[index];
+  }
+
+  @Override
+  public Object getCellValue(int column) {
+    int index = find(column);
+    return switch (getType(index)) {
+      case NUMERIC -> {
+        ExcelNumberFormat format = workbook.getNumberFormat(styles[index]);
+        yield ExcelUtils.fromExcelNumber(
+            Double.parseDouble(values[index]),
+            format == null ? 0 : format.getIdx(),
+            format == null ? null : format.getFormat(),
+            workbook.use1904Format());
+      }
+      case STRING -> values[index];
+      case BOOLEAN -> values[index].equals("1");
+      default -> null;
+    };
+  }
+
+  @Override
+  public boolean isEmpty(int column) {
+    return getType(find(column)) == BLANK;
+  }
+
+  @Override
+  public String getFormattedCell(int column) {
+    int index = find(column);
+    return switch (getType(index)) {
+      case ERROR -> {
+        // Want to show the error message rather than empty.
+        yield values[index];
+      }
+      case NUMERIC -> {
+        // Special handling for Number or Date cells as want to keep formatting.
+        ExcelNumberFormat format = workbook.getNumberFormat(styles[index]);
+        double value = Double.parseDouble(values[index]);
+        yield format == null
+            ? Double.toString(value)
+            : formatter.formatRawCellContents(value, format.getIdx(), format.getFormat());
+      }
+      default -> {
+        var value = getCellValue(column);
+        yield value == null ? "" : value.toString();
+      }
+    };
+  }
+
+  @Override
+  public String[] getCellsAsText(int startCol, int endCol) {
+    Context context = Context.getCurrent();
+    int currentEndCol = endCol == -1 ? getLastColumn() : endCol;
+
+    String[] output = new String[currentEndCol - startCol + 1];
+    for (int col = startCol; col <= currentEndCol; col++) {
+      int index = find(col);
+      byte type = getType(index);
+      if (type != BLANK && type != STRING) {
+        return null;
+      }
+      output[col - startCol] = type == STRING ? values[index] : "";
+      context.safepoint();
+    }
+
+    return output;
+  }
+}
@@ -0,0 +1,290 @@
+package org.enso.table.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.graalvm.polyglot.Context;
+
+/**
+ * A sheet of a {@link StreamingWorkbook}, parsed with a pull parser only as far as the rows that
+ * have been requested.
+ *
+ * <p>The {@code dimension} element at the start of the sheet is not used to find the last row, as
+ * it is optional, may be stale and is often written as just {@code A1}. Instead, the rows are
+ * parsed until the last one, or only as far as needed by {@link #getLastRowUpTo}.
+ *
+ * <p>Only the first row and the last {@link #LOOK_BACK_ROWS} parsed rows are kept, so reading the
+ * rows in order uses memory independent of the size of the sheet. Asking for a row that has been
+ * dropped parses the sheet again from the start.
+ */
+final class StreamingSheet implements ExcelSheet {
+  private static final int LOOK_BACK_ROWS = 64;
+
+  private final StreamingWorkbook workbook;
+  private final int sheetIndex;
+  private InputStream data;
+  private XMLStreamReader parser;
+  private int firstRow = 0;
+  private StreamingRow firstRowData = null;
+  private int lastParsedRow = 0;
+  private int lastDroppedRow = 0;
+
+  private final Map<Integer, StreamingRow> recentRows =
+      new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, StreamingRow> eldest) {
+          if (size() > LOOK_BACK_ROWS) {
+            lastDroppedRow = eldest.getKey();
+            return true;
+          }
+          return false;
+        }
+      };
+
+  StreamingSheet(StreamingWorkbook workbook, int sheetIndex) {
+    this.workbook = workbook;
+    this.sheetIndex = sheetIndex;
+    open();
+  }
+
+  /** Opens the sheet data and moves the parser to the start of the rows. */
+  private void open() {
+    data = workbook.openSheetData(sheetIndex);
+    try {
+      parser = XMLHelper.newXMLInputFactory().createXMLStreamReader(data);
+      while (parser.hasNext()) {
+        if (parser.next() == XMLStreamConstants.START_ELEMENT
+            && parser.getLocalName().equals("sheetData")) {
+          return;
+        }
+      }
+      close();
+    } catch (XMLStreamException e) {
+      throw invalidSheet(e);
+    }
+  }
+
+  private static UncheckedIOException invalidSheet(Exception cause) {
+    return new UncheckedIOException(new IOException("Invalid sheet data in XLSX file.", cause));
+  }
+
+  @Override
+  public int getFirstRow() {
+    if (firstRow == 0) {
+      parseNextRow();
+    }
+    return firstRow;
+  }
+
+  @Override
+  public int getLastRow() {
+    if (getFirstRow() == 0) {
+      return 0;
+    }
+
+    Context context = Context.getCurrent();
+    while (parser != null) {
+      parseNextRow();
+      context.safepoint();
+    }
+    return lastParsedRow;
+  }
+
+  @Override
+  public int getLastRowUpTo(int row) {
+    if (getFirstRow() == 0) {
+      return 0;
+    }
+
+    Context context = Context.getCurrent();
+    while (parser != null && lastParsedRow < row) {
+      parseNextRow();
+      context.safepoint();
+    }
+    return parser == null ? Math.min(lastParsedRow, row) : row;
+  }
+
+  @Override
+  public ExcelRow get(int row) {
+    if (getFirstRow() == 0 || row <= firstRow) {
+      return row == firstRow ? firstRowData : null;
+    }
+
+    if (row <= lastDroppedRow) {
+      close();
+      recentRows.clear();
+      lastParsedRow = 0;
+      lastDroppedRow = 0;
+      open();
+    }
+
+    Context context = Context.getCurrent();
+    while (parser != null && lastParsedRow < row) {
+      parseNextRow();
+      context.safepoint();
+    }
+    return recentRows.get(row);
+  }
+
+  /** Parses the next row of the sheet, closing the parser once the sheet data is exhausted. */
+  private void parseNextRow() {
+    if (parser == null) {
+      return;
+    }
+
+    try {
+      while (parser.hasNext()) {
+        int event = parser.next();
+        if (event == XMLStreamConstants.START_ELEMENT && parser.getLocalName().equals("row")) {
+          String ref = parser.getAttributeValue(null, "r");
+          int rowNumber = ref == null ? lastParsedRow + 1 : Integer.parseInt(ref);
+          StreamingRow parsed = parseRow();
+          if (firstRow == 0) {
+            firstRow = rowNumber;
+            firstRowData = parsed;
+          } else if (rowNumber > firstRow) {
+            recentRows.put(rowNumber, parsed);
+          }
+          lastParsedRow = rowNumber;
+          return;
+        } else if (event == XMLStreamConstants.END_ELEMENT
+            && parser.getLocalName().equals("sheetData")) {
+          break;
+        }
+      }
+      close();
+    } catch (XMLStreamException | IllegalArgumentException e) {
+      throw invalidSheet(e);
+    }
+  }
+
+  private StreamingRow parseRow() throws XMLStreamException {
+    int count = 0;
+    int[] columns = new int[8];
+    byte[] types = new byte[8];
+    String[] values = new String[8];
+    int[] styles = new int[8];
+
+    int lastColumn = 0;
+    while (parser.nextTag() == XMLStreamConstants.START_ELEMENT) {
+      if (!parser.getLocalName().equals("c")) {
+        skipElement();
+        continue;
+      }
+
+      if (count == columns.length) {
+        int newLength = 2 * count;
+        columns = Arrays.copyOf(columns, newLength);
+        types = Arrays.copyOf(types, newLength);
+        values = Arrays.copyOf(values, newLength);
+        styles = Arrays.copyOf(styles, newLength);
+      }
+
+      String ref = parser.getAttributeValue(null, "r");
+      String type = parser.getAttributeValue(null, "t");
+      String style = parser.getAttributeValue(null, "s");
+      lastColumn = ref == null ? lastColumn + 1 : new CellReference(ref).getCol() + 1;
+      columns[count] = lastColumn;
+      styles[count] = style == null ? 0 : Integer.parseInt(style);
+
+      String value = null;
+      String inlineText = null;
+      while (parser.nextTag() == XMLStreamConstants.START_ELEMENT) {
+        switch (parser.getLocalName()) {
+          case "v" -> value = parser.getElementText();
+          case "is" -> inlineText = readInlineText();
+          default -> skipElement();
+        }
+      }
+
+      if (type == null) {
+        type = "n";
+      }
+      switch (type) {
+        case "s" -> {
+          types[count] = value == null ? StreamingRow.BLANK : StreamingRow.STRING;
+          values[count] =
+              value == null ? null : workbook.getSharedString(Integer.parseInt(value.trim()));
+        }
+        case "inlineStr" -> {
+          types[count] = inlineText == null ? StreamingRow.BLANK : StreamingRow.STRING;
+          values[count] = inlineText;
+        }
+        case "str", "d" -> {
+          types[count] = value == null ? StreamingRow.BLANK : StreamingRow.STRING;
+          values[count] = value;
+        }
+        case "b" -> {
+          types[count] = value == null ? StreamingRow.BLANK : StreamingRow.BOOLEAN;
+          values[count] = value;
+        }
+        case "e" -> {
+          types[count] = value == null ? StreamingRow.BLANK : StreamingRow.ERROR;
+          values[count] = value;
+        }
+        default -> {
+          types[count] =
+              value == null || value.isEmpty() ? StreamingRow.BLANK : StreamingRow.NUMERIC;
+          values[count] = value;
+        }
+      }
+      count++;
+    }
+
+    return new StreamingRow(workbook, count, columns, types, values, styles);
+  }
+
+  /** Reads the text of an inline string, skipping any phonetic runs. */
+  private String readInlineText() throws XMLStreamException {
+    StringBuilder text = new StringBuilder();
+    int depth = 1;
+    while (depth > 0) {
+      int event = parser.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        String name = parser.getLocalName();
+        if (name.equals("t")) {
+          text.append(parser.getElementText());
+        } else if (name.equals("rPh")) {
+          skipElement();
+        } else {
+          depth++;
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+    return text.toString();
+  }
+
+  private void skipElement() throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = parser.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  void close() {
+    try {
+      if (parser != null) {
+        parser.close();
+        parser = null;
+      }
+      data.close();
+    } catch (XMLStreamException | IOException e) {
+      throw invalidSheet(e);
+    }
+  }
+}
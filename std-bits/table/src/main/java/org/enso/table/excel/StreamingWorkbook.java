@@ -0,0 +1,218 @@
+package org.enso.table.excel;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.poi.ooxml.POIXMLTypeLoader;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.ExcelNumberFormat;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.xmlbeans.XmlException;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTDefinedName;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTSheet;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.WorkbookDocument;
+import org.xml.sax.SAXException;
+
+/**
+ * An XLSX workbook read with the POI event API, without building the user model.
+ *
+ * <p>Only the workbook part is loaded up front. The shared strings and styles are loaded when the
+ * first sheet is opened, and sheets are parsed lazily by {@link StreamingSheet}, so reading the top
+ * rows of a large sheet does not parse the remainder.
+ */
+public final class StreamingWorkbook implements ExcelWorkbook, AutoCloseable {
+  private final OPCPackage pkg;
+  private final XSSFReader reader;
+  private ReadOnlySharedStringsTable sharedStrings = null;
+  private StylesTable styles = null;
+  private final String[] sheetNames;
+  private final String[] sheetRelationIds;
+  private final CTDefinedName[] definedNames;
+  private final boolean use1904Format;
+  private final Map<Integer, ExcelNumberFormat> numberFormats = new HashMap<>();
+  private final List<StreamingSheet> openSheets = new ArrayList<>();
+
+  private StreamingWorkbook(OPCPackage pkg)
+      throws IOException, OpenXML4JException, SAXException, XmlException {
+    this.pkg = pkg;
+    this.reader = new XSSFReader(pkg);
+
+    CTWorkbook workbook;
+    try (InputStream workbookData = reader.getWorkbookData()) {
+      workbook =
+          WorkbookDocument.Factory.parse(workbookData, POIXMLTypeLoader.DEFAULT_XML_OPTIONS)
+              .getWorkbook();
+    }
+
+    CTSheet[] sheets = workbook.getSheets().getSheetArray();
+    sheetNames = new String[sheets.length];
+    sheetRelationIds = new String[sheets.length];
+    for (int i = 0; i < sheets.length; i++) {
+      sheetNames[i] = sheets[i].getName();
+      sheetRelationIds[i] = sheets[i].getId();
+    }
+
+    definedNames =
+        workbook.isSetDefinedNames()
+            ? workbook.getDefinedNames().getDefinedNameArray()
+            : new CTDefinedName[0];
+    use1904Format = workbook.isSetWorkbookPr() && workbook.getWorkbookPr().getDate1904();
+  }
+
+  /**
+   * Opens the XLSX file for reading.
+   *
+   * @param file the file to read
+   * @return the opened workbook, which must be closed by the caller
+   * @throws IOException when the file cannot be read or is not a valid XLSX file
+   */
+  public static StreamingWorkbook open(File file) throws IOException {
+    if (!file.exists()) {
+      throw new FileNotFoundException(file.toString());
+    }
+
+    OPCPackage pkg;
+    try {
+      pkg = OPCPackage.open(file, PackageAccess.READ);
+    } catch (InvalidFormatException e) {
+      throw invalidFormat(file, e);
+    }
+
+    try {
+      return new StreamingWorkbook(pkg);
+    } catch (OpenXML4JException | SAXException | XmlException e) {
+      pkg.revert();
+      throw invalidFormat(file, e);
+    } catch (IOException | RuntimeException e) {
+      pkg.revert();
+      throw e;
+    }
+  }
+
+  private static IOException invalidFormat(File file, Exception cause) {
+    return new IOException(
+        "Invalid format encountered when opening the file "
+            + file
+            + " as "
+            + ExcelFileFormat.XLSX
+            + ".",
+        cause);
+  }
+
+  @Override
+  public int getNumberOfSheets() {
+    return sheetNames.length;
+  }
+
+  @Override
+  public int getSheetIndex(String name) {
+    for (int i = 0; i < sheetNames.length; i++) {
+      if (sheetNames[i].equalsIgnoreCase(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String getSheetName(int sheetIndex) {
+    return sheetNames[sheetIndex];
+  }
+
+  @Override
+  public String[] getRangeNames() {
+    String[] names = new String[definedNames.length];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = definedNames[i].getName();
+    }
+    return names;
+  }
+
+  @Override
+  public String getNameFormula(String name) {
+    for (CTDefinedName definedName : definedNames) {
+      if (definedName.getName().equalsIgnoreCase(name)) {
+        return definedName.getStringValue();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public ExcelSheet getSheetAt(int sheetIndex) {
+    try {
+      if (sharedStrings == null) {
+        sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+        styles = reader.getStylesTable();
+      }
+
+      StreamingSheet sheet = new StreamingSheet(this, sheetIndex);
+      openSheets.add(sheet);
+      return sheet;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (InvalidFormatException | SAXException e) {
+      throw invalidSheet(sheetIndex, e);
+    }
+  }
+
+  /** Opens the data of the sheet, to be read from its start. */
+  InputStream openSheetData(int sheetIndex) {
+    try {
+      return reader.getSheet(sheetRelationIds[sheetIndex]);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (InvalidFormatException e) {
+      throw invalidSheet(sheetIndex, e);
+    }
+  }
+
+  private UncheckedIOException invalidSheet(int sheetIndex, Exception cause) {
+    return new UncheckedIOException(
+        new IOException("Invalid sheet '" + sheetNames[sheetIndex] + "'.", cause));
+  }
+
+  boolean use1904Format() {
+    return use1904Format;
+  }
+
+  String getSharedString(int index) {
+    return sharedStrings.getItemAt(index).getString();
+  }
+
+  /** Returns the number format of the cell style, or {@code null} if it is not known. */
+  ExcelNumberFormat getNumberFormat(int styleIndex) {
+    if (styles == null || styles.getNumCellStyles() == 0) {
+      return null;
+    }
+
+    return numberFormats.computeIfAbsent(
+        styleIndex,
+        idx -> {
+          XSSFCellStyle style = idx < styles.getNumCellStyles() ? styles.getStyleAt(idx) : null;
+          return ExcelNumberFormat.from(style);
+        });
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (StreamingSheet sheet : openSheets) {
+      sheet.close();
+    }
+    openSheets.clear();
+    pkg.revert();
+  }
+}
@@ -0,0 +1,36 @@
+package org.enso.table.excel;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/** An {@link ExcelSheet} of a workbook loaded with the POI user model. */
+class UserModelSheet implements ExcelSheet {
+  private final Sheet sheet;
+  private final int firstRow;
+  private final int lastRow;
+  private final boolean use1904Format;
+
+  UserModelSheet(Workbook workbook, int sheetIndex) {
+    this.sheet = workbook.getSheetAt(sheetIndex);
+    this.firstRow = sheet.getFirstRowNum() + 1;
+    this.lastRow = sheet.getLastRowNum() + 1;
+    this.use1904Format = ExcelUtils.is1904DateSystem(workbook);
+  }
+
+  @Override
+  public int getLastRow() {
+    return lastRow;
+  }
+
+  @Override
+  public int getFirstRow() {
+    return firstRow;
+  }
+
+  @Override
+  public ExcelRow get(int row) {
+    Row underlyingRow = row < firstRow || row > lastRow ? null : sheet.getRow(row - 1);
+    return underlyingRow == null ? null : new UserModelRow(underlyingRow, use1904Format);
+  }
+}
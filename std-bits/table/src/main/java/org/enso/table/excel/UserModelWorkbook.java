@@ -0,0 +1,38 @@
+package org.enso.table.excel;
+
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/** An {@link ExcelWorkbook} loaded with the POI user model. */
+record UserModelWorkbook(Workbook workbook) implements ExcelWorkbook {
+  @Override
+  public int getNumberOfSheets() {
+    return workbook.getNumberOfSheets();
+  }
+
+  @Override
+  public int getSheetIndex(String name) {
+    return workbook.getSheetIndex(name);
+  }
+
+  @Override
+  public String getSheetName(int sheetIndex) {
+    return workbook.getSheetName(sheetIndex);
+  }
+
+  @Override
+  public String[] getRangeNames() {
+    return workbook.getAllNames().stream().map(Name::getNameName).toArray(String[]::new);
+  }
+
+  @Override
+  public String getNameFormula(String name) {
+    Name namedRange = workbook.getName(name);
+    return namedRange == null ? null : namedRange.getRefersToFormula();
+  }
+
+  @Override
+  public ExcelSheet getSheetAt(int sheetIndex) {
+    return new UserModelSheet(workbook, sheetIndex);
+  }
+}
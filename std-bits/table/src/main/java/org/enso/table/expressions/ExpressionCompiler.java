@@ -0,0 +1,647 @@
+package org.enso.table.expressions;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import org.antlr.v4.runtime.tree.RuleNode;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.numeric.LongStorage;
+import org.enso.table.data.column.storage.type.IntegerType;
+import org.enso.table.data.table.Column;
+import org.enso.table.data.table.Table;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Compiles expressions into kernels evaluating them in a single pass over the columns of a table.
+ *
+ * <p>{@link ExpressionVisitorImpl} evaluates every operator by calling the corresponding method of
+ * the Enso column, materializing a column for each sub-expression. Arithmetic, comparisons and
+ * boolean logic over integer, float and boolean columns are instead evaluated here batch by batch,
+ * over primitive arrays, with the same semantics as the column operations.
+ *
+ * <p>Any other construct is not compiled. Expressions which would report a problem, like an
+ * arithmetic overflow, a division by zero or an equality check of floats, are not handled either,
+ * so that the problems are reported by the general evaluator.
+ */
+public final class ExpressionCompiler {
+  private static final int BATCH_SIZE = 1024;
+
+  private ExpressionCompiler() {}
+
+  /**
+   * Evaluates the expression over the table, if it can be compiled.
+   *
+   * @param expression the expression to evaluate
+   * @param table the table whose columns are referenced by the expression
+   * @return the storage of the resulting column, or {@code null} if the expression needs to be
+   *     evaluated by {@link ExpressionVisitorImpl}
+   */
+  public static Storage<?> evaluate(String expression, Table table) {
+    Compiler compiler = new Compiler(table);
+    Node root;
+    try {
+      root = compiler.visit(ExpressionVisitorImpl.parse(expression));
+    } catch (ExpressionVisitorImpl.SyntaxErrorException e) {
+      return null;
+    }
+
+    // Expressions without any column are left to the general evaluator, which makes them into
+    // constant columns, and so are bare column references, which keep the column as it is.
+    if (root == null
+        || !compiler.hasColumnReference
+        || root instanceof LongColumn
+        || root instanceof DoubleColumn
+        || root instanceof BoolColumn) {
+      return null;
+    }
+
+    try {
+      return root.evaluateAll(table.rowCount());
+    } catch (ProblemEncounteredException e) {
+      return null;
+    }
+  }
+
+  /** Thrown during evaluation if a row would report a problem. */
+  private static final class ProblemEncounteredException extends RuntimeException {
+    private static final ProblemEncounteredException INSTANCE = new ProblemEncounteredException();
+
+    private ProblemEncounteredException() {
+      super(null, null, false, false);
+    }
+  }
+
+  /** Lowers the parse tree into nodes, returning {@code null} for anything not supported. */
+  private static final class Compiler extends ExpressionBaseVisitor<Node> {
+    private final Table table;
+    private boolean hasColumnReference = false;
+
+    private Compiler(Table table) {
+      this.table = table;
+    }
+
+    @Override
+    public Node visitChildren(RuleNode node) {
+      return null;
+    }
+
+    @Override
+    public Node visitProg(ExpressionParser.ProgContext ctx) {
+      return visit(ctx.expr());
+    }
+
+    @Override
+    public Node visitColumn(ExpressionParser.ColumnContext ctx) {
+      var text = ctx.getText();
+      Column column =
+          table.getColumnByName(text.substring(1, text.length() - 1).replace("]]", "]"));
+      if (column == null) {
+        return null;
+      }
+
+      hasColumnReference = true;
+      return switch (column.getStorage()) {
+        case AbstractLongStorage storage -> new LongColumn(storage);
+        case DoubleStorage storage -> new DoubleColumn(storage);
+        case BoolStorage storage -> new BoolColumn(storage);
+        default -> null;
+      };
+    }
+
+    @Override
+    public Node visitLiteral(ExpressionParser.LiteralContext ctx) {
+      return visit(ctx.value());
+    }
+
+    @Override
+    public Node visitNumber(ExpressionParser.NumberContext ctx) {
+      var text = ctx.getText().replace("_", "");
+      try {
+        return text.contains(".")
+            ? new DoubleConstant(Double.parseDouble(text))
+            : new LongConstant(Long.parseLong(text));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public Node visitBoolean(ExpressionParser.BooleanContext ctx) {
+      return new BoolConstant(ctx.TRUE() != null);
+    }
+
+    @Override
+    public Node visitParen(ExpressionParser.ParenContext ctx) {
+      return visit(ctx.expr());
+    }
+
+    @Override
+    public Node visitAddSub(ExpressionParser.AddSubContext ctx) {
+      return arithmetic(ctx.op.getType(), visit(ctx.expr(0)), visit(ctx.expr(1)));
+    }
+
+    @Override
+    public Node visitMultDivMod(ExpressionParser.MultDivModContext ctx) {
+      return arithmetic(ctx.op.getType(), visit(ctx.expr(0)), visit(ctx.expr(1)));
+    }
+
+    @Override
+    public Node visitUnaryMinus(ExpressionParser.UnaryMinusContext ctx) {
+      // Negation is evaluated as a multiplication by -1, as in the general evaluator.
+      return arithmetic(ExpressionParser.MULTIPLY, visit(ctx.expr()), new LongConstant(-1));
+    }
+
+    @Override
+    public Node visitCompare(ExpressionParser.CompareContext ctx) {
+      Node left = visit(ctx.expr(0));
+      Node right = visit(ctx.expr(1));
+      int op = ctx.op.getType();
+      if (left instanceof LongNode l && right instanceof LongNode r) {
+        return new LongComparison(op, l, r);
+      }
+
+      boolean isEquality = op == ExpressionParser.EQUALS || op == ExpressionParser.NOT_EQUALS;
+      DoubleNode l = asDouble(left);
+      DoubleNode r = asDouble(right);
+      return isEquality || l == null || r == null ? null : new DoubleComparison(op, l, r);
+    }
+
+    @Override
+    public Node visitAnd(ExpressionParser.AndContext ctx) {
+      return visit(ctx.expr(0)) instanceof BoolNode l && visit(ctx.expr(1)) instanceof BoolNode r
+          ? new BoolLogic(true, l, r)
+          : null;
+    }
+
+    @Override
+    public Node visitOr(ExpressionParser.OrContext ctx) {
+      return visit(ctx.expr(0)) instanceof BoolNode l && visit(ctx.expr(1)) instanceof BoolNode r
+          ? new BoolLogic(false, l, r)
+          : null;
+    }
+
+    @Override
+    public Node visitUnaryNot(ExpressionParser.UnaryNotContext ctx) {
+      return visit(ctx.expr()) instanceof BoolNode operand ? new Not(operand) : null;
+    }
+
+    private static Node arithmetic(int op, Node left, Node right) {
+      if (op != ExpressionParser.DIVIDE
+          && left instanceof LongNode l
+          && right instanceof LongNode r) {
+        return new LongArithmetic(op, l, r);
+      }
+
+      DoubleNode l = asDouble(left);
+      DoubleNode r = asDouble(right);
+      return l == null || r == null ? null : new DoubleArithmetic(op, l, r);
+    }
+
+    private static DoubleNode asDouble(Node node) {
+      if (node instanceof DoubleNode n) {
+        return n;
+      } else if (node instanceof LongNode n) {
+        return new LongToDouble(n);
+      } else {
+        return null;
+      }
+    }
+  }
+
+  /** A compiled sub-expression. */
+  private abstract static class Node {
+    /** Evaluates the expression for all rows of the table. */
+    abstract Storage<?> evaluateAll(int size);
+  }
+
+  /**
+   * A sub-expression evaluating to integers.
+   *
+   * <p>{@link #evaluate} computes the values of {@code length} rows, starting with {@code start},
+   * into the beginning of the arrays. Values of the rows marked as missing are unspecified.
+   */
+  private abstract static class LongNode extends Node {
+    abstract void evaluate(int start, int length, long[] out, boolean[] isNothing);
+
+    @Override
+    final Storage<?> evaluateAll(int size) {
+      long[] data = new long[size];
+      BitSet isNothing = new BitSet();
+      long[] batch = new long[BATCH_SIZE];
+      boolean[] batchIsNothing = new boolean[BATCH_SIZE];
+      Context context = Context.getCurrent();
+      for (int start = 0; start < size; start += BATCH_SIZE) {
+        int length = Math.min(BATCH_SIZE, size - start);
+        evaluate(start, length, batch, batchIsNothing);
+        System.arraycopy(batch, 0, data, start, length);
+        for (int i = 0; i < length; i++) {
+          if (batchIsNothing[i]) {
+            isNothing.set(start + i);
+            data[start + i] = 0;
+          }
+        }
+
+        context.safepoint();
+      }
+
+      return new LongStorage(data, size, isNothing, IntegerType.INT_64);
+    }
+  }
+
+  /** A sub-expression evaluating to floats, see {@link LongNode}. */
+  private abstract static class DoubleNode extends Node {
+    abstract void evaluate(int start, int length, double[] out, boolean[] isNothing);
+
+    @Override
+    final Storage<?> evaluateAll(int size) {
+      long[] data = new long[size];
+      BitSet isNothing = new BitSet();
+      double[] batch = new double[BATCH_SIZE];
+      boolean[] batchIsNothing = new boolean[BATCH_SIZE];
+      Context context = Context.getCurrent();
+      for (int start = 0; start < size; start += BATCH_SIZE) {
+        int length = Math.min(BATCH_SIZE, size - start);
+        evaluate(start, length, batch, batchIsNothing);
+        for (int i = 0; i < length; i++) {
+          if (batchIsNothing[i]) {
+            isNothing.set(start + i);
+          } else {
+            data[start + i] = Double.doubleToRawLongBits(batch[i]);
+          }
+        }
+
+        context.safepoint();
+      }
+
+      return new DoubleStorage(data, size, isNothing);
+    }
+  }
+
+  /** A sub-expression evaluating to booleans, see {@link LongNode}. */
+  private abstract static class BoolNode extends Node {
+    abstract void evaluate(int start, int length, boolean[] out, boolean[] isNothing);
+
+    @Override
+    final Storage<?> evaluateAll(int size) {
+      BitSet values = new BitSet();
+      BitSet isNothing = new BitSet();
+      boolean[] batch = new boolean[BATCH_SIZE];
+      boolean[] batchIsNothing = new boolean[BATCH_SIZE];
+      Context context = Context.getCurrent();
+      for (int start = 0; start < size; start += BATCH_SIZE) {
+        int length = Math.min(BATCH_SIZE, size - start);
+        evaluate(start, length, batch, batchIsNothing);
+        for (int i = 0; i < length; i++) {
+          if (batchIsNothing[i]) {
+            isNothing.set(start + i);
+          } else if (batch[i]) {
+            values.set(start + i);
+          }
+        }
+
+        context.safepoint();
+      }
+
+      return new BoolStorage(values, isNothing, size, false);
+    }
+  }
+
+  private static final class LongColumn extends LongNode {
+    private final AbstractLongStorage storage;
+
+    LongColumn(AbstractLongStorage storage) {
+      this.storage = storage;
+    }
+
+    @Override
+    void evaluate(int start, int length, long[] out, boolean[] isNothing) {
+      for (int i = 0; i < length; i++) {
+        boolean missing = storage.isNothing(start + i);
+        isNothing[i] = missing;
+        out[i] = missing ? 0 : storage.getItem(start + i);
+      }
+    }
+  }
+
+  private static final class DoubleColumn extends DoubleNode {
+    private final DoubleStorage storage;
+
+    DoubleColumn(DoubleStorage storage) {
+      this.storage = storage;
+    }
+
+    @Override
+    void evaluate(int start, int length, double[] out, boolean[] isNothing) {
+      for (int i = 0; i < length; i++) {
+        boolean missing = storage.isNothing(start + i);
+        isNothing[i] = missing;
+        out[i] = missing ? 0 : storage.getItemAsDouble(start + i);
+      }
+    }
+  }
+
+  private static final class BoolColumn extends BoolNode {
+    private final BoolStorage storage;
+
+    BoolColumn(BoolStorage storage) {
+      this.storage = storage;
+    }
+
+    @Override
+    void evaluate(int start, int length, boolean[] out, boolean[] isNothing) {
+      for (int i = 0; i < length; i++) {
+        boolean missing = storage.isNothing(start + i);
+        isNothing[i] = missing;
+        out[i] = !missing && storage.getItem(start + i);
+      }
+    }
+  }
+
+  private static final class LongConstant extends LongNode {
+    private final long value;
+
+    LongConstant(long value) {
+      this.value = value;
+    }
+
+    @Override
+    void evaluate(int start, int length, long[] out, boolean[] isNothing) {
+      Arrays.fill(out, 0, length, value);
+      Arrays.fill(isNothing, 0, length, false);
+    }
+  }
+
+  private static final class DoubleConstant extends DoubleNode {
+    private final double value;
+
+    DoubleConstant(double value) {
+      this.value = value;
+    }
+
+    @Override
+    void evaluate(int start, int length, double[] out, boolean[] isNothing) {
+      Arrays.fill(out, 0, length, value);
+      Arrays.fill(isNothing, 0, length, false);
+    }
+  }
+
+  private static final class BoolConstant extends BoolNode {
+    private final boolean value;
+
+    BoolConstant(boolean value) {
+      this.value = value;
+    }
+
+    @Override
+    void evaluate(int start, int length, boolean[] out, boolean[] isNothing) {
+      Arrays.fill(out, 0, length, value);
+      Arrays.fill(isNothing, 0, length, false);
+    }
+  }
+
+  private static final class LongToDouble extends DoubleNode {
+    private final LongNode operand;
+    private final long[] values = new long[BATCH_SIZE];
+
+    LongToDouble(LongNode operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    void evaluate(int start, int length, double[] out, boolean[] isNothing) {
+      operand.evaluate(start, length, values, isNothing);
+      for (int i = 0; i < length; i++) {
+        out[i] = (double) values[i];
+      }
+    }
+  }
+
+  /** Integer {@code +}, {@code -}, {@code *} and {@code %}, matching the column operations. */
+  private static final class LongArithmetic extends LongNode {
+    private final int op;
+    private final LongNode left;
+    private final LongNode right;
+    private final long[] rightValues = new long[BATCH_SIZE];
+    private final boolean[] rightIsNothing = new boolean[BATCH_SIZE];
+
+    LongArithmetic(int op, LongNode left, LongNode right) {
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    void evaluate(int start, int length, long[] out, boolean[] isNothing) {
+      left.evaluate(start, length, out, isNothing);
+      right.evaluate(start, length, rightValues, rightIsNothing);
+      try {
+        for (int i = 0; i < length; i++) {
+          if (isNothing[i] || rightIsNothing[i]) {
+            isNothing[i] = true;
+            continue;
+          }
+
+          long a = out[i];
+          long b = rightValues[i];
+          out[i] =
+              switch (op) {
+                case ExpressionParser.ADD -> Math.addExact(a, b);
+                case ExpressionParser.MINUS -> Math.subtractExact(a, b);
+                case ExpressionParser.MULTIPLY -> Math.multiplyExact(a, b);
+                case ExpressionParser.MODULO -> {
+                  if (b == 0) {
+                    throw ProblemEncounteredException.INSTANCE;
+                  }
+                  yield a % b;
+                }
+                default -> throw new IllegalStateException("Unexpected operator: " + op);
+              };
+        }
+      } catch (ArithmeticException e) {
+        throw ProblemEncounteredException.INSTANCE;
+      }
+    }
+  }
+
+  /**
+   * Float {@code +}, {@code -}, {@code *}, {@code /} and {@code %}, matching the column operations.
+   */
+  private static final class DoubleArithmetic extends DoubleNode {
+    private final int op;
+    private final DoubleNode left;
+    private final DoubleNode right;
+    private final double[] rightValues = new double[BATCH_SIZE];
+    private final boolean[] rightIsNothing = new boolean[BATCH_SIZE];
+
+    DoubleArithmetic(int op, DoubleNode left, DoubleNode right) {
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    void evaluate(int start, int length, double[] out, boolean[] isNothing) {
+      left.evaluate(start, length, out, isNothing);
+      right.evaluate(start, length, rightValues, rightIsNothing);
+      for (int i = 0; i < length; i++) {
+        if (isNothing[i] || rightIsNothing[i]) {
+          isNothing[i] = true;
+          continue;
+        }
+
+        double a = out[i];
+        double b = rightValues[i];
+        if (b == 0.0 && (op == ExpressionParser.DIVIDE || op == ExpressionParser.MODULO)) {
+          throw ProblemEncounteredException.INSTANCE;
+        }
+
+        out[i] =
+            switch (op) {
+              case ExpressionParser.ADD -> a + b;
+              case ExpressionParser.MINUS -> a - b;
+              case ExpressionParser.MULTIPLY -> a * b;
+              case ExpressionParser.DIVIDE -> a / b;
+              case ExpressionParser.MODULO -> a % b;
+              default -> throw new IllegalStateException("Unexpected operator: " + op);
+            };
+      }
+    }
+  }
+
+  private static boolean compare(int op, int comparison) {
+    return switch (op) {
+      case ExpressionParser.EQUALS -> comparison == 0;
+      case ExpressionParser.NOT_EQUALS -> comparison != 0;
+      case ExpressionParser.LESS_THAN -> comparison < 0;
+      case ExpressionParser.LESS_THAN_OR_EQUAL -> comparison <= 0;
+      case ExpressionParser.GREATER_THAN -> comparison > 0;
+      case ExpressionParser.GREATER_THAN_OR_EQUAL -> comparison >= 0;
+      default -> throw new IllegalStateException("Unexpected operator: " + op);
+    };
+  }
+
+  private static final class LongComparison extends BoolNode {
+    private final int op;
+    private final LongNode left;
+    private final LongNode right;
+    private final long[] leftValues = new long[BATCH_SIZE];
+    private final long[] rightValues = new long[BATCH_SIZE];
+    private final boolean[] rightIsNothing = new boolean[BATCH_SIZE];
+
+    LongComparison(int op, LongNode left, LongNode right) {
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    void evaluate(int start, int length, boolean[] out, boolean[] isNothing) {
+      left.evaluate(start, length, leftValues, isNothing);
+      right.evaluate(start, length, rightValues, rightIsNothing);
+      for (int i = 0; i < length; i++) {
+        isNothing[i] |= rightIsNothing[i];
+        out[i] = !isNothing[i] && compare(op, Long.compare(leftValues[i], rightValues[i]));
+      }
+    }
+  }
+
+  /**
+   * Float ordering comparisons. As with the column operations, any comparison involving NaN is
+   * false.
+   */
+  private static final class DoubleComparison extends BoolNode {
+    private final int op;
+    private final DoubleNode left;
+    private final DoubleNode right;
+    private final double[] leftValues = new double[BATCH_SIZE];
+    private final double[] rightValues = new double[BATCH_SIZE];
+    private final boolean[] rightIsNothing = new boolean[BATCH_SIZE];
+
+    DoubleComparison(int op, DoubleNode left, DoubleNode right) {
+      this.op = op;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    void evaluate(int start, int length, boolean[] out, boolean[] isNothing) {
+      left.evaluate(start, length, leftValues, isNothing);
+      right.evaluate(start, length, rightValues, rightIsNothing);
+      for (int i = 0; i < length; i++) {
+        isNothing[i] |= rightIsNothing[i];
+        if (isNothing[i]) {
+          out[i] = false;
+          continue;
+        }
+
+        double a = leftValues[i];
+        double b = rightValues[i];
+        out[i] =
+            switch (op) {
+              case ExpressionParser.LESS_THAN -> a < b;
+              case ExpressionParser.LESS_THAN_OR_EQUAL -> a <= b;
+              case ExpressionParser.GREATER_THAN -> a > b;
+              case ExpressionParser.GREATER_THAN_OR_EQUAL -> a >= b;
+              default -> throw new IllegalStateException("Unexpected operator: " + op);
+            };
+      }
+    }
+  }
+
+  /**
+   * {@code &&} and {@code ||} with the three-valued logic of the column operations: a missing
+   * operand only makes the result missing if the other operand does not decide it.
+   */
+  private static final class BoolLogic extends BoolNode {
+    private final boolean isAnd;
+    private final BoolNode left;
+    private final BoolNode right;
+    private final boolean[] rightValues = new boolean[BATCH_SIZE];
+    private final boolean[] rightIsNothing = new boolean[BATCH_SIZE];
+
+    BoolLogic(boolean isAnd, BoolNode left, BoolNode right) {
+      this.isAnd = isAnd;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    void evaluate(int start, int length, boolean[] out, boolean[] isNothing) {
+      left.evaluate(start, length, out, isNothing);
+      right.evaluate(start, length, rightValues, rightIsNothing);
+      // For `&&` a false operand decides the result, for `||` a true one does.
+      boolean deciding = !isAnd;
+      for (int i = 0; i < length; i++) {
+        boolean leftDecides = !isNothing[i] && out[i] == deciding;
+        boolean rightDecides = !rightIsNothing[i] && rightValues[i] == deciding;
+        if (leftDecides || rightDecides) {
+          isNothing[i] = false;
+          out[i] = deciding;
+        } else if (isNothing[i] || rightIsNothing[i]) {
+          isNothing[i] = true;
+          out[i] = false;
+        } else {
+          out[i] = !deciding;
+        }
+      }
+    }
+  }
+
+  private static final class Not extends BoolNode {
+    private final BoolNode operand;
+
+    Not(BoolNode operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    void evaluate(int start, int length, boolean[] out, boolean[] isNothing) {
+      operand.evaluate(start, length, out, isNothing);
+      for (int i = 0; i < length; i++) {
+        out[i] = !isNothing[i] && !out[i];
+      }
+    }
+  }
+}
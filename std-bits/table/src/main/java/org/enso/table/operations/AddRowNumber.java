@@ -45,48 +45,22 @@ public class AddRowNumber {
     }
 
     @Override
-    public RunningIterator<Long> getNewIterator() {
-      return new RangeIterator(start, step);
-    }
+    public void prepare(int[] rows) {}
 
     @Override
-    public void calculateNextValue(int i, RunningIterator<Long> it) {
-      numbers[i] = it.next(0l);
+    public void computeRun(int[] rows, int from, int to) throws ArithmeticException {
+      long current = start;
+      for (int i = from; i < to; i++) {
+        if (i > from) {
+          current = Math.addExact(current, step);
+        }
+        numbers[rows[i]] = current;
+      }
     }
 
     @Override
     public Storage<Long> getResult() {
       return new LongStorage(numbers, IntegerType.INT_64);
     }
-
-    private static class RangeIterator implements RunningIterator<Long> {
-
-      private final long start;
-      private final long step;
-      private long current;
-      private boolean isFirst = true;
-
-      RangeIterator(long start, long step) {
-        this.start = start;
-        this.step = step;
-      }
-
-      @Override
-      public Long next(Long value) throws ArithmeticException {
-        if (isFirst) {
-          isFirst = false;
-          current = start;
-        } else {
-          current = Math.addExact(current, step);
-        }
-
-        return current;
-      }
-
-      @Override
-      public Long currentValue() {
-        return current;
-      }
-    }
   }
 }
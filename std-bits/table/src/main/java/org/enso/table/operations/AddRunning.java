@@ -4,6 +4,7 @@ import java.util.BitSet;
 import org.enso.base.polyglot.NumericConverter;
 import org.enso.base.statistics.Statistic;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
 import org.enso.table.data.column.storage.numeric.DoubleStorage;
 import org.enso.table.data.column.storage.numeric.LongStorage;
 import org.enso.table.data.column.storage.type.IntegerType;
@@ -12,6 +13,7 @@ import org.enso.table.data.table.problems.IgnoredNaN;
 import org.enso.table.data.table.problems.IgnoredNothing;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
+import org.graalvm.polyglot.Context;
 
 public class AddRunning {
 
@@ -83,124 +85,185 @@ public class AddRunning {
     }
   }
 
-  private interface TypeHandler<T> {
+  /**
+   * Reads the values of the source column into a primitive array and accumulates them run by run,
+   * with one fresh iterator per run.
+   */
+  private abstract static class RunningStatisticBase<T> implements RunningStatistic<T> {
 
-    T tryConvertingToType(Object o);
+    long[] result;
+    boolean[] isNothing;
+    BitSet isIgnored;
+    ColumnAggregatedProblemAggregator columnAggregatedProblemAggregator;
+    Column sourceColumn;
 
-    long typeToRawLongBits(T t);
+    RunningStatisticBase(Column sourceColumn, ProblemAggregator problemAggregator) {
+      result = new long[sourceColumn.getSize()];
+      isNothing = new boolean[sourceColumn.getSize()];
+      isIgnored = new BitSet();
+      columnAggregatedProblemAggregator = new ColumnAggregatedProblemAggregator(problemAggregator);
+      this.sourceColumn = sourceColumn;
+    }
 
-    Storage<T> createStorage(long[] result, int size, BitSet isNothing);
-  }
+    /** Reads the value at the given row, returning {@code false} if it should be ignored. */
+    protected abstract boolean readValue(Storage<?> storage, int i);
 
-  private static class DoubleHandler implements TypeHandler<Double> {
+    protected abstract Storage<T> createStorage(long[] result, int size, BitSet isNothing);
 
     @Override
-    public Double tryConvertingToType(Object o) {
-      return NumericConverter.tryConvertingToDouble(o);
-    }
+    public void prepare(int[] rows) {
+      Storage<?> storage = sourceColumn.getStorage();
+      Context context = Context.getCurrent();
+      for (int i : rows) {
+        if (storage.isNothing(i)) {
+          columnAggregatedProblemAggregator.reportColumnAggregatedProblem(
+              new IgnoredNothing(sourceColumn.getName(), i));
+          isIgnored.set(i);
+        } else if (!readValue(storage, i)) {
+          isIgnored.set(i);
+        }
 
-    @Override
-    public long typeToRawLongBits(Double d) {
-      return Double.doubleToRawLongBits(d);
+        context.safepoint();
+      }
     }
 
     @Override
-    public Storage<Double> createStorage(long[] result, int size, BitSet isNothing) {
-      return new DoubleStorage(result, size, isNothing);
+    public Storage<T> getResult() {
+      BitSet resultIsNothing = new BitSet();
+      for (int i = 0; i < isNothing.length; i++) {
+        if (isNothing[i]) {
+          resultIsNothing.set(i);
+        }
+      }
+      return createStorage(result, sourceColumn.getSize(), resultIsNothing);
     }
   }
 
-  private static class LongHandler implements TypeHandler<Long> {
+  private abstract static class RunningDoubleStatistic extends RunningStatisticBase<Double> {
 
-    IntegerType type;
+    private final double[] values;
 
-    LongHandler(IntegerType type) {
-      this.type = type;
+    RunningDoubleStatistic(Column sourceColumn, ProblemAggregator problemAggregator) {
+      super(sourceColumn, problemAggregator);
+      values = new double[sourceColumn.getSize()];
     }
 
+    public abstract RunningIteratorBase getNewIterator();
+
     @Override
-    public Long tryConvertingToType(Object o) {
-      return NumericConverter.tryConvertingToLong(o);
+    protected boolean readValue(Storage<?> storage, int i) {
+      double value;
+      if (storage instanceof AbstractLongStorage longStorage) {
+        value = longStorage.getItem(i);
+      } else if (storage instanceof DoubleStorage doubleStorage) {
+        value = doubleStorage.getItemAsDouble(i);
+      } else {
+        Double converted = NumericConverter.tryConvertingToDouble(storage.getItemBoxed(i));
+        if (converted == null) {
+          return false;
+        }
+        value = converted;
+      }
+
+      if (Double.isNaN(value)) {
+        columnAggregatedProblemAggregator.reportColumnAggregatedProblem(
+            new IgnoredNaN(sourceColumn.getName(), i));
+        return false;
+      }
+
+      values[i] = value;
+      return true;
     }
 
     @Override
-    public long typeToRawLongBits(Long l) {
-      return l;
+    public void computeRun(int[] rows, int from, int to) {
+      RunningIteratorBase it = getNewIterator();
+      for (int k = from; k < to; k++) {
+        int i = rows[k];
+        if (!isIgnored.get(i)) {
+          it.next(values[i]);
+        }
+        if (it.isInitialized()) {
+          result[i] = Double.doubleToRawLongBits(it.getCurrent());
+        } else {
+          isNothing[i] = true;
+        }
+      }
     }
 
     @Override
-    public Storage<Long> createStorage(long[] result, int size, BitSet isNothing) {
-      return new LongStorage(result, size, isNothing, type);
+    protected Storage<Double> createStorage(long[] result, int size, BitSet isNothing) {
+      return new DoubleStorage(result, size, isNothing);
     }
   }
 
-  private abstract static class RunningStatisticBase<T> implements RunningStatistic<T> {
+  private abstract static class RunningLongStatistic extends RunningStatisticBase<Long> {
 
-    long[] result;
-    BitSet isNothing;
-    ColumnAggregatedProblemAggregator columnAggregatedProblemAggregator;
-    Column sourceColumn;
-    TypeHandler<T> typeHandler;
+    private final long[] values;
+    private final IntegerType type;
 
-    RunningStatisticBase(
-        Column sourceColumn, ProblemAggregator problemAggregator, TypeHandler<T> typeHandler) {
-      result = new long[sourceColumn.getSize()];
-      isNothing = new BitSet();
-      columnAggregatedProblemAggregator = new ColumnAggregatedProblemAggregator(problemAggregator);
-      this.sourceColumn = sourceColumn;
-      this.typeHandler = typeHandler;
+    RunningLongStatistic(
+        Column sourceColumn, ProblemAggregator problemAggregator, IntegerType type) {
+      super(sourceColumn, problemAggregator);
+      values = new long[sourceColumn.getSize()];
+      this.type = type;
     }
 
+    public abstract RunningIteratorLong getNewIterator();
+
     @Override
-    public void calculateNextValue(int i, RunningIterator<T> it) {
-      Object value = sourceColumn.getStorage().getItemBoxed(i);
-      if (value == null) {
-        columnAggregatedProblemAggregator.reportColumnAggregatedProblem(
-            new IgnoredNothing(sourceColumn.getName(), i));
+    protected boolean readValue(Storage<?> storage, int i) {
+      if (storage instanceof AbstractLongStorage longStorage) {
+        values[i] = longStorage.getItem(i);
+        return true;
       }
-      T dValue = typeHandler.tryConvertingToType(value);
-      T dNextValue;
-      if (dValue != null && dValue.equals(Double.NaN)) {
-        columnAggregatedProblemAggregator.reportColumnAggregatedProblem(
-            new IgnoredNaN(sourceColumn.getName(), i));
-        dNextValue = it.currentValue();
-      } else {
-        dNextValue = it.next(dValue);
+
+      Long converted = NumericConverter.tryConvertingToLong(storage.getItemBoxed(i));
+      if (converted == null) {
+        return false;
       }
-      if (dNextValue == null) {
-        isNothing.set(i);
-      } else {
-        result[i] = typeHandler.typeToRawLongBits(dNextValue);
+      values[i] = converted;
+      return true;
+    }
+
+    @Override
+    public void computeRun(int[] rows, int from, int to) {
+      RunningIteratorLong it = getNewIterator();
+      for (int k = from; k < to; k++) {
+        int i = rows[k];
+        if (!isIgnored.get(i)) {
+          it.next(values[i]);
+        }
+        if (it.isInitialized()) {
+          result[i] = it.getCurrent();
+        } else {
+          isNothing[i] = true;
+        }
       }
     }
 
     @Override
-    public Storage<T> getResult() {
-      return typeHandler.createStorage(result, sourceColumn.getSize(), isNothing);
+    protected Storage<Long> createStorage(long[] result, int size, BitSet isNothing) {
+      return new LongStorage(result, size, isNothing, type);
     }
   }
 
-  private abstract static class RunningIteratorBase implements RunningIterator<Double> {
+  private abstract static class RunningIteratorBase {
 
     protected double current;
     private boolean isInitialized = false;
 
-    @Override
-    public Double next(Double value) {
-      if (value != null) {
-        if (!isInitialized) {
-          isInitialized = true;
-          initialize(value);
-        } else {
-          increment(value);
-        }
+    public void next(double value) {
+      if (!isInitialized) {
+        isInitialized = true;
+        initialize(value);
+      } else {
+        increment(value);
       }
-      return isInitialized ? getCurrent() : null;
     }
 
-    @Override
-    public Double currentValue() {
-      return isInitialized ? getCurrent() : null;
+    public boolean isInitialized() {
+      return isInitialized;
     }
 
     protected void initialize(double value) {
@@ -214,98 +277,98 @@ public class AddRunning {
     }
   }
 
-  private static class RunningSumStatistic extends RunningStatisticBase<Double> {
+  private static class RunningSumStatistic extends RunningDoubleStatistic {
 
     RunningSumStatistic(Column sourceColumn, ProblemAggregator problemAggregator) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningSumIterator();
     }
   }
 
-  private static class RunningMeanStatistic extends RunningStatisticBase<Double> {
+  private static class RunningMeanStatistic extends RunningDoubleStatistic {
 
     RunningMeanStatistic(Column sourceColumn, ProblemAggregator problemAggregator) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningMeanIterator();
     }
   }
 
-  private static class RunningProductStatistic extends RunningStatisticBase<Double> {
+  private static class RunningProductStatistic extends RunningDoubleStatistic {
 
     RunningProductStatistic(Column sourceColumn, ProblemAggregator problemAggregator) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningProductIterator();
     }
   }
 
-  private static class RunningVarianceStatistic extends RunningStatisticBase<Double> {
+  private static class RunningVarianceStatistic extends RunningDoubleStatistic {
 
     private final boolean isPopulationVariance;
 
     RunningVarianceStatistic(
         Column sourceColumn, ProblemAggregator problemAggregator, boolean isPopulationVariance) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
       this.isPopulationVariance = isPopulationVariance;
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningVarianceIterator(isPopulationVariance);
     }
   }
 
-  private static class RunningStandardDeviationStatistic extends RunningStatisticBase<Double> {
+  private static class RunningStandardDeviationStatistic extends RunningDoubleStatistic {
 
     private final boolean isPopulation;
 
     RunningStandardDeviationStatistic(
         Column sourceColumn, ProblemAggregator problemAggregator, boolean isPopulation) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
       this.isPopulation = isPopulation;
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningStandardDeviationIterator(isPopulation);
     }
   }
 
-  private static class RunningSkewStatistic extends RunningStatisticBase<Double> {
+  private static class RunningSkewStatistic extends RunningDoubleStatistic {
 
     private final boolean isPopulation;
 
     RunningSkewStatistic(
         Column sourceColumn, ProblemAggregator problemAggregator, boolean isPopulation) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
       this.isPopulation = isPopulation;
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningSkewIterator(isPopulation);
     }
   }
 
-  private static class RunningKurtosisStatistic extends RunningStatisticBase<Double> {
+  private static class RunningKurtosisStatistic extends RunningDoubleStatistic {
 
     RunningKurtosisStatistic(Column sourceColumn, ProblemAggregator problemAggregator) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningKurtosisIterator();
     }
   }
@@ -493,14 +556,14 @@ public class AddRunning {
     }
   }
 
-  private static class RunningMinStatistic extends RunningStatisticBase<Double> {
+  private static class RunningMinStatistic extends RunningDoubleStatistic {
 
     RunningMinStatistic(Column sourceColumn, ProblemAggregator problemAggregator) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningMinIterator();
     }
 
@@ -513,15 +576,15 @@ public class AddRunning {
     }
   }
 
-  private static class RunningMinLongStatistic extends RunningStatisticBase<Long> {
+  private static class RunningMinLongStatistic extends RunningLongStatistic {
 
     RunningMinLongStatistic(
         Column sourceColumn, ProblemAggregator problemAggregator, IntegerType type) {
-      super(sourceColumn, problemAggregator, new LongHandler(type));
+      super(sourceColumn, problemAggregator, type);
     }
 
     @Override
-    public RunningIterator<Long> getNewIterator() {
+    public RunningIteratorLong getNewIterator() {
       return new RunningMinLongIterator();
     }
 
@@ -534,14 +597,14 @@ public class AddRunning {
     }
   }
 
-  private static class RunningMaxStatistic extends RunningStatisticBase<Double> {
+  private static class RunningMaxStatistic extends RunningDoubleStatistic {
 
     RunningMaxStatistic(Column sourceColumn, ProblemAggregator problemAggregator) {
-      super(sourceColumn, problemAggregator, new DoubleHandler());
+      super(sourceColumn, problemAggregator);
     }
 
     @Override
-    public RunningIterator<Double> getNewIterator() {
+    public RunningIteratorBase getNewIterator() {
       return new RunningMaxIterator();
     }
 
@@ -554,15 +617,15 @@ public class AddRunning {
     }
   }
 
-  private static class RunningMaxLongStatistic extends RunningStatisticBase<Long> {
+  private static class RunningMaxLongStatistic extends RunningLongStatistic {
 
     RunningMaxLongStatistic(
         Column sourceColumn, ProblemAggregator problemAggregator, IntegerType type) {
-      super(sourceColumn, problemAggregator, new LongHandler(type));
+      super(sourceColumn, problemAggregator, type);
     }
 
     @Override
-    public RunningIterator<Long> getNewIterator() {
+    public RunningIteratorLong getNewIterator() {
       return new RunningMaxLongIterator();
     }
 
@@ -575,27 +638,22 @@ public class AddRunning {
     }
   }
 
-  private abstract static class RunningIteratorLong implements RunningIterator<Long> {
+  private abstract static class RunningIteratorLong {
 
     protected long current;
     private boolean isInitialized = false;
 
-    @Override
-    public Long next(Long value) {
-      if (value != null) {
-        if (!isInitialized) {
-          isInitialized = true;
-          initialize(value);
-        } else {
-          increment(value);
-        }
+    public void next(long value) {
+      if (!isInitialized) {
+        isInitialized = true;
+        initialize(value);
+      } else {
+        increment(value);
       }
-      return isInitialized ? getCurrent() : null;
     }
 
-    @Override
-    public Long currentValue() {
-      return isInitialized ? getCurrent() : null;
+    public boolean isInitialized() {
+      return isInitialized;
     }
 
     protected void initialize(long value) {
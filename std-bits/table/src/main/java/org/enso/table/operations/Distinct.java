@@ -8,7 +8,9 @@ import java.util.List;
 import java.util.Map;
 import org.enso.base.text.TextFoldingStrategy;
 import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.index.DictionaryKeyIndex;
 import org.enso.table.data.index.MultiValueKeyBase;
+import org.enso.table.data.index.PartitionedKeyIndex;
 import org.enso.table.data.index.UnorderedMultiValueKey;
 import org.enso.table.data.table.Column;
 import org.enso.table.problems.ColumnAggregatedProblemAggregator;
@@ -28,7 +30,34 @@ public class Distinct {
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     var mask = new BitSet();
-    if (keyColumns.length != 0) {
+    if (DictionaryKeyIndex.isApplicable(keyColumns)) {
+      DictionaryKeyIndex index = DictionaryKeyIndex.build(keyColumns, List.of(textFoldingStrategy));
+      int size = keyColumns[0].getSize();
+      for (int i = 0; i < size; i++) {
+        if (index.firstOccurrence(i) == i) {
+          mask.set(i);
+        }
+
+        context.safepoint();
+      }
+    } else if (PartitionedKeyIndex.isApplicable(keyColumns)) {
+      PartitionedKeyIndex index =
+          PartitionedKeyIndex.build(
+              keyColumns, ConstantList.make(textFoldingStrategy, keyColumns.length));
+      int size = keyColumns[0].getSize();
+      for (int i = 0; i < size; i++) {
+        index
+            .key(i)
+            .checkAndReportFloatingEquality(
+                groupingProblemAggregator, columnIx -> keyColumns[columnIx].getName());
+
+        if (index.firstOccurrence(i) == i) {
+          mask.set(i);
+        }
+
+        context.safepoint();
+      }
+    } else if (keyColumns.length != 0) {
       HashSet<MultiValueKeyBase> visitedRows = new HashSet<>();
       int size = keyColumns[0].getSize();
       Storage<?>[] storage =
@@ -63,7 +92,38 @@ public class Distinct {
         new ColumnAggregatedProblemAggregator(problemAggregator);
     Context context = Context.getCurrent();
     var mask = new BitSet();
-    if (keyColumns.length != 0) {
+    if (DictionaryKeyIndex.isApplicable(keyColumns)) {
+      DictionaryKeyIndex index = DictionaryKeyIndex.build(keyColumns, List.of(textFoldingStrategy));
+      int size = keyColumns[0].getSize();
+      for (int i = 0; i < size; i++) {
+        int first = index.firstOccurrence(i);
+        if (first != i) {
+          mask.set(i);
+          mask.set(first);
+        }
+
+        context.safepoint();
+      }
+    } else if (PartitionedKeyIndex.isApplicable(keyColumns)) {
+      PartitionedKeyIndex index =
+          PartitionedKeyIndex.build(
+              keyColumns, ConstantList.make(textFoldingStrategy, keyColumns.length));
+      int size = keyColumns[0].getSize();
+      for (int i = 0; i < size; i++) {
+        index
+            .key(i)
+            .checkAndReportFloatingEquality(
+                groupingProblemAggregator, columnIx -> keyColumns[columnIx].getName());
+
+        int first = index.firstOccurrence(i);
+        if (first != i) {
+          mask.set(i);
+          mask.set(first);
+        }
+
+        context.safepoint();
+      }
+    } else if (keyColumns.length != 0) {
       Map<MultiValueKeyBase, Integer> visitedRows = new HashMap<>();
       int size = keyColumns[0].getSize();
       Storage<?>[] storage =
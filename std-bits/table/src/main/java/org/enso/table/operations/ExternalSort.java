@@ -0,0 +1,387 @@
+package org.enso.table.operations;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.enso.table.data.column.storage.Storage;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Sorts rows by a fixed-width column while keeping only a bounded number of its sort keys in
+ * memory.
+ *
+ * <p>The rows are split into runs that fit in the memory budget. Each run is sorted in memory and
+ * written, as pairs of encoded keys and row indices, to a temporary file. The runs are then merged
+ * back, at most {@link #maxFanIn} of them at a time, so that the number of open files and read
+ * buffers stays bounded however many runs there are. Equal keys are kept in the order of their rows
+ * in the input, so the sort is stable. Rows with missing values are set aside in a file of their
+ * own, in their original order.
+ *
+ * <p>The budget bounds only the working memory of this sort: the encoded keys of a run together
+ * with the temporary copies and the permutation buffers used to sort them (about {@link
+ * #BYTES_PER_ROW} bytes per row), and the buffers used to merge the runs. It does not cover the
+ * columns being sorted, the array of all row indices that is sorted in place, the set of positions
+ * at which the keys change, nor the sorting by any further rules, which order the rows with equal
+ * keys in memory afterwards.
+ *
+ * <p>Spilling is disabled unless a budget (in bytes) is set with the {@code
+ * enso.table.sort.memory_budget} system property. The files are created in the directory given by
+ * {@code enso.table.spill_directory}, or the default temporary directory, and are removed as soon
+ * as they have been merged. Both properties are read at the start of each sort.
+ */
+final class ExternalSort {
+  private ExternalSort() {}
+
+  /**
+   * The memory needed to sort a single row in memory: the key, the two temporary copies of it made
+   * by the radix sort, and the permutation with its scratch buffer.
+   */
+  private static final int BYTES_PER_ROW = 3 * Long.BYTES + 2 * Integer.BYTES;
+
+  private static final int MIN_RUN_LENGTH = 1 << 12;
+
+  private static final int RECORD_SIZE = Long.BYTES + Integer.BYTES;
+
+  private static final int MIN_BUFFER_SIZE = RECORD_SIZE << 12;
+
+  private static final int MAX_BUFFER_SIZE = RECORD_SIZE << 16;
+
+  /** The most runs merged at once, however large the memory budget is. */
+  private static final int MAX_FAN_IN = 64;
+
+  /** The result of a sort. */
+  record SortedRows(BitSet keyStarts, int missingCount) {}
+
+  private static long memoryBudget() {
+    return Long.getLong("enso.table.sort.memory_budget", 0);
+  }
+
+  private static Path spillDirectory() {
+    return Path.of(
+        System.getProperty("enso.table.spill_directory", System.getProperty("java.io.tmpdir")));
+  }
+
+  /** Checks if sorting the given number of rows in memory would exceed the memory budget. */
+  static boolean shouldSpill(int rowCount) {
+    long budget = memoryBudget();
+    return budget > 0 && (long) rowCount * BYTES_PER_ROW > budget;
+  }
+
+  /**
+   * The number of runs merged at once: as many as have a read buffer of the minimal size within the
+   * budget, but at least two.
+   */
+  static int maxFanIn(long budget) {
+    return (int) Math.max(2, Math.min(MAX_FAN_IN, budget / MIN_BUFFER_SIZE - 1));
+  }
+
+  /**
+   * Sorts the range {@code [from, to)} of {@code rows} by the encoded keys of the rows, compared as
+   * unsigned, placing the rows with missing values at the start or at the end of the range.
+   *
+   * @return the number of rows with missing values and the positions in {@code rows} at which a new
+   *     key starts (i.e. the key differs from the one at the previous position)
+   */
+  static SortedRows sort(
+      int[] rows,
+      int from,
+      int to,
+      Storage<?> storage,
+      SortKey.RowEncoder encoder,
+      boolean missingLast) {
+    Context context = Context.getCurrent();
+    long budget = memoryBudget();
+    int runLength = (int) Math.max(MIN_RUN_LENGTH, budget / BYTES_PER_ROW);
+    Path directory = spillDirectory();
+    List<Path> files = new ArrayList<>();
+    try {
+      Path missingFile = createFile(directory, files);
+      int missingCount = 0;
+      List<Path> runFiles = new ArrayList<>();
+      try (RunWriter missingWriter = new RunWriter(missingFile, MIN_BUFFER_SIZE)) {
+        long[] keys = new long[Math.min(runLength, to - from)];
+        int[] runRows = new int[keys.length];
+        int[] order = new int[keys.length];
+        int[] buffer = new int[keys.length];
+        int position = from;
+        while (position < to) {
+          int length = 0;
+          while (position < to && length < runLength) {
+            int row = rows[position++];
+            if (storage.isNothing(row)) {
+              missingWriter.write(0, row);
+              missingCount++;
+            } else {
+              keys[length] = encoder.encode(row);
+              runRows[length] = row;
+              order[length] = length;
+              length++;
+            }
+            context.safepoint();
+          }
+
+          if (length > 0) {
+            SortKey.ofEncoded(keys).sort(order, 0, length, buffer);
+            Path runFile = createFile(directory, files);
+            runFiles.add(runFile);
+            try (RunWriter writer = new RunWriter(runFile, MAX_BUFFER_SIZE)) {
+              for (int i = 0; i < length; i++) {
+                writer.write(keys[order[i]], runRows[order[i]]);
+                context.safepoint();
+              }
+            }
+          }
+        }
+      }
+
+      int fanIn = maxFanIn(budget);
+      int readerBufferSize = readerBufferSize(budget, fanIn);
+      while (runFiles.size() > fanIn) {
+        runFiles = mergePass(runFiles, fanIn, readerBufferSize, directory, files, context);
+      }
+
+      int valuesFrom = missingLast ? from : from + missingCount;
+      BitSet keyStarts = new BitSet();
+      var sink =
+          new RecordSink() {
+            int position = valuesFrom;
+            long previousKey = 0;
+
+            @Override
+            public void accept(long key, int row) {
+              rows[position] = row;
+              if (position == valuesFrom || key != previousKey) {
+                keyStarts.set(position);
+              }
+              previousKey = key;
+              position++;
+            }
+          };
+      merge(runFiles, readerBufferSize, sink, context);
+
+      int missingFrom = missingLast ? to - missingCount : from;
+      try (RunReader reader = new RunReader(missingFile, MIN_BUFFER_SIZE)) {
+        for (int i = missingFrom; reader.next(); i++) {
+          rows[i] = reader.row;
+          context.safepoint();
+        }
+      }
+
+      return new SortedRows(keyStarts, missingCount);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      for (Path file : files) {
+        delete(file);
+      }
+    }
+  }
+
+  private static int readerBufferSize(long budget, int fanIn) {
+    long bufferSize = budget / (fanIn + 1);
+    return (int)
+        Math.max(MIN_BUFFER_SIZE, Math.min(MAX_BUFFER_SIZE, bufferSize - bufferSize % RECORD_SIZE));
+  }
+
+  private static Path createFile(Path directory, List<Path> files) throws IOException {
+    Path file = Files.createTempFile(directory, "enso-sort-", ".run");
+    files.add(file);
+    return file;
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      file.toFile().deleteOnExit();
+    }
+  }
+
+  /**
+   * Merges each group of {@code fanIn} consecutive runs into a single run, deleting the merged
+   * runs. Since the groups keep the order of the runs, the merged runs are still ordered by the
+   * positions of their rows in the input.
+   */
+  private static List<Path> mergePass(
+      List<Path> runFiles,
+      int fanIn,
+      int readerBufferSize,
+      Path directory,
+      List<Path> files,
+      Context context)
+      throws IOException {
+    List<Path> merged = new ArrayList<>();
+    for (int groupStart = 0; groupStart < runFiles.size(); groupStart += fanIn) {
+      List<Path> group =
+          runFiles.subList(groupStart, Math.min(groupStart + fanIn, runFiles.size()));
+      if (group.size() == 1) {
+        merged.add(group.get(0));
+        continue;
+      }
+
+      Path mergedFile = createFile(directory, files);
+      merged.add(mergedFile);
+      try (RunWriter writer = new RunWriter(mergedFile, readerBufferSize)) {
+        merge(group, readerBufferSize, writer::write, context);
+      }
+
+      for (Path runFile : group) {
+        delete(runFile);
+      }
+    }
+
+    return merged;
+  }
+
+  /** Receives the records of merged runs, in order. */
+  private interface RecordSink {
+    void accept(long key, int row) throws IOException;
+  }
+
+  private static void merge(
+      List<Path> runFiles, int readerBufferSize, RecordSink sink, Context context)
+      throws IOException {
+    int runCount = runFiles.size();
+    RunReader[] readers = new RunReader[runCount];
+    try {
+      // A binary min-heap of runs, ordered by their current keys and then by the run index, which
+      // keeps the merge stable.
+      int[] heap = new int[runCount];
+      int heapSize = 0;
+      for (int run = 0; run < runCount; run++) {
+        readers[run] = new RunReader(runFiles.get(run), readerBufferSize);
+        if (readers[run].next()) {
+          heap[heapSize++] = run;
+        }
+      }
+      for (int i = heapSize / 2 - 1; i >= 0; i--) {
+        siftDown(heap, heapSize, i, readers);
+      }
+
+      while (heapSize > 0) {
+        RunReader reader = readers[heap[0]];
+        sink.accept(reader.key, reader.row);
+        if (!reader.next()) {
+          heap[0] = heap[--heapSize];
+        }
+        siftDown(heap, heapSize, 0, readers);
+        context.safepoint();
+      }
+    } finally {
+      for (RunReader reader : readers) {
+        if (reader != null) {
+          reader.close();
+        }
+      }
+    }
+  }
+
+  private static void siftDown(int[] heap, int heapSize, int index, RunReader[] readers) {
+    if (heapSize == 0) {
+      return;
+    }
+
+    int run = heap[index];
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && precedes(heap[child + 1], heap[child], readers)) {
+        child++;
+      }
+      if (!precedes(heap[child], run, readers)) {
+        break;
+      }
+      heap[index] = heap[child];
+      index = child;
+    }
+    heap[index] = run;
+  }
+
+  private static boolean precedes(int runA, int runB, RunReader[] readers) {
+    int cmp = Long.compareUnsigned(readers[runA].key, readers[runB].key);
+    return cmp < 0 || (cmp == 0 && runA < runB);
+  }
+
+  /** Writes pairs of keys and row indices to a file. */
+  private static final class RunWriter implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    RunWriter(Path file, int bufferSize) throws IOException {
+      this.channel = FileChannel.open(file, StandardOpenOption.WRITE);
+      this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    void write(long key, int row) throws IOException {
+      if (buffer.remaining() < RECORD_SIZE) {
+        flush();
+      }
+      buffer.putLong(key);
+      buffer.putInt(row);
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        flush();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+
+  /** Reads back the pairs written by {@link RunWriter}, one at a time. */
+  private static final class RunReader implements Closeable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean endOfFile = false;
+    long key;
+    int row;
+
+    RunReader(Path file, int bufferSize) throws IOException {
+      this.channel = FileChannel.open(file, StandardOpenOption.READ);
+      this.buffer = ByteBuffer.allocate(bufferSize);
+      this.buffer.flip();
+    }
+
+    /** Loads the next pair. Returns false if there are no more. */
+    boolean next() throws IOException {
+      while (buffer.remaining() < RECORD_SIZE && !endOfFile) {
+        buffer.compact();
+        endOfFile = channel.read(buffer) == -1;
+        buffer.flip();
+      }
+
+      if (buffer.remaining() < RECORD_SIZE) {
+        return false;
+      }
+
+      key = buffer.getLong();
+      row = buffer.getInt();
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
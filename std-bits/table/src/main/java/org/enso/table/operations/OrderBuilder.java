@@ -1,12 +1,13 @@
 package org.enso.table.operations;
 
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.IntStream;
-import org.enso.base.ObjectComparator;
+import java.util.function.IntPredicate;
 import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.mask.OrderMask;
 import org.enso.table.data.table.Column;
+import org.enso.table.util.ParallelExecution;
+import org.graalvm.polyglot.Context;
 
 /** Builds an order mask resulting in sorting storages according to specified rules. */
 public class OrderBuilder {
@@ -28,35 +29,16 @@ public class OrderBuilder {
       this.ascending = ascending;
       this.missingLast = missingLast;
     }
-
-    /**
-     * Builds an index-comparing comparator, that will sort array indexes according to the specified
-     * ordering of the underlying column.
-     *
-     * @return a comparator with properties described above
-     */
-    public Comparator<Integer> toComparator() {
-      final Storage<?> storage = column.getStorage();
-      Comparator<Object> itemCmp = ObjectComparator.DEFAULT;
-
-      if (!ascending) {
-        itemCmp = itemCmp.reversed();
-      }
-
-      if (missingLast) {
-        itemCmp = Comparator.nullsLast(itemCmp);
-      } else {
-        itemCmp = Comparator.nullsFirst(itemCmp);
-      }
-
-      final Comparator<Object> cmp = itemCmp;
-      return (i, j) -> cmp.compare(storage.getItemBoxed(i), storage.getItemBoxed(j));
-    }
   }
 
   /**
    * Builds an order mask based on the specified set of rules.
    *
+   * <p>The rows are sorted by the first rule, and then each run of rows that are equal according to
+   * it is sorted by the next rule, and so on. Each column is read only once, into a primitive sort
+   * key where possible, and large inputs are sorted in chunks on multiple threads which are then
+   * merged.
+   *
    * @param rules a list of rules that should be used in generating the ordering. The rules are
    *     treated hierarchically, i.e. the first rule is applied first, all the groups of equal
    *     elements are then internally reordered according to the second rule etc. The ordering is
@@ -66,11 +48,199 @@ public class OrderBuilder {
    */
   public static OrderMask buildOrderMask(List<OrderRule> rules) {
     int size = rules.get(0).column.getSize();
-    Comparator<Integer> comparator =
-        rules.stream().map(OrderRule::toComparator).reduce(Comparator::thenComparing).get();
+    int[] positions = new int[size];
+    for (int i = 0; i < size; i++) {
+      positions[i] = i;
+    }
 
-    int[] positions =
-        IntStream.range(0, size).boxed().sorted(comparator).mapToInt(i -> i).toArray();
+    new RowSorter(rules).sort(positions, 0, size, 0);
     return OrderMask.fromArray(positions);
   }
+
+  private static class RowSorter {
+    /** Below this size, a range is sorted on a single thread. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final List<OrderRule> rules;
+    private final SortKey[] keys;
+    private final Context context;
+
+    /** A scratch array, grown as needed. */
+    private int[] buffer = new int[0];
+
+    /**
+     * Set once the rows have been sorted by the first rule on disk. The following rules then only
+     * sort runs of rows with equal keys, each in a copy of its own, and read the values of the
+     * columns when comparing them, so that no arrays as large as the whole table are allocated.
+     */
+    private boolean spilled = false;
+
+    RowSorter(List<OrderRule> rules) {
+      this.rules = rules;
+      this.keys = new SortKey[rules.size()];
+      this.context = Context.getCurrent();
+    }
+
+    /** Sorts the range of rows by the rule at the given index and all following ones. */
+    void sort(int[] rows, int from, int to, int ruleIndex) {
+      OrderRule rule = rules.get(ruleIndex);
+      Storage<?> storage = rule.column.getStorage();
+
+      int missingCount;
+      // Tells whether the value at a position differs from the previous one.
+      IntPredicate startsNewRun;
+      SortKey.RowEncoder encoder;
+      if (ruleIndex == 0
+          && ExternalSort.shouldSpill(to - from)
+          && (encoder = SortKey.fixedWidthEncoder(storage, rule.ascending)) != null) {
+        ExternalSort.SortedRows sorted =
+            ExternalSort.sort(rows, from, to, storage, encoder, rule.missingLast);
+        spilled = true;
+        missingCount = sorted.missingCount();
+        startsNewRun = sorted.keyStarts()::get;
+      } else {
+        missingCount = moveMissingToEnd(rows, from, to, storage, rule.missingLast);
+        int valuesFrom = rule.missingLast ? from : from + missingCount;
+        int valuesTo = rule.missingLast ? to - missingCount : to;
+        SortKey key = getKey(ruleIndex);
+        sortValues(rows, valuesFrom, valuesTo, key);
+        startsNewRun = i -> key.compare(rows[i - 1], rows[i]) != 0;
+      }
+
+      if (ruleIndex + 1 < rules.size()) {
+        int valuesFrom = rule.missingLast ? from : from + missingCount;
+        int valuesTo = rule.missingLast ? to - missingCount : to;
+        if (missingCount > 1) {
+          int missingFrom = rule.missingLast ? valuesTo : from;
+          sortRun(rows, missingFrom, missingFrom + missingCount, ruleIndex + 1);
+        }
+
+        int runStart = valuesFrom;
+        for (int i = valuesFrom + 1; i <= valuesTo; i++) {
+          if (i == valuesTo || startsNewRun.test(i)) {
+            if (i - runStart > 1) {
+              sortRun(rows, runStart, i, ruleIndex + 1);
+            }
+            runStart = i;
+          }
+
+          context.safepoint();
+        }
+      }
+    }
+
+    /**
+     * Sorts a run of rows equal according to the previous rules. After spilling, the run is sorted
+     * in a copy, so that the scratch arrays only need to be as large as the longest run.
+     */
+    private void sortRun(int[] rows, int from, int to, int ruleIndex) {
+      if (!spilled) {
+        sort(rows, from, to, ruleIndex);
+        return;
+      }
+
+      int[] run = Arrays.copyOfRange(rows, from, to);
+      sort(run, 0, run.length, ruleIndex);
+      System.arraycopy(run, 0, rows, from, run.length);
+    }
+
+    private SortKey getKey(int ruleIndex) {
+      if (keys[ruleIndex] == null) {
+        OrderRule rule = rules.get(ruleIndex);
+        Storage<?> storage = rule.column.getStorage();
+        keys[ruleIndex] =
+            spilled
+                ? SortKey.onDemand(storage, rule.ascending)
+                : SortKey.forStorage(storage, rule.ascending);
+      }
+
+      return keys[ruleIndex];
+    }
+
+    /** Returns the scratch array, grown to at least the given length. */
+    private int[] buffer(int length) {
+      if (buffer.length < length) {
+        buffer = new int[length];
+      }
+
+      return buffer;
+    }
+
+    /**
+     * Stably moves the rows with missing values to the start or end of the range.
+     *
+     * @return the number of missing values
+     */
+    private int moveMissingToEnd(
+        int[] rows, int from, int to, Storage<?> storage, boolean missingLast) {
+      int missingCount = 0;
+      for (int i = from; i < to; i++) {
+        if (storage.isNothing(rows[i])) {
+          missingCount++;
+        }
+      }
+
+      if (missingCount == 0 || missingCount == to - from) {
+        return missingCount;
+      }
+
+      int[] buffer = buffer(to);
+      int missingPosition = missingLast ? to - missingCount : from;
+      int valuePosition = missingLast ? from : from + missingCount;
+      for (int i = from; i < to; i++) {
+        int row = rows[i];
+        if (storage.isNothing(row)) {
+          buffer[missingPosition++] = row;
+        } else {
+          buffer[valuePosition++] = row;
+        }
+
+        context.safepoint();
+      }
+
+      System.arraycopy(buffer, from, rows, from, to - from);
+      return missingCount;
+    }
+
+    /**
+     * Sorts a range of rows with no missing values. Large ranges are split into chunks that are
+     * sorted in parallel, and then merged pairwise, also in parallel, unless comparing the values
+     * needs the polyglot {@code Context}.
+     */
+    private void sortValues(int[] rows, int from, int to, SortKey key) {
+      int length = to - from;
+      int[] buffer = buffer(to);
+      if (length < PARALLEL_THRESHOLD
+          || !ParallelExecution.isEnabled()
+          || !key.canSortOnWorkers()) {
+        key.sort(rows, from, to, buffer);
+        return;
+      }
+
+      int chunkSize =
+          (length + ParallelExecution.parallelism() - 1) / ParallelExecution.parallelism();
+      int chunkCount = (length + chunkSize - 1) / chunkSize;
+      ParallelExecution.forEachIndex(
+          chunkCount,
+          chunk -> {
+            int chunkFrom = from + chunk * chunkSize;
+            key.sort(rows, chunkFrom, Math.min(chunkFrom + chunkSize, to), buffer);
+          });
+      context.safepoint();
+
+      for (int width = chunkSize; width < length; width *= 2) {
+        int halfWidth = width;
+        int mergedWidth = 2 * width;
+        ParallelExecution.forEachIndex(
+            (length + mergedWidth - 1) / mergedWidth,
+            pair -> {
+              int pairFrom = from + pair * mergedWidth;
+              int mid = Math.min(pairFrom + halfWidth, to);
+              key.merge(rows, pairFrom, mid, Math.min(pairFrom + mergedWidth, to), buffer);
+            });
+        System.arraycopy(buffer, from, rows, from, length);
+        context.safepoint();
+      }
+    }
+  }
 }
@@ -1,8 +0,0 @@
-package org.enso.table.operations;
-
-public interface RunningIterator<T> {
-
-  T next(T value);
-
-  T currentValue();
-}
@@ -2,21 +2,30 @@ package org.enso.table.operations;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.IntStream;
 import org.enso.base.text.TextFoldingStrategy;
-import org.enso.table.data.column.storage.Storage;
 import org.enso.table.data.index.MultiValueIndex;
-import org.enso.table.data.index.OrderedMultiValueKey;
-import org.enso.table.data.index.UnorderedMultiValueKey;
+import org.enso.table.data.index.RowGrouping;
 import org.enso.table.data.table.Column;
-import org.enso.table.problems.ColumnAggregatedProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
-import org.enso.table.util.ConstantList;
-
+import org.enso.table.util.ParallelExecution;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Drives the computation of a {@link RunningStatistic}, visiting each group of rows as a separate
+ * run, in the order given by the ordering columns.
+ *
+ * <p>All rows are arranged into a single array, in which the rows of each group are contiguous and
+ * ordered, using one sort of the whole table followed by a stable distribution into the groups. The
+ * groups can then be computed independently, so large inputs with more than one group are split
+ * into chunks of groups which are computed on multiple threads.
+ */
 abstract class RunningLooper<T> {
+  /** Below this number of rows, all runs are computed on the calling thread. */
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  /** The number of chunks of runs created per thread, to balance groups of different sizes. */
+  private static final int CHUNKS_PER_THREAD = 4;
 
   // implement this method in subclasses to control the order you want to loop over the data
   public abstract void loopImpl(RunningStatistic<T> runningStatistic, long numRows);
@@ -46,6 +55,75 @@ abstract class RunningLooper<T> {
     }
     runningLooper.loopImpl(runningStatistic, numRows);
   }
+
+  static int[] identityOrder(int numRows) {
+    int[] rows = new int[numRows];
+    for (int i = 0; i < numRows; i++) {
+      rows[i] = i;
+    }
+    return rows;
+  }
+
+  /**
+   * Sorts all rows by the ordering columns, consistently with comparing {@link
+   * org.enso.table.data.index.OrderedMultiValueKey}s: missing values are the smallest and ties are
+   * kept in the order of the rows.
+   */
+  static int[] sortedOrder(Column[] orderingColumns, int[] directions) {
+    List<OrderBuilder.OrderRule> rules = new ArrayList<>(orderingColumns.length);
+    for (int i = 0; i < orderingColumns.length; i++) {
+      boolean ascending = directions[i] > 0;
+      rules.add(new OrderBuilder.OrderRule(orderingColumns[i], ascending, !ascending));
+    }
+    return OrderBuilder.buildOrderMask(rules).positions();
+  }
+
+  /** The boundaries of the groups in {@link RowGrouping#rows()}, to be used as runs. */
+  static int[] groupOffsets(RowGrouping grouping) {
+    int groupCount = grouping.groupCount();
+    int[] offsets = new int[groupCount + 1];
+    for (int group = 0; group < groupCount; group++) {
+      offsets[group + 1] = grouping.groupEnd(group);
+    }
+    return offsets;
+  }
+
+  /**
+   * Computes the statistic for each run of rows, where the run {@code i} consists of {@code
+   * rows[runOffsets[i]]}, ..., {@code rows[runOffsets[i + 1] - 1]}.
+   */
+  static void computeRuns(RunningStatistic<?> runningStatistic, int[] rows, int[] runOffsets) {
+    int runCount = runOffsets.length - 1;
+    int rowCount = runOffsets[runCount];
+    if (runCount <= 1 || rowCount < PARALLEL_THRESHOLD || !ParallelExecution.isEnabled()) {
+      Context context = Context.getCurrent();
+      for (int run = 0; run < runCount; run++) {
+        runningStatistic.computeRun(rows, runOffsets[run], runOffsets[run + 1]);
+        context.safepoint();
+      }
+      return;
+    }
+
+    // Splits the runs into chunks with a similar number of rows.
+    int chunkSize = rowCount / (ParallelExecution.parallelism() * CHUNKS_PER_THREAD) + 1;
+    List<Integer> chunkStarts = new ArrayList<>();
+    chunkStarts.add(0);
+    for (int run = 1; run < runCount; run++) {
+      if (runOffsets[run] - runOffsets[chunkStarts.get(chunkStarts.size() - 1)] >= chunkSize) {
+        chunkStarts.add(run);
+      }
+    }
+    chunkStarts.add(runCount);
+
+    ParallelExecution.forEachIndexPollingSafepoints(
+        chunkStarts.size() - 1,
+        ParallelExecution.parallelism(),
+        chunk -> {
+          for (int run = chunkStarts.get(chunk); run < chunkStarts.get(chunk + 1); run++) {
+            runningStatistic.computeRun(rows, runOffsets[run], runOffsets[run + 1]);
+          }
+        });
+  }
 }
 
 class NoGroupingNoOrderingRunning<T> extends RunningLooper<T> {
@@ -54,67 +132,51 @@ class NoGroupingNoOrderingRunning<T> extends RunningLooper<T> {
 
   @Override
   public void loopImpl(RunningStatistic<T> runningStatistic, long numRows) {
-    var it = runningStatistic.getNewIterator();
-    for (int i = 0; i < numRows; i++) {
-      runningStatistic.calculateNextValue(i, it);
-    }
+    int[] rows = identityOrder((int) numRows);
+    runningStatistic.prepare(rows);
+    computeRuns(runningStatistic, rows, new int[] {0, rows.length});
   }
 }
 
 class GroupingNoOrderingRunning<T> extends RunningLooper<T> {
 
   private final Column[] groupingColumns;
-  private final Storage<?>[] groupingStorages;
-  private final ColumnAggregatedProblemAggregator groupingProblemAggregator;
-  private final List<TextFoldingStrategy> textFoldingStrategy;
-  private final Map<UnorderedMultiValueKey, RunningIterator<T>> groups;
+  private final ProblemAggregator problemAggregator;
 
   public GroupingNoOrderingRunning(Column[] groupingColumns, ProblemAggregator problemAggregator) {
     this.groupingColumns = groupingColumns;
-    groupingStorages =
-        Arrays.stream(groupingColumns).map(Column::getStorage).toArray(Storage[]::new);
-    groupingProblemAggregator = new ColumnAggregatedProblemAggregator(problemAggregator);
-    textFoldingStrategy =
-        ConstantList.make(TextFoldingStrategy.unicodeNormalizedFold, groupingStorages.length);
-    groups = new HashMap<>();
+    this.problemAggregator = problemAggregator;
   }
 
   @Override
   public void loopImpl(RunningStatistic<T> runningStatistic, long numRows) {
-    for (int i = 0; i < numRows; i++) {
-      var key = new UnorderedMultiValueKey(groupingStorages, i, textFoldingStrategy);
-      key.checkAndReportFloatingEquality(
-          groupingProblemAggregator, columnIx -> groupingColumns[columnIx].getName());
-      var it = groups.computeIfAbsent(key, k -> runningStatistic.getNewIterator());
-      runningStatistic.calculateNextValue(i, it);
-    }
+    var groupIndex =
+        MultiValueIndex.makeUnorderedIndex(
+            groupingColumns,
+            (int) numRows,
+            TextFoldingStrategy.unicodeNormalizedFold,
+            problemAggregator);
+    RowGrouping grouping = groupIndex.grouping();
+    runningStatistic.prepare(identityOrder((int) numRows));
+    computeRuns(runningStatistic, grouping.rows(), groupOffsets(grouping));
   }
 }
 
 class NoGroupingOrderingRunning<T> extends RunningLooper<T> {
 
-  private final Storage<?>[] orderingStorages;
-  private final List<OrderedMultiValueKey> keys;
+  private final Column[] orderingColumns;
+  private final int[] directions;
 
   public NoGroupingOrderingRunning(Column[] orderingColumns, int[] directions) {
-    int n = orderingColumns[0].getSize();
-    orderingStorages =
-        Arrays.stream(orderingColumns).map(Column::getStorage).toArray(Storage[]::new);
-    keys =
-        new ArrayList<>(
-            IntStream.range(0, n)
-                .mapToObj(i -> new OrderedMultiValueKey(orderingStorages, i, directions))
-                .toList());
-    keys.sort(null);
+    this.orderingColumns = orderingColumns;
+    this.directions = directions;
   }
 
   @Override
   public void loopImpl(RunningStatistic<T> runningStatistic, long numRows) {
-    var it = runningStatistic.getNewIterator();
-    for (var key : keys) {
-      var i = key.getRowIndex();
-      runningStatistic.calculateNextValue(i, it);
-    }
+    int[] rows = sortedOrder(orderingColumns, directions);
+    runningStatistic.prepare(rows);
+    computeRuns(runningStatistic, rows, new int[] {0, rows.length});
   }
 }
 
@@ -123,8 +185,6 @@ class GroupingOrderingRunning<T> extends RunningLooper<T> {
   private final Column[] groupingColumns;
   private final Column[] orderingColumns;
   private final int[] directions;
-  private final Storage<?>[] groupingStorages;
-  private final Storage<?>[] orderingStorages;
   private final ProblemAggregator problemAggregator;
 
   public GroupingOrderingRunning(
@@ -135,11 +195,6 @@ class GroupingOrderingRunning<T> extends RunningLooper<T> {
     this.groupingColumns = groupingColumns;
     this.orderingColumns = orderingColumns;
     this.directions = directions;
-    groupingStorages =
-        Arrays.stream(groupingColumns).map(Column::getStorage).toArray(Storage[]::new);
-    ConstantList.make(TextFoldingStrategy.unicodeNormalizedFold, groupingStorages.length);
-    orderingStorages =
-        Arrays.stream(orderingColumns).map(Column::getStorage).toArray(Storage[]::new);
     this.problemAggregator = problemAggregator;
   }
 
@@ -151,19 +206,21 @@ class GroupingOrderingRunning<T> extends RunningLooper<T> {
             (int) numRows,
             TextFoldingStrategy.unicodeNormalizedFold,
             problemAggregator);
-    for (var entry : groupIndex.mapping().entrySet()) {
-      List<Integer> indices = entry.getValue();
-      List<OrderedMultiValueKey> orderingKeys =
-          new ArrayList<>(
-              indices.stream()
-                  .map(i -> new OrderedMultiValueKey(orderingStorages, i, directions))
-                  .toList());
-      orderingKeys.sort(null);
-      var it = runningStatistic.getNewIterator();
-      for (OrderedMultiValueKey key : orderingKeys) {
-        var i = key.getRowIndex();
-        runningStatistic.calculateNextValue(i, it);
-      }
+    RowGrouping grouping = groupIndex.grouping();
+    int[] offsets = groupOffsets(grouping);
+
+    // All rows are sorted once, and then stably distributed into their groups, so that the rows of
+    // each group end up sorted.
+    int[] sortedRows = sortedOrder(orderingColumns, directions);
+    int[] rows = new int[sortedRows.length];
+    int[] next = Arrays.copyOf(offsets, grouping.groupCount());
+    Context context = Context.getCurrent();
+    for (int row : sortedRows) {
+      rows[next[grouping.groupOf(row)]++] = row;
+      context.safepoint();
     }
+
+    runningStatistic.prepare(rows);
+    computeRuns(runningStatistic, rows, offsets);
   }
 }
@@ -2,11 +2,21 @@ package org.enso.table.operations;
 
 import org.enso.table.data.column.storage.Storage;
 
+/**
+ * A statistic computed cumulatively over runs of rows.
+ *
+ * <p>The input is first read by {@link #prepare} on the calling thread. Then {@link #computeRun} is
+ * called once for each run of rows (e.g. a group). Runs are independent, so they may be computed
+ * concurrently on multiple threads: {@link #computeRun} must not touch the polyglot {@code Context}
+ * and may only write the results of the rows of its own run.
+ */
 public interface RunningStatistic<T> {
 
-  RunningIterator<T> getNewIterator();
+  /** Reads the input of all rows, reporting any problems in the order of the given rows. */
+  void prepare(int[] rows);
 
-  void calculateNextValue(int i, RunningIterator<T> it);
+  /** Computes the results of the rows {@code rows[from]}, ..., {@code rows[to - 1]}, in order. */
+  void computeRun(int[] rows, int from, int to);
 
   Storage<T> getResult();
 }
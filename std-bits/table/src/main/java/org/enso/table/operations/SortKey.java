@@ -0,0 +1,330 @@
+package org.enso.table.operations;
+
+import java.util.Comparator;
+import org.enso.base.ObjectComparator;
+import org.enso.table.data.column.storage.BoolStorage;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.datetime.DateStorage;
+import org.enso.table.data.column.storage.datetime.TimeOfDayStorage;
+import org.enso.table.data.column.storage.numeric.AbstractLongStorage;
+import org.enso.table.data.column.storage.numeric.DoubleStorage;
+import org.enso.table.data.column.storage.type.DateTimeType;
+import org.enso.table.data.column.storage.type.TextType;
+import org.graalvm.polyglot.Context;
+
+/**
+ * The values of a column prepared for sorting permutations of its row indices.
+ *
+ * <p>All sorts are stable. The values are only defined for rows which are not missing - these have
+ * to be handled by the caller.
+ *
+ * <p>The sorting methods do not poll safepoints, so that they can be run on worker threads, but
+ * only keys for which {@link #canSortOnWorkers} holds may be sorted there.
+ */
+public abstract class SortKey {
+  private static final int INSERTION_SORT_THRESHOLD = 32;
+
+  /**
+   * Creates a sort key for the given storage.
+   *
+   * <p>Values of fixed-width types are encoded into longs whose unsigned order is the order of the
+   * values, and are sorted with a radix sort. Other values are sorted with a merge sort, comparing
+   * them with {@link ObjectComparator#DEFAULT}.
+   */
+  static SortKey forStorage(Storage<?> storage, boolean ascending) {
+    Context context = Context.getCurrent();
+    int size = storage.size();
+    RowEncoder encoder = fixedWidthEncoder(storage, ascending);
+    if (encoder != null) {
+      long[] keys = new long[size];
+      for (int i = 0; i < size; i++) {
+        if (!storage.isNothing(i)) {
+          keys[i] = encoder.encode(i);
+        }
+        context.safepoint();
+      }
+      return new FixedWidthKey(keys);
+    }
+
+    Object[] values = new Object[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = storage.getItemBoxed(i);
+      context.safepoint();
+    }
+    return new ObjectKey(values, comparator(ascending), isComparedWithoutEnso(storage));
+  }
+
+  /**
+   * Creates a sort key that reads the values from the storage whenever two rows are compared,
+   * instead of preparing them for all rows of the storage upfront. It is meant for sorting only
+   * small subsets of a large storage, where the prepared values would take more memory than the
+   * rows being sorted.
+   */
+  static SortKey onDemand(Storage<?> storage, boolean ascending) {
+    RowEncoder encoder = fixedWidthEncoder(storage, ascending);
+    if (encoder != null) {
+      return new EncodingKey(encoder);
+    }
+
+    return new StorageKey(storage, comparator(ascending), isComparedWithoutEnso(storage));
+  }
+
+  private static Comparator<Object> comparator(boolean ascending) {
+    return ascending ? ObjectComparator.DEFAULT : ObjectComparator.DEFAULT.reversed();
+  }
+
+  /** Checks if all values of the storage are compared without calling back into Enso. */
+  private static boolean isComparedWithoutEnso(Storage<?> storage) {
+    return storage.getType() instanceof TextType || storage.getType() instanceof DateTimeType;
+  }
+
+  /** Creates a sort key over values already encoded as by {@link #fixedWidthEncoder}. */
+  public static SortKey ofEncoded(long[] keys) {
+    return new FixedWidthKey(keys);
+  }
+
+  /** Encodes a non-missing value of a row as a long. */
+  public interface RowEncoder {
+    long encode(int row);
+  }
+
+  /**
+   * Returns an encoder of the values of the given storage into longs whose unsigned order is the
+   * requested order of the values, or {@code null} if the values are not of a fixed-width type.
+   */
+  public static RowEncoder fixedWidthEncoder(Storage<?> storage, boolean ascending) {
+    long flip = ascending ? 0 : -1L;
+    return switch (storage) {
+      case AbstractLongStorage longStorage -> row ->
+          (longStorage.getItem(row) ^ Long.MIN_VALUE) ^ flip;
+      case DoubleStorage doubleStorage -> row ->
+          encodeDouble(doubleStorage.getItemAsDouble(row)) ^ flip;
+      case BoolStorage boolStorage -> row -> (boolStorage.getItem(row) ? 1L : 0L) ^ flip;
+      case DateStorage dateStorage -> row ->
+          (dateStorage.getItemBoxed(row).toEpochDay() ^ Long.MIN_VALUE) ^ flip;
+      case TimeOfDayStorage timeStorage -> row ->
+          timeStorage.getItemBoxed(row).toNanoOfDay() ^ flip;
+      default -> null;
+    };
+  }
+
+  /**
+   * Encodes a double so that the unsigned order of the results is consistent with {@link
+   * Double#compare}, i.e. {@code -0.0} is before {@code 0.0} and NaN is after all other values.
+   */
+  private static long encodeDouble(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+  }
+
+  /** Compares the values of the two rows. */
+  abstract int compare(int rowA, int rowB);
+
+  /**
+   * Checks if the values can be compared on threads that did not enter the polyglot {@code
+   * Context}. Values of custom types and mixed columns are compared by calling back into Enso, so
+   * they must be sorted on the calling thread.
+   */
+  abstract boolean canSortOnWorkers();
+
+  /**
+   * Sorts the row indices {@code rows[from]} to {@code rows[to - 1]} by their values.
+   *
+   * @param buffer a scratch array of the same length as {@code rows}; only its range {@code [from,
+   *     to)} is used, so disjoint ranges can be sorted concurrently
+   */
+  public abstract void sort(int[] rows, int from, int to, int[] buffer);
+
+  /**
+   * Merges the sorted ranges {@code [from, mid)} and {@code [mid, to)} of {@code source} into the
+   * same range of {@code target}. Of equal values, the ones from the first range come first.
+   */
+  final void merge(int[] source, int from, int mid, int to, int[] target) {
+    int i = from;
+    int j = mid;
+    int k = from;
+    while (i < mid && j < to) {
+      target[k++] = compare(source[j], source[i]) < 0 ? source[j++] : source[i++];
+    }
+
+    System.arraycopy(source, i, target, k, mid - i);
+    System.arraycopy(source, j, target, k + mid - i, to - j);
+  }
+
+  final void insertionSort(int[] rows, int from, int to) {
+    for (int i = from + 1; i < to; i++) {
+      int row = rows[i];
+      int j = i - 1;
+      while (j >= from && compare(row, rows[j]) < 0) {
+        rows[j + 1] = rows[j];
+        j--;
+      }
+      rows[j + 1] = row;
+    }
+  }
+
+  /** Values encoded as longs, compared as unsigned. */
+  private static final class FixedWidthKey extends SortKey {
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int DIGITS = Long.SIZE / RADIX_BITS;
+
+    private final long[] keys;
+
+    FixedWidthKey(long[] keys) {
+      this.keys = keys;
+    }
+
+    @Override
+    int compare(int rowA, int rowB) {
+      return Long.compareUnsigned(keys[rowA], keys[rowB]);
+    }
+
+    @Override
+    boolean canSortOnWorkers() {
+      return true;
+    }
+
+    /** An LSD radix sort, skipping the digits that are the same for all values. */
+    @Override
+    public void sort(int[] rows, int from, int to, int[] buffer) {
+      int length = to - from;
+      if (length <= INSERTION_SORT_THRESHOLD) {
+        insertionSort(rows, from, to);
+        return;
+      }
+
+      long[] currentKeys = new long[length];
+      long[] nextKeys = new long[length];
+      int[][] counts = new int[DIGITS][BUCKETS];
+      for (int i = 0; i < length; i++) {
+        long key = keys[rows[from + i]];
+        currentKeys[i] = key;
+        for (int digit = 0; digit < DIGITS; digit++) {
+          counts[digit][(int) (key >>> (digit * RADIX_BITS)) & (BUCKETS - 1)]++;
+        }
+      }
+
+      int[] currentRows = rows;
+      int[] nextRows = buffer;
+      for (int digit = 0; digit < DIGITS; digit++) {
+        int shift = digit * RADIX_BITS;
+        int[] digitCounts = counts[digit];
+        if (digitCounts[(int) (currentKeys[0] >>> shift) & (BUCKETS - 1)] == length) {
+          continue;
+        }
+
+        int position = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+          int count = digitCounts[bucket];
+          digitCounts[bucket] = position;
+          position += count;
+        }
+
+        for (int i = 0; i < length; i++) {
+          long key = currentKeys[i];
+          int target = digitCounts[(int) (key >>> shift) & (BUCKETS - 1)]++;
+          nextKeys[target] = key;
+          nextRows[from + target] = currentRows[from + i];
+        }
+
+        long[] swappedKeys = currentKeys;
+        currentKeys = nextKeys;
+        nextKeys = swappedKeys;
+        int[] swappedRows = currentRows;
+        currentRows = nextRows;
+        nextRows = swappedRows;
+      }
+
+      if (currentRows != rows) {
+        System.arraycopy(currentRows, from, rows, from, length);
+      }
+    }
+  }
+
+  /** Keys sorted with a top-down merge sort, using only their comparisons. */
+  private abstract static class MergeSortedKey extends SortKey {
+    @Override
+    public void sort(int[] rows, int from, int to, int[] buffer) {
+      if (to - from <= INSERTION_SORT_THRESHOLD) {
+        insertionSort(rows, from, to);
+        return;
+      }
+
+      int mid = (from + to) >>> 1;
+      sort(rows, from, mid, buffer);
+      sort(rows, mid, to, buffer);
+      if (compare(rows[mid - 1], rows[mid]) <= 0) {
+        return;
+      }
+
+      System.arraycopy(rows, from, buffer, from, to - from);
+      merge(buffer, from, mid, to, rows);
+    }
+  }
+
+  /** Arbitrary values compared with a comparator. */
+  private static final class ObjectKey extends MergeSortedKey {
+    private final Object[] values;
+    private final Comparator<Object> comparator;
+    private final boolean comparedWithoutEnso;
+
+    ObjectKey(Object[] values, Comparator<Object> comparator, boolean comparedWithoutEnso) {
+      this.values = values;
+      this.comparator = comparator;
+      this.comparedWithoutEnso = comparedWithoutEnso;
+    }
+
+    @Override
+    int compare(int rowA, int rowB) {
+      return comparator.compare(values[rowA], values[rowB]);
+    }
+
+    @Override
+    boolean canSortOnWorkers() {
+      return comparedWithoutEnso;
+    }
+  }
+
+  /** Values of fixed-width types, encoded each time they are compared. */
+  private static final class EncodingKey extends MergeSortedKey {
+    private final RowEncoder encoder;
+
+    EncodingKey(RowEncoder encoder) {
+      this.encoder = encoder;
+    }
+
+    @Override
+    int compare(int rowA, int rowB) {
+      return Long.compareUnsigned(encoder.encode(rowA), encoder.encode(rowB));
+    }
+
+    @Override
+    boolean canSortOnWorkers() {
+      return true;
+    }
+  }
+
+  /** Arbitrary values read from the storage each time they are compared. */
+  private static final class StorageKey extends MergeSortedKey {
+    private final Storage<?> storage;
+    private final Comparator<Object> comparator;
+    private final boolean comparedWithoutEnso;
+
+    StorageKey(Storage<?> storage, Comparator<Object> comparator, boolean comparedWithoutEnso) {
+      this.storage = storage;
+      this.comparator = comparator;
+      this.comparedWithoutEnso = comparedWithoutEnso;
+    }
+
+    @Override
+    int compare(int rowA, int rowB) {
+      return comparator.compare(storage.getItemBoxed(rowA), storage.getItemBoxed(rowB));
+    }
+
+    @Override
+    boolean canSortOnWorkers() {
+      return comparedWithoutEnso;
+    }
+  }
+}
@@ -180,6 +180,12 @@ public class NumberParser extends IncrementalDatatypeParser {
   private final boolean allowLeadingZeros;
   private final boolean allowScientific;
   private final boolean trimValues;
+  private final boolean scannerEnabled;
+
+  /**
+   * The patterns tried by this parser, resolved once so that parsing a cell does not build them.
+   */
+  private final Pattern[] patterns;
 
   /**
    * Creates a new integer instance of this parser.
@@ -256,6 +262,37 @@ public class NumberParser extends IncrementalDatatypeParser {
     this.trimValues = trimValues;
     this.allowScientific = allowScientific;
     SEPARATORS = buildSeparators(allowDecimal, decimalPoint, thousandSeparator);
+    this.scannerEnabled = true;
+    this.patterns = new Pattern[patternCount()];
+    for (int index = 0; index < patterns.length; index++) {
+      patterns[index] = patternForIndex(index);
+    }
+  }
+
+  private NumberParser(NumberParser other, boolean scannerEnabled) {
+    this.allowDecimal = other.allowDecimal;
+    this.integerTargetType = other.integerTargetType;
+    this.allowCurrency = other.allowCurrency;
+    this.allowLeadingZeros = other.allowLeadingZeros;
+    this.trimValues = other.trimValues;
+    this.allowScientific = other.allowScientific;
+    this.SEPARATORS = other.SEPARATORS;
+    this.scannerEnabled = scannerEnabled;
+    this.patterns = other.patterns;
+  }
+
+  /**
+   * Creates a copy of this parser that matches all cells with the regular expressions, bypassing
+   * the scanner. It is only used to benchmark the two against each other.
+   */
+  NumberParser withoutScanner() {
+    return new NumberParser(this, false);
+  }
+
+  /** The number of combinations of separators and patterns that this parser tries. */
+  private int patternCount() {
+    int allowedSet = (allowCurrency ? ALLOWED_CCY_PATTERNS : ALLOWED_NON_CCY_PATTERNS);
+    return SEPARATORS.length * allowedSet;
   }
 
   /**
@@ -281,18 +318,40 @@ public class NumberParser extends IncrementalDatatypeParser {
         SEPARATORS[separatorsIndex]);
   }
 
+  /**
+   * Returns the separators to scan the plain number pattern (sign followed by number) at the given
+   * index with, or null if the index refers to a pattern with currency symbols or brackets, which
+   * is matched with its regex.
+   */
+  private Separators scannableSeparators(int index) {
+    if (!scannerEnabled) {
+      return null;
+    }
+
+    int allowedSet = (allowCurrency ? ALLOWED_CCY_PATTERNS : ALLOWED_NON_CCY_PATTERNS);
+    if (index % allowedSet != 0) {
+      return null;
+    }
+
+    Separators separators = SEPARATORS[index / allowedSet];
+
+    // With these separators the regex can read the same text in more than one way (`1e5` with `e`
+    // as a separator, or a trailing space being a decimal point), so we let it decide.
+    boolean ambiguousThousand = allowScientific && isExponentMarker(separators.thousand);
+    boolean ambiguousDecimal =
+        separators.decimal != null
+            && ((allowScientific && isExponentMarker(separators.decimal))
+                || isPatternWhitespace(separators.decimal.charAt(0)));
+    return ambiguousThousand || ambiguousDecimal ? null : separators;
+  }
+
   @Override
   public Object parseSingleValue(String text, ParseProblemAggregator problemAggregator) {
-    int index = 0;
-    var pattern = patternForIndex(index);
-    while (pattern != null) {
-      var value = innerParseSingleValue(text, pattern);
+    for (int index = 0; index < patterns.length; index++) {
+      var value = innerParseSingleValue(text, index);
       if (value != null) {
         return value;
       }
-
-      index++;
-      pattern = patternForIndex(index);
     }
 
     problemAggregator.reportInvalidFormat(text);
@@ -302,15 +361,12 @@ public class NumberParser extends IncrementalDatatypeParser {
   @Override
   public Storage<?> parseColumn(
       Storage<String> sourceStorage, CommonParseProblemAggregator problemAggregator) {
-    int index = 0;
-    var pattern = patternForIndex(index);
-
     int bestIndex = 0;
     int bestCount = -1;
-    while (pattern != null) {
+    for (int index = 0; index < patterns.length; index++) {
       ProblemAggregator inner = problemAggregator.createSimpleChild();
       Builder builder = makeBuilderWithCapacity(sourceStorage.size(), inner);
-      int failedAt = parseColumnWithPattern(pattern, sourceStorage, builder, null);
+      int failedAt = parseColumnWithPattern(index, sourceStorage, builder, null);
       if (failedAt == -1) {
         return builder.seal();
       }
@@ -323,19 +379,16 @@ public class NumberParser extends IncrementalDatatypeParser {
         bestCount = failedAt;
         bestIndex = index;
       }
-
-      index++;
-      pattern = patternForIndex(index);
     }
 
     CommonParseProblemAggregator aggregator = problemAggregator.createContextAwareChild();
     Builder fallback = makeBuilderWithCapacity(sourceStorage.size(), aggregator);
-    parseColumnWithPattern(patternForIndex(bestIndex), sourceStorage, fallback, aggregator);
+    parseColumnWithPattern(bestIndex, sourceStorage, fallback, aggregator);
     return fallback.seal();
   }
 
   private int parseColumnWithPattern(
-      Pattern pattern,
+      int patternIndex,
       Storage<String> sourceStorage,
       Builder builder,
       ParseProblemAggregator aggregator) {
@@ -345,7 +398,7 @@ public class NumberParser extends IncrementalDatatypeParser {
       if (text == null) {
         builder.appendNulls(1);
       } else {
-        var value = innerParseSingleValue(text, pattern);
+        var value = innerParseSingleValue(text, patternIndex);
         if (value != null) {
           builder.appendNoGrow(value);
         } else {
@@ -370,7 +423,7 @@ public class NumberParser extends IncrementalDatatypeParser {
         : NumericBuilder.createLongBuilder(capacity, integerTargetType, problemAggregator);
   }
 
-  private Object innerParseSingleValue(String text, Pattern pattern) {
+  private Object innerParseSingleValue(String text, int index) {
     if (allowDecimal) {
       var trimmed = trimValues ? text.trim() : text;
       if (trimmed.equals("NaN")) {
@@ -384,6 +437,207 @@ public class NumberParser extends IncrementalDatatypeParser {
       }
     }
 
+    Separators separators = scannableSeparators(index);
+    if (separators != null) {
+      Object value = scanPlainNumber(text, separators);
+      if (value != USE_PATTERN) {
+        return value;
+      }
+    }
+
+    return parseWithPattern(text, patterns[index]);
+  }
+
+  /** Returned by {@link #scanPlainNumber} for values that it leaves to the regex. */
+  private static final Object USE_PATTERN = new Object();
+
+  /** Powers of ten that are exactly representable as a double. */
+  private static final double[] EXACT_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** The largest integer up to which all integers are exactly representable as a double. */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isExponentMarker(String separator) {
+    return "e".equals(separator) || "E".equals(separator);
+  }
+
+  /** Checks if the character is matched by {@code \s} in a regex. */
+  private static boolean isPatternWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  /**
+   * Parses the text in a single pass, giving the same result as the plain number pattern (sign
+   * followed by number) built for the given separators, without allocating a matcher.
+   *
+   * @return the parsed value, null if the text does not match the pattern or if the matched value
+   *     is rejected, or {@link #USE_PATTERN} if the value is out of the range handled here and
+   *     should be parsed by the regex instead
+   */
+  private Object scanPlainNumber(CharSequence text, Separators separators) {
+    int start = 0;
+    int end = text.length();
+    if (trimValues) {
+      while (start < end && isPatternWhitespace(text.charAt(start))) {
+        start++;
+      }
+      while (end > start && isPatternWhitespace(text.charAt(end - 1))) {
+        end--;
+      }
+    }
+
+    int i = start;
+    boolean negative = false;
+    if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+      negative = text.charAt(i) == '-';
+      i++;
+    }
+
+    // The digits of the integer and decimal parts form the mantissa. As long as it fits, it is
+    // accumulated in a long; the number of its digits is counted without leading zeros.
+    long mantissa = 0;
+    int mantissaDigits = 0;
+
+    int integerStart = i;
+    int integerDigits = 0;
+    while (i < end && isDigit(text.charAt(i))) {
+      if (mantissa != 0 || text.charAt(i) != '0') {
+        mantissa = mantissa * 10 + (text.charAt(i) - '0');
+        mantissaDigits++;
+        if (mantissaDigits > 18) {
+          return USE_PATTERN;
+        }
+      }
+      integerDigits++;
+      i++;
+    }
+
+    if (separators.thousand != null && integerDigits >= 1 && integerDigits <= 3) {
+      char thousand = separators.thousand.charAt(0);
+      while (i + 3 < end
+          && text.charAt(i) == thousand
+          && isDigit(text.charAt(i + 1))
+          && isDigit(text.charAt(i + 2))
+          && isDigit(text.charAt(i + 3))
+          && (i + 4 == end || !isDigit(text.charAt(i + 4)))) {
+        for (int j = i + 1; j <= i + 3; j++) {
+          if (mantissa != 0 || text.charAt(j) != '0') {
+            mantissa = mantissa * 10 + (text.charAt(j) - '0');
+            mantissaDigits++;
+            if (mantissaDigits > 18) {
+              return USE_PATTERN;
+            }
+          }
+        }
+        integerDigits += 3;
+        i += 4;
+      }
+    }
+
+    boolean hasDecimal = false;
+    int fractionDigits = 0;
+    if (allowDecimal && i < end && text.charAt(i) == separators.decimal.charAt(0)) {
+      hasDecimal = true;
+      i++;
+      while (i < end && isDigit(text.charAt(i))) {
+        if (mantissa != 0 || text.charAt(i) != '0') {
+          mantissa = mantissa * 10 + (text.charAt(i) - '0');
+          mantissaDigits++;
+          if (mantissaDigits > 18) {
+            return USE_PATTERN;
+          }
+        }
+        fractionDigits++;
+        i++;
+      }
+    }
+
+    boolean hasExponent = false;
+    int exponent = 0;
+    if (allowScientific && i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+      hasExponent = true;
+      i++;
+      boolean negativeExponent = false;
+      if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+        negativeExponent = text.charAt(i) == '-';
+        i++;
+      }
+      int exponentStart = i;
+      while (i < end && isDigit(text.charAt(i))) {
+        if (i - exponentStart >= 4) {
+          return USE_PATTERN;
+        }
+        exponent = exponent * 10 + (text.charAt(i) - '0');
+        i++;
+      }
+      if (i == exponentStart) {
+        return null;
+      }
+      exponent = negativeExponent ? -exponent : exponent;
+    }
+
+    if (i != end) {
+      return null;
+    }
+
+    if (!allowLeadingZeros && integerDigits > 1 && text.charAt(integerStart) == '0') {
+      return null;
+    }
+
+    if (!allowDecimal) {
+      if (integerDigits == 0) {
+        return null;
+      }
+
+      long integer_value = negative ? -mantissa : mantissa;
+      return integerTargetType.fits(integer_value) ? integer_value : null;
+    }
+
+    if (integerDigits == 0 && !hasDecimal) {
+      return null;
+    }
+
+    if (hasExponent && integerDigits > 1) {
+      return null;
+    }
+
+    if (!hasDecimal && !hasExponent) {
+      // Special handling for values like `-0` - if we treat them as integers, they will lose the
+      // `-` sign.
+      if (mantissa == 0 && negative) {
+        return -0.0;
+      }
+
+      return negative ? -mantissa : mantissa;
+    }
+
+    // The mantissa and the power of ten are both exact, so a single multiplication or division
+    // rounds the same way as `Double.parseDouble`. Other values are left to the regex path.
+    int powerOfTen = exponent - fractionDigits;
+    double value;
+    if (mantissa == 0) {
+      value = 0.0;
+    } else if (mantissa <= MAX_EXACT_MANTISSA
+        && Math.abs(powerOfTen) < EXACT_POWERS_OF_TEN.length) {
+      value =
+          powerOfTen >= 0
+              ? mantissa * EXACT_POWERS_OF_TEN[powerOfTen]
+              : mantissa / EXACT_POWERS_OF_TEN[-powerOfTen];
+    } else {
+      return USE_PATTERN;
+    }
+
+    return negative ? -value : value;
+  }
+
+  private Object parseWithPattern(String text, Pattern pattern) {
     var parsed = pattern.matcher(text);
     if (!parsed.matches()) {
       return null;
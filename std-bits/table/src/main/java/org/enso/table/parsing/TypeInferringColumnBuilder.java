@@ -0,0 +1,266 @@
+package org.enso.table.parsing;
+
+import java.util.Arrays;
+import org.enso.table.data.column.builder.Builder;
+import org.enso.table.data.column.builder.StringBuilder;
+import org.enso.table.data.column.storage.Storage;
+import org.enso.table.data.column.storage.type.TextType;
+import org.enso.table.parsing.problems.CommonParseProblemAggregator;
+
+/**
+ * Builds a column from text cells that are fed one by one, parsing them into the inferred type on
+ * the fly.
+ *
+ * <p>The result is the same as if all cells were first collected into a text column and then parsed
+ * with {@link TypeInferringParser#parseColumn}, but the text values are not kept around for columns
+ * which parse into a more specific type.
+ *
+ * <p>The first base parser that accepts the first non-null cell becomes the current candidate and
+ * further cells are appended directly into its builder. If a later cell is rejected by the
+ * candidate, the cells seen so far are reconstructed and the remaining parsers are tried on them,
+ * exactly as {@link TypeInferringParser} would have done on the whole column. If no parser
+ * succeeds, the column falls back to keeping the texts and the fallback parser is applied at the
+ * end.
+ *
+ * <p>To be able to reconstruct the original cells, the texts that cannot be recovered from the
+ * parsed value (e.g. {@code 007} parsed as {@code 7}) are retained. For typical machine-generated
+ * data, these are rare.
+ *
+ * <p>This class does not poll safepoints. Choosing another candidate seals the current builder,
+ * which needs the polyglot {@code Context}, so {@link #append} and {@link #seal} must be called
+ * from the thread that entered the context. {@link #tryAppend} does not need it, so the builders of
+ * different columns may be fed with it in parallel.
+ */
+public final class TypeInferringColumnBuilder {
+  private static final int INITIAL_CAPACITY = 128;
+
+  private final IncrementalDatatypeParser[] baseParsers;
+  private final DatatypeParser fallbackParser;
+  private final CommonParseProblemAggregator problemAggregator;
+
+  /** The number of cells appended so far. */
+  private int size = 0;
+
+  /**
+   * Index of the base parser that accepted all cells so far.
+   *
+   * <p>It is -1 if only nulls have been seen so far, and {@code baseParsers.length} if no base
+   * parser succeeded and the texts are collected for the fallback parser.
+   */
+  private int candidateIndex = -1;
+
+  private Builder builder = null;
+  private CommonParseProblemAggregator candidateAggregator = null;
+  private RetainedTexts retainedTexts = new RetainedTexts();
+  private String trueText = null;
+  private String falseText = null;
+
+  TypeInferringColumnBuilder(
+      IncrementalDatatypeParser[] baseParsers,
+      DatatypeParser fallbackParser,
+      CommonParseProblemAggregator problemAggregator) {
+    this.baseParsers = baseParsers;
+    this.fallbackParser = fallbackParser;
+    this.problemAggregator = problemAggregator;
+  }
+
+  /** Appends a single text cell, which may be null. */
+  public void append(String cell) {
+    if (tryAppend(cell)) {
+      return;
+    }
+
+    if (candidateIndex == -1) {
+      String[] texts = new String[size + 1];
+      texts[size] = cell;
+      findCandidate(0, texts);
+    } else {
+      candidateAggregator.detachFromParent();
+      String[] texts = reconstructTexts(cell);
+      findCandidate(candidateIndex + 1, texts);
+    }
+  }
+
+  /**
+   * Appends a single text cell, which may be null, unless it requires choosing another candidate.
+   *
+   * <p>Does not touch the polyglot {@code Context}, nor the parent problem aggregator.
+   *
+   * @return true if the cell was appended; if false is returned, the cell must be passed to {@link
+   *     #append} before any further cells
+   */
+  public boolean tryAppend(String cell) {
+    if (candidateIndex == -1) {
+      if (cell != null) {
+        return false;
+      }
+    } else if (candidateIndex == baseParsers.length) {
+      builder.append(cell);
+    } else if (cell == null) {
+      builder.appendNulls(1);
+    } else {
+      Object parsed = baseParsers[candidateIndex].parseSingleValue(cell, candidateAggregator);
+      if (candidateAggregator.hasProblems()) {
+        return false;
+      }
+
+      builder.append(parsed);
+      retainIfNotRecoverable(size, cell, parsed);
+    }
+
+    size++;
+    return true;
+  }
+
+  /** Returns the resulting storage. No more cells may be appended after calling this method. */
+  public Storage<?> seal() {
+    if (candidateIndex == -1) {
+      // Same as in `TypeInferringParser`: if there are no values, the fallback parser decides.
+      StringBuilder nulls = new StringBuilder(size, TextType.VARIABLE_LENGTH);
+      nulls.appendNulls(size);
+      return fallbackParser.parseColumn(nulls.seal(), problemAggregator);
+    } else if (candidateIndex == baseParsers.length) {
+      @SuppressWarnings("unchecked")
+      Storage<String> texts = (Storage<String>) builder.seal();
+      return fallbackParser.parseColumn(texts, problemAggregator);
+    } else {
+      return builder.seal();
+    }
+  }
+
+  /**
+   * Finds the first parser, starting from {@code startIndex}, that can parse all of the provided
+   * texts and makes it the current candidate.
+   *
+   * <p>The texts contain all cells appended so far, including the one currently being appended.
+   */
+  private void findCandidate(int startIndex, String[] texts) {
+    parsers:
+    for (int p = startIndex; p < baseParsers.length; p++) {
+      IncrementalDatatypeParser parser = baseParsers[p];
+      CommonParseProblemAggregator innerAggregator = problemAggregator.createContextAwareChild();
+      Builder innerBuilder =
+          parser.makeBuilderWithCapacity(Math.max(INITIAL_CAPACITY, texts.length), innerAggregator);
+      RetainedTexts innerRetained = new RetainedTexts();
+      trueText = null;
+      falseText = null;
+
+      for (int i = 0; i < texts.length; i++) {
+        String cell = texts[i];
+        if (cell == null) {
+          innerBuilder.appendNulls(1);
+        } else {
+          Object parsed = parser.parseSingleValue(cell, innerAggregator);
+          if (innerAggregator.hasProblems()) {
+            innerAggregator.detachFromParent();
+            continue parsers;
+          }
+
+          innerBuilder.append(parsed);
+          retainIfNotRecoverable(innerRetained, i, cell, parsed);
+        }
+      }
+
+      candidateIndex = p;
+      builder = innerBuilder;
+      candidateAggregator = innerAggregator;
+      retainedTexts = innerRetained;
+      size = texts.length;
+      return;
+    }
+
+    candidateIndex = baseParsers.length;
+    builder = new StringBuilder(Math.max(INITIAL_CAPACITY, texts.length), TextType.VARIABLE_LENGTH);
+    for (String text : texts) {
+      builder.append(text);
+    }
+    candidateAggregator = null;
+    retainedTexts = null;
+    size = texts.length;
+  }
+
+  /**
+   * Recovers the texts of all cells appended so far from the current builder and the retained
+   * texts, adding the provided cell at the end.
+   */
+  private String[] reconstructTexts(String nextCell) {
+    Storage<?> storage = builder.seal();
+    String[] texts = new String[size + 1];
+    int retainedIx = 0;
+    for (int i = 0; i < size; i++) {
+      if (retainedIx < retainedTexts.count && retainedTexts.rows[retainedIx] == i) {
+        texts[i] = retainedTexts.texts[retainedIx++];
+      } else if (!storage.isNothing(i)) {
+        texts[i] = recoverText(storage.getItemBoxed(i));
+      }
+    }
+
+    texts[size] = nextCell;
+    return texts;
+  }
+
+  private void retainIfNotRecoverable(int row, String cell, Object parsed) {
+    retainIfNotRecoverable(retainedTexts, row, cell, parsed);
+  }
+
+  private void retainIfNotRecoverable(RetainedTexts target, int row, String cell, Object parsed) {
+    if (parsed instanceof Boolean b) {
+      // Booleans may be represented by custom texts, so we remember the first text seen for each
+      // value and only retain the ones that differ from it.
+      if (b && trueText == null) {
+        trueText = cell;
+      } else if (!b && falseText == null) {
+        falseText = cell;
+      }
+    }
+
+    if (!cell.equals(recoverText(parsed))) {
+      target.add(row, cell);
+    }
+  }
+
+  /**
+   * Returns the text that the given value is assumed to have been parsed from, or null if no
+   * assumption can be made.
+   *
+   * <p>It must give the same result for the value returned by the parser and for the value read
+   * back from the sealed storage. Integers may be appended to a floating point builder, so whole
+   * numbers are represented the same way regardless of whether they are a {@code Long} or a {@code
+   * Double}, as long as they are exactly representable in both.
+   */
+  private String recoverText(Object value) {
+    return switch (value) {
+      case null -> null;
+      case Boolean b -> b ? trueText : falseText;
+      case Long l -> isExactInDouble(l) ? Long.toString(l) : null;
+      case Double d -> (d == Math.rint(d) && isExactInDouble(d.longValue()))
+          ? Long.toString(d.longValue())
+          : Double.toString(d);
+      default -> value.toString();
+    };
+  }
+
+  private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+  private static boolean isExactInDouble(long value) {
+    return value >= -MAX_EXACT_DOUBLE_INTEGER && value <= MAX_EXACT_DOUBLE_INTEGER;
+  }
+
+  /** A sparse, append-only mapping from row indices (in increasing order) to original texts. */
+  private static final class RetainedTexts {
+    private int[] rows = new int[8];
+    private String[] texts = new String[8];
+    private int count = 0;
+
+    void add(int row, String text) {
+      if (count == rows.length) {
+        rows = Arrays.copyOf(rows, count * 2);
+        texts = Arrays.copyOf(texts, count * 2);
+      }
+
+      rows[count] = row;
+      texts[count] = text;
+      count++;
+    }
+  }
+}
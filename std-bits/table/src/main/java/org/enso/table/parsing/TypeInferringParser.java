@@ -78,4 +78,13 @@ public class TypeInferringParser extends DatatypeParser {
 
     return fallbackParser.parseColumn(sourceStorage, problemAggregator);
   }
+
+  /**
+   * Creates a builder that parses cells as they are appended, giving the same result as {@link
+   * #parseColumn} would give for a column consisting of all appended cells.
+   */
+  public TypeInferringColumnBuilder makeColumnBuilder(
+      CommonParseProblemAggregator problemAggregator) {
+    return new TypeInferringColumnBuilder(baseParsers, fallbackParser, problemAggregator);
+  }
 }
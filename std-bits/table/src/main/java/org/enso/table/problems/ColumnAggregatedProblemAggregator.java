@@ -23,6 +23,20 @@ public class ColumnAggregatedProblemAggregator extends ProblemAggregator {
     aggregatedProblemList.add(problem);
   }
 
+  /**
+   * Reports all problems gathered by another aggregator to this one, in the order they were
+   * reported there. The other aggregator should no longer be used afterwards.
+   */
+  protected void takeProblemsFrom(ColumnAggregatedProblemAggregator other) {
+    for (Problem problem : other.directlyReportedProblems) {
+      report(problem);
+    }
+
+    for (ColumnAggregatedProblem problem : other.aggregatedProblemList) {
+      reportColumnAggregatedProblem(problem);
+    }
+  }
+
   @Override
   public ProblemSummary summarize() {
     var summary = super.summarize();
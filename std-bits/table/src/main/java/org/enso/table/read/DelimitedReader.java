@@ -17,12 +17,14 @@ import org.enso.table.data.table.Column;
 import org.enso.table.data.table.Table;
 import org.enso.table.error.EmptyFileException;
 import org.enso.table.parsing.DatatypeParser;
+import org.enso.table.parsing.TypeInferringColumnBuilder;
 import org.enso.table.parsing.TypeInferringParser;
 import org.enso.table.parsing.problems.CommonParseProblemAggregator;
 import org.enso.table.parsing.problems.NoOpParseProblemAggregator;
 import org.enso.table.parsing.problems.ParseProblemAggregator;
 import org.enso.table.problems.ProblemAggregator;
 import org.enso.table.util.NameDeduplicator;
+import org.enso.table.util.ParallelExecution;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 
@@ -68,6 +70,20 @@ public class DelimitedReader {
   private long currentLine = 0;
 
   private StringBuilder[] builders = null;
+
+  /**
+   * Builders parsing the cells into their target types as they are read.
+   *
+   * <p>They are used instead of {@code builders} if the value parser is a {@link
+   * TypeInferringParser}, so that columns of more specific types are never fully materialized as
+   * text. The rows are gathered into chunks, and each chunk is dispatched to the column builders in
+   * parallel.
+   */
+  private TypeInferringColumnBuilder[] typedBuilders = null;
+
+  private String[][] pendingChunk = null;
+  private int pendingChunkSize = 0;
+
   private final DelimitedReaderProblemAggregator problemAggregator;
 
   /**
@@ -261,34 +277,78 @@ public class DelimitedReader {
   }
 
   private void appendRow(String[] row) {
-    assert builders != null;
+    assert builders != null || typedBuilders != null;
     assert canFitMoreRows();
 
-    if (row.length != builders.length) {
+    int columnCount = getColumnCount();
+    if (row.length != columnCount) {
       problemAggregator.reportInvalidRow(
-          currentLine, keepInvalidRows ? targetTableIndex : null, row, builders.length);
+          currentLine, keepInvalidRows ? targetTableIndex : null, row, columnCount);
 
       if (keepInvalidRows) {
-        for (int i = 0; i < builders.length && i < row.length; i++) {
-          builders[i].append(row[i]);
-        }
-
         // If the current row had fewer columns than expected, nulls are inserted for the missing
         // values.
         // If it had more columns, the excess columns are discarded.
-        for (int i = row.length; i < builders.length; i++) {
-          builders[i].append(null);
-        }
-
+        appendCells(Arrays.copyOf(row, columnCount));
         targetTableIndex++;
       }
     } else {
+      appendCells(row);
+      targetTableIndex++;
+    }
+  }
+
+  private void appendCells(String[] cells) {
+    if (typedBuilders == null) {
       for (int i = 0; i < builders.length; i++) {
-        builders[i].append(row[i]);
+        builders[i].append(cells[i]);
       }
+    } else {
+      pendingChunk[pendingChunkSize++] = cells;
+      if (pendingChunkSize == pendingChunk.length) {
+        flushPendingChunk();
+      }
+    }
+  }
 
-      targetTableIndex++;
+  /**
+   * Feeds the gathered rows into the typed builders, processing the columns in parallel.
+   *
+   * <p>A column whose inferred type breaks within the chunk stops at the rejected cell. Changing
+   * the type needs the polyglot {@code Context}, so the rest of that column is appended on this
+   * thread.
+   */
+  private void flushPendingChunk() {
+    if (typedBuilders == null || pendingChunkSize == 0) {
+      return;
     }
+
+    String[][] chunk = pendingChunk;
+    int chunkSize = pendingChunkSize;
+    int[] rejectedAt = new int[typedBuilders.length];
+    ParallelExecution.forEachIndex(
+        typedBuilders.length,
+        column -> {
+          TypeInferringColumnBuilder builder = typedBuilders[column];
+          int i = 0;
+          while (i < chunkSize && builder.tryAppend(chunk[i][column])) {
+            i++;
+          }
+          rejectedAt[column] = i;
+        });
+
+    Context context = Context.getCurrent();
+    for (int column = 0; column < typedBuilders.length; column++) {
+      TypeInferringColumnBuilder builder = typedBuilders[column];
+      for (int i = rejectedAt[column]; i < chunkSize; i++) {
+        builder.append(chunk[i][column]);
+      }
+
+      context.safepoint();
+    }
+
+    Arrays.fill(pendingChunk, 0, pendingChunkSize, null);
+    pendingChunkSize = 0;
   }
 
   private boolean canFitMoreRows() {
@@ -459,12 +519,24 @@ public class DelimitedReader {
 
         context.safepoint();
       }
+
+      flushPendingChunk();
     } finally {
       // We ensure that parsing is stopped, even if the parsing has been interrupted.
       // That is to ensure that the other thread that is used for reading is also stopped quickly.
       parser.stopParsing();
     }
 
+    if (typedBuilders != null) {
+      Column[] columns = new Column[typedBuilders.length];
+      for (int i = 0; i < typedBuilders.length; i++) {
+        columns[i] = new Column(effectiveColumnNames[i], typedBuilders[i].seal());
+        context.safepoint();
+      }
+
+      return new Table(columns);
+    }
+
     Column[] columns = new Column[builders.length];
     for (int i = 0; i < builders.length; i++) {
       String columnName = effectiveColumnNames[i];
@@ -496,7 +568,28 @@ public class DelimitedReader {
 
   private static final int INITIAL_ROW_CAPACITY = 100;
 
+  /** The number of rows gathered before they are parsed into the typed builders. */
+  private static final int CHUNK_SIZE = 8192;
+
   private void initBuilders(int count) {
+    if (valueParser instanceof TypeInferringParser typeInferringParser) {
+      typedBuilders = new TypeInferringColumnBuilder[count];
+      for (int i = 0; i < count; i++) {
+        // We don't expect InvalidFormat to be propagated back to Enso, there is no particular type
+        // that we expect, so it can safely be null.
+        Value expectedEnsoValueType = Value.asValue(null);
+        CommonParseProblemAggregator parseProblemAggregator =
+            ParseProblemAggregator.make(
+                problemAggregator, effectiveColumnNames[i], expectedEnsoValueType);
+        typedBuilders[i] = typeInferringParser.makeColumnBuilder(parseProblemAggregator);
+      }
+
+      int chunkSize =
+          rowLimit >= 0 ? (int) Math.min(CHUNK_SIZE, Math.max(rowLimit, 1)) : CHUNK_SIZE;
+      pendingChunk = new String[chunkSize][];
+      return;
+    }
+
     builders = new StringBuilder[count];
     for (int i = 0; i < count; i++) {
       builders[i] = new StringBuilder(INITIAL_ROW_CAPACITY, TextType.VARIABLE_LENGTH);
@@ -2,13 +2,13 @@ package org.enso.table.read;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
-import org.apache.poi.ss.usermodel.Name;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellReference;
 import org.enso.table.data.column.builder.Builder;
@@ -24,12 +24,17 @@ import org.enso.table.excel.ExcelHeaders;
 import org.enso.table.excel.ExcelRange;
 import org.enso.table.excel.ExcelRow;
 import org.enso.table.excel.ExcelSheet;
+import org.enso.table.excel.ExcelWorkbook;
 import org.enso.table.excel.ReadOnlyExcelConnection;
+import org.enso.table.excel.StreamingWorkbook;
 import org.enso.table.problems.ProblemAggregator;
 import org.graalvm.polyglot.Context;
 
 /** A table reader for MS Excel files. */
 public class ExcelReader {
+  /** The initial size of the builders when the number of rows is not known up front. */
+  private static final int INITIAL_CAPACITY = 1024;
+
   /**
    * Reads a list of sheet names for the specified XLSX/XLS file into an array.
    *
@@ -50,6 +55,10 @@ public class ExcelReader {
    * @return a String[] containing the sheet names.
    */
   public static String[] readSheetNames(Workbook workbook) {
+    return readSheetNames(ExcelWorkbook.forPOIUserModel(workbook));
+  }
+
+  private static String[] readSheetNames(ExcelWorkbook workbook) {
     int sheetCount = workbook.getNumberOfSheets();
     var output = new String[sheetCount];
     Context context = Context.getCurrent();
@@ -70,7 +79,7 @@ public class ExcelReader {
    */
   public static String[] readRangeNames(File file, ExcelFileFormat format)
       throws IOException, InvalidFormatException {
-    return withWorkbook(file, format, ExcelReader::readRangeNames);
+    return withWorkbook(file, format, ExcelWorkbook::getRangeNames);
   }
 
   /**
@@ -80,8 +89,7 @@ public class ExcelReader {
    * @return a String[] containing the range names.
    */
   public static String[] readRangeNames(Workbook workbook) {
-    var names = workbook.getAllNames();
-    return names.stream().map(Name::getNameName).toArray(String[]::new);
+    return ExcelWorkbook.forPOIUserModel(workbook).getRangeNames();
   }
 
   /**
@@ -218,6 +226,23 @@ public class ExcelReader {
       Integer row_limit,
       ProblemAggregator problemAggregator)
       throws InvalidLocationException {
+    return readRangeByName(
+        ExcelWorkbook.forPOIUserModel(workbook),
+        rangeNameOrAddress,
+        headers,
+        skip_rows,
+        row_limit,
+        problemAggregator);
+  }
+
+  private static Table readRangeByName(
+      ExcelWorkbook workbook,
+      String rangeNameOrAddress,
+      ExcelHeaders.HeaderBehavior headers,
+      int skip_rows,
+      Integer row_limit,
+      ProblemAggregator problemAggregator)
+      throws InvalidLocationException {
     int sheetIndex = workbook.getSheetIndex(rangeNameOrAddress);
     if (sheetIndex != -1) {
       return readTable(
@@ -230,11 +255,11 @@ public class ExcelReader {
           problemAggregator);
     }
 
-    Name name = workbook.getName(rangeNameOrAddress);
+    String nameFormula = workbook.getNameFormula(rangeNameOrAddress);
 
     ExcelRange excelRange;
     try {
-      excelRange = new ExcelRange(name == null ? rangeNameOrAddress : name.getRefersToFormula());
+      excelRange = new ExcelRange(nameFormula == null ? rangeNameOrAddress : nameFormula);
     } catch (IllegalArgumentException e) {
       throw new InvalidLocationException(
           rangeNameOrAddress,
@@ -271,16 +296,32 @@ public class ExcelReader {
             readRange(workbook, excelRange, headers, skip_rows, row_limit, problemAggregator));
   }
 
-  private static <T> T withWorkbook(File file, ExcelFileFormat format, Function<Workbook, T> action)
-      throws IOException {
+  /**
+   * Runs the action on the workbook stored in the file.
+   *
+   * <p>XLSX files are read with a {@link StreamingWorkbook}, which only parses the rows of a sheet
+   * that are actually needed and does not build the POI user model. XLS files are opened through
+   * the {@link ExcelConnectionPool}.
+   */
+  private static <T> T withWorkbook(
+      File file, ExcelFileFormat format, Function<ExcelWorkbook, T> action) throws IOException {
+    if (format == ExcelFileFormat.XLSX) {
+      try (StreamingWorkbook workbook = StreamingWorkbook.open(file)) {
+        return action.apply(workbook);
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    }
+
     try (ReadOnlyExcelConnection connection =
         ExcelConnectionPool.INSTANCE.openReadOnlyConnection(file, format)) {
-      return connection.withWorkbook(action);
+      return connection.withWorkbook(
+          workbook -> action.apply(ExcelWorkbook.forPOIUserModel(workbook)));
     }
   }
 
   private static Table readRange(
-      Workbook workbook,
+      ExcelWorkbook workbook,
       ExcelRange excelRange,
       ExcelHeaders.HeaderBehavior headers,
       int skip_rows,
@@ -304,7 +345,7 @@ public class ExcelReader {
   }
 
   private static Table readTable(
-      Workbook workbook,
+      ExcelWorkbook workbook,
       int sheetIndex,
       ExcelRange excelRange,
       ExcelHeaders.HeaderBehavior headers,
@@ -312,7 +353,7 @@ public class ExcelReader {
       int rowCount,
       ProblemAggregator problemAggregator) {
 
-    ExcelSheet sheet = new ExcelSheet(workbook, sheetIndex);
+    ExcelSheet sheet = workbook.getSheetAt(sheetIndex);
 
     // Expand Single Cell
     if (excelRange != null && excelRange.isSingleCell()) {
@@ -332,7 +373,9 @@ public class ExcelReader {
     // Row Range
     boolean wholeColumn = excelRange == null || excelRange.isWholeColumn();
     int startRow = (wholeColumn ? 1 : excelRange.getTopRow()) + skipRows;
-    int endRow = wholeColumn ? sheet.getLastRow() : excelRange.getBottomRow();
+    // Whole columns are read until the last row of the sheet without looking ahead for it, so that
+    // a streamed sheet does not have to keep the rows that have already been read.
+    int endRow = wholeColumn ? Integer.MAX_VALUE : excelRange.getBottomRow();
 
     // Column Range
     boolean wholeRow = excelRange == null || excelRange.isWholeRow();
@@ -351,7 +394,8 @@ public class ExcelReader {
     startRow += excelHeaders.getRowsUsed();
 
     // Set up Storage
-    int size = Math.min(rowCount, endRow - startRow + 1);
+    int size =
+        Math.max(0, Math.min(rowCount, wholeColumn ? INITIAL_CAPACITY : endRow - startRow + 1));
     List<Builder> builders =
         wholeRow
             ? new ArrayList<>()
@@ -361,7 +405,9 @@ public class ExcelReader {
 
     // Read Cell Data
     int row = startRow;
-    while (row <= endRow && (row - startRow) < rowCount) {
+    while (row <= endRow
+        && (row - startRow) < rowCount
+        && (!wholeColumn || sheet.getLastRowUpTo(row) == row)) {
       ExcelRow currentRow = sheet.get(row);
       if (currentRow == null) {
         builders.forEach(b -> b.append(null));
@@ -385,7 +431,8 @@ public class ExcelReader {
     if (wholeRow && (rowCount == 0 || row < sheet.getFirstRow())) {
       ExcelRow currentRow = sheet.get(sheet.getFirstRow());
       int currentEndCol = currentRow.getLastColumn();
-      expandBuilders(builders, size, currentEndCol - startCol + 1, size, problemAggregator);
+      expandBuilders(
+          builders, size, currentEndCol - startCol + 1, row - startRow, problemAggregator);
     }
 
     // Create Table
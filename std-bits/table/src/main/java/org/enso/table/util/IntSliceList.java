@@ -0,0 +1,40 @@
+package org.enso.table.util;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/** A read-only {@link java.util.List} view over a range of a primitive int array. */
+public final class IntSliceList extends AbstractList<Integer> implements RandomAccess {
+  private final int[] data;
+  private final int start;
+  private final int end;
+
+  /**
+   * Creates a view of {@code data[start]} to {@code data[end - 1]}. The array is not copied, so
+   * later modifications to it are visible through the view.
+   */
+  public IntSliceList(int[] data, int start, int end) {
+    if (start < 0 || end > data.length || start > end) {
+      throw new IndexOutOfBoundsException(
+          "Invalid range [" + start + ", " + end + ") for array of length " + data.length + ".");
+    }
+
+    this.data = data;
+    this.start = start;
+    this.end = end;
+  }
+
+  @Override
+  public Integer get(int index) {
+    if (index < 0 || index >= end - start) {
+      throw new IndexOutOfBoundsException(index);
+    }
+
+    return data[start + index];
+  }
+
+  @Override
+  public int size() {
+    return end - start;
+  }
+}
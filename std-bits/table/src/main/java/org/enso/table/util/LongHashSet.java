@@ -0,0 +1,148 @@
+package org.enso.table.util;
+
+/**
+ * A set of primitive longs, stored in an open addressing hash table with linear probing.
+ *
+ * <p>Slots holding 0 are empty, so whether 0 itself is in the set is tracked separately.
+ *
+ * <p>The set can also count how many times each value was added, if it is filled with {@link
+ * #addOccurrence} instead of {@link #add}. The counts are only allocated once the first occurrence
+ * is added.
+ */
+public final class LongHashSet {
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] slots;
+  private boolean containsZero = false;
+  private int size = 0;
+
+  /**
+   * The number of occurrences of the value in each slot, or null if occurrences are not counted.
+   */
+  private int[] counts = null;
+
+  private int zeroCount = 0;
+
+  public LongHashSet() {
+    this(MIN_CAPACITY / 2);
+  }
+
+  /** Creates a set that can hold the given number of values without being resized. */
+  public LongHashSet(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < 2L * expectedSize && capacity < (1 << 30)) {
+      capacity *= 2;
+    }
+    slots = new long[capacity];
+  }
+
+  /** Adds the value to the set, returning {@code true} if it was not present. */
+  public boolean add(long value) {
+    if (value == 0) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+
+    int mask = slots.length - 1;
+    int slot = hash(value) & mask;
+    while (slots[slot] != 0) {
+      if (slots[slot] == value) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    slots[slot] = value;
+    size++;
+    if (2 * size > slots.length) {
+      grow();
+    }
+    return true;
+  }
+
+  /**
+   * Adds an occurrence of the value to the set, returning the number of occurrences of the value
+   * added so far.
+   */
+  public int addOccurrence(long value) {
+    if (value == 0) {
+      if (!containsZero) {
+        containsZero = true;
+        size++;
+      }
+      return ++zeroCount;
+    }
+
+    if (counts == null) {
+      counts = new int[slots.length];
+    }
+
+    int mask = slots.length - 1;
+    int slot = hash(value) & mask;
+    while (slots[slot] != 0) {
+      if (slots[slot] == value) {
+        return ++counts[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    slots[slot] = value;
+    counts[slot] = 1;
+    size++;
+    if (2 * size > slots.length) {
+      grow();
+    }
+    return 1;
+  }
+
+  public boolean contains(long value) {
+    if (value == 0) {
+      return containsZero;
+    }
+
+    int mask = slots.length - 1;
+    int slot = hash(value) & mask;
+    while (slots[slot] != 0) {
+      if (slots[slot] == value) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  /** The number of distinct values in the set. */
+  public int size() {
+    return size;
+  }
+
+  private static int hash(long value) {
+    long h = value * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private void grow() {
+    long[] oldSlots = slots;
+    int[] oldCounts = counts;
+    slots = new long[oldSlots.length * 2];
+    counts = oldCounts == null ? null : new int[slots.length];
+    int mask = slots.length - 1;
+    for (int i = 0; i < oldSlots.length; i++) {
+      long value = oldSlots[i];
+      if (value != 0) {
+        int slot = hash(value) & mask;
+        while (slots[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        slots[slot] = value;
+        if (counts != null) {
+          counts[slot] = oldCounts[i];
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package org.enso.table.util;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import org.graalvm.polyglot.Context;
+
+/**
+ * Helpers for running independent pieces of table processing on multiple cores.
+ *
+ * <p>The tasks are executed on the common fork-join pool. They must not touch the polyglot {@code
+ * Context} (so no {@code context.safepoint()} calls inside of them) - the calling thread is
+ * responsible for polling safepoints between batches of tasks.
+ *
+ * <p>Parallelism can be disabled by setting the {@code enso.table.parallelism} system property to
+ * {@code 1}. In that case all tasks are run sequentially on the calling thread.
+ *
+ * <p>Operations for which running in parallel changes the memory profile considerably (like
+ * partitioned grouping) are opt-in and need to be additionally enabled with the {@code
+ * enso.table.parallel_grouping} system property. It is checked each time such an operation starts,
+ * so it can be switched on and off while running.
+ */
+public final class ParallelExecution {
+  private ParallelExecution() {}
+
+  private static final int PARALLELISM =
+      Integer.getInteger("enso.table.parallelism", Runtime.getRuntime().availableProcessors());
+
+  /** Checks if tasks may be executed on more than one thread. */
+  public static boolean isEnabled() {
+    return PARALLELISM > 1;
+  }
+
+  /** Checks if grouping and deduplication of rows may be partitioned across threads. */
+  public static boolean isGroupingEnabled() {
+    return isEnabled() && Boolean.getBoolean("enso.table.parallel_grouping");
+  }
+
+  /** The number of threads that tasks are expected to run on. */
+  public static int parallelism() {
+    return Math.max(PARALLELISM, 1);
+  }
+
+  /**
+   * Runs {@code task} for each index in {@code [0, count)}.
+   *
+   * <p>If any of the tasks fails, the exception thrown by the task with the lowest index is
+   * re-thrown (as-is) once all tasks have finished, so that the reported failure does not depend on
+   * the scheduling.
+   */
+  public static void forEachIndex(int count, IntConsumer task) {
+    if (count <= 1 || !isEnabled()) {
+      for (int i = 0; i < count; i++) {
+        task.accept(i);
+      }
+      return;
+    }
+
+    RuntimeException[] failures = new RuntimeException[count];
+    IntStream.range(0, count)
+        .parallel()
+        .forEach(
+            i -> {
+              try {
+                task.accept(i);
+              } catch (RuntimeException e) {
+                failures[i] = e;
+              }
+            });
+
+    for (RuntimeException failure : failures) {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  /**
+   * Runs {@code task} for each index in {@code [0, count)}, submitting at most {@code batchSize}
+   * tasks at once and polling safepoints on the calling thread between the batches.
+   */
+  public static void forEachIndexPollingSafepoints(int count, int batchSize, IntConsumer task) {
+    Context context = Context.getCurrent();
+    for (int batchStart = 0; batchStart < count; batchStart += batchSize) {
+      int start = batchStart;
+      forEachIndex(Math.min(batchSize, count - start), i -> task.accept(start + i));
+      context.safepoint();
+    }
+  }
+}
@@ -77,7 +77,8 @@ public class ExcelWriter {
       headers =
           headers != ExcelHeaders.HeaderBehavior.INFER
               ? headers
-              : shouldWriteHeaders(new ExcelSheet(workbook, sheetIndex), firstRow + 1, 1, -1);
+              : shouldWriteHeaders(
+                  ExcelSheet.forPOIUserModel(workbook, sheetIndex), firstRow + 1, 1, -1);
 
       String sheetName = workbook.getSheetName(sheetIndex - 1);
       workbook.removeSheetAt(sheetIndex - 1);
@@ -130,7 +131,8 @@ public class ExcelWriter {
       headers =
           headers != ExcelHeaders.HeaderBehavior.INFER
               ? headers
-              : shouldWriteHeaders(new ExcelSheet(workbook, sheetIndex), firstRow + 1, 1, -1);
+              : shouldWriteHeaders(
+                  ExcelSheet.forPOIUserModel(workbook, sheetIndex), firstRow + 1, 1, -1);
 
       workbook.removeSheetAt(sheetIndex);
       Sheet sheet = workbook.createSheet(sheetName);
@@ -198,7 +200,7 @@ public class ExcelWriter {
       throw new InvalidLocationException(
           range.getSheetName(), "Unknown sheet '" + range.getSheetName() + "'.");
     }
-    ExcelSheet sheet = new ExcelSheet(workbook, sheetIndex);
+    ExcelSheet sheet = ExcelSheet.forPOIUserModel(workbook, sheetIndex);
 
     if (skipRows != 0) {
       if (range.isWholeColumn()) {
@@ -358,7 +360,7 @@ public class ExcelWriter {
     }
 
     if (existingDataMode == ExistingDataMode.REPLACE) {
-      clearRange(workbook, range, sheet);
+      clearRange(workbook, range);
     } else if (rangeIsNotEmpty(workbook, range, sheet)) {
       throw new ExistingDataException(
           "Range is not empty, and cannot be replaced in current mode.");
@@ -366,7 +368,7 @@ public class ExcelWriter {
 
     writeTableToSheet(
         workbook,
-        sheet.getSheet(),
+        workbook.getSheet(range.getSheetName()),
         range.getTopRow() - 1,
         range.getLeftColumn(),
         table,
@@ -397,17 +399,17 @@ public class ExcelWriter {
    * Clears a range of any content.
    * @param workbook The workbook to clear.
    * @param range The range to clear.
-   * @param sheet Sheet containing the range.
    */
-  private static void clearRange(Workbook workbook, ExcelRange range, ExcelSheet sheet) {
+  private static void clearRange(Workbook workbook, ExcelRange range) {
+    Sheet sheet = workbook.getSheet(range.getSheetName());
     ExcelRange fullRange = range.getAbsoluteRange(workbook);
     for (int row = fullRange.getTopRow(); row <= fullRange.getBottomRow(); row++) {
-      ExcelRow excelRow = sheet.get(row);
+      Row excelRow = sheet.getRow(row - 1);
       if (excelRow != null) {
         for (int column = fullRange.getLeftColumn();
             column <= fullRange.getRightColumn();
             column++) {
-          Cell cell = excelRow.get(column);
+          Cell cell = excelRow.getCell(column - 1);
           if (cell != null) {
             cell.setBlank();
           }